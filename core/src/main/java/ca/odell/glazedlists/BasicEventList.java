@@ -6,6 +6,7 @@ package ca.odell.glazedlists;
 import ca.odell.glazedlists.event.ListEventAssembler;
 import ca.odell.glazedlists.event.ListEventListener;
 import ca.odell.glazedlists.event.ListEventPublisher;
+import ca.odell.glazedlists.impl.MemoryEstimates;
 import ca.odell.glazedlists.util.concurrent.LockFactory;
 import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
 import ca.odell.glazedlists.util.concurrent.SerializedReadWriteLock;
@@ -43,7 +44,7 @@ import java.util.stream.Stream;
  *
  * @author <a href="mailto:jesse@swank.ca">Jesse Wilson</a>
  */
-public final class BasicEventList<E> extends AbstractEventList<E> implements Serializable, RandomAccess {
+public final class BasicEventList<E> extends AbstractEventList<E> implements Serializable, RandomAccess, MemoryFootprint {
 
     /** For versioning as a {@link Serializable} */
     private static final long serialVersionUID = 4883958173323072345L;
@@ -295,6 +296,23 @@ public final class BasicEventList<E> extends AbstractEventList<E> implements Ser
         return data.spliterator();
     }
 
+    /**
+     * A {@link BasicEventList} has no nodes, its elements are held in an array.
+     */
+    @Override
+    public int getNodeCount() {
+        return 0;
+    }
+
+    /**
+     * Estimates the bytes of the backing list, assuming it has no spare
+     * capacity.
+     */
+    @Override
+    public long estimateRetainedBytes() {
+        return MemoryEstimates.arrayListBytes(data.size());
+    }
+
     /**
      * This method does nothing. It is not necessary to dispose a BasicEventList.
      */
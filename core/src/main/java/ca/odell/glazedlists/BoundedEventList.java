@@ -0,0 +1,206 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEventPublisher;
+import ca.odell.glazedlists.impl.adt.CircularArrayList;
+import ca.odell.glazedlists.util.concurrent.LockFactory;
+import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An {@link EventList} that holds at most a fixed number of elements, such
+ * as the last 100,000 lines of a log. When an add would exceed the capacity,
+ * the {@link EvictionPolicy} either drops the oldest elements from the head
+ * of the list, or rejects the add.
+ *
+ * <p>The elements are stored in a ring buffer, so dropping elements from the
+ * head and appending at the end cost O(1) per element, rather than the O(N)
+ * shift of {@link BasicEventList#remove(int) BasicEventList.remove(0)}. This
+ * includes building the event, but not the work of the listeners that
+ * receive it. When adding to a full list, the dropped elements are removed
+ * before the new elements are inserted, so the new elements are always kept,
+ * and each append or {@link #addAll(Collection) addAll} fires a single event
+ * with one DELETE block at the head and one INSERT block at the tail.
+ *
+ * <p><strong><font color="#FF0000">Warning:</font></strong> This class is
+ * thread ready but not thread safe. See {@link EventList} for an example
+ * of thread safe code.
+ *
+ * <p><table border="1" width="100%" cellpadding="3" cellspacing="0">
+ * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>EventList Overview</b></font></td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Writable:</b></td><td>yes</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>thread ready, not thread safe</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>reads: O(1), appends and evictions O(1), other writes O(N)</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>O(capacity)</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>BoundedEventListTest</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
+ * </table>
+ */
+public final class BoundedEventList<E> extends AbstractEventList<E> implements RandomAccess {
+
+    /**
+     * What a {@link BoundedEventList} does when an add would exceed its
+     * capacity.
+     */
+    public enum EvictionPolicy {
+        /** remove the elements at the head of the list to make room */
+        DROP_OLDEST,
+        /** throw an {@link IllegalStateException} and leave the list unchanged */
+        REJECT
+    }
+
+    /** the elements, oldest first */
+    private final CircularArrayList<E> data = new CircularArrayList<>();
+
+    /** the maximum number of elements */
+    private final int capacity;
+
+    /** what to do when an add would exceed the capacity */
+    private final EvictionPolicy evictionPolicy;
+
+    /**
+     * Creates a {@link BoundedEventList} that drops its oldest elements to
+     * stay within the specified capacity.
+     */
+    public BoundedEventList(int capacity) {
+        this(capacity, EvictionPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Creates a {@link BoundedEventList} with the specified capacity and
+     * {@link EvictionPolicy}.
+     */
+    public BoundedEventList(int capacity, EvictionPolicy evictionPolicy) {
+        this(capacity, evictionPolicy, null, null);
+    }
+
+    /**
+     * Creates a {@link BoundedEventList} using the specified
+     * {@link ListEventPublisher} and {@link ReadWriteLock}.
+     */
+    public BoundedEventList(int capacity, EvictionPolicy evictionPolicy, ListEventPublisher publisher, ReadWriteLock readWriteLock) {
+        super(publisher);
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        if (evictionPolicy == null) throw new NullPointerException("evictionPolicy");
+        this.capacity = capacity;
+        this.evictionPolicy = evictionPolicy;
+        this.readWriteLock = (readWriteLock == null) ? LockFactory.DEFAULT.createReadWriteLock() : readWriteLock;
+    }
+
+    /**
+     * Get the maximum number of elements of this list.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Get what this list does when an add would exceed its capacity.
+     */
+    public EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    /**
+     * Removes the specified number of elements from the head of the list as
+     * one block, within the current event.
+     */
+    private void evict(int count) {
+        if (count <= 0) return;
+        updates.elementDeleted(0, data.subList(0, count));
+        data.subList(0, count).clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void add(int index, E element) {
+        if(index < 0 || index > size()) throw new IndexOutOfBoundsException("Cannot add at " + index + " on list of size " + size());
+        final int overflow = size() + 1 - capacity;
+        if(overflow > 0 && evictionPolicy == EvictionPolicy.REJECT) throw new IllegalStateException("List is full, capacity: " + capacity);
+
+        // drop the oldest elements first, so the new element is always kept
+        updates.beginEvent(true);
+        evict(overflow);
+        final int insertIndex = Math.max(0, index - Math.max(0, overflow));
+        updates.elementInserted(insertIndex, element);
+        data.add(insertIndex, element);
+        updates.commitEvent();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> collection) {
+        if(index < 0 || index > size()) throw new IndexOutOfBoundsException("Cannot add at " + index + " on list of size " + size());
+        if(collection.isEmpty()) return false;
+        final int overflow = size() + collection.size() - capacity;
+        if(overflow > 0 && evictionPolicy == EvictionPolicy.REJECT) throw new IllegalStateException("List is full, capacity: " + capacity);
+
+        // drop the oldest elements first, so the new elements are always
+        // kept. Only the last elements of a batch that is larger than the
+        // capacity remain
+        List<E> values = new ArrayList<>(collection);
+        if(values.size() > capacity) values = values.subList(values.size() - capacity, values.size());
+        final int evicted = size() + values.size() - capacity;
+        updates.beginEvent(true);
+        evict(evicted);
+        final int insertIndex = Math.max(0, index - Math.max(0, evicted));
+        updates.elementInserted(insertIndex, values);
+        data.addAll(insertIndex, values);
+        updates.commitEvent();
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E remove(int index) {
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException("Cannot remove at " + index + " on list of size " + size());
+        updates.beginEvent(true);
+        final E removed = data.remove(index);
+        updates.elementDeleted(index, removed);
+        updates.commitEvent();
+        return removed;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E set(int index, E element) {
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException("Cannot set at " + index + " on list of size " + size());
+        updates.beginEvent(true);
+        final E previous = data.set(index, element);
+        updates.elementUpdated(index, previous, element);
+        updates.commitEvent();
+        return previous;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        if(data.isEmpty()) return;
+        updates.beginEvent(true);
+        evict(data.size());
+        updates.commitEvent();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E get(int index) {
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException("Cannot get at " + index + " on list of size " + size());
+        return data.get(index);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void dispose() { }
+}
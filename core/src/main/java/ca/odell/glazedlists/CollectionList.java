@@ -54,7 +54,7 @@ import java.util.List;
  * @author <a href="mailto:rob@starlight-systems.com">Rob Eden</a>
  * @author <a href="mailto:jesse@swank.ca">Jesse Wilson</a>
  */
-public class CollectionList<S, E> extends TransformedList<S, E> implements ListEventListener<S> {
+public class CollectionList<S, E> extends TransformedList<S, E> implements ListEventListener<S>, MemoryFootprint {
 
     /** This is a hack - we need a temporary value when inserting into IndexedTrees, and this is the one we use. */
     private final ChildElement<E> EMPTY_CHILD_ELEMENT = new SimpleChildElement(Collections.<E>emptyList(), null);
@@ -225,6 +225,18 @@ public class CollectionList<S, E> extends TransformedList<S, E> implements ListE
         updates.commitEvent();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public int getNodeCount() {
+        return barcode.getNodeCount() + childElements.getNodeCount();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long estimateRetainedBytes() {
+        return barcode.estimateRetainedBytes() + childElements.estimateRetainedBytes();
+    }
+
     /** @inheritDoc */
     @Override
     public void dispose() {
@@ -0,0 +1,225 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEventPublisher;
+import ca.odell.glazedlists.impl.adt.DoubleArrayList;
+import ca.odell.glazedlists.util.concurrent.LockFactory;
+import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
+
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * An {@link EventList} of <code>double</code> values that stores them in a
+ * <code>double[]</code> rather than as {@link Double} objects. This takes a
+ * fraction of the memory of a {@link BasicEventList} of {@link Double}s for
+ * large numeric series, such as prices or timestamps.
+ *
+ * <p>The values can be read and written without boxing using
+ * {@link #getDouble(int)}, {@link #setDouble(int, double)} and
+ * {@link #addDouble(int, double)}. The {@link java.util.List} methods box and
+ * unbox values as usual, and so do the {@link ca.odell.glazedlists.event.ListEvent}s
+ * fired to listeners. This list cannot hold <code>null</code>.
+ *
+ * <p><table border="1" width="100%" cellpadding="3" cellspacing="0">
+ * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>EventList Overview</b></font></td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Writable:</b></td><td>yes</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>thread ready, not thread safe</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>reads: O(1), writes O(1) amortized</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>8 bytes per element</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>PrimitiveEventListTest</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
+ * </table>
+ */
+public final class DoubleEventList extends AbstractEventList<Double> implements RandomAccess {
+
+    /** the underlying data */
+    private final DoubleArrayList data;
+
+    /**
+     * Creates an empty {@link DoubleEventList}.
+     */
+    public DoubleEventList() {
+        this(10, null, null);
+    }
+
+    /**
+     * Creates an empty {@link DoubleEventList} with the given
+     * <code>initialCapacity</code>.
+     */
+    public DoubleEventList(int initialCapacity) {
+        this(initialCapacity, null, null);
+    }
+
+    /**
+     * Creates a {@link DoubleEventList} using the specified initial capacity,
+     * {@link ListEventPublisher} and {@link ReadWriteLock}.
+     */
+    public DoubleEventList(int initialCapacity, ListEventPublisher publisher, ReadWriteLock readWriteLock) {
+        super(publisher);
+        this.data = new DoubleArrayList(initialCapacity);
+        this.readWriteLock = (readWriteLock == null) ? LockFactory.DEFAULT.createReadWriteLock() : readWriteLock;
+    }
+
+    /**
+     * Returns the value at the specified index without boxing it.
+     */
+    public double getDouble(int index) {
+        return data.get(index);
+    }
+
+    /**
+     * Replaces the value at the specified index.
+     *
+     * @return the value previously at the specified index
+     */
+    public double setDouble(int index, double value) {
+        // do the actual set
+        final double previous = data.set(index, value);
+        // fire the event
+        updates.beginEvent();
+        updates.elementUpdated(index, Double.valueOf(previous), Double.valueOf(value));
+        updates.commitEvent();
+        return previous;
+    }
+
+    /**
+     * Appends the specified value to the end of this list.
+     */
+    public void addDouble(double value) {
+        addDouble(size(), value);
+    }
+
+    /**
+     * Inserts the specified value at the specified index.
+     */
+    public void addDouble(int index, double value) {
+        // do the actual add
+        data.insert(index, value);
+        // fire the event
+        updates.beginEvent();
+        updates.elementInserted(index, Double.valueOf(value));
+        updates.commitEvent();
+    }
+
+    /**
+     * Appends all of the specified values to the end of this list.
+     */
+    public void addDoubles(double... values) {
+        if(values.length == 0) return;
+
+        // do the actual add
+        final int index = size();
+        data.add(values, 0, values.length);
+        // fire the event
+        updates.beginEvent();
+        for(int i = 0; i < values.length; i++) {
+            updates.elementInserted(index + i, Double.valueOf(values[i]));
+        }
+        updates.commitEvent();
+    }
+
+    /**
+     * Returns a copy of the values in this list.
+     */
+    public double[] toDoubleArray() {
+        return data.toArray();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Double get(int index) {
+        return Double.valueOf(data.get(index));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Double set(int index, Double value) {
+        return Double.valueOf(setDouble(index, value.doubleValue()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean add(Double value) {
+        addDouble(size(), value.doubleValue());
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void add(int index, Double value) {
+        addDouble(index, value.doubleValue());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean addAll(Collection<? extends Double> values) {
+        return addAll(size(), values);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean addAll(int index, Collection<? extends Double> values) {
+        // don't do an add of an empty set
+        if(values.isEmpty()) return false;
+
+        // unbox all values before changing anything, so a null leaves this list unchanged
+        final double[] unboxed = new double[values.size()];
+        int i = 0;
+        for(Double value : values) {
+            unboxed[i++] = value.doubleValue();
+        }
+
+        // do the actual add
+        data.insert(index, unboxed, 0, unboxed.length);
+        // fire the event
+        updates.beginEvent();
+        for(i = 0; i < unboxed.length; i++) {
+            updates.elementInserted(index + i, Double.valueOf(unboxed[i]));
+        }
+        updates.commitEvent();
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Double remove(int index) {
+        // do the actual remove
+        final double removed = data.remove(index);
+        // fire the event
+        updates.beginEvent();
+        updates.elementDeleted(index, Double.valueOf(removed));
+        updates.commitEvent();
+        return Double.valueOf(removed);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        // don't do a clear on an empty set
+        if(isEmpty()) return;
+        // create the change event
+        updates.beginEvent();
+        for(int i = 0, n = data.size(); i < n; i++) {
+            updates.elementDeleted(0, Double.valueOf(data.get(i)));
+        }
+        // do the actual clear
+        data.clear();
+        // fire the event
+        updates.commitEvent();
+    }
+
+    /**
+     * This method does nothing. It is not necessary to dispose a {@link DoubleEventList}.
+     */
+    @Override
+    public void dispose() { }
+}
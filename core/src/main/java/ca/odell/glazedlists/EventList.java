@@ -170,4 +170,24 @@ public interface EventList<E> extends List<E> {
     default <R> R applyWithWriteLock(Function<EventList<E>, R> function) {
         return Guard.applyWithWriteLock(this, function);
     }
-}
\ No newline at end of file
+
+    /**
+     * Applies the given function without locking, if the
+     * {@link #getReadWriteLock() lock} of this EventList supports optimistic
+     * reads. If a write happens while the function runs, the function is
+     * applied again while holding the read lock.
+     * <p>
+     * As the function may observe the list in an inconsistent state, it must
+     * only read from the list and should be short, such as a call to
+     * {@link #get(int)} or {@link #size()}.
+     *
+     * @param function the function != null
+     * @param <R> the result type of the function
+     * @return the result of the function
+     * @see Guard#applyWithOptimisticRead(EventList, Function)
+     * @see ca.odell.glazedlists.util.concurrent.StampedLockFactory
+     */
+    default <R> R applyWithOptimisticRead(Function<EventList<E>, R> function) {
+        return Guard.applyWithOptimisticRead(this, function);
+    }
+}
@@ -12,6 +12,9 @@ import ca.odell.glazedlists.matchers.Matcher;
 import ca.odell.glazedlists.matchers.MatcherEditor;
 import ca.odell.glazedlists.matchers.Matchers;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
 /**
  * An {@link EventList} that shows a subset of the elements of a source
  * {@link EventList}. This subset is composed of all elements of the source
@@ -49,7 +52,10 @@ import ca.odell.glazedlists.matchers.Matchers;
  * @author <a href="mailto:jesse@swank.ca">Jesse Wilson</a>
  * @author James Lemieux
  */
-public final class FilterList<E> extends TransformedList<E,E> {
+public final class FilterList<E> extends TransformedList<E,E> implements MemoryFootprint {
+
+    /** the minimum number of elements each thread evaluates when refiltering in parallel */
+    private static final int MINIMUM_PARALLEL_CHUNK_SIZE = 4096;
 
     /** the flag list contains Barcode.BLACK for items that match the current filter and Barcode.WHITE for others */
     private Barcode flagList = new Barcode();
@@ -66,6 +72,9 @@ public final class FilterList<E> extends TransformedList<E,E> {
     /** is this list already disposed? */
     private volatile boolean disposed;
 
+    /** the maximum number of threads used to evaluate the matcher when refiltering */
+    private int parallelism = 1;
+
     /**
      * Creates a {@link FilterList} that includes a subset of the specified
      * source {@link EventList}.
@@ -152,6 +161,50 @@ public final class FilterList<E> extends TransformedList<E,E> {
         }
     }
 
+    /**
+     * Set the maximum number of threads used to evaluate the {@link Matcher}
+     * when the whole list is refiltered because the {@link Matcher} or
+     * {@link MatcherEditor} changed. The default of <code>1</code> evaluates
+     * all elements on the thread that changed the {@link Matcher}.
+     *
+     * <p>With a parallelism greater than <code>1</code>, large lists are split
+     * into chunks that are evaluated on the common {@link ForkJoinPool} while
+     * the write lock is held. The resulting changes are still applied and
+     * fired in order on the calling thread. This requires that the
+     * {@link Matcher}s in use can be safely called from multiple threads at
+     * once, as the {@link Matcher}s of
+     * {@link ca.odell.glazedlists.matchers.TextMatcherEditor} with the
+     * identical and normalized strategies can.
+     *
+     * @param parallelism the maximum number of threads, at least <code>1</code>
+     */
+    public void setParallelism(int parallelism) {
+        if(parallelism < 1) throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Get the maximum number of threads used to evaluate the {@link Matcher}
+     * when refiltering the whole list.
+     *
+     * @see #setParallelism(int)
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getNodeCount() {
+        return flagList.getNodeCount();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long estimateRetainedBytes() {
+        return flagList.estimateRetainedBytes();
+    }
+
     /** @inheritDoc */
     @Override
     public void dispose() {
@@ -363,11 +416,16 @@ public final class FilterList<E> extends TransformedList<E,E> {
         // all of these changes to this list happen "atomically"
         updates.beginEvent();
 
+        // evaluate the filtered items up front if that can be done in parallel
+        final Object[] values = parallelValues(flagList.whiteSize(), Barcode.WHITE);
+        final boolean[] matches = values != null ? evaluateMatcher(values) : null;
+
         // for all filtered items, see what the change is
-        for(BarcodeIterator i = flagList.iterator(); i.hasNextWhite();) {
+        int valueIndex = 0;
+        for(BarcodeIterator i = flagList.iterator(); i.hasNextWhite(); valueIndex++) {
             i.nextWhite();
-            E element = source.get(i.getIndex());
-            if(currentMatcher.matches(element)) {
+            E element = values != null ? (E)values[valueIndex] : source.get(i.getIndex());
+            if(matches != null ? matches[valueIndex] : currentMatcher.matches(element)) {
                 updates.elementInserted(i.setBlack(), element);
             }
         }
@@ -385,11 +443,16 @@ public final class FilterList<E> extends TransformedList<E,E> {
         // all of these changes to this list happen "atomically"
         updates.beginEvent();
 
+        // evaluate the unfiltered items up front if that can be done in parallel
+        final Object[] values = parallelValues(flagList.blackSize(), Barcode.BLACK);
+        final boolean[] matches = values != null ? evaluateMatcher(values) : null;
+
         // for all unfiltered items, see what the change is
-        for(BarcodeIterator i = flagList.iterator(); i.hasNextBlack();) {
+        int valueIndex = 0;
+        for(BarcodeIterator i = flagList.iterator(); i.hasNextBlack(); valueIndex++) {
             i.nextBlack();
-            E value = source.get(i.getIndex());
-            if(!currentMatcher.matches(value)) {
+            E value = values != null ? (E)values[valueIndex] : source.get(i.getIndex());
+            if(!(matches != null ? matches[valueIndex] : currentMatcher.matches(value))) {
                 int blackIndex = i.getBlackIndex();
                 i.setWhite();
                 updates.elementDeleted(blackIndex, value);
@@ -408,6 +471,10 @@ public final class FilterList<E> extends TransformedList<E,E> {
         // all of these changes to this list happen "atomically"
         updates.beginEvent();
 
+        // evaluate all source items up front if that can be done in parallel
+        final Object[] values = parallelValues(flagList.size(), null);
+        final boolean[] matches = values != null ? evaluateMatcher(values) : null;
+
         // for all source items, see what the change is
         for(BarcodeIterator i = flagList.iterator();i.hasNext();) {
             i.next();
@@ -416,8 +483,9 @@ public final class FilterList<E> extends TransformedList<E,E> {
             int filteredIndex = i.getBlackIndex();
             boolean wasIncluded = filteredIndex != -1;
             // whether we should add this item
-            E value = source.get(i.getIndex());
-            boolean include = currentMatcher.matches(value);
+            int sourceIndex = i.getIndex();
+            E value = values != null ? (E)values[sourceIndex] : source.get(sourceIndex);
+            boolean include = matches != null ? matches[sourceIndex] : currentMatcher.matches(value);
 
             // this element is being removed as a result of the change
             if(wasIncluded && !include) {
@@ -434,6 +502,72 @@ public final class FilterList<E> extends TransformedList<E,E> {
         updates.commitEvent();
     }
 
+    /**
+     * Takes a snapshot of the source elements with the specified colour in
+     * the flag list, so that they can be matched in parallel.
+     *
+     * @param count the number of elements with the specified colour
+     * @param colour {@link Barcode#BLACK}, {@link Barcode#WHITE} or
+     *      <code>null</code> for all elements
+     * @return the elements in source order, or <code>null</code> if there are
+     *      too few elements to benefit from evaluating them in parallel
+     */
+    private Object[] parallelValues(int count, Object colour) {
+        if(parallelism < 2 || count < 2 * MINIMUM_PARALLEL_CHUNK_SIZE) return null;
+
+        final Object[] values = new Object[count];
+        if(colour == null) {
+            for(int i = 0; i < count; i++) values[i] = source.get(i);
+        } else {
+            int valueIndex = 0;
+            for(BarcodeIterator i = flagList.iterator(); i.hasNextColour(colour); valueIndex++) {
+                i.nextColour(colour);
+                values[valueIndex] = source.get(i.getIndex());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Evaluates the current {@link Matcher} against each of the specified
+     * values. The values are split into up to {@link #getParallelism()} chunks,
+     * one of which is evaluated on the calling thread while the others are
+     * evaluated on the common {@link ForkJoinPool}.
+     *
+     * @return whether each of the values matches
+     */
+    private boolean[] evaluateMatcher(Object[] values) {
+        final Matcher<? super E> matcher = currentMatcher;
+        final boolean[] matches = new boolean[values.length];
+        final int chunks = Math.min(parallelism, values.length / MINIMUM_PARALLEL_CHUNK_SIZE);
+        final int chunkSize = (values.length + chunks - 1) / chunks;
+
+        // fork all but the first chunk
+        final ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[chunks - 1];
+        for(int c = 1; c < chunks; c++) {
+            final int start = c * chunkSize;
+            final int end = Math.min(start + chunkSize, values.length);
+            tasks[c - 1] = ForkJoinPool.commonPool().submit(() -> evaluateMatcher(matcher, values, matches, start, end));
+        }
+
+        // evaluate the first chunk here, then wait for the rest
+        evaluateMatcher(matcher, values, matches, 0, Math.min(chunkSize, values.length));
+        for(int t = 0; t < tasks.length; t++) {
+            tasks[t].join();
+        }
+        return matches;
+    }
+
+    /**
+     * Evaluates the specified {@link Matcher} against the values from
+     * <code>start</code> (inclusive) to <code>end</code> (exclusive).
+     */
+    private static <E> void evaluateMatcher(Matcher<? super E> matcher, Object[] values, boolean[] matches, int start, int end) {
+        for(int i = start; i < end; i++) {
+            matches[i] = matcher.matches((E)values[i]);
+        }
+    }
+
     /**
      * Listens to changes from the current {@link MatcherEditor} and handles them.
      */
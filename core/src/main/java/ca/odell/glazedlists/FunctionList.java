@@ -7,6 +7,7 @@ import ca.odell.glazedlists.event.IListEventAssembler;
 import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.event.ListEventAssembler;
 import ca.odell.glazedlists.event.ObjectChange;
+import ca.odell.glazedlists.impl.MemoryEstimates;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -65,7 +66,7 @@ import java.util.function.Predicate;
  * </td></tr>
  * </table>
  */
-public final class FunctionList<S, E> extends TransformedList<S, E> implements RandomAccess {
+public final class FunctionList<S, E> extends TransformedList<S, E> implements RandomAccess, MemoryFootprint {
     /** A sometimes-used copy of the source list. This is needed to provide proper
      *  disposal when an {@link AdvancedFunction} is used. When not needed, this list
      *  is truncated. */
@@ -347,6 +348,18 @@ public final class FunctionList<S, E> extends TransformedList<S, E> implements R
         source.add(index, reverse(value));
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public int getNodeCount() {
+        return 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long estimateRetainedBytes() {
+        return MemoryEstimates.arrayListBytes(sourceElements.size()) + MemoryEstimates.arrayListBytes(mappedElements.size());
+    }
+
     /** {@inheritDoc} */
     @Override
     public boolean removeIf(Predicate<? super E> filter) {
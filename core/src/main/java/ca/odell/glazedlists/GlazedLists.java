@@ -7,9 +7,14 @@ import ca.odell.glazedlists.FunctionList.Function;
 import ca.odell.glazedlists.event.ListEventListener;
 import ca.odell.glazedlists.event.ListEventPublisher;
 import ca.odell.glazedlists.gui.AdvancedTableFormat;
+import ca.odell.glazedlists.gui.FlushMetrics;
+import ca.odell.glazedlists.gui.FlushPolicy;
+import ca.odell.glazedlists.gui.ProxyEventList;
 import ca.odell.glazedlists.gui.TableFormat;
 import ca.odell.glazedlists.gui.WritableTableFormat;
+import ca.odell.glazedlists.impl.BufferedConnector;
 import ca.odell.glazedlists.impl.Diff;
+import ca.odell.glazedlists.impl.ExecutorThreadProxyEventList;
 import ca.odell.glazedlists.impl.FunctionListMap;
 import ca.odell.glazedlists.impl.GlazedListsImpl;
 import ca.odell.glazedlists.impl.GroupingListMultiMap;
@@ -51,6 +56,8 @@ import java.util.Map;
 import java.util.Observable;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A factory for creating all sorts of objects to be used with Glazed Lists.
@@ -156,6 +163,54 @@ public final class GlazedLists {
         GlazedListsImpl.replaceAll(target, source, updates, comparator);
     }
 
+    /**
+     * Describes each layer of the pipeline that ends with the specified
+     * {@link EventList}, from that list down to its root, so that the layers
+     * using the most memory can be found. Each line names a layer and its
+     * number of elements; layers that are a {@link MemoryFootprint} also
+     * report their node count and estimated retained bytes, which are summed
+     * on the last line, and other layers report that they have no estimate.
+     * For example:
+     *
+     * <pre>
+     * ReadOnlyList: 429 elements, no estimate
+     * FilterList: 429 elements, 2 nodes, 312 bytes
+     * SortedList: 1000 elements, 2000 nodes, 80128 bytes
+     * BasicEventList: 1000 elements, 0 nodes, 4040 bytes
+     * total: 2002 nodes, 84480 bytes
+     * </pre>
+     *
+     * <p>The pipeline is followed through the sources of each
+     * {@link TransformedList}, including lists that a layer creates internally.
+     * The caller must obtain the read lock of the list before this method is
+     * invoked, and the estimates may take <code>O(N)</code> time.
+     *
+     * @see MemoryFootprint
+     */
+    public static String describePipeline(EventList<?> list) {
+        final StringBuilder result = new StringBuilder();
+        int totalNodes = 0;
+        long totalBytes = 0;
+        for(EventList<?> layer = list; layer != null; layer = layer instanceof TransformedList ? ((TransformedList<?, ?>) layer).source : null) {
+            final String name = layer.getClass().getSimpleName();
+            result.append(name.isEmpty() ? layer.getClass().getName() : name);
+            result.append(": ").append(layer.size()).append(" elements");
+            if(layer instanceof MemoryFootprint) {
+                final MemoryFootprint footprint = (MemoryFootprint) layer;
+                final int nodes = footprint.getNodeCount();
+                final long bytes = footprint.estimateRetainedBytes();
+                result.append(", ").append(nodes).append(" nodes, ").append(bytes).append(" bytes");
+                totalNodes += nodes;
+                totalBytes += bytes;
+            } else {
+                result.append(", no estimate");
+            }
+            result.append('\n');
+        }
+        result.append("total: ").append(totalNodes).append(" nodes, ").append(totalBytes).append(" bytes");
+        return result.toString();
+    }
+
     // Comparators // // // // // // // // // // // // // // // // // // // //
 
     /** Provide Singleton access for all Comparators with no internal state */
@@ -521,6 +576,40 @@ public final class GlazedLists {
         return new ThreadSafeList<>((EventList<E>) source);
     }
 
+    /**
+     * Wraps the source in an {@link EventList} that fires all of its update
+     * events from tasks run by the specified {@link Executor}, such as a
+     * thread pool or <code>Executors.newVirtualThreadPerTaskExecutor()</code>.
+     * This gives consumers that aren't user interfaces a consistent snapshot
+     * of the source that they can read off the writer thread.
+     *
+     * <p>Changes are delivered in the order they were made. Changes that
+     * arrive while a delivery is pending are merged into a single event, and
+     * the returned list reports how many were merged per delivery through
+     * {@link FlushMetrics}.
+     *
+     * <p><strong><font color="#FF0000">Important:</font></strong> Each delivery
+     * acquires the write lock of the pipeline, so all code that accesses the
+     * pipeline must be thread safe. See {@link EventList} for an example of
+     * thread safe code.
+     */
+    public static <E> ProxyEventList<E> executorProxyList(EventList<E> source, Executor executor) {
+        return new ExecutorThreadProxyEventList<>(source, executor);
+    }
+
+    /**
+     * Wraps the source in an {@link EventList} that fires all of its update
+     * events from tasks run by the specified {@link Executor}, as often as the
+     * specified {@link FlushPolicy} allows.
+     *
+     * @see #executorProxyList(EventList, Executor)
+     */
+    public static <E> ProxyEventList<E> executorProxyList(EventList<E> source, Executor executor, FlushPolicy flushPolicy) {
+        final ExecutorThreadProxyEventList<E> result = new ExecutorThreadProxyEventList<>(source, executor);
+        result.setFlushPolicy(flushPolicy);
+        return result;
+    }
+
     /**
      * Returns a {@link TransformedList} that maps each element of the source list to a target
      * element by use of a specified {@link Function}.
@@ -679,6 +768,28 @@ public final class GlazedLists {
         return new BeanConnector<>(beanClass, addListener, removeListener, eventMatcher);
     }
 
+    /**
+     * Create a new Connector for the {@link ObservableElementList} that buffers
+     * the changes reported by the specified Connector, and delivers them
+     * together once <code>delay</code> has passed since the first buffered
+     * change. The ObservableElementList then fires one ListEvent for all
+     * elements that changed within the delay, so that its downstream lists
+     * and table models process a burst of changes, such as a tick that
+     * updates thousands of beans, only once.
+     *
+     * <p>Buffered changes are delivered on a thread owned by the Connector, so
+     * the ObservableElementList must be used in a thread safe way.
+     *
+     * @param connector the Connector that installs listeners on the list
+     *      elements, such as one created by {@link #beanConnector(Class)}
+     * @param delay how long to buffer changes before delivering them
+     * @param unit the unit of <code>delay</code>
+     * @return an ObservableElementList.Connector that buffers changes
+     */
+    public static <E> ObservableElementList.Connector<E> bufferedConnector(ObservableElementList.Connector<E> connector, long delay, TimeUnit unit) {
+        return new BufferedConnector<>(connector, delay, unit);
+    }
+
     /**
      * Create a new Connector for the {@link ObservableElementList} that works
      * with subclasses of the archaic {@link Observable} base class. Each
@@ -5,6 +5,7 @@ package ca.odell.glazedlists;
 
 import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.impl.Grouper;
+import ca.odell.glazedlists.impl.MemoryEstimates;
 import ca.odell.glazedlists.impl.adt.barcode2.Element;
 import ca.odell.glazedlists.impl.adt.barcode2.SimpleTree;
 
@@ -44,7 +45,7 @@ import java.util.List;
  *
  * @author James Lemieux
  */
-public final class GroupingList<E> extends TransformedList<E, List<E>> {
+public final class GroupingList<E> extends TransformedList<E, List<E>> implements MemoryFootprint {
 
     /** The GroupLists defined by the comparator. They are stored in an SimpleTree so their indices can be quickly updated. */
     private SimpleTree<GroupList> groupLists = new SimpleTree<>();
@@ -305,6 +306,19 @@ public final class GroupingList<E> extends TransformedList<E, List<E>> {
         return grouper.getBarcode().colourSize(Grouper.UNIQUE);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public int getNodeCount() {
+        return grouper.getBarcode().getNodeCount() + groupLists.getNodeCount();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long estimateRetainedBytes() {
+        return grouper.getBarcode().estimateRetainedBytes() + groupLists.estimateRetainedBytes()
+            + (long) groupLists.size() * MemoryEstimates.objectBytes(0, 2, 0);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void dispose() {
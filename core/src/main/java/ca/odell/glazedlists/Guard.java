@@ -3,6 +3,8 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists;
 
+import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
+
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -125,4 +127,46 @@ public final class Guard {
             list.getReadWriteLock().writeLock().unlock();
         }
     }
+
+    /**
+     * Applies the given function to the supplied {@link EventList} without
+     * locking, if its {@link ReadWriteLock} supports optimistic reads. If a
+     * write happens while the function runs, its result or exception is
+     * discarded and the function is applied again while holding the read
+     * lock. Without support for optimistic reads, the function is always
+     * applied while holding the read lock.
+     * <p>
+     * As the function may observe the list in an inconsistent state, it must
+     * only read from the list and should be short, such as a call to
+     * {@link EventList#get(int)} or {@link EventList#size()}.
+     *
+     * @param list EventList != null
+     * @param function the function != null
+     * @param <E> the element type of the list
+     * @param <L> the concrete list type
+     * @param <R> the result type of the function
+     * @return the result of the function
+     * @see EventList#applyWithOptimisticRead(Function)
+     * @see ca.odell.glazedlists.util.concurrent.StampedLockFactory
+     */
+    public static <E, L extends EventList<E>, R> R applyWithOptimisticRead(L list, Function<L, R> function) {
+        final ReadWriteLock lock = list.getReadWriteLock();
+        final long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                final R result = function.apply(list);
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (Throwable t) {
+                // only report failures that were not caused by a concurrent write,
+                // which may also surface as an Error such as a StackOverflowError
+                if (lock.validate(stamp)) {
+                    throw t;
+                }
+            }
+        }
+
+        return applyWithReadLock(list, function);
+    }
 }
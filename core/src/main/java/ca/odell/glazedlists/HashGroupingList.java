@@ -0,0 +1,276 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.impl.HashGrouper;
+import ca.odell.glazedlists.impl.MemoryEstimates;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A grouping list contains elements which are themselves Lists. Those Lists
+ * are infact elements of the source list which have been grouped together into
+ * a List. Elements for which the key function returns equal keys are
+ * contained within the same group within this HashGroupingList.
+ *
+ * <p>Unlike {@link GroupingList}, this list doesn't sort its source. The keys
+ * are found in a hash table, so they need consistent implementations of
+ * {@link Object#equals(Object) equals} and {@link Object#hashCode() hashCode}
+ * rather than a {@link java.util.Comparator}. The groups are in the order in
+ * which their keys were first seen, and the elements of each group are in
+ * source order.
+ *
+ * <p><strong><font color="#FF0000">Warning:</font></strong> This class is
+ * thread ready but not thread safe. See {@link EventList} for an example
+ * of thread safe code.
+ *
+ * <p><table border="1" width="100%" cellpadding="3" cellspacing="0">
+ * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>EventList Overview</b></font></td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Writable:</b></td><td>yes</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>thread ready, not thread safe</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>reads: O(log N), writes O(log N) with one key lookup</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>about 100 bytes per element</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>HashGroupingListTest</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
+ * </table>
+ */
+public final class HashGroupingList<E> extends TransformedList<E, List<E>> implements MemoryFootprint {
+
+    /** The HashGrouper manages creating and deleting groups. */
+    private final HashGrouper<E> grouper;
+
+    /**
+     * Creates a {@link HashGroupingList} that groups {@link Object#equals(Object) equal}
+     * elements.
+     *
+     * @param source the {@link EventList} containing elements to be grouped
+     */
+    public HashGroupingList(EventList<E> source) {
+        this(source, element -> element);
+    }
+
+    /**
+     * Creates a {@link HashGroupingList} that groups the elements for which the
+     * specified function evaluates equal keys.
+     *
+     * @param source the {@link EventList} containing elements to be grouped
+     * @param keyFunction the function that evaluates the key of each element
+     */
+    public HashGroupingList(EventList<E> source, FunctionList.Function<? super E, ?> keyFunction) {
+        super(source);
+
+        // the grouper handles changes to the source, and keeps the GroupList of each group
+        this.grouper = new HashGrouper<>(source, keyFunction, new GrouperClient());
+
+        source.addListEventListener(this);
+    }
+
+    /**
+     * Return the index of the group to which the <code>groupElement</code>
+     * would belong if it were hypothetically added to the source list. Note
+     * that <code>groupElement</code> does <strong>NOT</strong> have to exist
+     * in a group. This method is essentially a convenient way to locate a
+     * group based on a prototypical element of that group.
+     *
+     * @param groupElement a prototype element of the group to locate
+     * @return the index of the group that would contain <code>groupElement</code>
+     *      if it were added to the source list or <code>-1</code> if no
+     *      currently existing group would contain the <code>groupElement</code>
+     */
+    public int indexOfGroup(E groupElement) {
+        final HashGrouper.Group<E> group = grouper.getGroupByKey(grouper.keyOf(groupElement));
+        return group == null ? -1 : grouper.indexOfGroup(group);
+    }
+
+    /**
+     * Handle changes to the grouping list groups.
+     */
+    private class GrouperClient implements HashGrouper.Client<E> {
+        @Override
+        public Object groupInserted(HashGrouper.Group<E> group) {
+            return new GroupList(group);
+        }
+
+        @Override
+        public void groupChanged(int groupIndex, int groupChangeType, HashGrouper.Group<E> group, E oldFirst, E newFirst, boolean firstUpdated) {
+            final GroupList groupList = groupListOf(group);
+            if(groupChangeType == ListEvent.INSERT) {
+                updates.elementInserted(groupIndex, groupList);
+            } else if(groupChangeType == ListEvent.DELETE) {
+                updates.elementDeleted(groupIndex, groupList);
+            } else if(groupChangeType == ListEvent.UPDATE) {
+                updates.elementUpdated(groupIndex, groupList, groupList);
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected int getSourceIndex(int index) {
+        return grouper.getGroup(index).getSourceIndex(0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected boolean isWritable() {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void listChanged(ListEvent<E> listChanges) {
+        updates.beginEvent(true);
+        grouper.listChanged(listChanges);
+        updates.commitEvent();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<E> get(int index) {
+        return groupListOf(grouper.getGroup(index));
+    }
+
+    /**
+     * Get the GroupList of the specified group, which the grouper keeps as
+     * the state of the group.
+     */
+    @SuppressWarnings("unchecked")
+    private GroupList groupListOf(HashGrouper.Group<E> group) {
+        return (GroupList) group.getState();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<E> remove(int index) {
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException("Cannot remove at " + index + " on list of size " + size());
+
+        final List<E> removed = get(index);
+
+        // make a copy of the list to return
+        final List<E> result = new ArrayList<>(removed);
+
+        removed.clear();
+
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<E> set(int index, List<E> value) {
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException("Cannot set at " + index + " on list of size " + size());
+
+        updates.beginEvent(true);
+
+        final List<E> result = remove(index);
+        add(index, value);
+
+        updates.commitEvent();
+
+        return result;
+    }
+
+    /**
+     * This version of add will distribute all elements within the given
+     * <code>value</code> List into groups. Existing groups will be reused and
+     * new groups will be created as needed. As such, the <code>index</code>
+     * argument is meaningless.
+     *
+     * <p><strong><font color="#FF0000">Warning:</font></strong> This method
+     * breaks the contract required by {@link List#add(int, Object)}.
+     */
+    @Override
+    public void add(int index, List<E> value) {
+        source.addAll(value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return grouper.groupCount();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getNodeCount() {
+        return grouper.getNodeCount();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long estimateRetainedBytes() {
+        return grouper.estimateRetainedBytes() + (long) size() * MemoryEstimates.objectBytes(1, 2, 0);
+    }
+
+    /**
+     * This is the List implementation used to store groups created by this
+     * HashGroupingList. It defines all mutator methods by mapping them to
+     * mutations on the source list. Once its group has been removed, a
+     * GroupList is empty.
+     */
+    private class GroupList extends AbstractList<E> {
+
+        /** the group whose elements this list shows */
+        private final HashGrouper.Group<E> group;
+
+        private GroupList(HashGrouper.Group<E> group) {
+            this.group = group;
+        }
+
+        private int getSourceIndex(int index) {
+            if(index < 0 || index >= size()) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            return group.getSourceIndex(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public E set(int index, E element) {
+            return source.set(getSourceIndex(index), element);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public E get(int index) {
+            if(index < 0 || index >= size()) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            return group.get(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return group.size();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void clear() {
+            updates.beginEvent(true);
+            for(int i = size() - 1; i >= 0; i--) {
+                source.remove(group.getSourceIndex(i));
+            }
+            updates.commitEvent();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public E remove(int index) {
+            return source.remove(getSourceIndex(index));
+        }
+
+        /**
+         * Adds the element to the source, just after the element at
+         * <code>index - 1</code> within this group.
+         */
+        @Override
+        public void add(int index, E element) {
+            if(index < 0 || index > size()) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            final int sourceIndex = index == 0 ? (size() == 0 ? source.size() : group.getSourceIndex(0)) : group.getSourceIndex(index - 1) + 1;
+            source.add(sourceIndex, element);
+        }
+    }
+}
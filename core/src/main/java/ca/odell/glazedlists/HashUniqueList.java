@@ -0,0 +1,238 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.impl.HashGrouper;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@link EventList} that shows the unique elements from its source
+ * {@link EventList}, where elements are duplicates if they have equal keys.
+ * For example, the source list {C, A, C, B, A} would be simplified to
+ * {C, A, B} by this HashUniqueList.
+ *
+ * <p>Unlike {@link UniqueList}, this list doesn't sort its source. The keys
+ * are found in a hash table, so they need consistent implementations of
+ * {@link Object#equals(Object) equals} and {@link Object#hashCode() hashCode}
+ * rather than a {@link java.util.Comparator}. The unique elements are in the
+ * order in which their keys were first seen, and each is the first element
+ * with its key in the source.
+ *
+ * <p><strong><font color="#FF0000">Warning:</font></strong> This class breaks
+ * the contract required by {@link List}. See {@link EventList} for an example.
+ *
+ * <p><strong><font color="#FF0000">Warning:</font></strong> This class is
+ * thread ready but not thread safe. See {@link EventList} for an example
+ * of thread safe code.
+ *
+ * <p><table border="1" width="100%" cellpadding="3" cellspacing="0">
+ * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>EventList Overview</b></font></td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Writable:</b></td><td>yes</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>thread ready, not thread safe</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>reads: O(log N), writes O(log N) with one key lookup, indexOf: O(log N), contains: one key lookup</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>about 100 bytes per element</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>HashUniqueListTest</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
+ * </table>
+ */
+public final class HashUniqueList<E> extends TransformedList<E, E> implements MemoryFootprint {
+
+    /** the grouping service manages collapsing out duplicates */
+    private final HashGrouper<E> grouper;
+
+    /**
+     * Creates a {@link HashUniqueList} where elements are duplicates if they
+     * are {@link Object#equals(Object) equal}.
+     *
+     * @param source the {@link EventList} containing duplicates to remove
+     */
+    public HashUniqueList(EventList<E> source) {
+        this(source, element -> element);
+    }
+
+    /**
+     * Creates a {@link HashUniqueList} where elements are duplicates if the
+     * specified function evaluates them to equal keys.
+     *
+     * @param source the {@link EventList} containing duplicates to remove
+     * @param keyFunction the function that evaluates the key of each element
+     */
+    public HashUniqueList(EventList<E> source, FunctionList.Function<? super E, ?> keyFunction) {
+        super(source);
+
+        // the grouper handles changes to the source
+        this.grouper = new HashGrouper<>(source, keyFunction, new GrouperClient());
+
+        source.addListEventListener(this);
+    }
+
+    /**
+     * Handle changes to the grouper's groups.
+     */
+    private class GrouperClient implements HashGrouper.Client<E> {
+        @Override
+        public void groupChanged(int groupIndex, int groupChangeType, HashGrouper.Group<E> group, E oldFirst, E newFirst, boolean firstUpdated) {
+            switch (groupChangeType) {
+                case ListEvent.INSERT: updates.elementInserted(groupIndex, newFirst); break;
+                case ListEvent.DELETE: updates.elementDeleted(groupIndex, oldFirst); break;
+                case ListEvent.UPDATE:
+                    // only a change to the first element of the group is visible
+                    if (firstUpdated) updates.elementUpdated(groupIndex, oldFirst, newFirst);
+                    break;
+                default: throw new IllegalStateException("Unrecognized groupChangeType: " + groupChangeType);
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return grouper.groupCount();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E get(int index) {
+        return grouper.getGroup(index).get(0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected int getSourceIndex(int index) {
+        if(index == size()) return source.size();
+        return grouper.getGroup(index).getSourceIndex(0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E remove(int index) {
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException("Cannot remove at " + index + " on list of size " + size());
+
+        updates.beginEvent(true);
+
+        // remember the first duplicate
+        final E result = get(index);
+
+        // remove all duplicates at this index, last first
+        final HashGrouper.Group<E> group = grouper.getGroup(index);
+        for(int i = group.size() - 1; i >= 0; i--) {
+            source.remove(group.getSourceIndex(i));
+        }
+
+        updates.commitEvent();
+
+        return result;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E set(int index, E value) {
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException("Cannot set at " + index + " on list of size " + size());
+
+        updates.beginEvent(true);
+
+        // remove all duplicates of this value first
+        final HashGrouper.Group<E> group = grouper.getGroup(index);
+        for(int i = group.size() - 1; i > 0; i--) {
+            source.remove(group.getSourceIndex(i));
+        }
+
+        // now do the set
+        final E result = source.set(group.getSourceIndex(0), value);
+
+        updates.commitEvent();
+
+        return result;
+    }
+
+    /**
+     * Returns the index in this list of the element whose key equals the key
+     * of the specified <code>element</code>, or -1 if there is no such element.
+     *
+     * <p>Note: This is a departure from the contract for {@link List#indexOf}
+     * since it does not guarantee that <tt>element.equals(get(i))</tt> where i
+     * is a positive index returned from this method.
+     *
+     * @throws ClassCastException if the type of the specified element
+     *         is incompatible with this list
+     */
+    @Override
+    public int indexOf(Object element) {
+        final HashGrouper.Group<E> group = grouper.getGroupByKey(grouper.keyOf((E) element));
+        return group == null ? -1 : grouper.indexOfGroup(group);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int lastIndexOf(Object element) {
+        return indexOf(element);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean contains(Object element) {
+        return grouper.getGroupByKey(grouper.keyOf((E) element)) != null;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected boolean isWritable() {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void listChanged(ListEvent<E> listChanges) {
+        updates.beginEvent(true);
+        grouper.listChanged(listChanges);
+        updates.commitEvent();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getNodeCount() {
+        return grouper.getNodeCount();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long estimateRetainedBytes() {
+        return grouper.estimateRetainedBytes();
+    }
+
+    /**
+     * Returns the number of duplicates of the value found at the specified index.
+     */
+    public int getCount(int index) {
+        return grouper.getGroup(index).size();
+    }
+
+    /**
+     * Returns the number of duplicates of the specified value.
+     */
+    public int getCount(E value) {
+        final HashGrouper.Group<E> group = grouper.getGroupByKey(grouper.keyOf(value));
+        return group == null ? 0 : group.size();
+    }
+
+    /**
+     * Returns a List of all original elements represented by the value at the
+     * given <code>index</code> within this {@link HashUniqueList}.
+     */
+    public List<E> getAll(int index) {
+        return grouper.getGroup(index).toList();
+    }
+
+    /**
+     * Returns a List of all original elements represented by the given
+     * <code>value</code> within this {@link HashUniqueList}.
+     */
+    public List<E> getAll(E value) {
+        final HashGrouper.Group<E> group = grouper.getGroupByKey(grouper.keyOf(value));
+        return group == null ? Collections.<E>emptyList() : group.toList();
+    }
+}
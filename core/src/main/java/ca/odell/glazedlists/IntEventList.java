@@ -0,0 +1,225 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEventPublisher;
+import ca.odell.glazedlists.impl.adt.IntArrayList;
+import ca.odell.glazedlists.util.concurrent.LockFactory;
+import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
+
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * An {@link EventList} of <code>int</code> values that stores them in an
+ * <code>int[]</code> rather than as {@link Integer} objects. This takes a
+ * fraction of the memory of a {@link BasicEventList} of {@link Integer}s for
+ * large numeric series, such as prices or timestamps.
+ *
+ * <p>The values can be read and written without boxing using
+ * {@link #getInt(int)}, {@link #setInt(int, int)} and
+ * {@link #addInt(int, int)}. The {@link java.util.List} methods box and
+ * unbox values as usual, and so do the {@link ca.odell.glazedlists.event.ListEvent}s
+ * fired to listeners. This list cannot hold <code>null</code>.
+ *
+ * <p><table border="1" width="100%" cellpadding="3" cellspacing="0">
+ * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>EventList Overview</b></font></td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Writable:</b></td><td>yes</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>thread ready, not thread safe</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>reads: O(1), writes O(1) amortized</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>4 bytes per element</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>PrimitiveEventListTest</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
+ * </table>
+ */
+public final class IntEventList extends AbstractEventList<Integer> implements RandomAccess {
+
+    /** the underlying data */
+    private final IntArrayList data;
+
+    /**
+     * Creates an empty {@link IntEventList}.
+     */
+    public IntEventList() {
+        this(10, null, null);
+    }
+
+    /**
+     * Creates an empty {@link IntEventList} with the given
+     * <code>initialCapacity</code>.
+     */
+    public IntEventList(int initialCapacity) {
+        this(initialCapacity, null, null);
+    }
+
+    /**
+     * Creates an {@link IntEventList} using the specified initial capacity,
+     * {@link ListEventPublisher} and {@link ReadWriteLock}.
+     */
+    public IntEventList(int initialCapacity, ListEventPublisher publisher, ReadWriteLock readWriteLock) {
+        super(publisher);
+        this.data = new IntArrayList(initialCapacity);
+        this.readWriteLock = (readWriteLock == null) ? LockFactory.DEFAULT.createReadWriteLock() : readWriteLock;
+    }
+
+    /**
+     * Returns the value at the specified index without boxing it.
+     */
+    public int getInt(int index) {
+        return data.get(index);
+    }
+
+    /**
+     * Replaces the value at the specified index.
+     *
+     * @return the value previously at the specified index
+     */
+    public int setInt(int index, int value) {
+        // do the actual set
+        final int previous = data.set(index, value);
+        // fire the event
+        updates.beginEvent();
+        updates.elementUpdated(index, Integer.valueOf(previous), Integer.valueOf(value));
+        updates.commitEvent();
+        return previous;
+    }
+
+    /**
+     * Appends the specified value to the end of this list.
+     */
+    public void addInt(int value) {
+        addInt(size(), value);
+    }
+
+    /**
+     * Inserts the specified value at the specified index.
+     */
+    public void addInt(int index, int value) {
+        // do the actual add
+        data.insert(index, value);
+        // fire the event
+        updates.beginEvent();
+        updates.elementInserted(index, Integer.valueOf(value));
+        updates.commitEvent();
+    }
+
+    /**
+     * Appends all of the specified values to the end of this list.
+     */
+    public void addInts(int... values) {
+        if(values.length == 0) return;
+
+        // do the actual add
+        final int index = size();
+        data.add(values, 0, values.length);
+        // fire the event
+        updates.beginEvent();
+        for(int i = 0; i < values.length; i++) {
+            updates.elementInserted(index + i, Integer.valueOf(values[i]));
+        }
+        updates.commitEvent();
+    }
+
+    /**
+     * Returns a copy of the values in this list.
+     */
+    public int[] toIntArray() {
+        return data.toArray();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Integer get(int index) {
+        return Integer.valueOf(data.get(index));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Integer set(int index, Integer value) {
+        return Integer.valueOf(setInt(index, value.intValue()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean add(Integer value) {
+        addInt(size(), value.intValue());
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void add(int index, Integer value) {
+        addInt(index, value.intValue());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean addAll(Collection<? extends Integer> values) {
+        return addAll(size(), values);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean addAll(int index, Collection<? extends Integer> values) {
+        // don't do an add of an empty set
+        if(values.isEmpty()) return false;
+
+        // unbox all values before changing anything, so a null leaves this list unchanged
+        final int[] unboxed = new int[values.size()];
+        int i = 0;
+        for(Integer value : values) {
+            unboxed[i++] = value.intValue();
+        }
+
+        // do the actual add
+        data.insert(index, unboxed, 0, unboxed.length);
+        // fire the event
+        updates.beginEvent();
+        for(i = 0; i < unboxed.length; i++) {
+            updates.elementInserted(index + i, Integer.valueOf(unboxed[i]));
+        }
+        updates.commitEvent();
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Integer remove(int index) {
+        // do the actual remove
+        final int removed = data.remove(index);
+        // fire the event
+        updates.beginEvent();
+        updates.elementDeleted(index, Integer.valueOf(removed));
+        updates.commitEvent();
+        return Integer.valueOf(removed);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        // don't do a clear on an empty set
+        if(isEmpty()) return;
+        // create the change event
+        updates.beginEvent();
+        for(int i = 0, n = data.size(); i < n; i++) {
+            updates.elementDeleted(0, Integer.valueOf(data.get(i)));
+        }
+        // do the actual clear
+        data.clear();
+        // fire the event
+        updates.commitEvent();
+    }
+
+    /**
+     * This method does nothing. It is not necessary to dispose an {@link IntEventList}.
+     */
+    @Override
+    public void dispose() { }
+}
@@ -0,0 +1,225 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEventPublisher;
+import ca.odell.glazedlists.impl.adt.LongArrayList;
+import ca.odell.glazedlists.util.concurrent.LockFactory;
+import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
+
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * An {@link EventList} of <code>long</code> values that stores them in a
+ * <code>long[]</code> rather than as {@link Long} objects. This takes a
+ * fraction of the memory of a {@link BasicEventList} of {@link Long}s for
+ * large numeric series, such as prices or timestamps.
+ *
+ * <p>The values can be read and written without boxing using
+ * {@link #getLong(int)}, {@link #setLong(int, long)} and
+ * {@link #addLong(int, long)}. The {@link java.util.List} methods box and
+ * unbox values as usual, and so do the {@link ca.odell.glazedlists.event.ListEvent}s
+ * fired to listeners. This list cannot hold <code>null</code>.
+ *
+ * <p><table border="1" width="100%" cellpadding="3" cellspacing="0">
+ * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>EventList Overview</b></font></td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Writable:</b></td><td>yes</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>thread ready, not thread safe</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>reads: O(1), writes O(1) amortized</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>8 bytes per element</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>PrimitiveEventListTest</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
+ * </table>
+ */
+public final class LongEventList extends AbstractEventList<Long> implements RandomAccess {
+
+    /** the underlying data */
+    private final LongArrayList data;
+
+    /**
+     * Creates an empty {@link LongEventList}.
+     */
+    public LongEventList() {
+        this(10, null, null);
+    }
+
+    /**
+     * Creates an empty {@link LongEventList} with the given
+     * <code>initialCapacity</code>.
+     */
+    public LongEventList(int initialCapacity) {
+        this(initialCapacity, null, null);
+    }
+
+    /**
+     * Creates a {@link LongEventList} using the specified initial capacity,
+     * {@link ListEventPublisher} and {@link ReadWriteLock}.
+     */
+    public LongEventList(int initialCapacity, ListEventPublisher publisher, ReadWriteLock readWriteLock) {
+        super(publisher);
+        this.data = new LongArrayList(initialCapacity);
+        this.readWriteLock = (readWriteLock == null) ? LockFactory.DEFAULT.createReadWriteLock() : readWriteLock;
+    }
+
+    /**
+     * Returns the value at the specified index without boxing it.
+     */
+    public long getLong(int index) {
+        return data.get(index);
+    }
+
+    /**
+     * Replaces the value at the specified index.
+     *
+     * @return the value previously at the specified index
+     */
+    public long setLong(int index, long value) {
+        // do the actual set
+        final long previous = data.set(index, value);
+        // fire the event
+        updates.beginEvent();
+        updates.elementUpdated(index, Long.valueOf(previous), Long.valueOf(value));
+        updates.commitEvent();
+        return previous;
+    }
+
+    /**
+     * Appends the specified value to the end of this list.
+     */
+    public void addLong(long value) {
+        addLong(size(), value);
+    }
+
+    /**
+     * Inserts the specified value at the specified index.
+     */
+    public void addLong(int index, long value) {
+        // do the actual add
+        data.insert(index, value);
+        // fire the event
+        updates.beginEvent();
+        updates.elementInserted(index, Long.valueOf(value));
+        updates.commitEvent();
+    }
+
+    /**
+     * Appends all of the specified values to the end of this list.
+     */
+    public void addLongs(long... values) {
+        if(values.length == 0) return;
+
+        // do the actual add
+        final int index = size();
+        data.add(values, 0, values.length);
+        // fire the event
+        updates.beginEvent();
+        for(int i = 0; i < values.length; i++) {
+            updates.elementInserted(index + i, Long.valueOf(values[i]));
+        }
+        updates.commitEvent();
+    }
+
+    /**
+     * Returns a copy of the values in this list.
+     */
+    public long[] toLongArray() {
+        return data.toArray();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Long get(int index) {
+        return Long.valueOf(data.get(index));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Long set(int index, Long value) {
+        return Long.valueOf(setLong(index, value.longValue()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean add(Long value) {
+        addLong(size(), value.longValue());
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void add(int index, Long value) {
+        addLong(index, value.longValue());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean addAll(Collection<? extends Long> values) {
+        return addAll(size(), values);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean addAll(int index, Collection<? extends Long> values) {
+        // don't do an add of an empty set
+        if(values.isEmpty()) return false;
+
+        // unbox all values before changing anything, so a null leaves this list unchanged
+        final long[] unboxed = new long[values.size()];
+        int i = 0;
+        for(Long value : values) {
+            unboxed[i++] = value.longValue();
+        }
+
+        // do the actual add
+        data.insert(index, unboxed, 0, unboxed.length);
+        // fire the event
+        updates.beginEvent();
+        for(i = 0; i < unboxed.length; i++) {
+            updates.elementInserted(index + i, Long.valueOf(unboxed[i]));
+        }
+        updates.commitEvent();
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Long remove(int index) {
+        // do the actual remove
+        final long removed = data.remove(index);
+        // fire the event
+        updates.beginEvent();
+        updates.elementDeleted(index, Long.valueOf(removed));
+        updates.commitEvent();
+        return Long.valueOf(removed);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        // don't do a clear on an empty set
+        if(isEmpty()) return;
+        // create the change event
+        updates.beginEvent();
+        for(int i = 0, n = data.size(); i < n; i++) {
+            updates.elementDeleted(0, Long.valueOf(data.get(i)));
+        }
+        // do the actual clear
+        data.clear();
+        // fire the event
+        updates.commitEvent();
+    }
+
+    /**
+     * This method does nothing. It is not necessary to dispose a {@link LongEventList}.
+     */
+    @Override
+    public void dispose() { }
+}
@@ -0,0 +1,379 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventPublisher;
+import ca.odell.glazedlists.impl.MemoryEstimates;
+import ca.odell.glazedlists.util.concurrent.LockFactory;
+import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An {@link EventList} whose elements are stored as fixed-width records in a
+ * memory-mapped file rather than on the heap. This suits tens of millions of
+ * immutable records, which would otherwise fill the heap and slow down garbage
+ * collection. The file persists the list, so it can be reopened later.
+ *
+ * <p>Each element is encoded into a record of {@link RecordCodec#getRecordSize()}
+ * bytes when it is added, and decoded into a new object every time it is read.
+ * Transformations such as {@link SortedList} and {@link FilterList} can sit on
+ * top of this list as usual, but reading an element is more expensive than from
+ * a {@link BasicEventList}. For elements that are read often, a cache such as
+ * the io extension's <code>CachingList</code> can be placed in front of this
+ * list.
+ *
+ * <p>Appending is the fast path. Inserting or removing elements anywhere else
+ * shifts the records after them. When the list is {@link #clear() cleared},
+ * listeners get {@link ListEvent#unknownValue() unknown} values for the
+ * removed elements, so that millions of records aren't decoded.
+ *
+ * <p>The file is mapped in segments, so the list can grow beyond 2GB.
+ * Changes are written to the mapping immediately and to disk when the
+ * operating system chooses or when the list is {@link #flush() flushed}.
+ *
+ * <p><strong><font color="#FF0000">Warning:</font></strong> This class is
+ * thread ready but not thread safe. See {@link EventList} for an example
+ * of thread safe code.
+ *
+ * <p><table border="1" width="100%" cellpadding="3" cellspacing="0">
+ * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>EventList Overview</b></font></td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Writable:</b></td><td>yes</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>thread ready, not thread safe</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>reads: O(1) plus decoding, appends and sets O(1), other writes O(N)</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>a few bytes of heap per 64MB of records</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>MappedEventListTest</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
+ * </table>
+ */
+public final class MappedEventList<E> extends AbstractEventList<E> implements RandomAccess, MemoryFootprint {
+
+    /**
+     * Encodes elements into fixed-width records, and decodes them again. The
+     * records are read and written at an offset in a shared buffer, so
+     * implementations must use the absolute <code>get</code> and
+     * <code>put</code> methods of {@link ByteBuffer}, which don't move its
+     * position.
+     */
+    public interface RecordCodec<E> {
+
+        /**
+         * Gets the number of bytes of every record.
+         */
+        int getRecordSize();
+
+        /**
+         * Writes the specified element as a record of
+         * {@link #getRecordSize()} bytes starting at the specified offset.
+         */
+        void encode(E element, ByteBuffer buffer, int offset);
+
+        /**
+         * Reads the element from the record of {@link #getRecordSize()}
+         * bytes starting at the specified offset.
+         */
+        E decode(ByteBuffer buffer, int offset);
+    }
+
+    /** identifies files written by this class */
+    private static final int MAGIC = 0x474C4D31;
+
+    /** the header holds the magic number, the record size and the list size */
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_SIZE_OFFSET = 4;
+    private static final int SIZE_OFFSET = 8;
+
+    /** the preferred number of bytes mapped at a time */
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    /** the file holding the records */
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+
+    /** encodes and decodes the elements */
+    private final RecordCodec<E> codec;
+    private final int recordSize;
+
+    /** the mapped header of the file */
+    private final MappedByteBuffer header;
+
+    /** the mapped records, a whole number of records per segment */
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final int recordsPerSegment;
+
+    /** the number of elements */
+    private int size;
+
+    /** a buffer for moving one record */
+    private final byte[] scratch;
+
+    /**
+     * Creates a {@link MappedEventList} that stores its elements in the
+     * specified file. If the file already holds a list, its elements are the
+     * initial elements of this list.
+     *
+     * @throws IOException if the file can't be mapped, or holds records of a
+     *      different size than the codec's
+     */
+    public MappedEventList(File file, RecordCodec<E> codec) throws IOException {
+        this(file, codec, null, null);
+    }
+
+    /**
+     * Creates a {@link MappedEventList} that stores its elements in the
+     * specified file, using the specified {@link ListEventPublisher} and
+     * {@link ReadWriteLock}.
+     */
+    public MappedEventList(File file, RecordCodec<E> codec, ListEventPublisher publisher, ReadWriteLock readWriteLock) throws IOException {
+        this(file, codec, publisher, readWriteLock, Math.max(1, SEGMENT_SIZE / codec.getRecordSize()));
+    }
+
+    /**
+     * Creates a {@link MappedEventList} that maps the specified number of
+     * records at a time.
+     */
+    MappedEventList(File file, RecordCodec<E> codec, ListEventPublisher publisher, ReadWriteLock readWriteLock, int recordsPerSegment) throws IOException {
+        super(publisher);
+        if(codec.getRecordSize() <= 0) throw new IllegalArgumentException("record size must be positive: " + codec.getRecordSize());
+        this.codec = codec;
+        this.recordSize = codec.getRecordSize();
+        this.recordsPerSegment = recordsPerSegment;
+        this.scratch = new byte[recordSize];
+        this.readWriteLock = (readWriteLock == null) ? LockFactory.DEFAULT.createReadWriteLock() : readWriteLock;
+
+        this.file = new RandomAccessFile(file, "rw");
+        this.channel = this.file.getChannel();
+        try {
+            final boolean existing = channel.size() >= HEADER_SIZE;
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            if(existing) {
+                if(header.getInt(0) != MAGIC) throw new IOException("Not a MappedEventList file: " + file);
+                final int existingRecordSize = header.getInt(RECORD_SIZE_OFFSET);
+                if(existingRecordSize != recordSize) throw new IOException("Expected records of " + recordSize + " bytes but found " + existingRecordSize + " bytes in " + file);
+                size = (int) header.getLong(SIZE_OFFSET);
+                ensureCapacity(size);
+            } else {
+                header.putInt(0, MAGIC);
+                header.putInt(RECORD_SIZE_OFFSET, recordSize);
+                header.putLong(SIZE_OFFSET, 0);
+            }
+        } catch(IOException | RuntimeException e) {
+            this.file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Maps enough segments to hold the specified number of records.
+     */
+    private void ensureCapacity(int capacity) {
+        try {
+            while((long) segments.size() * recordsPerSegment < capacity) {
+                final long segmentBytes = (long) recordsPerSegment * recordSize;
+                final long position = HEADER_SIZE + segments.size() * segmentBytes;
+                segments.add(channel.map(FileChannel.MapMode.READ_WRITE, position, segmentBytes));
+            }
+        } catch(IOException e) {
+            throw new IllegalStateException("Failed to map " + capacity + " records", e);
+        }
+    }
+
+    /**
+     * Gets the segment holding the specified record.
+     */
+    private ByteBuffer segment(int index) {
+        return segments.get(index / recordsPerSegment);
+    }
+
+    /**
+     * Gets the offset of the specified record within its segment.
+     */
+    private int offset(int index) {
+        return (index % recordsPerSegment) * recordSize;
+    }
+
+    private E read(int index) {
+        return codec.decode(segment(index), offset(index));
+    }
+
+    private void write(int index, E element) {
+        codec.encode(element, segment(index), offset(index));
+    }
+
+    /**
+     * Copies the record at one index to another.
+     */
+    private void move(int from, int to) {
+        final ByteBuffer source = segment(from).duplicate();
+        source.position(offset(from));
+        source.get(scratch);
+        final ByteBuffer target = segment(to).duplicate();
+        target.position(offset(to));
+        target.put(scratch);
+    }
+
+    /**
+     * Moves the records from the specified index to the end of the list by
+     * the specified distance, which is negative to move them towards the head.
+     */
+    private void shift(int index, int distance) {
+        if(distance > 0) {
+            for(int i = size - 1; i >= index; i--) move(i, i + distance);
+        } else {
+            for(int i = index; i < size; i++) move(i, i + distance);
+        }
+    }
+
+    /**
+     * Records the size in the file header.
+     */
+    private void setSize(int size) {
+        this.size = size;
+        header.putLong(SIZE_OFFSET, size);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E get(int index) {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Cannot get at " + index + " on list of size " + size);
+        return read(index);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void add(int index, E element) {
+        if(index < 0 || index > size) throw new IndexOutOfBoundsException("Cannot add at " + index + " on list of size " + size);
+        ensureCapacity(size + 1);
+        shift(index, 1);
+        write(index, element);
+        setSize(size + 1);
+
+        updates.beginEvent();
+        updates.elementInserted(index, element);
+        updates.commitEvent();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> collection) {
+        if(index < 0 || index > size) throw new IndexOutOfBoundsException("Cannot add at " + index + " on list of size " + size);
+        if(collection.isEmpty()) return false;
+
+        final List<E> values = new ArrayList<>(collection);
+        ensureCapacity(size + values.size());
+        shift(index, values.size());
+        for(int i = 0; i < values.size(); i++) {
+            write(index + i, values.get(i));
+        }
+        setSize(size + values.size());
+
+        updates.beginEvent();
+        updates.elementInserted(index, values);
+        updates.commitEvent();
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E remove(int index) {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Cannot remove at " + index + " on list of size " + size);
+        final E removed = read(index);
+        shift(index + 1, -1);
+        setSize(size - 1);
+
+        updates.beginEvent();
+        updates.elementDeleted(index, removed);
+        updates.commitEvent();
+        return removed;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E set(int index, E element) {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Cannot set at " + index + " on list of size " + size);
+        final E previous = read(index);
+        write(index, element);
+
+        updates.beginEvent();
+        updates.elementUpdated(index, previous, element);
+        updates.commitEvent();
+        return previous;
+    }
+
+    /**
+     * Removes all elements. The removed elements aren't decoded, so listeners
+     * get {@link ListEvent#unknownValue() unknown} values for them.
+     */
+    @Override
+    public void clear() {
+        if(size == 0) return;
+        final int removed = size;
+        setSize(0);
+
+        updates.beginEvent();
+        updates.elementDeleted(0, Collections.<E>nCopies(removed, ListEvent.<E>unknownValue()));
+        updates.commitEvent();
+    }
+
+    /**
+     * Writes all changes to the file to disk.
+     */
+    public void flush() {
+        header.force();
+        for(MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    /**
+     * The records are stored off the heap, so this list has no nodes.
+     */
+    @Override
+    public int getNodeCount() {
+        return 0;
+    }
+
+    /**
+     * Estimates the heap used by this list, which doesn't include the mapped
+     * records.
+     */
+    @Override
+    public long estimateRetainedBytes() {
+        return MemoryEstimates.objectBytes(3, 7, 0) + MemoryEstimates.arrayListBytes(segments.size())
+            + (segments.size() + 1) * MemoryEstimates.objectBytes(6, 4, 2) + MemoryEstimates.arrayBytes(recordSize, 1);
+    }
+
+    /**
+     * Flushes the records to disk and closes the file. It is an error to use
+     * this list after it has been disposed.
+     */
+    @Override
+    public void dispose() {
+        try {
+            flush();
+            file.close();
+        } catch(IOException e) {
+            throw new IllegalStateException("Failed to close the file of a MappedEventList", e);
+        } finally {
+            segments.clear();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+/**
+ * A list or data structure that can estimate how much of the heap it uses,
+ * so that the layers of a pipeline that use the most memory can be found
+ * with {@link GlazedLists#describePipeline(EventList)}.
+ *
+ * <p>The estimates count the nodes, arrays and other objects that a structure
+ * allocates for its own bookkeeping, assuming a 64-bit JVM with compressed
+ * references. They don't count the elements themselves, which are usually
+ * shared by every layer of a pipeline. Some estimates walk the whole
+ * structure, so they take <code>O(N)</code> time.
+ *
+ * <p><strong><font color="#FF0000">Warning:</font></strong> The estimates
+ * read the internal state of a list, so an {@link EventList} must be
+ * read-locked while they are made.
+ */
+public interface MemoryFootprint {
+
+    /**
+     * Gets the number of nodes that this structure has allocated, such as the
+     * nodes of a tree or the leaves of a barcode.
+     */
+    int getNodeCount();
+
+    /**
+     * Estimates the number of bytes that this structure retains, not counting
+     * the elements that it holds.
+     */
+    long estimateRetainedBytes();
+}
@@ -2,6 +2,8 @@ package ca.odell.glazedlists;
 
 import ca.odell.glazedlists.ObservableElementList.Connector;
 
+import java.util.Collection;
+
 /**
  * This interface defines the contract between an {@link ObservableElementList} and an associated {@link Connector}.
  * This allows different implementations of an ObservableElementList while reusing the existing Connector
@@ -25,4 +27,22 @@ public interface ObservableElementChangeHandler<E> {
      * @param listElement the list element which has been modified
      */
     void elementChanged(Object listElement);
+
+    /**
+     * Handle listeners being notified for each of the specified
+     * <code>listElements</code>. Implementations should fire a single
+     * ListEvent that holds the updates of all locations of all the given
+     * elements, rather than one ListEvent per element. By default, this calls
+     * {@link #elementChanged(Object)} for each element.
+     *
+     * <p>Note that elements which are no longer located within this list are
+     * ignored.
+     *
+     * @param listElements the list elements which have been modified
+     */
+    default void elementsChanged(Collection<?> listElements) {
+        for (Object listElement : listElements) {
+            elementChanged(listElement);
+        }
+    }
 }
\ No newline at end of file
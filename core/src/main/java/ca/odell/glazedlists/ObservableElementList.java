@@ -4,12 +4,21 @@
 package ca.odell.glazedlists;
 
 import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.impl.MemoryEstimates;
 import ca.odell.glazedlists.impl.adt.Barcode;
 import ca.odell.glazedlists.impl.adt.BarcodeIterator;
+import ca.odell.glazedlists.impl.adt.barcode2.Element;
+import ca.odell.glazedlists.impl.adt.barcode2.SimpleTree;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.EventListener;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * A list that fires update events whenever elements are modified in place.
@@ -30,8 +39,9 @@ import java.util.List;
  * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>EventList Overview</b></font></td></tr>
  * <tr><td class="TableSubHeadingColor"><b>Writable:</b></td><td>yes</td></tr>
  * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>thread ready, not thread safe; elementChanged(), however, is thread ready</td></tr>
- * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>inserts: O(1), deletes: O(1), updates: O(1), elementChanged: O(n)</td></tr>
- * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>8 bytes per element</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>inserts: O(1), deletes: O(1), updates: O(1), elementChanged: O(n)<br>
+ * with an element index: inserts: O(log n), deletes: O(log n), updates: O(1), elementChanged: O(log n) per occurrence of the element</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>8 bytes per element, about 64 bytes per element with an element index</td></tr>
  * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>ObservableElementListTest</td></tr>
  * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
  * </table>
@@ -43,17 +53,36 @@ import java.util.List;
  * @author <a href="mailto:jesse@swank.ca">Jesse Wilson</a>
  * @author James Lemieux
  */
-public class ObservableElementList<E> extends TransformedList<E, E> implements ObservableElementChangeHandler<E> {
+public class ObservableElementList<E> extends TransformedList<E, E> implements ObservableElementChangeHandler<E>, MemoryFootprint {
 
     /**
      * A list of the observed elements. It is necessary to track the observed
      * elements since list removals broadcast ListEvents which do not include
      * the removed element as part of the ListEvent. We use this list to locate
      * removed elements for the purpose of unregistering listeners from them.
-     * todo remove this list when ListEvent can reliably furnish us with a deleted value
+     * This is <code>null</code> if this list keeps an element index, which
+     * tracks the observed elements in {@link #observedNodes} instead.
      */
     private List<E> observedElements;
 
+    /**
+     * The observed elements if this list keeps an element index, otherwise
+     * <code>null</code>. Each element has its own node, so the index of an
+     * element can be found from its node in O(log n), even as elements are
+     * inserted and deleted before it.
+     */
+    private SimpleTree<E> observedNodes;
+
+    /**
+     * The nodes of {@link #observedNodes}, keyed by element identity. The
+     * value is the single {@link Element} of an element that occurs once in
+     * this list, or a {@link Set} of the {@link Element}s of an element that
+     * occurs more than once. This allows {@link #elementChanged(Object)} to
+     * locate the changed element without scanning the list. This is
+     * <code>null</code> unless this list keeps an element index.
+     */
+    private Map<E, Object> elementNodes;
+
     /**
      * The connector object containing the logic for registering and
      * unregistering a listener that detects changes within the observed
@@ -109,6 +138,32 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
      *      {@link Connector#setObservableElementList(ObservableElementChangeHandler)}.
      */
     public ObservableElementList(EventList<E> source, Connector<? super E> elementConnector) {
+        this(source, elementConnector, false);
+    }
+
+    /**
+     * Constructs an <code>ObservableElementList</code> which wraps the given
+     * <code>source</code> and uses the given <code>elementConnector</code> to
+     * register/unregister change listeners on elements of the
+     * <code>source</code>.
+     *
+     * <p>If <code>indexElements</code> is <tt>true</tt>, this list keeps an
+     * index of its elements by identity, so {@link #elementChanged(Object)}
+     * locates the changed element in O(log n) per occurrence rather than by
+     * scanning the whole list. The index costs about 64 bytes per element and
+     * makes inserts and deletes O(log n), so it pays off for large lists
+     * whose elements change often.
+     *
+     * @param source the {@link EventList} to transform
+     * @param elementConnector the {@link Connector} to consult when list
+     *      elements are added or removed and thus element listeners must be
+     *      registered or unregistered. Note that this constructor attachs
+     *      this list to the given <code>elementConnector</code> by calling
+     *      {@link Connector#setObservableElementList(ObservableElementChangeHandler)}.
+     * @param indexElements <tt>true</tt> to keep an index of the elements of
+     *      this list by identity
+     */
+    public ObservableElementList(EventList<E> source, Connector<? super E> elementConnector, boolean indexElements) {
         super(source);
 
         this.elementConnector = elementConnector;
@@ -118,7 +173,17 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
         this.elementConnector.setObservableElementList(this);
 
         // for speed, we add all source elements together, rather than individually
-        this.observedElements = new ArrayList<>(source);
+        if (indexElements) {
+            this.observedNodes = new SimpleTree<>();
+            this.observedNodes.setAll((E[]) source.toArray());
+            this.elementNodes = new IdentityHashMap<>(source.size());
+            if (source.size() > 0) {
+                for (Element<E> node = this.observedNodes.get(0); node != null; node = node.next())
+                    this.indexNode(node);
+            }
+        } else {
+            this.observedElements = new ArrayList<>(source);
+        }
 
         // we initialize the single EventListener registry, as we optimistically
         // assume we'll be using a single listener for all observed elements
@@ -140,7 +205,7 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
 
     @Override
     public void listChanged(ListEvent<E> listChanges) {
-        if (this.observedElements == null)
+        if (this.observedElements == null && this.observedNodes == null)
             throw new IllegalStateException("This list has been disposed and can no longer be used.");
 
         // add listeners to inserted list elements and remove listeners from deleted elements
@@ -151,7 +216,7 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
             // register a listener on the inserted object
             if (changeType == ListEvent.INSERT) {
                 final E inserted = get(changeIndex);
-                this.observedElements.add(changeIndex, inserted);
+                this.addObserved(changeIndex, inserted);
 
                 // connect a listener to the freshly inserted element
                 final EventListener listener = this.connectElement(inserted);
@@ -162,7 +227,7 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
             } else if (changeType == ListEvent.DELETE) {
                 // try to get the previous value through the ListEvent
                 E deleted = listChanges.getOldValue();
-                E deletedElementFromPrivateCopy = this.observedElements.remove(changeIndex);
+                final E deletedElementFromPrivateCopy = this.removeObserved(changeIndex);
 
                 // if the ListEvent could give us the previous value, use the value from our private copy of the source
                 if (deleted == ListEvent.UNKNOWN_VALUE)
@@ -175,17 +240,19 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
 
             // register/unregister listeners if the value at the changeIndex is now a different object
             } else if (changeType == ListEvent.UPDATE) {
+                final E newValue = get(changeIndex);
+
+                // update our private copy, which is also how the elements of
+                // a reordering are delivered
                 E previousValue = listChanges.getOldValue();
+                final E previousElementFromPrivateCopy = this.setObserved(changeIndex, newValue);
 
                 // if the ListEvent could give us the previous value, use the value from our private copy of the source
                 if (previousValue == ListEvent.UNKNOWN_VALUE)
-                    previousValue = this.observedElements.get(changeIndex);
-
-                final E newValue = get(changeIndex);
+                    previousValue = previousElementFromPrivateCopy;
 
                 // if a different object is present at the index
                 if (newValue != previousValue) {
-                    this.observedElements.set(changeIndex, newValue);
 
                     // disconnect the listener from the previous element at the index
                     this.disconnectElement(previousValue, this.getListener(changeIndex));
@@ -201,6 +268,92 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
         this.updates.forwardEvent(listChanges);
     }
 
+    /**
+     * Inserts the specified element into the private copy of the observed
+     * elements at the specified index.
+     */
+    private void addObserved(int index, E element) {
+        if (this.observedNodes == null)
+            this.observedElements.add(index, element);
+        else
+            this.indexNode(this.observedNodes.add(index, element, 1));
+    }
+
+    /**
+     * Removes the element at the specified index from the private copy of the
+     * observed elements.
+     *
+     * @return the removed element
+     */
+    private E removeObserved(int index) {
+        if (this.observedNodes == null)
+            return this.observedElements.remove(index);
+
+        final Element<E> node = this.observedNodes.get(index);
+        this.unindexNode(node);
+        this.observedNodes.remove(node);
+        return node.get();
+    }
+
+    /**
+     * Replaces the element at the specified index in the private copy of the
+     * observed elements.
+     *
+     * @return the replaced element
+     */
+    private E setObserved(int index, E element) {
+        if (this.observedNodes == null)
+            return this.observedElements.set(index, element);
+
+        final Element<E> node = this.observedNodes.get(index);
+        final E previous = node.get();
+        if (previous != element) {
+            this.unindexNode(node);
+            node.set(element);
+            this.indexNode(node);
+        }
+        return previous;
+    }
+
+    /**
+     * Records the specified node of {@link #observedNodes} in the
+     * {@link #elementNodes} index of its element.
+     */
+    private void indexNode(Element<E> node) {
+        final E element = node.get();
+        final Object nodes = this.elementNodes.get(element);
+
+        if (nodes == null) {
+            this.elementNodes.put(element, node);
+        } else if (nodes instanceof Element) {
+            // the element now occurs more than once
+            final Set<Element<E>> nodeSet = Collections.newSetFromMap(new IdentityHashMap<Element<E>, Boolean>());
+            nodeSet.add((Element<E>) nodes);
+            nodeSet.add(node);
+            this.elementNodes.put(element, nodeSet);
+        } else {
+            ((Set<Element<E>>) nodes).add(node);
+        }
+    }
+
+    /**
+     * Removes the specified node of {@link #observedNodes} from the
+     * {@link #elementNodes} index of its element.
+     */
+    private void unindexNode(Element<E> node) {
+        final E element = node.get();
+        final Object nodes = this.elementNodes.get(element);
+
+        if (nodes == node) {
+            this.elementNodes.remove(element);
+        } else {
+            final Set<Element<E>> nodeSet = (Set<Element<E>>) nodes;
+            nodeSet.remove(node);
+            if (nodeSet.size() == 1)
+                this.elementNodes.put(element, nodeSet.iterator().next());
+        }
+    }
+
     /**
      * A convenience method for adding a listener into the appropriate listener
      * registry. The <code>listener</code> will be registered at the specified
@@ -360,6 +513,22 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
         return true;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public int getNodeCount() {
+        return (observedNodes == null ? 0 : observedNodes.getNodeCount()) + (singleEventListenerRegistry == null ? 0 : singleEventListenerRegistry.getNodeCount());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long estimateRetainedBytes() {
+        final long observedBytes = observedNodes == null ? MemoryEstimates.arrayListBytes(observedElements.size())
+            : observedNodes.estimateRetainedBytes() + MemoryEstimates.hashMapBytes(elementNodes.size());
+        return observedBytes
+            + MemoryEstimates.estimateRetainedBytes(singleEventListenerRegistry)
+            + (multiEventListenerRegistry == null ? 0 : MemoryEstimates.arrayListBytes(multiEventListenerRegistry.size()));
+    }
+
     /**
      * Releases the resources consumed by this {@link TransformedList} so that
      * it may eventually be garbage collected.
@@ -380,10 +549,17 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
         super.dispose();
 
         // then remove all listeners from all list elements
-        for (int i = 0, n = this.observedElements.size(); i < n; i++) {
-            final E element = this.observedElements.get(i);
-            final EventListener listener = this.getListener(i);
-            this.disconnectElement(element, listener);
+        if (this.observedNodes == null) {
+            for (int i = 0, n = this.observedElements.size(); i < n; i++) {
+                final EventListener listener = this.getListener(i);
+                this.disconnectElement(this.observedElements.get(i), listener);
+            }
+        } else if (this.observedNodes.size() > 0) {
+            int i = 0;
+            for (Element<E> node = this.observedNodes.get(0); node != null; node = node.next(), i++) {
+                final EventListener listener = this.getListener(i);
+                this.disconnectElement(node.get(), listener);
+            }
         }
 
         // clear out the reference to this list from the associated connector
@@ -391,6 +567,8 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
 
         // null out all references to internal data structures
         this.observedElements = null;
+        this.observedNodes = null;
+        this.elementNodes = null;
         this.multiEventListenerRegistry = null;
         this.singleEventListener = null;
         this.singleEventListenerRegistry = null;
@@ -415,28 +593,82 @@ public class ObservableElementList<E> extends TransformedList<E, E> implements O
      */
     @Override
     public void elementChanged(Object listElement) {
-        if (this.observedElements == null)
+        this.elementsChanged(Collections.singleton(listElement));
+    }
+
+    /**
+     * Handle listeners being notified for each of the specified
+     * <code>listElements</code>. This method fires a single ListEvent from
+     * this EventList indicating an update occurred at all locations of all the
+     * given <code>listElements</code>, so that a burst of changes to many
+     * elements is processed by the downstream lists only once. Elements which
+     * are not located within this list are ignored.
+     *
+     * <p>Like {@link #elementChanged(Object)}, this method acquires the write
+     * lock for this list and is Thread ready.
+     *
+     * @param listElements the list elements which have been modified
+     */
+    @Override
+    public void elementsChanged(Collection<?> listElements) {
+        if (this.observedElements == null && this.observedNodes == null)
             throw new IllegalStateException("This list has been disposed and can no longer be used.");
 
         getReadWriteLock().writeLock().lock();
         try {
-            this.updates.beginEvent();
-
-            // locate all indexes containing the given listElement
-            for (int i = 0, n = size(); i < n; i++) {
-            	final E currentElement = get(i);
-                if (listElement == currentElement) {
+            // without an element index, scan the list for the given listElements
+            if (this.observedNodes == null) {
+                final Set<Object> changed = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+                changed.addAll(listElements);
+                boolean eventStarted = false;
+                for (int i = 0, n = size(); i < n; i++) {
+                    final E currentElement = get(i);
+                    if (!changed.contains(currentElement)) continue;
+                    if (!eventStarted) {
+                        this.updates.beginEvent();
+                        eventStarted = true;
+                    }
                     this.updates.elementUpdated(i, currentElement, currentElement);
                 }
+                if (eventStarted) this.updates.commitEvent();
+                return;
+            }
+
+            // locate all indexes containing the given listElements
+            int[] indices = new int[listElements.size()];
+            int indexCount = 0;
+            for (Object listElement : listElements) {
+                final Object nodes = this.elementNodes.get(listElement);
+                if (nodes == null) continue;
+
+                if (nodes instanceof Element) {
+                    if (indexCount == indices.length)
+                        indices = Arrays.copyOf(indices, indices.length * 2 + 1);
+                    indices[indexCount++] = this.observedNodes.indexOfNode((Element<E>) nodes, (byte) 1);
+                } else {
+                    final Set<Element<E>> nodeSet = (Set<Element<E>>) nodes;
+                    if (indexCount + nodeSet.size() > indices.length)
+                        indices = Arrays.copyOf(indices, Math.max(indices.length * 2, indexCount + nodeSet.size()));
+                    for (Element<E> node : nodeSet)
+                        indices[indexCount++] = this.observedNodes.indexOfNode(node, (byte) 1);
+                }
             }
+            if (indexCount == 0) return;
 
+            // report the updates in increasing order, once per index
+            Arrays.sort(indices, 0, indexCount);
+            this.updates.beginEvent();
+            for (int i = 0; i < indexCount; i++) {
+                if (i > 0 && indices[i] == indices[i - 1]) continue;
+                final E currentElement = get(indices[i]);
+                this.updates.elementUpdated(indices[i], currentElement, currentElement);
+            }
             this.updates.commitEvent();
         } finally {
             getReadWriteLock().writeLock().unlock();
         }
     }
 
-
     /**
      * An interface defining the methods required for registering and
      * unregistering change listeners on list elements within an {@link ObservableElementList}.
@@ -41,7 +41,7 @@ import java.util.*;
  *
  * @author <a href="mailto:jesse@swank.ca">Jesse Wilson</a>
  */
-public class SeparatorList<E> extends TransformedList<E, E> {
+public class SeparatorList<E> extends TransformedList<E, E> implements MemoryFootprint {
 
     /** delegate to an inner class to insert the separators */
     private SeparatorInjectorList<E> separatorSource;
@@ -424,6 +424,18 @@ public class SeparatorList<E> extends TransformedList<E, E> {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public int getNodeCount() {
+        return collapsedElements.getNodeCount();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long estimateRetainedBytes() {
+        return collapsedElements.estimateRetainedBytes();
+    }
+
     /** {@inheritDoc} */
     @Override
     public void dispose() {
@@ -478,7 +490,7 @@ public class SeparatorList<E> extends TransformedList<E, E> {
      * as a separate transformation from the hiding of separators
      * and collapsed elements.
      */
-    static class SeparatorInjectorList<E> extends TransformedList<E, E> {
+    static class SeparatorInjectorList<E> extends TransformedList<E, E> implements MemoryFootprint {
 
         /** the grouping service manages finding where to insert groups */
         private final Grouper<E> grouper;
@@ -607,6 +619,19 @@ public class SeparatorList<E> extends TransformedList<E, E> {
             return insertedSeparators.size();
         }
 
+        /** {@inheritDoc} */
+        @Override
+        public int getNodeCount() {
+            return insertedSeparators.getNodeCount() + separators.getNodeCount() + grouper.getBarcode().getNodeCount();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public long estimateRetainedBytes() {
+            return insertedSeparators.estimateRetainedBytes() + separators.estimateRetainedBytes()
+                + grouper.getBarcode().estimateRetainedBytes();
+        }
+
         /** {@inheritDoc} */
         @Override
         public void listChanged(ListEvent<E> listChanges) {
@@ -53,7 +53,7 @@ import java.util.*;
  *
  * @author <a href="mailto:jesse@swank.ca">Jesse Wilson</a>
  */
-public final class SortedList<E> extends TransformedList<E,E> {
+public final class SortedList<E> extends TransformedList<E,E> implements MemoryFootprint {
 
     private static final byte ALL_COLORS = 1;
     private static final Element EMPTY_ELEMENT = null;
@@ -357,6 +357,95 @@ public final class SortedList<E> extends TransformedList<E,E> {
         updates.commitEvent();
     }
 
+    /**
+     * Populates the empty sorted tree with a node for every node in the
+     * unsorted tree. Rather than inserting the nodes one at a time, this
+     * sorts the source values once and then builds the balanced tree in
+     * linear time.
+     *
+     * @return the source values in their new sorted order
+     */
+    private List<E> buildSortedTree() {
+        final int size = unsorted.size();
+        if(size == 0) return Collections.emptyList();
+
+        // collect the unsorted nodes in source order
+        final Element[] unsortedNodes = new Element[size];
+        int index = 0;
+        for(SimpleTreeIterator<Element> i = new SimpleTreeIterator<>(unsorted); i.hasNext(); index++) {
+            i.next();
+            unsortedNodes[index] = i.node();
+        }
+
+        // find the sorted order of the source indices, equal values stay in source order
+        final Object[] values = new Object[size];
+        final int[] order = new int[size];
+        for(int i = 0; i < size; i++) {
+            values[i] = source.get(i);
+            order[i] = i;
+        }
+        if(comparator != null) mergeSort(order.clone(), order, 0, size, values, comparator);
+
+        // build the sorted tree, and point each unsorted node at its sorted node
+        final Element[] sortedNodeValues = new Element[size];
+        final Object[] sortedValues = new Object[size];
+        for(int i = 0; i < size; i++) {
+            sortedNodeValues[i] = unsortedNodes[order[i]];
+            sortedValues[i] = values[order[i]];
+        }
+        sorted.setAll(sortedNodeValues);
+        for(SimpleTreeIterator<Element> i = new SimpleTreeIterator<>(sorted); i.hasNext(); ) {
+            i.next();
+            Element<Element> sortedNode = i.node();
+            sortedNode.get().set(sortedNode);
+        }
+        return (List<E>)Arrays.asList(sortedValues);
+    }
+
+    /**
+     * Sorts the indices in <code>dest</code> from <code>low</code> (inclusive)
+     * to <code>high</code> (exclusive) by the values they refer to. The sort is
+     * stable, so equal values keep their original relative order. Like
+     * {@link SimpleTree#addInSortedOrder}, values with a higher index are
+     * always the first argument to the {@link Comparator}. The array
+     * <code>src</code> must start out as a copy of <code>dest</code>.
+     */
+    private static void mergeSort(int[] src, int[] dest, int low, int high, Object[] values, Comparator comparator) {
+        final int length = high - low;
+
+        // insertion sort on the smallest arrays
+        if(length < 7) {
+            for(int i = low + 1; i < high; i++) {
+                for(int j = i; j > low && comparator.compare(values[dest[j]], values[dest[j - 1]]) < 0; j--) {
+                    final int swap = dest[j];
+                    dest[j] = dest[j - 1];
+                    dest[j - 1] = swap;
+                }
+            }
+            return;
+        }
+
+        // sort each half into src
+        final int middle = (low + high) >>> 1;
+        mergeSort(dest, src, low, middle, values, comparator);
+        mergeSort(dest, src, middle, high, values, comparator);
+
+        // if the halves are already in order, just copy them over
+        if(comparator.compare(values[src[middle]], values[src[middle - 1]]) >= 0) {
+            System.arraycopy(src, low, dest, low, length);
+            return;
+        }
+
+        // merge the sorted halves from src into dest
+        for(int i = low, p = low, q = middle; i < high; i++) {
+            if(q < high && (p >= middle || comparator.compare(values[src[q]], values[src[p]]) < 0)) {
+                dest[i] = src[q++];
+            } else {
+                dest[i] = src[p++];
+            }
+        }
+    }
+
     /**
      * Inserts the specified unsorted node as the value in the sorted tree
      * and returns the sorted order.
@@ -396,6 +485,18 @@ public final class SortedList<E> extends TransformedList<E,E> {
         return unsorted.indexOfNode(unsortedNode, ALL_COLORS);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public int getNodeCount() {
+        return sorted.getNodeCount() + unsorted.getNodeCount();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long estimateRetainedBytes() {
+        return sorted.estimateRetainedBytes() + unsorted.estimateRetainedBytes();
+    }
+
     /** {@inheritDoc} */
     @Override
     protected boolean isWritable() {
@@ -445,10 +546,8 @@ public final class SortedList<E> extends TransformedList<E,E> {
         if(previousSorted == null && unsorted == null) {
             unsorted = new SimpleTree<>();
             // add all elements in the source list, in order
-            for(int i = 0, n = source.size(); i < n; i++) {
-                Element unsortedNode = unsorted.add(i, EMPTY_ELEMENT, 1);
-                insertByUnsortedNode(unsortedNode);
-            }
+            unsorted.setAll(new Element[source.size()]);
+            buildSortedTree();
             // this is the first sort so we're done
             return;
         }
@@ -457,11 +556,7 @@ public final class SortedList<E> extends TransformedList<E,E> {
         if(source.isEmpty()) return;
 
         // rebuild the sorted tree to reflect the new Comparator
-        for(SimpleTreeIterator<Element> i = new SimpleTreeIterator<>(unsorted); i.hasNext(); ) {
-            i.next();
-            Element unsortedNode = i.node();
-            insertByUnsortedNode(unsortedNode);
-        }
+        final List<E> sortedValues = buildSortedTree();
 
         // construct the reorder map
         int[] reorderMap = new int[size()];
@@ -477,7 +572,7 @@ public final class SortedList<E> extends TransformedList<E,E> {
 
         // notification about the big change
         updates.beginEvent();
-        updates.reorder(reorderMap, ObjectChange.getChanges(this, reorderMap));
+        updates.reorder(reorderMap, ObjectChange.getChanges(sortedValues, reorderMap));
         updates.commitEvent();
     }
 
@@ -0,0 +1,204 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEventPublisher;
+import ca.odell.glazedlists.impl.adt.CircularArrayList;
+import ca.odell.glazedlists.util.concurrent.LockFactory;
+import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.RandomAccess;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link EventList} of timestamped elements that only keeps the elements
+ * within a sliding time window, such as the events of a feed from the last
+ * five minutes. New elements are usually appended at the end, in timestamp
+ * order.
+ *
+ * <p>Each write to this list first makes its change, and then removes the
+ * expired elements from the head of the list, which are those whose timestamp
+ * is older than the window. Expiry stops at the first element that hasn't
+ * expired, so an element that was inserted out of timestamp order stays
+ * until it reaches the head. The expired elements are removed as a single
+ * DELETE block in the same event as the write. Call {@link #expire()}, for
+ * example from a timer, to also remove expired elements while no elements are
+ * written; like any other write, it must hold the write lock.
+ *
+ * <p>The elements are stored in a ring buffer, so removing from the head and
+ * appending at the end cost O(1) per element, rather than the O(N) shift of
+ * an {@link java.util.ArrayList}.
+ *
+ * <p><strong><font color="#FF0000">Warning:</font></strong> This class is
+ * thread ready but not thread safe. See {@link EventList} for an example
+ * of thread safe code.
+ *
+ * <p><table border="1" width="100%" cellpadding="3" cellspacing="0">
+ * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>EventList Overview</b></font></td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Writable:</b></td><td>yes</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>thread ready, not thread safe</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>reads: O(1), appends and expiry O(1) amortized, other writes O(N)</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>O(N)</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>TimeWindowListTest</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
+ * </table>
+ */
+public final class TimeWindowList<E> extends AbstractEventList<E> implements RandomAccess {
+
+    /** the elements, oldest first */
+    private final CircularArrayList<E> data = new CircularArrayList<>();
+
+    /** the timestamp of each element, in milliseconds since the epoch */
+    private final FunctionList.Function<? super E, Long> timestamps;
+
+    /** the length of the window in milliseconds */
+    private final long windowMillis;
+
+    /** tells the time that the window ends at */
+    private final Clock clock;
+
+    /**
+     * Creates a {@link TimeWindowList} whose window ends at the current time
+     * of the system clock.
+     *
+     * @param timestamps the function that evaluates the timestamp of each
+     *      element, in milliseconds since the epoch
+     * @param window the length of the window
+     * @param unit the unit of <code>window</code>
+     */
+    public TimeWindowList(FunctionList.Function<? super E, Long> timestamps, long window, TimeUnit unit) {
+        this(timestamps, window, unit, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a {@link TimeWindowList} whose window ends at the current time
+     * of the specified clock, such as a fixed clock for testing.
+     */
+    public TimeWindowList(FunctionList.Function<? super E, Long> timestamps, long window, TimeUnit unit, Clock clock) {
+        this(timestamps, window, unit, clock, null, null);
+    }
+
+    /**
+     * Creates a {@link TimeWindowList} using the specified
+     * {@link ListEventPublisher} and {@link ReadWriteLock}.
+     */
+    public TimeWindowList(FunctionList.Function<? super E, Long> timestamps, long window, TimeUnit unit, Clock clock, ListEventPublisher publisher, ReadWriteLock readWriteLock) {
+        super(publisher);
+        if (window < 0) throw new IllegalArgumentException("window must not be negative: " + window);
+        this.timestamps = timestamps;
+        this.windowMillis = unit.toMillis(window);
+        this.clock = clock;
+        this.readWriteLock = (readWriteLock == null) ? LockFactory.DEFAULT.createReadWriteLock() : readWriteLock;
+    }
+
+    /**
+     * Removes the elements at the head of this list whose timestamp is older
+     * than the window.
+     *
+     * @return the number of elements that were removed
+     */
+    public int expire() {
+        updates.beginEvent(true);
+        final int expired = expireHead();
+        updates.commitEvent();
+        return expired;
+    }
+
+    /**
+     * Removes the expired elements at the head of the list as one block,
+     * within the current event.
+     */
+    private int expireHead() {
+        final long oldest = clock.millis() - windowMillis;
+        int expired = 0;
+        while (expired < data.size() && timestamps.evaluate(data.get(expired)).longValue() < oldest) {
+            expired++;
+        }
+        if (expired > 0) {
+            updates.elementDeleted(0, data.subList(0, expired));
+            data.subList(0, expired).clear();
+        }
+        return expired;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void add(int index, E element) {
+        if(index < 0 || index > size()) throw new IndexOutOfBoundsException("Cannot add at " + index + " on list of size " + size());
+        updates.beginEvent(true);
+        updates.elementInserted(index, element);
+        data.add(index, element);
+        expireHead();
+        updates.commitEvent();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> collection) {
+        if(index < 0 || index > size()) throw new IndexOutOfBoundsException("Cannot add at " + index + " on list of size " + size());
+        if(collection.isEmpty()) return false;
+
+        updates.beginEvent(true);
+        for(E value : collection) {
+            updates.elementInserted(index, value);
+            data.add(index++, value);
+        }
+        expireHead();
+        updates.commitEvent();
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E remove(int index) {
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException("Cannot remove at " + index + " on list of size " + size());
+        updates.beginEvent(true);
+        final E removed = data.remove(index);
+        updates.elementDeleted(index, removed);
+        expireHead();
+        updates.commitEvent();
+        return removed;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E set(int index, E element) {
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException("Cannot set at " + index + " on list of size " + size());
+        updates.beginEvent(true);
+        final E previous = data.set(index, element);
+        updates.elementUpdated(index, previous, element);
+        expireHead();
+        updates.commitEvent();
+        return previous;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void clear() {
+        if(data.isEmpty()) return;
+        updates.beginEvent(true);
+        updates.elementDeleted(0, data);
+        data.clear();
+        updates.commitEvent();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public E get(int index) {
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException("Cannot get at " + index + " on list of size " + size());
+        return data.get(index);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void dispose() { }
+}
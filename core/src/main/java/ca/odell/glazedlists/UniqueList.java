@@ -47,7 +47,7 @@ import java.util.List;
  * @author James Lemieux
  * @author <a href="mailto:jesse@swank.ca">Jesse Wilson</a>
  */
-public final class UniqueList<E> extends TransformedList<E, E> {
+public final class UniqueList<E> extends TransformedList<E, E> implements MemoryFootprint {
 
     /** the grouping service manages collapsing out duplicates */
     private final Grouper<E> grouper;
@@ -320,6 +320,18 @@ public final class UniqueList<E> extends TransformedList<E, E> {
         return index == -1 ? Collections.<E>emptyList() : this.getAll(index);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public int getNodeCount() {
+        return grouper.getBarcode().getNodeCount();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long estimateRetainedBytes() {
+        return grouper.getBarcode().estimateRetainedBytes();
+    }
+
     /** {@inheritDoc} */
     @Override
     public void dispose() {
@@ -8,6 +8,7 @@ import ca.odell.glazedlists.EventList;
 import ca.odell.glazedlists.impl.Preconditions;
 import ca.odell.glazedlists.impl.WeakReferenceProxy;
 import ca.odell.glazedlists.impl.event.BlockSequence;
+import ca.odell.glazedlists.impl.event.ObjectChangeList;
 import ca.odell.glazedlists.impl.event.Tree4Deltas;
 
 import java.util.*;
@@ -45,6 +46,8 @@ public final class ListEventAssembler<E> implements  IListEventAssembler<E> {
     private boolean useListBlocksLinear = false;
     /** fall back to list tree4deltas, which are capable of all list changes */
     private Tree4Deltas<E> listDeltas = new Tree4Deltas<>();
+    /** the size of the source when the current event began, which listDeltas are reset to when they are first needed */
+    private int listDeltasSize = 0;
 
     private final SequenceDependenciesEventPublisher publisher;
     private final ListEvent<E> listEvent;
@@ -178,14 +181,7 @@ public final class ListEventAssembler<E> implements  IListEventAssembler<E> {
     }
 
     public void elementUpdated(int index, List<E> oldValues, List<E> newValues) {
-        if(oldValues.size() != newValues.size()){
-            throw new IllegalArgumentException();
-        }
-        final List<ObjectChange<E>> changes = new ArrayList<>(oldValues.size());
-        for(int i = 0; i<oldValues.size(); i++){
-            changes.add(ObjectChange.create(oldValues.get(i), newValues.get(i)));
-        }
-        elementUpdated(index, changes);
+        elementUpdated(index, ObjectChangeList.updated(oldValues, newValues));
     }
 
     public void elementUpdated(int index, ObjectChange<E> change) {
@@ -219,6 +215,7 @@ public final class ListEventAssembler<E> implements  IListEventAssembler<E> {
                 return;
 
             // convert from linear to tree4deltas
+            listDeltas.reset(listDeltasSize);
             listDeltas.addAll(blockSequence);
             useListBlocksLinear = false;
         }
@@ -417,6 +414,7 @@ public final class ListEventAssembler<E> implements  IListEventAssembler<E> {
         ListEventAssembler<E> assembler = this.newAssembler();
         assembler.blockSequence = this.blockSequence == null ? null : this.blockSequence.copy();
         assembler.listDeltas = this.listDeltas == null ? null : this.listDeltas.copy();
+        assembler.listDeltasSize = this.listDeltasSize;
         assembler.eventLevel = this.eventLevel;
         assembler.allowNestedEvents = this.allowNestedEvents;
         assembler.reorderMap = this.reorderMap;
@@ -437,7 +435,9 @@ public final class ListEventAssembler<E> implements  IListEventAssembler<E> {
         eventThread = null;
         currentThreadStack = null;
         blockSequence.reset();
-        listDeltas.reset(sourceList.size());
+        // filling listDeltas takes O(N), so wait until an event needs them
+        listDeltas.reset(0);
+        listDeltasSize = sourceList.size();
         reorderMap = null;
         listDeltas.setAllowContradictingEvents(false);
         blockSequence.setAllowContradictingEvents(false);
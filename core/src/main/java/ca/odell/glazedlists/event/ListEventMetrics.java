@@ -0,0 +1,41 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.event;
+
+import ca.odell.glazedlists.EventList;
+
+/**
+ * Receives the time taken by each {@link ListEventListener} to handle a
+ * {@link ListEvent}, so that the slow listeners of a pipeline can be found.
+ * Implementations may record the measurements themselves, as
+ * {@link ListEventStatistics} does, or forward them to a monitoring library
+ * such as JMX or Micrometer.
+ *
+ * <p>Metrics are installed with
+ * {@link ListEventPublisher#setListEventMetrics(ListEventMetrics)}. When no
+ * metrics are installed, the publisher doesn't read the clock or count the
+ * changes of events.
+ *
+ * <p><strong><font color="#FF0000">Warning:</font></strong> Metrics are
+ * notified on the thread that changed the list, while it holds the list's write
+ * lock, so implementations must return quickly and must be thread safe if
+ * their measurements are read by other threads.
+ */
+public interface ListEventMetrics {
+
+    /**
+     * Records that the specified listener has handled an event from the
+     * specified subject.
+     *
+     * @param subject the object that fired the event, usually an {@link EventList}
+     * @param listener the listener that handled the event, usually a
+     *      {@link ListEventListener}
+     * @param dispatchNanos the time taken by the listener to handle the event.
+     *      This doesn't include the listeners of the events that it fires in
+     *      turn, which are measured separately
+     * @param blockCount the number of blocks of the event
+     * @param changeCount the number of elements changed by the event
+     */
+    void listenerNotified(Object subject, Object listener, long dispatchNanos, int blockCount, int changeCount);
+}
@@ -8,6 +8,9 @@ import ca.odell.glazedlists.CompositeList;
 import ca.odell.glazedlists.EventList;
 import ca.odell.glazedlists.ListSelection;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Define a strategy for managing dependencies in the observer pattern.
  *
@@ -72,4 +75,38 @@ public interface ListEventPublisher {
      * Detach the subject from its related listener.
      */
     void clearRelatedListener(Object subject, Object relatedListener);
-}
\ No newline at end of file
+
+    /**
+     * Sets the {@link ListEventMetrics} to be notified each time a listener
+     * handles an event fired by this publisher, or <code>null</code> to stop
+     * measuring. The metrics apply to every {@link EventList} that shares
+     * this publisher.
+     *
+     * <p>The write lock of the lists sharing this publisher must be held
+     * while the metrics are changed.
+     *
+     * <p>Publishers that cannot measure their listeners ignore the metrics,
+     * which is the default.
+     */
+    default void setListEventMetrics(ListEventMetrics metrics) {
+        // measuring is not supported
+    }
+
+    /**
+     * Gets the {@link ListEventMetrics} notified of the events fired by this
+     * publisher, or <code>null</code> if none are installed. This is always
+     * <code>null</code> by default.
+     */
+    default ListEventMetrics getListEventMetrics() {
+        return null;
+    }
+
+    /**
+     * Gets the listeners currently registered to receive events from the
+     * specified subject, such as an {@link EventList}. Publishers that don't
+     * track their listeners return an empty list, which is the default.
+     */
+    default <Listener> List<Listener> getListeners(Object subject) {
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,200 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.event;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link ListEventMetrics} that keeps a histogram of the dispatch times of
+ * each subject and listener pair, along with its event, block and change
+ * counts. The histograms can be read at any time with {@link #getStatistics()},
+ * for example to publish them through JMX:
+ *
+ * <pre>
+ * ListEventStatistics statistics = new ListEventStatistics();
+ * source.getPublisher().setListEventMetrics(statistics);
+ * ...
+ * for (ListEventStatistics.ListenerStatistics s : statistics.getStatistics()) {
+ *     System.out.println(s);
+ * }
+ * </pre>
+ *
+ * <p>The histograms use power of two buckets, so percentiles are accurate to
+ * within a factor of two.
+ *
+ * <p><strong><font color="#FF0000">Warning:</font></strong> The statistics
+ * hold references to the subjects and listeners they measure, until they
+ * are {@link #reset() reset}.
+ */
+public final class ListEventStatistics implements ListEventMetrics {
+
+    /** bucket <code>i</code> counts dispatches that took less than 2<sup>i</sup> nanoseconds */
+    private static final int BUCKET_COUNT = 40;
+
+    /** the statistics of each listener, by listener and then by subject */
+    private final Map<Object, Map<Object, ListenerStatistics>> statistics = new IdentityHashMap<>();
+
+    /** {@inheritDoc} */
+    @Override
+    public synchronized void listenerNotified(Object subject, Object listener, long dispatchNanos, int blockCount, int changeCount) {
+        final Map<Object, ListenerStatistics> bySubject = statistics.computeIfAbsent(listener, key -> new IdentityHashMap<>(2));
+        ListenerStatistics listenerStatistics = bySubject.get(subject);
+        if (listenerStatistics == null) {
+            listenerStatistics = new ListenerStatistics(subject, listener);
+            bySubject.put(subject, listenerStatistics);
+        }
+        listenerStatistics.record(dispatchNanos, blockCount, changeCount);
+    }
+
+    /**
+     * Gets a snapshot of the statistics of every subject and listener pair
+     * that has handled an event since this was created or reset.
+     */
+    public synchronized List<ListenerStatistics> getStatistics() {
+        final List<ListenerStatistics> result = new ArrayList<>();
+        for (Map<Object, ListenerStatistics> bySubject : statistics.values()) {
+            for (ListenerStatistics listenerStatistics : bySubject.values()) {
+                result.add(new ListenerStatistics(listenerStatistics));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Discards all statistics, and the references to their subjects and
+     * listeners.
+     */
+    public synchronized void reset() {
+        statistics.clear();
+    }
+
+    /**
+     * The measurements of the events that one listener has handled from one
+     * subject.
+     */
+    public static final class ListenerStatistics {
+        private final Object subject;
+        private final Object listener;
+        private final long[] buckets;
+        private long eventCount;
+        private long blockCount;
+        private long changeCount;
+        private long totalNanos;
+        private long maxNanos;
+
+        private ListenerStatistics(Object subject, Object listener) {
+            this.subject = subject;
+            this.listener = listener;
+            this.buckets = new long[BUCKET_COUNT];
+        }
+
+        private ListenerStatistics(ListenerStatistics original) {
+            this.subject = original.subject;
+            this.listener = original.listener;
+            this.buckets = original.buckets.clone();
+            this.eventCount = original.eventCount;
+            this.blockCount = original.blockCount;
+            this.changeCount = original.changeCount;
+            this.totalNanos = original.totalNanos;
+            this.maxNanos = original.maxNanos;
+        }
+
+        private void record(long dispatchNanos, int blocks, int changes) {
+            final int bucket = 64 - Long.numberOfLeadingZeros(Math.max(0, dispatchNanos));
+            buckets[Math.min(bucket, BUCKET_COUNT - 1)]++;
+            eventCount++;
+            blockCount += blocks;
+            changeCount += changes;
+            totalNanos += dispatchNanos;
+            maxNanos = Math.max(maxNanos, dispatchNanos);
+        }
+
+        /**
+         * Gets the object that fired the events, usually an EventList.
+         */
+        public Object getSubject() {
+            return subject;
+        }
+
+        /**
+         * Gets the listener that handled the events.
+         */
+        public Object getListener() {
+            return listener;
+        }
+
+        /**
+         * Gets the number of events handled.
+         */
+        public long getEventCount() {
+            return eventCount;
+        }
+
+        /**
+         * Gets the total number of blocks of the events handled.
+         */
+        public long getBlockCount() {
+            return blockCount;
+        }
+
+        /**
+         * Gets the total number of elements changed by the events handled.
+         */
+        public long getChangeCount() {
+            return changeCount;
+        }
+
+        /**
+         * Gets the total time spent handling events, in nanoseconds.
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * Gets the longest time spent handling an event, in nanoseconds.
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * Gets the number of events in each bucket of the histogram. Bucket
+         * <code>i</code> counts the events handled in less than
+         * 2<sup>i</sup> nanoseconds, and at least half that, while the last
+         * bucket counts all longer events.
+         */
+        public long[] getBucketCounts() {
+            return buckets.clone();
+        }
+
+        /**
+         * Gets an upper bound on the time taken to handle the specified
+         * fraction of events, such as 0.99 for the 99th percentile, in
+         * nanoseconds.
+         */
+        public long getPercentileNanos(double percentile) {
+            if (percentile < 0.0 || percentile > 1.0) throw new IllegalArgumentException("percentile must be between 0 and 1: " + percentile);
+            if (eventCount == 0) return 0;
+            final long rank = Math.max(1, (long) Math.ceil(percentile * eventCount));
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT - 1; i++) {
+                seen += buckets[i];
+                if (seen >= rank) return Math.min(1L << i, maxNanos);
+            }
+            return maxNanos;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return subject.getClass().getSimpleName() + " -> " + listener.getClass().getSimpleName()
+                + ": " + eventCount + " events, " + blockCount + " blocks, " + changeCount + " changes, "
+                + "p50 " + getPercentileNanos(0.5) + "ns, p99 " + getPercentileNanos(0.99) + "ns, max " + maxNanos + "ns";
+        }
+    }
+}
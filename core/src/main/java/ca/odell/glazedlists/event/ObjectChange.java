@@ -1,6 +1,7 @@
 package ca.odell.glazedlists.event;
 
-import java.util.ArrayList;
+import ca.odell.glazedlists.impl.event.ObjectChangeList;
+
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -62,35 +63,31 @@ public class ObjectChange<T> {
         return Collections.nCopies(size, change);
     }
 
+    /**
+     * Get the changes of a block of the specified type affecting the specified
+     * values. The changes are a read-only view over a copy of the values, so
+     * no {@link ObjectChange} is created until one is requested.
+     */
     public static <E> List<ObjectChange<E>> getChanges(List<E> values, int changeType){
-        final List<ObjectChange<E>> changes = new ArrayList<>(values.size());
-        for(int i = 0; i<values.size(); i++){
-            final ObjectChange<E> change;
-            switch (changeType){
-                case ListEvent.INSERT:
-                    change = ObjectChange.create(ListEvent.unknownValue(), values.get(i));
-                    break;
-                case ListEvent.DELETE:
-                    change = ObjectChange.create(values.get(i), ListEvent.unknownValue());
-                    break;
-                default:
-                    final E value = values.get(i);
-                    change = ObjectChange.create(value, value);
-                    break;
-            }
-            changes.add(change);
+        switch (changeType){
+            case ListEvent.INSERT:
+                return ObjectChangeList.inserted(values);
+            case ListEvent.DELETE:
+                return ObjectChangeList.deleted(values);
+            default:
+                return ObjectChangeList.updated(values);
         }
-        return changes;
     }
 
+    /**
+     * Get the changes of a reordering of the specified values. The changes are
+     * a read-only view over a copy of the values, so no {@link ObjectChange}
+     * is created until one is requested.
+     */
     public static <E> List<ObjectChange<E>> getChanges(List<E> values, int[] reorderMap){
         // can't reorder an empty list, see bug 91
         if(reorderMap.length == 0) return Collections.emptyList();
-        final List<ObjectChange<E>> changes = new ArrayList<>(reorderMap.length);
-        for(int i = 0; i<reorderMap.length; i++){
-            changes.add(ObjectChange.create(values.get(reorderMap[i]), values.get(i)));
-        }
-        return changes;
+        return ObjectChangeList.reordered(values, reorderMap);
     }
 
     public static <E> ObjectChange<E> unknownChange(){
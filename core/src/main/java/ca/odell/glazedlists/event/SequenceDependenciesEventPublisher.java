@@ -79,6 +79,9 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
      */
     private transient List<SubjectAndListener> subjectsAndListenersForCurrentEvent;
 
+    /** notified of the time taken by each listener, or <code>null</code> */
+    private transient ListEventMetrics metrics;
+
     /** Returns a proper initialized publisher object during deserialization. */
     private Object readResolve() throws ObjectStreamException {
         return new SequenceDependenciesEventPublisher();
@@ -299,9 +302,20 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
         listenersToRelatedSubjects.remove(listener);
     }
 
-    /**
-     * Get all listeners of the specified object.
-     */
+    /** {@inheritDoc} */
+    @Override
+    public void setListEventMetrics(ListEventMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ListEventMetrics getListEventMetrics() {
+        return metrics;
+    }
+
+    /** {@inheritDoc} */
+    @Override
     public synchronized <Listener> List<Listener> getListeners(Object subject) {
         List<Listener> result = new ArrayList<>();
         for(int i = 0, size = subjectAndListeners.size(); i < size; i++) {
@@ -350,6 +364,9 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
             // If this method is reentrant, let someone higher up the stack handle this
             if(reentrantFireEventCount != 1) return;
 
+            // measure the listeners only if somebody is interested
+            final ListEventMetrics metrics = this.metrics;
+
             // remember any runtime exceptions thrown to rethrow later
             RuntimeException toRethrow = null;
 
@@ -372,7 +389,8 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
 
                 // notify this listener
                 try {
-                    nextToFire.firePendingEvent();
+                    if(metrics == null) nextToFire.firePendingEvent();
+                    else nextToFire.firePendingEvent(metrics);
                 } catch(RuntimeException e) {
                     if(toRethrow == null) toRethrow = e;
                 }
@@ -482,6 +500,30 @@ final class SequenceDependenciesEventPublisher implements ListEventPublisher, Se
             }
         }
 
+        /**
+         * Fire the pending event, and record the time taken by the listener
+         * and the size of the event.
+         */
+        public void firePendingEvent(ListEventMetrics metrics) {
+            int blockCount = 0;
+            int changeCount = 0;
+            if(pendingEvent instanceof ListEvent) {
+                final ListEvent<?> listEvent = (ListEvent<?>) pendingEvent;
+                listEvent.reset();
+                while(listEvent.nextBlock()) {
+                    blockCount++;
+                    changeCount += listEvent.getBlockEndIndex() - listEvent.getBlockStartIndex() + 1;
+                }
+            }
+
+            final long start = System.nanoTime();
+            try {
+                firePendingEvent();
+            } finally {
+                metrics.listenerNotified(subject, listener, System.nanoTime() - start, blockCount, changeCount);
+            }
+        }
+
         @Override
         public String toString() {
             String separator = hasPendingEvent() ? ">>>" : "-->";
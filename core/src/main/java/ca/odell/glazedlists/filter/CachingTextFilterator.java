@@ -0,0 +1,183 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.filter;
+
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.TextFilterable;
+import ca.odell.glazedlists.TextFilterator;
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventListener;
+import ca.odell.glazedlists.event.ListEventPublisher;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link TextFilterator} that remembers the filter Strings of each element
+ * of a source {@link EventList}, so that they are extracted only once rather
+ * than each time the filter text changes. This is worthwhile when extracting
+ * the filter Strings is expensive, such as with the reflection based
+ * {@link ca.odell.glazedlists.GlazedLists#textFilterator(Class, String...) bean filterators}.
+ *
+ * <p>Cached filter Strings are keyed by element identity. They are discarded
+ * when the element is updated in or deleted from the source {@link EventList},
+ * which this filterator listens to. The cache must be discarded before an
+ * updated element is matched again, so this filterator is notified of each
+ * change before the other listeners of the source, including any
+ * {@link ca.odell.glazedlists.FilterList} that was created on the source
+ * before this filterator. This ordering relies on the source's
+ * {@link ca.odell.glazedlists.event.ListEventPublisher} reporting its
+ * listeners, as the default publisher does; otherwise create this
+ * filterator <strong>before</strong> any
+ * {@link ca.odell.glazedlists.FilterList} that uses it. For example:
+ *
+ * <pre>
+ * EventList&lt;Customer&gt; customers = ...
+ * CachingTextFilterator&lt;Customer&gt; filterator = new CachingTextFilterator&lt;&gt;(customers, GlazedLists.textFilterator(Customer.class, "name", "city"));
+ * TextMatcherEditor&lt;Customer&gt; editor = new TextMatcherEditor&lt;&gt;(filterator);
+ * FilterList&lt;Customer&gt; filtered = new FilterList&lt;&gt;(customers, editor);
+ * </pre>
+ *
+ * <p>Only elements of the source {@link EventList} should be filtered with
+ * this filterator, since the filter Strings of other elements are never
+ * discarded. Call {@link #dispose()} to stop listening to the source.
+ */
+public class CachingTextFilterator<E> implements TextFilterator<E>, ListEventListener<E> {
+
+    /** the list whose elements are being filtered */
+    private final EventList<E> source;
+
+    /** extracts the filter Strings; <code>null</code> if the elements implement {@link TextFilterable} */
+    private final TextFilterator<? super E> filterator;
+
+    /** the filter Strings of each element, keyed by element identity */
+    private final Map<E, String[]> cache = new IdentityHashMap<>();
+
+    /** the listeners of the source that were notified before this filterator */
+    private final List<Object> precedingListeners = new ArrayList<>();
+
+    /** how often cached filter Strings have been discarded, guarded by the cache */
+    private int invalidations = 0;
+
+    /**
+     * Creates a {@link CachingTextFilterator} for the elements of the specified
+     * {@link EventList}.
+     *
+     * @param source the list whose elements are being filtered
+     * @param filterator the object that will extract filter Strings from each
+     *      element; <code>null</code> indicates the elements implement
+     *      {@link TextFilterable}
+     */
+    public CachingTextFilterator(EventList<E> source, TextFilterator<? super E> filterator) {
+        this.source = source;
+        this.filterator = filterator;
+
+        // listeners that are already registered, such as a FilterList, would
+        // otherwise be notified first and match updated elements against
+        // stale filter Strings, so make them depend on this filterator
+        final ListEventPublisher publisher = source.getPublisher();
+        precedingListeners.addAll(publisher.getListeners(source));
+        source.addListEventListener(this);
+        for(int i = 0; i < precedingListeners.size(); i++) {
+            publisher.setRelatedListener(precedingListeners.get(i), this);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void getFilterStrings(List<String> baseList, E element) {
+        String[] elementFilterStrings;
+        int extractedInvalidation;
+        synchronized(cache) {
+            elementFilterStrings = cache.get(element);
+            extractedInvalidation = invalidations;
+        }
+
+        // extract outside of the lock, since the filterator may be slow
+        if(elementFilterStrings == null) {
+            final String[] extracted = extractFilterStrings(element);
+            synchronized(cache) {
+                // strings extracted while the cache was invalidated may be stale
+                if(extractedInvalidation == invalidations) {
+                    elementFilterStrings = cache.putIfAbsent(element, extracted);
+                }
+            }
+            if(elementFilterStrings == null) elementFilterStrings = extracted;
+        }
+
+        for(int i = 0; i < elementFilterStrings.length; i++) {
+            baseList.add(elementFilterStrings[i]);
+        }
+    }
+
+    /**
+     * Extracts the filter Strings of the specified element. The filter Strings
+     * are converted to Strings up front, since they are otherwise converted
+     * every time they are searched.
+     */
+    private String[] extractFilterStrings(E element) {
+        final List<String> filterStrings = new ArrayList<>();
+        if(filterator == null) {
+            ((TextFilterable)element).getFilterStrings(filterStrings);
+        } else {
+            filterator.getFilterStrings(filterStrings, element);
+        }
+
+        final String[] result = new String[filterStrings.size()];
+        for(int i = 0; i < result.length; i++) {
+            // the list may hold arbitrary objects for backwards compatibility
+            final Object filterString = filterStrings.get(i);
+            result[i] = filterString == null ? null : filterString.toString();
+        }
+        return result;
+    }
+
+    /**
+     * Discards the cached filter Strings of updated and deleted elements.
+     */
+    @Override
+    public void listChanged(ListEvent<E> listChanges) {
+        // reordering doesn't change any elements
+        if(listChanges.isReordering()) return;
+
+        synchronized(cache) {
+            invalidations++;
+            while(listChanges.next()) {
+                final int changeType = listChanges.getType();
+                if(changeType == ListEvent.INSERT) continue;
+
+                // we don't know which element was replaced, so start over
+                final E oldValue = listChanges.getOldValue();
+                if(oldValue == ListEvent.UNKNOWN_VALUE) {
+                    cache.clear();
+                    return;
+                }
+                cache.remove(oldValue);
+
+                // updated elements may have been changed in place
+                if(changeType == ListEvent.UPDATE) {
+                    cache.remove(listChanges.getNewValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops listening to the source {@link EventList} and discards all cached
+     * filter Strings. This filterator must not be used after it is disposed.
+     */
+    public void dispose() {
+        source.removeListEventListener(this);
+        for(int i = 0; i < precedingListeners.size(); i++) {
+            source.getPublisher().clearRelatedListener(precedingListeners.get(i), this);
+        }
+        precedingListeners.clear();
+        synchronized(cache) {
+            invalidations++;
+            cache.clear();
+        }
+    }
+}
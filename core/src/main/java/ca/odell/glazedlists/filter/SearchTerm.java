@@ -6,8 +6,6 @@ package ca.odell.glazedlists.filter;
 import ca.odell.glazedlists.matchers.SearchEngineTextMatcherEditor;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
 
 /**
@@ -51,12 +49,6 @@ public final class SearchTerm<E> implements Serializable {
     // used.
     private final SearchEngineTextMatcherEditor.Field<E> field;
 
-    /**
-     * A recyclable list of filter strings extracted by the TextFilterator of
-     * the {@link #field}.
-     */
-    private final List<String> fieldFilterStrings = new ArrayList<>();
-
     /**
      * Construct a new <code>SearchTerm</code> with the given <code>text</code>
      * that is neither negated nor required.
@@ -113,10 +105,6 @@ public final class SearchTerm<E> implements Serializable {
         return field;
     }
 
-    List<String> getFieldFilterStrings() {
-        return fieldFilterStrings;
-    }
-
     /**
      * Return a new <code>SearchTerm</code> with identical information save for
      * the given <code>text</code>.
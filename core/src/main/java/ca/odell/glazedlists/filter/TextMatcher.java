@@ -11,7 +11,9 @@ import ca.odell.glazedlists.matchers.TextMatcherEditor;
 import java.util.*;
 
 /**
- * Matcher for matching text.
+ * Matcher for matching text. It may be called from multiple threads at once,
+ * such as by a {@link ca.odell.glazedlists.FilterList} that refilters in
+ * parallel.
  *
  * @author James Lemieux
  * @author <a href="mailto:jesse@swank.ca">Jesse Wilson</a>
@@ -33,8 +35,8 @@ public class TextMatcher<E> implements Matcher<E> {
     /** a parallel array to locate filter substrings in arbitrary text */
     private final TextSearchStrategy[] filterStrategies;
 
-    /** a heavily recycled list of filter Strings, call clear() before use */
-    private final List<String> filterStrings = new ArrayList<>();
+    /** a heavily recycled list of filter Strings per thread, call clear() before use */
+    private final ThreadLocal<List<String>> filterStrings = ThreadLocal.withInitial(ArrayList::new);
 
     /**
      * @param searchTerms an array of search terms to be matched
@@ -108,7 +110,7 @@ public class TextMatcher<E> implements Matcher<E> {
     /** {@inheritDoc} */
     @Override
     public boolean matches(E element) {
-        return TextMatchers.matches(filterStrings, filterator, searchTerms, filterStrategies, element);
+        return TextMatchers.matches(filterStrings.get(), filterator, searchTerms, filterStrategies, element);
     }
 
     /**
@@ -36,6 +36,9 @@ public final class TextMatchers {
     /** A Matcher that only accepts SearchTerms without null Fields. */
     private static final Matcher<SearchTerm> FIELD_MATCHER = Matchers.invert(NO_FIELD_MATCHER);
 
+    /** A recyclable list per thread of the filter Strings extracted by the TextFilterator of a SearchTerm's Field. */
+    private static final ThreadLocal<List<String>> FIELD_FILTER_STRINGS = ThreadLocal.withInitial(ArrayList::new);
+
     /**
      * Execute the logic that determines whether the given <code>element</code>
      * is matched by all of the given <code>filterStrategies</code>. An optional
@@ -68,7 +71,7 @@ public final class TextMatchers {
             // if the SearchTerm has a Field, use its TextFilterator to extract the filterStrings
             final List<String> strings;
             if (searchTermField != null) {
-                strings = searchTerm.getFieldFilterStrings();
+                strings = FIELD_FILTER_STRINGS.get();
                 // populate the strings for this object using the SearchTerm's TextFilterator
                 strings.clear();
                 searchTermField.getTextFilterator().getFilterStrings(strings, element);
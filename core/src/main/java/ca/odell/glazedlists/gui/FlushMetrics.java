@@ -0,0 +1,39 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.gui;
+
+/**
+ * Reports how a thread proxy list has delivered changes to its proxy thread.
+ * When the proxy thread can't keep up with the source, more changes are
+ * merged into each delivery, so these figures show the backpressure on the
+ * proxy thread. All proxy lists implement this interface, including those
+ * returned by {@link ca.odell.glazedlists.GlazedLists#executorProxyList(ca.odell.glazedlists.EventList, java.util.concurrent.Executor)}
+ * and {@link ca.odell.glazedlists.swing.GlazedListsSwing#swingThreadProxyList(ca.odell.glazedlists.EventList)}.
+ *
+ * <p>The figures may be read from any thread.
+ *
+ * @see FlushPolicy
+ */
+public interface FlushMetrics {
+
+    /**
+     * Get the number of times that changes have been delivered on the proxy
+     * thread.
+     */
+    long getFlushCount();
+
+    /**
+     * Get the total number of source events delivered on the proxy thread.
+     * Divided by the {@link #getFlushCount() flush count}, this is the average
+     * number of events merged per flush, which grows when the proxy thread
+     * can't keep up with the source.
+     */
+    long getMergedEventCount();
+
+    /**
+     * Get the largest number of source events that have been merged into a
+     * single delivery on the proxy thread.
+     */
+    int getMaxEventsPerFlush();
+}
@@ -0,0 +1,100 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.gui;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Specifies how often a thread proxy list delivers changes to the user
+ * interface thread. While a delivery is pending, changes are merged into a
+ * single {@link ca.odell.glazedlists.event.ListEvent}, so delivering less
+ * often means fewer, larger repaints when the source list changes rapidly.
+ *
+ * @see ca.odell.glazedlists.swing.GlazedListsSwing#swingThreadProxyList(ca.odell.glazedlists.EventList, FlushPolicy)
+ */
+public final class FlushPolicy {
+
+    /** the policy that delivers each change as soon as possible */
+    private static final FlushPolicy IMMEDIATE = new FlushPolicy(0, false);
+
+    /** the minimum time between deliveries, in nanoseconds */
+    private final long minimumInterval;
+
+    /** whether the time between deliveries grows with the user interface thread's latency */
+    private final boolean adaptive;
+
+    private FlushPolicy(long minimumInterval, boolean adaptive) {
+        this.minimumInterval = minimumInterval;
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Deliver changes as soon as the user interface thread is available. This
+     * is the default.
+     */
+    public static FlushPolicy immediate() {
+        return IMMEDIATE;
+    }
+
+    /**
+     * Deliver changes at most once per <code>interval</code>, for example
+     * at most every 50 milliseconds.
+     */
+    public static FlushPolicy maximumRate(long interval, TimeUnit unit) {
+        return new FlushPolicy(toNanos(interval, unit), false);
+    }
+
+    /**
+     * Deliver changes at most once per <code>minimumInterval</code>, and
+     * slow down further while the user interface thread is busy. After each
+     * delivery, the next one waits at least as long as the previous delivery
+     * spent queued and running on the user interface thread, so that
+     * delivering changes takes up no more than half of that thread's time.
+     */
+    public static FlushPolicy adaptive(long minimumInterval, TimeUnit unit) {
+        return new FlushPolicy(toNanos(minimumInterval, unit), true);
+    }
+
+    private static long toNanos(long interval, TimeUnit unit) {
+        if(interval < 0) throw new IllegalArgumentException("Interval must not be negative: " + interval);
+        return unit.toNanos(interval);
+    }
+
+    /**
+     * Get the minimum time between deliveries.
+     */
+    public long getMinimumInterval(TimeUnit unit) {
+        return unit.convert(minimumInterval, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Whether the time between deliveries grows with the latency of the user
+     * interface thread.
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Get how long to wait before the next delivery.
+     *
+     * @param sinceLastFlush the time since the previous delivery finished, in
+     *      nanoseconds
+     * @param lastFlushCost the time the previous delivery spent queued and
+     *      running on the user interface thread, in nanoseconds
+     * @return the delay in nanoseconds, or a value less than one to deliver
+     *      immediately
+     */
+    public long getFlushDelay(long sinceLastFlush, long lastFlushCost) {
+        final long interval = adaptive ? Math.max(minimumInterval, lastFlushCost) : minimumInterval;
+        return interval - sinceLastFlush;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        if(this == IMMEDIATE) return "FlushPolicy[immediate]";
+        return "FlushPolicy[" + (adaptive ? "adaptive" : "maximumRate") + ", " + TimeUnit.NANOSECONDS.toMillis(minimumInterval) + "ms]";
+    }
+}
@@ -0,0 +1,15 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.gui;
+
+import ca.odell.glazedlists.EventList;
+
+/**
+ * An {@link EventList} that delivers the changes to its source on a proxy
+ * thread, and reports how it has delivered them through {@link FlushMetrics}.
+ *
+ * @see ca.odell.glazedlists.GlazedLists#executorProxyList(EventList, java.util.concurrent.Executor)
+ */
+public interface ProxyEventList<E> extends EventList<E>, FlushMetrics {
+}
@@ -0,0 +1,173 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl;
+
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.ObservableElementChangeHandler;
+import ca.odell.glazedlists.ObservableElementList;
+import ca.odell.glazedlists.util.concurrent.Lock;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EventListener;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An {@link ObservableElementList.Connector} that buffers the changes reported
+ * by another Connector, such as a {@link ca.odell.glazedlists.impl.beans.BeanConnector},
+ * and delivers them to the {@link ObservableElementList} together once a
+ * delay has passed since the first buffered change. The list then fires a
+ * single ListEvent for all elements that changed within the delay, rather
+ * than one ListEvent per change.
+ *
+ * <p>The shared {@link FlushTimer} only hands the buffered changes to a
+ * delivery thread owned by this Connector, which takes the write lock of the
+ * list and notifies its listeners. A slow pipeline therefore never delays the
+ * flushes of other lists. The delivery thread is started on demand and stops
+ * once it has been idle for a while.
+ *
+ * <p>Since buffered changes are delivered on another thread, the
+ * {@link ObservableElementList} must be used in a thread safe way, and
+ * disposed while holding its write lock.
+ */
+public class BufferedConnector<E> implements ObservableElementList.Connector<E> {
+
+    /** The Connector that installs the listeners on the list elements. */
+    private final ObservableElementList.Connector<E> delegate;
+
+    /** How long to buffer changes before delivering them, in nanoseconds. */
+    private final long delay;
+
+    /** Delivers the buffered changes, off the {@link FlushTimer} thread. */
+    private final Executor deliveryExecutor;
+
+    /** The list which contains the elements being observed via this {@link ObservableElementList.Connector}. */
+    private volatile ObservableElementChangeHandler<? extends E> list;
+
+    /** Collects the changes reported by the {@link #delegate}. */
+    private final ObservableElementChangeHandler<E> buffer = new Buffer();
+
+    /** The changed elements not yet delivered, or <code>null</code> if no delivery is scheduled. */
+    private Set<Object> changedElements;
+
+    /** The scheduled delivery of the {@link #changedElements}, or <code>null</code> if none is scheduled. */
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * Creates a Connector that buffers the changes reported by the specified
+     * Connector for the specified delay.
+     */
+    public BufferedConnector(ObservableElementList.Connector<E> delegate, long delay, TimeUnit unit) {
+        if (delegate == null) throw new IllegalArgumentException("Connector may not be null.");
+        if (delay < 0) throw new IllegalArgumentException("Delay must not be negative: " + delay);
+        this.delegate = delegate;
+        this.delay = unit.toNanos(delay);
+        this.deliveryExecutor = createDeliveryExecutor();
+    }
+
+    /**
+     * Creates the single thread that delivers the buffered changes. The
+     * thread terminates when idle, so that an abandoned Connector doesn't
+     * keep a thread alive.
+     */
+    private static Executor createDeliveryExecutor() {
+        return new ThreadPoolExecutor(0, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), runnable -> {
+            final Thread thread = new Thread(runnable, "Glazed Lists buffered connector");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public EventListener installListener(E element) {
+        return delegate.installListener(element);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void uninstallListener(E element, EventListener listener) {
+        delegate.uninstallListener(element, listener);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setObservableElementList(ObservableElementChangeHandler<? extends E> list) {
+        this.list = list;
+        delegate.setObservableElementList(list == null ? null : buffer);
+
+        // changes to the elements of a disposed list are no longer of interest
+        if (list == null) {
+            synchronized (this) {
+                changedElements = null;
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                    scheduledFlush = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Delivers the buffered changes to the {@link ObservableElementList} now,
+     * rather than when the delay has passed. Nothing is delivered once the
+     * list has been disposed.
+     */
+    public void flush() {
+        final ObservableElementChangeHandler<? extends E> handler = list;
+        if (handler == null) return;
+
+        // hold the list's write lock, so that a dispose() under the lock
+        // either completes before the check below or waits for the delivery
+        final Lock writeLock = handler instanceof EventList ? ((EventList<?>) handler).getReadWriteLock().writeLock() : null;
+        if (writeLock != null) writeLock.lock();
+        try {
+            final Set<Object> elements;
+            synchronized (this) {
+                if (list != handler) return;
+                elements = changedElements;
+                changedElements = null;
+                scheduledFlush = null;
+            }
+            if (elements != null) {
+                handler.elementsChanged(elements);
+            }
+        } finally {
+            if (writeLock != null) writeLock.unlock();
+        }
+    }
+
+    /**
+     * Records the changed elements and schedules their delivery.
+     */
+    private synchronized void bufferChanges(Collection<?> listElements) {
+        if (changedElements == null) {
+            changedElements = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+            // the timer must not block on the list's lock or run its listeners
+            scheduledFlush = FlushTimer.schedule(() -> deliveryExecutor.execute(this::flush), delay, TimeUnit.NANOSECONDS);
+        }
+        changedElements.addAll(listElements);
+    }
+
+    /**
+     * The handler the {@link #delegate} reports changes to.
+     */
+    private class Buffer implements ObservableElementChangeHandler<E> {
+        @Override
+        public void elementChanged(Object listElement) {
+            bufferChanges(Collections.singleton(listElement));
+        }
+
+        @Override
+        public void elementsChanged(Collection<?> listElements) {
+            bufferChanges(listElements);
+        }
+    }
+}
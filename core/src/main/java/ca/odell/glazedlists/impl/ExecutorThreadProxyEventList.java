@@ -0,0 +1,55 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl;
+
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.impl.gui.ThreadProxyEventList;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Proxies events from all threads to tasks run by an {@link Executor}, such
+ * as a thread pool or an executor that starts a virtual thread per task. This
+ * allows server-side consumers to read a consistent snapshot of the source
+ * off the writer thread.
+ *
+ * <p>At most one task is pending at a time, and each task runs while holding
+ * the write lock of the pipeline, so changes are delivered in order even if
+ * the {@link Executor} runs its tasks concurrently. Changes that arrive while
+ * a task is pending are merged into its event.
+ */
+public class ExecutorThreadProxyEventList<E> extends ThreadProxyEventList<E> {
+
+    /** runs the tasks that deliver changes */
+    private final Executor executor;
+
+    /**
+     * Create a {@link ExecutorThreadProxyEventList} that mirrors the specified
+     * source {@link EventList} and delivers its changes on the specified
+     * {@link Executor}.
+     */
+    public ExecutorThreadProxyEventList(EventList<E> source, Executor executor) {
+        super(checkExecutor(source, executor));
+        this.executor = executor;
+    }
+
+    /**
+     * Fails if the specified {@link Executor} is <code>null</code>, before the
+     * superclass starts listening to the source.
+     *
+     * @return the source, unchanged
+     */
+    private static <E> EventList<E> checkExecutor(EventList<E> source, Executor executor) {
+        if(executor == null) throw new IllegalArgumentException("executor must not be null");
+        return source;
+    }
+
+    /**
+     * Submit the specified runnable to the {@link Executor}.
+     */
+    @Override
+    protected void schedule(Runnable runnable) {
+        executor.execute(runnable);
+    }
+}
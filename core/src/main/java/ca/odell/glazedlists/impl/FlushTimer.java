@@ -0,0 +1,51 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The daemon thread shared by everything that delays the delivery of changes,
+ * such as a {@link ca.odell.glazedlists.impl.gui.ThreadProxyEventList} with a
+ * {@link ca.odell.glazedlists.gui.FlushPolicy} and the {@link BufferedConnector}.
+ * The thread is only created once it's needed.
+ *
+ * <p>Scheduled tasks must be short, since they delay each other.
+ */
+public final class FlushTimer {
+
+    private FlushTimer() {
+        // utility class
+    }
+
+    /**
+     * Runs the specified task on the timer thread once the specified delay
+     * has passed.
+     *
+     * @return a future that can be used to cancel the task
+     */
+    public static ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        return Holder.INSTANCE.schedule(task, delay, unit);
+    }
+
+    /**
+     * Holds the timer, so that its thread is only created on first use.
+     */
+    private static class Holder {
+        private static final ScheduledThreadPoolExecutor INSTANCE = createTimer();
+
+        private static ScheduledThreadPoolExecutor createTimer() {
+            final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+                final Thread thread = new Thread(runnable, "Glazed Lists flush timer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // don't hold on to the lists and connectors of cancelled tasks
+            timer.setRemoveOnCancelPolicy(true);
+            return timer;
+        }
+    }
+}
@@ -0,0 +1,422 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl;
+
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.FunctionList;
+import ca.odell.glazedlists.MemoryFootprint;
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.impl.adt.barcode2.Element;
+import ca.odell.glazedlists.impl.adt.barcode2.SimpleTree;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This helper class manages the groups of an {@link EventList} whose elements
+ * are grouped by a key with a good {@link Object#equals(Object) equals} and
+ * {@link Object#hashCode() hashCode}, rather than by a {@link Comparator}.
+ * Unlike {@link Grouper}, the source doesn't need to be sorted. The groups
+ * are found through a {@link HashMap}, and are kept in the order in which
+ * their keys were first seen. Each group keeps its elements in source order.
+ *
+ * <p>Each change to the source costs a key lookup plus O(log N) to maintain
+ * the positions of the elements and groups, without any comparisons between
+ * elements.
+ */
+public class HashGrouper<E> implements MemoryFootprint {
+
+    /** the list whose elements are grouped */
+    private final EventList<E> source;
+
+    /** extracts the key of each element */
+    private final FunctionList.Function<? super E, ?> keyFunction;
+
+    /** the member for each element of the source, in source order */
+    private final SimpleTree<Member<E>> members = new SimpleTree<>();
+
+    /** the groups, in the order in which their keys were first seen */
+    private final SimpleTree<Group<E>> groups = new SimpleTree<>();
+
+    /** the groups by their keys */
+    private final Map<Object, Group<E>> groupsByKey = new HashMap<>();
+
+    /** orders the members of a group by their source index */
+    private final Comparator<Member<E>> sourceOrder = (a, b) -> Integer.compare(a.getSourceIndex(), b.getSourceIndex());
+
+    /** notified of changes to the groups */
+    private final Client<E> client;
+
+    /**
+     * Creates a {@link HashGrouper} that groups the elements of the specified
+     * source by the keys from the specified function. The source is grouped
+     * immediately, without reporting any group changes to the client.
+     */
+    public HashGrouper(EventList<E> source, FunctionList.Function<? super E, ?> keyFunction, Client<E> client) {
+        this.source = source;
+        this.keyFunction = keyFunction;
+        this.client = client;
+
+        for (int i = 0, n = source.size(); i < n; i++) {
+            insert(i, source.get(i), false);
+        }
+    }
+
+    /**
+     * Get the number of groups.
+     */
+    public int groupCount() {
+        return groups.size();
+    }
+
+    /**
+     * Get the group at the specified index.
+     */
+    public Group<E> getGroup(int index) {
+        return groups.get(index).get();
+    }
+
+    /**
+     * Get the group of elements with the specified key, or <code>null</code>
+     * if there is no such group.
+     */
+    public Group<E> getGroupByKey(Object key) {
+        return groupsByKey.get(key);
+    }
+
+    /**
+     * Get the index of the specified group.
+     */
+    public int indexOfGroup(Group<E> group) {
+        return groups.indexOfNode(group.node, (byte) 1);
+    }
+
+    /**
+     * Get the key of the specified element.
+     */
+    public Object keyOf(E element) {
+        return keyFunction.evaluate(element);
+    }
+
+    /**
+     * Get the number of tree nodes, counting the tree of each group.
+     */
+    @Override
+    public int getNodeCount() {
+        int nodeCount = members.getNodeCount() + groups.getNodeCount();
+        for (Group<E> group : groupsByKey.values()) {
+            nodeCount += group.members.getNodeCount();
+        }
+        return nodeCount;
+    }
+
+    /**
+     * Estimate the bytes retained by the trees, the key map, and the member
+     * and group objects, not counting the elements and keys.
+     */
+    @Override
+    public long estimateRetainedBytes() {
+        long bytes = MemoryEstimates.objectBytes(0, 7, 0)
+                + members.estimateRetainedBytes() + groups.estimateRetainedBytes()
+                + MemoryEstimates.hashMapBytes(groupsByKey.size())
+                + (long) members.size() * MemoryEstimates.objectBytes(0, 6, 0);
+        for (Group<E> group : groupsByKey.values()) {
+            bytes += MemoryEstimates.objectBytes(0, 4, 0) + group.members.estimateRetainedBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Handle changes to the source by regrouping the changed elements and
+     * notifying the client of the changed groups.
+     */
+    public void listChanged(ListEvent<E> listChanges) {
+        while (listChanges.next()) {
+            final int index = listChanges.getIndex();
+            final int type = listChanges.getType();
+
+            if (type == ListEvent.INSERT) {
+                insert(index, source.get(index), true);
+
+            } else if (type == ListEvent.DELETE) {
+                final Member<E> member = members.get(index).get();
+                removeFromGroup(member);
+                members.remove(member.sourceNode);
+
+            } else if (type == ListEvent.UPDATE) {
+                final Member<E> member = members.get(index).get();
+                final E value = source.get(index);
+                final Object key = keyFunction.evaluate(value);
+
+                if (Objects.equals(key, member.group.key)) {
+                    // the element stays in its group
+                    final Group<E> group = member.group;
+                    final E oldFirst = group.getFirst();
+                    final E oldValue = member.value;
+                    member.value = value;
+                    member.state = client.elementUpdated(group, oldValue, value, member.state);
+                    client.groupChanged(indexOfGroup(group), ListEvent.UPDATE, group, oldFirst, group.getFirst(), isFirst(member));
+                } else {
+                    removeFromGroup(member);
+                    member.value = value;
+                    addToGroup(member, key, true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a member for the specified element of the source.
+     */
+    private void insert(int index, E value, boolean notify) {
+        final Member<E> member = new Member<>(this, value);
+        member.sourceNode = members.add(index, member, 1);
+        addToGroup(member, keyFunction.evaluate(value), notify);
+    }
+
+    /**
+     * Adds the specified member to the group with the specified key, creating
+     * the group if it doesn't exist.
+     */
+    private void addToGroup(Member<E> member, Object key, boolean notify) {
+        Group<E> group = groupsByKey.get(key);
+
+        // a new key, so create a new group at the end
+        if (group == null) {
+            group = new Group<>(key, new SimpleTree<>(sourceOrder));
+            group.node = groups.add(groups.size(), group, 1);
+            groupsByKey.put(key, group);
+            group.state = client.groupInserted(group);
+            member.group = group;
+            member.groupNode = group.members.add(0, member, 1);
+            member.state = client.elementInserted(group, member.value);
+            if (notify) client.groupChanged(groups.size() - 1, ListEvent.INSERT, group, ListEvent.unknownValue(), member.value, true);
+            return;
+        }
+
+        final E oldFirst = group.getFirst();
+        member.group = group;
+        member.groupNode = addInSourceOrder(group.members, member);
+        member.state = client.elementInserted(group, member.value);
+        if (notify) client.groupChanged(indexOfGroup(group), ListEvent.UPDATE, group, oldFirst, group.getFirst(), isFirst(member));
+    }
+
+    /**
+     * Whether the specified member is the first of its group.
+     */
+    private static <E> boolean isFirst(Member<E> member) {
+        return member.group.members.get(0).get() == member;
+    }
+
+    /**
+     * Adds the specified member to the members of a group, in source order.
+     * Members are most often added after all others, such as while the
+     * source is grouped initially, so that case avoids the search.
+     */
+    private Element<Member<E>> addInSourceOrder(SimpleTree<Member<E>> groupMembers, Member<E> member) {
+        final int size = groupMembers.size();
+        if (sourceOrder.compare(groupMembers.get(size - 1).get(), member) < 0) {
+            return groupMembers.add(size, member, 1);
+        }
+        return groupMembers.addInSortedOrder((byte) 1, member, 1);
+    }
+
+    /**
+     * Removes the specified member from its group, removing the group if it
+     * becomes empty.
+     */
+    private void removeFromGroup(Member<E> member) {
+        final Group<E> group = member.group;
+        final E oldFirst = group.getFirst();
+        final int groupIndex = indexOfGroup(group);
+        final boolean firstUpdated = isFirst(member);
+
+        group.members.remove(member.groupNode);
+        member.group = null;
+        member.groupNode = null;
+        client.elementDeleted(group, member.value, member.state);
+        member.state = null;
+
+        if (group.members.size() == 0) {
+            groups.remove(group.node);
+            groupsByKey.remove(group.key);
+            client.groupChanged(groupIndex, ListEvent.DELETE, group, oldFirst, ListEvent.unknownValue(), true);
+        } else {
+            client.groupChanged(groupIndex, ListEvent.UPDATE, group, oldFirst, group.getFirst(), firstUpdated);
+        }
+    }
+
+    /**
+     * The interface that the user of a {@link HashGrouper} implements to be
+     * notified of changes to the groups.
+     */
+    public interface Client<E> {
+        /**
+         * Handle a change to the group at the specified index. New groups are
+         * always inserted at the end.
+         *
+         * @param groupIndex the index of the group, before it is deleted
+         * @param groupChangeType the type of the change to the group
+         * @param group the changed group
+         * @param oldFirst the first element of the group before the change,
+         *      or {@link ListEvent#UNKNOWN_VALUE} for a new group
+         * @param newFirst the first element of the group after the change,
+         *      or {@link ListEvent#UNKNOWN_VALUE} for a deleted group
+         * @param firstUpdated whether the first element of the group was
+         *      inserted, deleted or updated. This is true even if the first
+         *      element is the same object before and after the change, such
+         *      as when it was updated in place.
+         */
+        void groupChanged(int groupIndex, int groupChangeType, Group<E> group, E oldFirst, E newFirst, boolean firstUpdated);
+
+        /**
+         * Handle the creation of a group. This is called before its first
+         * element joins it and before the group change is reported,
+         * including while the source is grouped initially.
+         *
+         * @return the state to keep for the group, which is available from
+         *      {@link Group#getState()}
+         */
+        default Object groupInserted(Group<E> group) {
+            return null;
+        }
+
+        /**
+         * Handle the specified element joining a group. This is called
+         * before the group change is reported, including while the source
+         * is grouped initially.
+         *
+         * @return the state to keep for the element, which is passed back
+         *      when the element is updated or leaves the group. Since
+         *      elements may be modified in place, this is the only reliable
+         *      record of what the element was when it joined.
+         */
+        default Object elementInserted(Group<E> group, E element) {
+            return null;
+        }
+
+        /**
+         * Handle the specified element leaving a group. This is called
+         * before the group change is reported.
+         *
+         * @param state the state kept for the element
+         */
+        default void elementDeleted(Group<E> group, E element, Object state) {}
+
+        /**
+         * Handle an element of a group being replaced by an element with an
+         * equal key. The old and new elements are the same object if the
+         * element was updated in place. This is called before the group
+         * change is reported.
+         *
+         * @param state the state kept for the old element
+         * @return the state to keep for the new element
+         */
+        default Object elementUpdated(Group<E> group, E oldElement, E newElement, Object state) {
+            return state;
+        }
+    }
+
+    /**
+     * The elements with equal keys, in source order.
+     */
+    public static final class Group<E> {
+        private final Object key;
+        private final SimpleTree<Member<E>> members;
+        private Element<Group<E>> node;
+        private Object state;
+
+        private Group(Object key, SimpleTree<Member<E>> members) {
+            this.key = key;
+            this.members = members;
+        }
+
+        /**
+         * Get the key that all elements of this group share.
+         */
+        public Object getKey() {
+            return key;
+        }
+
+        /**
+         * Get the state that the {@link Client} keeps for this group.
+         */
+        public Object getState() {
+            return state;
+        }
+
+        /**
+         * Get the number of elements in this group.
+         */
+        public int size() {
+            return members.size();
+        }
+
+        /**
+         * Get the element at the specified index within this group.
+         */
+        public E get(int index) {
+            return members.get(index).get().value;
+        }
+
+        /**
+         * Get the first element of this group, or
+         * {@link ListEvent#UNKNOWN_VALUE} if it is empty.
+         */
+        public E getFirst() {
+            return members.size() == 0 ? ListEvent.unknownValue() : get(0);
+        }
+
+        /**
+         * Get the index within the source of the element at the specified
+         * index within this group.
+         */
+        public int getSourceIndex(int index) {
+            return members.get(index).get().getSourceIndex();
+        }
+
+        /**
+         * Get a copy of the elements of this group.
+         */
+        public List<E> toList() {
+            final List<E> result = new ArrayList<>(size());
+            for (int i = 0, n = size(); i < n; i++) {
+                result.add(get(i));
+            }
+            return result;
+        }
+
+        /**
+         * Whether this group is still part of its {@link HashGrouper}.
+         */
+        public boolean isAttached() {
+            return members.size() > 0;
+        }
+    }
+
+    /**
+     * An element of the source and the group it belongs to.
+     */
+    private static final class Member<E> {
+        private final HashGrouper<E> grouper;
+        private E value;
+        private Group<E> group;
+        private Element<Member<E>> sourceNode;
+        private Element<Member<E>> groupNode;
+        private Object state;
+
+        private Member(HashGrouper<E> grouper, E value) {
+            this.grouper = grouper;
+            this.value = value;
+        }
+
+        private int getSourceIndex() {
+            return grouper.members.indexOfNode(sourceNode, (byte) 1);
+        }
+    }
+}
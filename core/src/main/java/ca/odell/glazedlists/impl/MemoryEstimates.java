@@ -0,0 +1,75 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl;
+
+import ca.odell.glazedlists.MemoryFootprint;
+
+/**
+ * Estimates the sizes of objects for {@link MemoryFootprint}, assuming a
+ * 64-bit JVM with compressed references: a 12 byte object header, a 16 byte
+ * array header, 4 byte references and objects aligned to 8 bytes.
+ */
+public final class MemoryEstimates {
+
+    /** the sizes of object headers and references */
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    public static final int REFERENCE = 4;
+
+    /**
+     * A dummy constructor to prevent instantiation of this class
+     */
+    private MemoryEstimates() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Estimates the size of an object with the given number of
+     * <code>int</code>, reference and <code>byte</code> fields.
+     */
+    public static int objectBytes(int ints, int references, int bytes) {
+        return (int)align(OBJECT_HEADER + 4 * ints + REFERENCE * references + bytes);
+    }
+
+    /**
+     * Estimates the size of an array of the given length, whose elements
+     * take the given number of bytes each.
+     */
+    public static long arrayBytes(long length, int elementBytes) {
+        return align(ARRAY_HEADER + length * elementBytes);
+    }
+
+    /**
+     * Estimates the size of an {@link java.util.ArrayList} with the given
+     * number of elements, assuming it has no spare capacity.
+     */
+    public static long arrayListBytes(int size) {
+        return objectBytes(2, 1, 0) + arrayBytes(size, REFERENCE);
+    }
+
+    /**
+     * Estimates the size of a {@link java.util.HashMap} with the given
+     * number of entries, including its table and entries but not its keys
+     * and values.
+     */
+    public static long hashMapBytes(int size) {
+        final int capacity = Integer.highestOneBit(Math.max(1, (int)(size / 0.75f)) * 2 - 1);
+        return objectBytes(4, 4, 0) + arrayBytes(capacity, REFERENCE) + (long)size * objectBytes(1, 3, 0);
+    }
+
+    /**
+     * Gets the estimated retained bytes of the given structure, or zero if
+     * it is <code>null</code>.
+     */
+    public static long estimateRetainedBytes(MemoryFootprint structure) {
+        return structure == null ? 0 : structure.estimateRetainedBytes();
+    }
+
+    /**
+     * Rounds the given size up to the object alignment.
+     */
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
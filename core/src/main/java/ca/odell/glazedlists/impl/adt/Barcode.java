@@ -3,6 +3,9 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists.impl.adt;
 
+import ca.odell.glazedlists.MemoryFootprint;
+import ca.odell.glazedlists.impl.MemoryEstimates;
+
 import java.util.Iterator;
 
 /**
@@ -37,15 +40,18 @@ import java.util.Iterator;
  *
  * <p>Every effort has been made to squeeze the highest performance and smallest
  * footprint out of this data structure.  These benefits hopefully don't come at
- * the cost of code clarity or maintainability.  The memory usage of this ADT
- * is bound to the number of sequences of BLACK elements.  WHITE elements
- * have no memory impact on the data structure.
+ * the cost of code clarity or maintainability.  The elements are held in leaves
+ * of an AVL tree, where each leaf is either a run of WHITE followed by BLACK
+ * elements or a bitset of up to a few thousand elements. Long runs cost the
+ * same memory regardless of their length, while fragmented regions, such as
+ * alternating BLACK and WHITE elements, are packed at about a bit per element
+ * rather than a node per sequence of BLACK elements. See {@link BarcodeNode}.
  *
  *
  * @author <a href="mailto:kevin@swank.ca">Kevin Maltby</a>
  *
  */
-public final class Barcode {
+public final class Barcode implements MemoryFootprint {
 
     /** barcode colour constants */
     public static final Object WHITE = Boolean.FALSE;
@@ -54,34 +60,33 @@ public final class Barcode {
     /** the root of the underlying tree */
     private BarcodeNode root = null;
 
-    /** the size of the trailing whitespace */
-    private int whiteSpace = 0;
-
-    /** the size of tree */
-    private int treeSize = 0;
-
     /**
      * Prints internal debug information for this barcode
      */
     public void printDebug() {
         System.out.println("\nTotal Size: " + size());
-        System.out.println("Trailing Whitespace : " + whiteSpace);
-        System.out.println("Tree Size: " + treeSize);
-        System.out.println("Tree Structure:\n" + root);
+        System.out.println("Black Size: " + blackSize());
+        StringBuilder leaves = new StringBuilder();
+        for(BarcodeNode node = firstNode(); node != null; node = node.next()) {
+            leaves.append(node).append('\n');
+        }
+        System.out.println("Leaves:\n" + leaves);
     }
 
     /**
      * Validates the barcode's internal structure
      */
     public void validate() {
-        if(root != null) root.validate();
+        if(root == null) return;
+        if(root.parent != null) throw new IllegalStateException("Root has a parent");
+        root.validate();
     }
 
     /**
      * Gets the size of this barcode
      */
     public int size() {
-        return treeSize + whiteSpace;
+        return root == null ? 0 : root.treeSize;
     }
 
     /**
@@ -95,14 +100,14 @@ public final class Barcode {
      * Gets the size of the white portion of this barcode
      */
     public int whiteSize() {
-        return root == null ? whiteSpace : root.whiteSize() + whiteSpace;
+        return size() - blackSize();
     }
 
     /**
      * Gets the size of the black portion of this barcode
      */
     public int blackSize() {
-        return root == null ? 0 : root.blackSize();
+        return root == null ? 0 : root.treeBlackSize;
     }
 
     /**
@@ -127,17 +132,7 @@ public final class Barcode {
     public void addWhite(int index, int length) {
         if(length < 0) throw new IllegalStateException();
         if(length == 0) return;
-
-        // Adding to the trailing whitespace
-        if(root == null || index >= treeSize) {
-            whiteSpace += length;
-
-        // Adding whitespace to the actual list
-        } else {
-            root.insertWhite(index, length);
-            treeSizeChanged();
-
-        }
+        insert(index, false, length);
     }
 
     /**
@@ -146,25 +141,56 @@ public final class Barcode {
     public void addBlack(int index, int length) {
         if(length < 0) throw new IllegalArgumentException();
         if(length == 0) return;
+        insert(index, true, length);
+    }
 
+    /**
+     * Inserts a sequence of the specified colour into the tree.
+     */
+    private void insert(int index, boolean black, int length) {
         // Make a new root
         if(root == null) {
-            root = new BarcodeNode(this, null, length, index);
-            treeSize = index + length;
-            whiteSpace -= index;
-
-        // Add in the trailing whitespace
-        } else if(index >= treeSize) {
-            int movingWhitespace = index - treeSize;
-            whiteSpace -= movingWhitespace;
-            root.insertBlackAtEnd(length, movingWhitespace);
-            treeSizeChanged();
-
-        // Add values to the actual list
-        } else {
-            root.insertBlack(index, length);
-            treeSizeChanged();
+            root = new BarcodeNode(length, black ? length : 0);
+            return;
+        }
+
+        final BarcodeNode node = nodeAt(index);
+        final int offset = index - startOf(node);
+
+        // The run grows if the new values keep it WHITE followed by BLACK
+        if(node.bits == null && (black ? offset >= node.whiteSize() : offset <= node.whiteSize())) {
+            node.size += length;
+            if(black) node.blackSize += length;
+            rebalance(node);
+
+        // A few values are packed into a bitset
+        } else if(length < BarcodeNode.MIN_RUN_SIZE && (node.bits != null || node.size < BarcodeNode.MIN_RUN_SIZE)) {
+            node.toBits();
+            node.insert(offset, black, length);
+            rebalance(node);
+            if(node.size > BarcodeNode.MAX_BITS) {
+                // Keep the leaf full when appending or prepending
+                final int splitAt = offset == 0 ? length : offset + length == node.size ? offset : node.size / 2;
+                final BarcodeNode right = node.splitOff(splitAt);
+                insertAfter(node, right);
+                normalize(node, right);
+            }
 
+        // The new values get a run of their own, splitting the leaf around them
+        } else {
+            final BarcodeNode inserted = new BarcodeNode(length, black ? length : 0);
+            if(offset == 0) {
+                insertBefore(node, inserted);
+                normalize(inserted);
+            } else if(offset == node.size) {
+                insertAfter(node, inserted);
+                normalize(inserted);
+            } else {
+                final BarcodeNode right = node.splitOff(offset);
+                insertAfter(node, right);
+                insertAfter(node, inserted);
+                normalize(inserted, node, right);
+            }
         }
     }
 
@@ -186,22 +212,37 @@ public final class Barcode {
      */
     public void set(int index, Object colour, int length) {
         if(length < 1) throw new IllegalArgumentException();
-
-        // The set affects the trailing whitespace
-        int trailingChange = index > treeSize - 1 ? length : index + length - treeSize;
-        if(trailingChange > 0) {
-            if(colour == BLACK) {
-                whiteSpace -= trailingChange;
-                addBlack(index, trailingChange);
+        final boolean black = colour == BLACK;
+
+        while(length > 0) {
+            final BarcodeNode node = nodeAt(index);
+            final int offset = index - startOf(node);
+            final int count = Math.min(length, node.size - offset);
+            final int whiteSize = node.whiteSize();
+
+            // The values change colour at the edge between WHITE and BLACK
+            if(node.bits == null && (black ? offset + count >= whiteSize : offset <= whiteSize)) {
+                final int changed = black ? Math.max(0, whiteSize - offset) : Math.max(0, offset + count - whiteSize);
+                if(changed > 0) {
+                    node.blackSize += black ? changed : -changed;
+                    rebalance(node);
+                    normalize(node);
+                }
+
+            // The values change colour in a bitset
+            } else if(node.bits != null || node.size < BarcodeNode.MIN_RUN_SIZE) {
+                node.toBits();
+                node.set(offset, count, black);
+                rebalance(node);
+                normalize(node);
+
+            // The values change colour inside a long run
+            } else {
+                remove(index, count);
+                insert(index, black, count);
             }
-            length -= trailingChange;
-            if(length == 0) return;
-        }
-
-        // The set affects the list
-        if(root != null) {
-            root.set(index, colour, length);
-            if(root != null) treeSizeChanged();
+            index += count;
+            length -= count;
         }
     }
 
@@ -225,23 +266,22 @@ public final class Barcode {
     public void remove(int index, int length) {
         if(length < 1) throw new IllegalArgumentException();
 
-        // The remove affects the trailing whitespace
-        int trailingChange = index > treeSize ? length : index + length - treeSize;
-        if(trailingChange > 0) {
-            whiteSpace -= trailingChange;
-            length -= trailingChange;
-        }
-
-        // The remove occurs in the actual list
-        if(root != null && index < treeSize) {
-            int oldTreeSize = -1;
-            while(length > 0) {
-                oldTreeSize = treeSize;
-                root.remove(index, length);
-                if(root != null) treeSizeChanged();
-                length -= (oldTreeSize - treeSize);
+        while(length > 0) {
+            final BarcodeNode node = nodeAt(index);
+            final int offset = index - startOf(node);
+            final int count = Math.min(length, node.size - offset);
+            node.remove(offset, count);
+            length -= count;
+
+            // The leaf is gone, so its neighbours may now join
+            if(node.size == 0) {
+                final BarcodeNode previous = node.previous();
+                delete(node);
+                if(previous != null) normalize(previous);
+            } else {
+                rebalance(node);
+                normalize(node);
             }
-            if(root != null) treeSizeChanged();
         }
     }
 
@@ -249,70 +289,290 @@ public final class Barcode {
      * Clears the list
      */
     public void clear() {
-        treeSize = 0;
-        whiteSpace = 0;
         root = null;
     }
 
     /**
-     * Gets the root for this Barcode.  This method is exposed for
-     * Iterators on Barcode whose set() operations may create a
-     * root node on a Barcode where none existed.
+     * Gets the first leaf of this barcode, or <code>null</code> if it is empty.
      */
-    BarcodeNode getRootNode() {
-        return root;
+    BarcodeNode firstNode() {
+        if(root == null) return null;
+        BarcodeNode node = root;
+        while(node.left != null) node = node.left;
+        return node;
     }
 
     /**
-     * Sets the root for this list.  This method is exposed for the
-     * BarcodeNode in the event that the list's root is involved in
-     * an AVL rotation.
+     * Gets the leaf that holds the element at the given index, or the last
+     * leaf if the index is the size of this barcode.
      */
-    void setRootNode(BarcodeNode root) {
-        this.root = root;
-        if(root == null) treeSize = 0;
+    BarcodeNode nodeAt(int index) {
+        BarcodeNode node = root;
+        while(true) {
+            final int leftSize = BarcodeNode.treeSize(node.left);
+            if(index < leftSize) {
+                node = node.left;
+            } else {
+                index -= leftSize;
+                if(index < node.size || node.right == null) return node;
+                index -= node.size;
+                node = node.right;
+            }
+        }
     }
 
     /**
-     * Gets the size of the underlying tree structure for this Barcode.  This
-     * method is exposed for Iterators on Barcode who would otherwise have to
-     * maintain the state of treeSize themselves.
+     * Gets the index of the first element of the given leaf.
      */
-    int treeSize() {
-        return treeSize;
+    int startOf(BarcodeNode node) {
+        int result = BarcodeNode.treeSize(node.left);
+        for(; node.parent != null; node = node.parent) {
+            if(node.parent.right == node) result += BarcodeNode.treeSize(node.parent.left) + node.parent.size;
+        }
+        return result;
     }
 
     /**
-     * Notifies the list that the underlying list size has changed. This method
-     * is exposed for BarcodeNode to propagate size adjustments.
+     * Gets the number of BLACK elements before the given index, shifted left
+     * by one, with the low bit set if the element at the index is BLACK.
      */
-    void treeSizeChanged() {
-        treeSize = root.size();
+    private long locate(int index) {
+        BarcodeNode node = root;
+        int blackBefore = 0;
+        while(true) {
+            final int leftSize = BarcodeNode.treeSize(node.left);
+            if(index < leftSize) {
+                node = node.left;
+            } else {
+                index -= leftSize;
+                blackBefore += BarcodeNode.treeBlackSize(node.left);
+                if(index < node.size) {
+                    blackBefore += node.blackBefore(index);
+                    return ((long)blackBefore << 1) | (node.isBlack(index) ? 1 : 0);
+                }
+                index -= node.size;
+                blackBefore += node.blackSize;
+                node = node.right;
+            }
+        }
     }
 
     /**
-     * Gets the real index of an element given the black index or white index.
+     * Inserts the given leaf after another leaf.
      */
-    public int getIndex(int colourIndex, Object colour) {
-        // Get the real index of a WHITE element
-        if(colour == WHITE) {
-            // There are no black elements
-            if(root == null) {
-                return colourIndex;
+    private void insertAfter(BarcodeNode node, BarcodeNode inserted) {
+        if(node.right == null) {
+            node.right = inserted;
+            inserted.parent = node;
+        } else {
+            BarcodeNode parent = node.right;
+            while(parent.left != null) parent = parent.left;
+            parent.left = inserted;
+            inserted.parent = parent;
+        }
+        rebalance(inserted);
+    }
 
-            // Retrieving from the trailing whitespace with a tree
-            } else if(colourIndex >= root.whiteSize()) {
-                return colourIndex - root.whiteSize() + treeSize;
+    /**
+     * Inserts the given leaf before another leaf.
+     */
+    private void insertBefore(BarcodeNode node, BarcodeNode inserted) {
+        if(node.left == null) {
+            node.left = inserted;
+            inserted.parent = node;
+        } else {
+            BarcodeNode parent = node.left;
+            while(parent.right != null) parent = parent.right;
+            parent.right = inserted;
+            inserted.parent = parent;
+        }
+        rebalance(inserted);
+    }
 
-            // The index maps to an element in the tree
+    /**
+     * Unlinks the given leaf from the tree.
+     */
+    private void delete(BarcodeNode node) {
+        final BarcodeNode rebalanceFrom;
+        if(node.left != null && node.right != null) {
+            // The next leaf takes the place of this one
+            final BarcodeNode next = node.next();
+            if(next.parent == node) {
+                rebalanceFrom = next;
             } else {
-                return root.getIndexByWhiteIndex(colourIndex);
+                rebalanceFrom = next.parent;
+                replace(next, next.right);
+                next.right = node.right;
+                node.right.parent = next;
             }
-
-        // Get the real index of a BLACK element
+            next.left = node.left;
+            node.left.parent = next;
+            replace(node, next);
         } else {
-            return root.getIndexByBlackIndex(colourIndex);
+            rebalanceFrom = node.parent;
+            replace(node, node.left != null ? node.left : node.right);
+        }
+        node.parent = null;
+        node.left = null;
+        node.right = null;
+        rebalance(rebalanceFrom);
+    }
 
+    /**
+     * Replaces the given node with another in its parent.
+     */
+    private void replace(BarcodeNode node, BarcodeNode replacement) {
+        final BarcodeNode parent = node.parent;
+        if(parent == null) root = replacement;
+        else if(parent.left == node) parent.left = replacement;
+        else parent.right = replacement;
+        if(replacement != null) replacement.parent = parent;
+    }
+
+    /**
+     * Updates the sizes from the given node up to the root, restoring the
+     * AVL balance on the way.
+     */
+    private void rebalance(BarcodeNode node) {
+        while(node != null) {
+            node.update();
+            final int balance = BarcodeNode.height(node.left) - BarcodeNode.height(node.right);
+            if(balance > 1) {
+                if(BarcodeNode.height(node.left.left) < BarcodeNode.height(node.left.right)) rotateLeft(node.left);
+                node = rotateRight(node);
+            } else if(balance < -1) {
+                if(BarcodeNode.height(node.right.right) < BarcodeNode.height(node.right.left)) rotateRight(node.right);
+                node = rotateLeft(node);
+            }
+            node = node.parent;
+        }
+    }
+
+    /**
+     * Rotates the right child of the given node into its place.
+     */
+    private BarcodeNode rotateLeft(BarcodeNode node) {
+        final BarcodeNode pivot = node.right;
+        node.right = pivot.left;
+        if(pivot.left != null) pivot.left.parent = node;
+        replace(node, pivot);
+        pivot.left = node;
+        node.parent = pivot;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    /**
+     * Rotates the left child of the given node into its place.
+     */
+    private BarcodeNode rotateRight(BarcodeNode node) {
+        final BarcodeNode pivot = node.left;
+        node.left = pivot.right;
+        if(pivot.right != null) pivot.right.parent = node;
+        replace(node, pivot);
+        pivot.right = node;
+        node.parent = pivot;
+        node.update();
+        pivot.update();
+        return pivot;
+    }
+
+    /**
+     * Restores the compact form around the given leaves after they have
+     * changed. Leaves that were merged into a neighbour by an earlier one are
+     * skipped.
+     */
+    private void normalize(BarcodeNode... nodes) {
+        for(int n = 0; n < nodes.length; n++) {
+            if(nodes[n].parent != null || nodes[n] == root) normalize(nodes[n]);
+        }
+    }
+
+    /**
+     * Restores the compact form around the given leaf after it has changed.
+     * Bitsets of a single colour become runs, neighbouring runs that can be
+     * joined are joined, and short leaves are packed into a bitset with a
+     * neighbour.
+     */
+    private void normalize(BarcodeNode node) {
+        node.toRunIfUniform();
+
+        // Join runs without a bitset
+        BarcodeNode previous = node.previous();
+        if(previous != null && isJoinable(previous, node)) {
+            absorb(previous, node);
+            node = previous;
+        }
+        BarcodeNode next = node.next();
+        if(next != null && isJoinable(node, next)) {
+            absorb(node, next);
+        }
+
+        // Pack a short leaf with a neighbour
+        if(node.size < BarcodeNode.MIN_RUN_SIZE) {
+            next = node.next();
+            previous = node.previous();
+            if(next != null && isPackable(next) && node.size + next.size <= BarcodeNode.MAX_BITS) {
+                absorb(node, next);
+            } else if(previous != null && isPackable(previous) && previous.size + node.size <= BarcodeNode.MAX_BITS) {
+                absorb(previous, node);
+            }
+        }
+    }
+
+    /**
+     * Whether two neighbouring runs can be joined into a single run.
+     */
+    private static boolean isJoinable(BarcodeNode node, BarcodeNode next) {
+        return node.bits == null && next.bits == null && (node.blackSize == 0 || next.blackSize == next.size);
+    }
+
+    /**
+     * Whether a leaf should be packed into a bitset with a short neighbour.
+     */
+    private static boolean isPackable(BarcodeNode node) {
+        return node.bits != null || node.size < BarcodeNode.MIN_RUN_SIZE;
+    }
+
+    /**
+     * Moves the elements of a leaf to the end of the leaf before it, and
+     * removes it from the tree.
+     */
+    private void absorb(BarcodeNode node, BarcodeNode next) {
+        if(isJoinable(node, next)) node.join(next);
+        else node.append(next);
+        delete(next);
+        rebalance(node);
+    }
+
+    /**
+     * Gets the real index of an element given the black index or white index.
+     */
+    public int getIndex(int colourIndex, Object colour) {
+        // Retrieving from beyond the end of the barcode
+        if(colour == WHITE && colourIndex >= whiteSize()) {
+            return colourIndex - whiteSize() + size();
+        }
+
+        final boolean black = colour == BLACK;
+        BarcodeNode node = root;
+        int index = 0;
+        while(true) {
+            final int leftColourSize = black ? BarcodeNode.treeBlackSize(node.left) : BarcodeNode.treeSize(node.left) - BarcodeNode.treeBlackSize(node.left);
+            if(colourIndex < leftColourSize) {
+                node = node.left;
+            } else {
+                colourIndex -= leftColourSize;
+                index += BarcodeNode.treeSize(node.left);
+                final int colourSize = black ? node.blackSize : node.whiteSize();
+                if(colourIndex < colourSize) {
+                    return index + (black ? node.selectBlack(colourIndex) : node.selectWhite(colourIndex));
+                }
+                colourIndex -= colourSize;
+                index += node.size;
+                node = node.right;
+            }
         }
     }
 
@@ -340,14 +600,12 @@ public final class Barcode {
      * @return The white index of the element at index or -1 if that element is BLACK.
      */
     public int getWhiteIndex(int index) {
-        // Get a white index from the list
-        if(root != null && index < treeSize) return root.getWhiteIndex(index);
+        // There are only white indexes beyond the end
+        if(index >= size()) return index - blackSize();
 
-        // There are only white indexes in the trailing whitespace
-        else {
-            if(root != null) return index - treeSize + root.whiteSize();
-            else return index;
-        }
+        final long location = locate(index);
+        if((location & 1) != 0) return -1;
+        return index - (int)(location >>> 1);
     }
 
     /**
@@ -359,8 +617,11 @@ public final class Barcode {
      * @return The black index of the element at index or -1 if that element is WHITE.
      */
     public int getBlackIndex(int index) {
-        if(root != null && index < treeSize) return root.getBlackIndex(index);
-        else return -1;
+        if(index >= size()) return -1;
+
+        final long location = locate(index);
+        if((location & 1) == 0) return -1;
+        return (int)(location >>> 1);
     }
 
     /**
@@ -393,9 +654,13 @@ public final class Barcode {
      *      <code>size()</code>.
      */
     public int getWhiteIndex(int index, boolean left) {
-        if(root == null) return index;
-        else if(index >= treeSize) return index - treeSize + root.whiteSize();
-        else return root.getWhiteIndex(index, left);
+        // There are only white indexes beyond the end
+        if(index >= size()) return index - blackSize();
+
+        final long location = locate(index);
+        final int whiteIndex = index - (int)(location >>> 1);
+        if((location & 1) != 0 && left) return whiteIndex - 1;
+        return whiteIndex;
     }
 
     /**
@@ -411,20 +676,16 @@ public final class Barcode {
      *      <code>size()</code>.
      */
     public int getBlackIndex(int index, boolean left) {
-        // there is no tree
-        if(root == null) {
-            if(left) return -1;
-            else return 0;
-
-        // if it is beyond the tree
-        } else if(index >= treeSize) {
-            if(left) return root.blackSize() - 1;
-            return root.blackSize();
-
-        // get from the tree
-        } else {
-            return root.getBlackIndex(index, left);
+        // if it is beyond the end
+        if(index >= size()) {
+            if(left) return blackSize() - 1;
+            return blackSize();
         }
+
+        final long location = locate(index);
+        final int blackIndex = (int)(location >>> 1);
+        if((location & 1) == 0 && left) return blackIndex - 1;
+        return blackIndex;
     }
 
     /**
@@ -433,18 +694,14 @@ public final class Barcode {
      * BLACK element exists before this node.
      */
     public int getWhiteSequenceIndex(int whiteIndex) {
-        // There is no tree sequence is beyond the tree
-        if(root == null) {
-            return whiteIndex;
+        final int index = getIndex(whiteIndex, WHITE);
+        final int blackBefore = index - whiteIndex;
 
-        // The sequence is beyond the tree
-        } else if(whiteIndex >= root.whiteSize()) {
-            return whiteIndex - root.whiteSize();
+        // There is no BLACK element before this one
+        if(blackBefore == 0) return whiteIndex;
 
-        // lookup the sequence index within the tree
-        } else {
-            return root.getWhiteSequenceIndex(whiteIndex);
-        }
+        // Count from the previous BLACK element
+        return index - getIndex(blackBefore - 1, BLACK) - 1;
     }
 
     /**
@@ -452,18 +709,10 @@ public final class Barcode {
      * getBlackIndex(index, true) with a white-centric index.
      */
     public int getBlackBeforeWhite(int whiteIndex) {
-        // there is no tree
-        if(root == null) {
-            return -1;
+        // starting from beyond the end
+        if(whiteIndex >= whiteSize()) return blackSize() - 1;
 
-        // starting from beyond the tree
-        } else if(whiteIndex >= root.whiteSize()) {
-            return root.blackSize() - 1;
-
-        // the index is from within the tree
-        } else {
-            return root.getBlackBeforeWhite(whiteIndex);
-        }
+        return getIndex(whiteIndex, WHITE) - whiteIndex - 1;
     }
 
     /**
@@ -476,27 +725,42 @@ public final class Barcode {
      *         no sequences of that length exist.
      */
     public int findSequenceOfMinimumSize(int size, Object colour) {
-        // there is no tree
-        if(root == null) {
-            // There are no black sequences
-            if(colour == BLACK) return -1;
-
-            // The trailing whitespace matches
-            else if(whiteSpace >= size) return 0;
-
-            // nothing matches
-            else return -1;
+        final boolean black = colour == BLACK;
+        int sequenceStart = 0;
+        int sequenceSize = 0;
+        int nodeStart = 0;
+        for(BarcodeNode node = firstNode(); node != null; nodeStart += node.size, node = node.next()) {
+            for(int offset = 0; offset < node.size; ) {
+                final int start = node.nextColour(offset, black);
+                if(start > offset) sequenceSize = 0;
+                if(start == node.size) break;
+                final int end = node.nextColour(start, !black);
+                if(sequenceSize == 0) sequenceStart = nodeStart + start;
+                sequenceSize += end - start;
+                if(sequenceSize >= size) return sequenceStart;
+                offset = end;
+            }
+        }
+        return -1;
+    }
 
-        // focus only within the tree
-        } else if(colour == BLACK) {
-            return root.findSequenceOfMinimumSize(size, colour);
+    /** {@inheritDoc} */
+    @Override
+    public int getNodeCount() {
+        int result = 0;
+        for(BarcodeNode node = firstNode(); node != null; node = node.next()) result++;
+        return result;
+    }
 
-        // check the tree first, if it fails check the trailing whitespace
-        } else {
-            int result = root.findSequenceOfMinimumSize(size, colour);
-            if(result == -1 && whiteSpace >= size) result = treeSize;
-            return result;
+    /** {@inheritDoc} */
+    @Override
+    public long estimateRetainedBytes() {
+        long result = MemoryEstimates.objectBytes(0, 1, 0);
+        for(BarcodeNode node = firstNode(); node != null; node = node.next()) {
+            result += BarcodeNode.ESTIMATED_BYTES;
+            if(node.bits != null) result += MemoryEstimates.arrayBytes(node.bits.length, 8);
         }
+        return result;
     }
 
     /**
@@ -516,4 +780,4 @@ public final class Barcode {
         }
         return result.toString();
     }
-}
\ No newline at end of file
+}
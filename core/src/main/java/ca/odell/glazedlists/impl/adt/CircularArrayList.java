@@ -55,6 +55,47 @@ public void add(int index, T element) {
     size++;
   }
 
+  @Override
+public T set(int index, T element) {
+    if (index == size) {
+      throw new IndexOutOfBoundsException("Index " + index + " on List of size: " + size);
+    }
+    int circularIndex = toCircularIndex(index);
+    T replaced = (T)values[circularIndex];
+    values[circularIndex] = element;
+    return replaced;
+  }
+
+  /**
+   * Removes the values at the specified indices. Removing from the head or
+   * the tail costs only the number of values removed.
+   */
+  @Override
+  protected void removeRange(int fromIndex, int toIndex) {
+    if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+      throw new IndexOutOfBoundsException("Range " + fromIndex + "-" + toIndex + " on List of size: " + size);
+    }
+
+    // [ _ _ 0 1 2 3 4 _ ] ==> [ _ _ _ _ 2 3 4 _ ]
+    if (fromIndex == 0) {
+      for (int i = 0; i < toIndex; i++) {
+        values[modIndex(head + i)] = null;
+      }
+      head = modIndex(head + toIndex);
+      size -= toIndex;
+
+    // [ _ _ 0 1 2 3 4 _ ] ==> [ _ _ 0 1 2 _ _ _ ]
+    } else if (toIndex == size) {
+      for (int i = fromIndex; i < toIndex; i++) {
+        values[modIndex(head + i)] = null;
+      }
+      size = fromIndex;
+
+    } else {
+      super.removeRange(fromIndex, toIndex);
+    }
+  }
+
   int tail() {
     return modIndex(head + size);
   }
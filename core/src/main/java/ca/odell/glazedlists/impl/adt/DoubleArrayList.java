@@ -0,0 +1,217 @@
+package ca.odell.glazedlists.impl.adt;
+
+import ca.odell.glazedlists.impl.adt.IntArrayList.ArraySizingStrategy;
+import ca.odell.glazedlists.impl.adt.IntArrayList.BoundedProportionalArraySizingStrategy;
+import ca.odell.glazedlists.impl.adt.IntArrayList.BufferAllocationException;
+
+import java.util.Arrays;
+
+/**
+ * An array-backed list of doubles, the double counterpart of {@link IntArrayList}.
+ * A single array is used to store and manipulate all elements. Reallocations
+ * are governed by a {@link ArraySizingStrategy}.
+ */
+public class DoubleArrayList {
+  private final static int DEFAULT_EXPECTED_ELEMENTS = 1 << 3;
+
+  /**
+   * Internal array for storing the list. The array may be larger than the current size
+   * ({@link #size()}).
+   */
+  public double[] buffer;
+
+  /**
+   * Current number of elements stored in {@link #buffer}.
+   */
+  protected int elementsCount;
+
+  /**
+   * Buffer resizing strategy.
+   */
+  protected final ArraySizingStrategy resizer;
+
+  /**
+   * Default constructor: Create with default sizing strategy and initial capacity for storing
+   * {@link DoubleArrayList#DEFAULT_EXPECTED_ELEMENTS} elements.
+   */
+  public DoubleArrayList() {
+    this(DEFAULT_EXPECTED_ELEMENTS);
+  }
+
+  /**
+   * Create with default sizing strategy and the given initial capacity.
+   */
+  public DoubleArrayList(final int initialCapacity) {
+    this(initialCapacity, new BoundedProportionalArraySizingStrategy());
+  }
+
+  /**
+   * Create with a custom buffer resizing strategy.
+   */
+  public DoubleArrayList(final int initialCapacity, final ArraySizingStrategy resizer) {
+    assert resizer != null;
+
+    this.resizer = resizer;
+
+    //allocate internal buffer
+    ensureBufferSpace(Math.max(DEFAULT_EXPECTED_ELEMENTS, initialCapacity));
+  }
+
+  public void add(final double e1) {
+    ensureBufferSpace(1);
+    this.buffer[this.elementsCount++] = e1;
+  }
+
+  /**
+   * Add all elements from a range of given array to the list.
+   */
+  public void add(final double[] elements, final int start, final int length) {
+    insert(this.elementsCount, elements, start, length);
+  }
+
+  public void insert(final int index, final double e1) {
+    checkInsertIndex(index);
+
+    ensureBufferSpace(1);
+    System.arraycopy(this.buffer, index, this.buffer, index + 1, this.elementsCount - index);
+    this.buffer[index] = e1;
+    this.elementsCount++;
+  }
+
+  /**
+   * Inserts a range of the given array at the given index, shifting the
+   * elements at and after that index only once.
+   */
+  public void insert(final int index, final double[] elements, final int start, final int length) {
+    if(length < 0){
+      throw new IllegalArgumentException("Length must be >= 0");
+    }
+    checkInsertIndex(index);
+
+    ensureBufferSpace(length);
+    System.arraycopy(this.buffer, index, this.buffer, index + length, this.elementsCount - index);
+    System.arraycopy(elements, start, this.buffer, index, length);
+    this.elementsCount += length;
+  }
+
+  public double get(final int index) {
+    checkIndex(index);
+    return this.buffer[index];
+  }
+
+  public double set(final int index, final double e1) {
+    checkIndex(index);
+
+    final double v = this.buffer[index];
+    this.buffer[index] = e1;
+    return v;
+  }
+
+  public double remove(final int index) {
+    checkIndex(index);
+
+    final double v = this.buffer[index];
+    if (index + 1 < this.elementsCount) {
+      System.arraycopy(this.buffer, index + 1, this.buffer, index, this.elementsCount - index - 1);
+    }
+    this.elementsCount--;
+
+    return v;
+  }
+
+  public void removeRange(final int fromIndex, final int toIndex) {
+    if (fromIndex < 0 || fromIndex > toIndex || toIndex > this.elementsCount) {
+      throw new IndexOutOfBoundsException("Range [" + fromIndex + ", " + toIndex + "[ out of bounds [0, " + this.elementsCount + "].");
+    }
+
+    System.arraycopy(this.buffer, toIndex, this.buffer, fromIndex, this.elementsCount - toIndex);
+    this.elementsCount -= toIndex - fromIndex;
+  }
+
+  /**
+   * Increases the capacity of this instance, if necessary, to ensure
+   * that it can hold at least the number of elements specified by
+   * the minimum capacity argument.
+   */
+  public void ensureCapacity(final int minCapacity) {
+    if (minCapacity > this.buffer.length) {
+      ensureBufferSpace(minCapacity - size());
+    }
+  }
+
+  /**
+   * Ensures the internal buffer has enough free slots to store
+   * <code>expectedAdditions</code>. Increases internal buffer size if needed.
+   */
+  protected void ensureBufferSpace(final int expectedAdditions) {
+    final int bufferLen = (this.buffer == null ? 0 : this.buffer.length);
+
+    if (this.elementsCount > bufferLen - expectedAdditions) {
+      final int newSize = this.resizer.grow(bufferLen, this.elementsCount, expectedAdditions);
+
+      try {
+        final double[] newBuffer = new double[newSize];
+        if (bufferLen > 0) {
+          System.arraycopy(this.buffer, 0, newBuffer, 0, this.buffer.length);
+        }
+        this.buffer = newBuffer;
+
+      } catch (final OutOfMemoryError e) {
+        throw new BufferAllocationException(
+                "Not enough memory to allocate buffers to grow from %d -> %d elements",
+                e,
+                bufferLen,
+                newSize);
+      }
+    }
+  }
+
+  public int size() {
+    return this.elementsCount;
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  public int capacity() {
+    return this.buffer.length;
+  }
+
+  /**
+   * Trim the internal buffer to the current size.
+   */
+  public void trimToSize() {
+    if (size() != this.buffer.length) {
+      this.buffer = toArray();
+    }
+  }
+
+  public void clear() {
+    this.elementsCount = 0;
+  }
+
+  public double[] toArray() {
+    return Arrays.copyOf(this.buffer, this.elementsCount);
+  }
+
+  /**
+   * Convert the contents of this container to a human-friendly string.
+   */
+  @Override
+  public String toString() {
+    return Arrays.toString(this.toArray());
+  }
+
+  private void checkIndex(final int index) {
+    if (index < 0 || index >= this.elementsCount) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds [" + 0 + ", " + this.elementsCount + "[.");
+    }
+  }
+
+  private void checkInsertIndex(final int index) {
+    if (index < 0 || index > this.elementsCount) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds [" + 0 + ", " + this.elementsCount + "].");
+    }
+  }
+}
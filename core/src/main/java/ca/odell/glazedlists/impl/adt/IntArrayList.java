@@ -140,7 +140,7 @@ public class IntArrayList implements Cloneable {
   }
 
   public void insert(final int index, final int e1) {
-    this.checkRange(index);
+    this.checkInsertRange(index);
 
     ensureBufferSpace(1);
     System.arraycopy(this.buffer, index, this.buffer, index + 1, this.elementsCount - index);
@@ -148,6 +148,22 @@ public class IntArrayList implements Cloneable {
     this.elementsCount++;
   }
 
+  /**
+   * Inserts a range of the given array at the given index, shifting the
+   * elements at and after that index only once.
+   */
+  public void insert(final int index, final int[] elements, final int start, final int length) {
+    if(length < 0){
+      throw new IllegalArgumentException("Length must be >= 0");
+    }
+    this.checkInsertRange(index);
+
+    ensureBufferSpace(length);
+    System.arraycopy(this.buffer, index, this.buffer, index + length, this.elementsCount - index);
+    System.arraycopy(elements, start, this.buffer, index, length);
+    this.elementsCount += length;
+  }
+
   public int get(final int index) {
     this.checkRange(index);
     return ((this.buffer[index]));
@@ -610,11 +626,17 @@ public class IntArrayList implements Cloneable {
   }
 
   private void checkRange(int index){
-    if(index < 0 && index > size()){
+    if(index < 0 || index >= size()){
       throw new IndexOutOfBoundsException("Index " + index + " out of bounds [" + 0 + ", " + size() + "[.");
     }
   }
 
+  private void checkInsertRange(int index){
+    if(index < 0 || index > size()){
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds [" + 0 + ", " + size() + "].");
+    }
+  }
+
   private void checkRangeBounds(final int beginIndex, final int endIndex) {
 
     if (beginIndex > endIndex) {
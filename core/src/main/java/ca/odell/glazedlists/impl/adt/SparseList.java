@@ -3,6 +3,9 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists.impl.adt;
 
+import ca.odell.glazedlists.MemoryFootprint;
+import ca.odell.glazedlists.impl.MemoryEstimates;
+
 // For Lists and Iterators
 import java.util.AbstractList;
 import java.util.Collections;
@@ -53,7 +56,7 @@ import java.util.List;
  * @author <a href="mailto:kevin@swank.ca">Kevin Maltby</a>
  *
  */
-public final class SparseList extends AbstractList {
+public final class SparseList extends AbstractList implements MemoryFootprint {
 
     /** the root of the tree */
     private SparseListNode root = null;
@@ -228,6 +231,18 @@ public final class SparseList extends AbstractList {
         return new SparseListNode.SparseListIterator(this, root);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public int getNodeCount() {
+        return root == null ? 0 : root.nodeCount();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long estimateRetainedBytes() {
+        return MemoryEstimates.objectBytes(3, 1, 0) + (long)getNodeCount() * SparseListNode.ESTIMATED_BYTES;
+    }
+
     /**
      * Prints out the structure of the tree for debug purposes.
      */
@@ -3,6 +3,8 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists.impl.adt;
 
+import ca.odell.glazedlists.impl.MemoryEstimates;
+
 // for iterators
 import java.util.Iterator;
 import java.util.NoSuchElementException;
@@ -16,6 +18,9 @@ import java.util.NoSuchElementException;
  */
 public final class SparseListNode {
 
+    /** the estimated size of a node, for {@link SparseList#estimateRetainedBytes()} */
+    static final int ESTIMATED_BYTES = MemoryEstimates.objectBytes(4, 5, 0);
+
     /** the parent node */
     private SparseListNode parent;
 
@@ -57,6 +62,13 @@ public final class SparseListNode {
         this.emptySpace = emptySpace;
     }
 
+    /**
+     * Returns the number of nodes in the subtree rooted at this node
+     */
+    int nodeCount() {
+        return 1 + (left == null ? 0 : left.nodeCount()) + (right == null ? 0 : right.nodeCount());
+    }
+
     /**
      * Returns the size of the subtree rooted at this node
      */
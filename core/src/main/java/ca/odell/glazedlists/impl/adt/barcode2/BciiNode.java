@@ -3,6 +3,8 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists.impl.adt.barcode2;
 
+import ca.odell.glazedlists.impl.MemoryEstimates;
+
 import java.util.Arrays;
 import java.util.List;
 
@@ -64,6 +66,14 @@ class /*[ NODENAME_START ]*/ BciiNode<T0,T1> /*[ NODENAME_END ]*/ implements Ele
     /** whether this node is consistent in the sorting order */
     int sorted = SORTED;
 
+    /** the estimated bytes of one node, not counting its value */
+    /*[ GENERATED_CODE_START
+    static final int ESTIMATED_BYTES = MemoryEstimates.objectBytes(m4_eval(VAR_COLOUR_COUNT + 1 m4_ifelse(VAR_WIDE_NODES,`false',,`+ 1')), m4_eval(VAR_TYPE_COUNT + 3), m4_ifelse(VAR_COLOUR_COUNT,`1',`1',`2'));
+    GENERATED_CODE_END
+    EXAMPLE_START ]*/
+    static final int ESTIMATED_BYTES = MemoryEstimates.objectBytes(5, 5, 2);
+    /*[ EXAMPLE_END ]*/
+
     /**
      * Create a new node.
      *
@@ -8,6 +8,8 @@ import java.util.Comparator;
 import java.util.List;
 
 import ca.odell.glazedlists.GlazedLists;
+import ca.odell.glazedlists.MemoryFootprint;
+import ca.odell.glazedlists.impl.MemoryEstimates;
 
 /*
  m4_include(JavaMacros.m4)
@@ -43,7 +45,7 @@ import ca.odell.glazedlists.GlazedLists;
  *
  * @author <a href="mailto:jesse@swank.ca">Jesse Wilson</a>
  */
-public class BciiTree/*[ TYPELIST_START ]*/ <T0,T1> /*[ TYPELIST_END ]*/ {
+public class BciiTree/*[ TYPELIST_START ]*/ <T0,T1> /*[ TYPELIST_END ]*/ implements MemoryFootprint {
 
     /*[ COLORED_START ]*/
     /** the colors in the tree, used for printing purposes only */
@@ -755,6 +757,73 @@ public class BciiTree/*[ TYPELIST_START ]*/ <T0,T1> /*[ TYPELIST_END ]*/ {
         root = null;
     }
 
+    /**
+     * Get the number of nodes in this tree, which is less than its size when
+     * nodes hold more than one element. This walks the whole tree.
+     */
+    @Override
+    public int getNodeCount() {
+        return nodeCount(root);
+    }
+
+    /**
+     * Count the nodes in the subtree rooted at the specified node.
+     */
+    private int nodeCount(/*[ NODENAME_START ]*/ BciiNode<T0,T1> /*[ NODENAME_END ]*/ node) {
+        if(node == null) return 0;
+        return 1 + nodeCount(node.left) + nodeCount(node.right);
+    }
+
+    /**
+     * Estimate the bytes retained by this tree and its nodes, not counting
+     * the node values.
+     */
+    @Override
+    public long estimateRetainedBytes() {
+        return MemoryEstimates.objectBytes(0, /*[ COLORED_START ]*/ 1 + /*[ COLORED_END ]*/ 3, 0) + MemoryEstimates.arrayListBytes(zeroQueue.size())
+            + (long)getNodeCount() * BciiNode.ESTIMATED_BYTES;
+    }
+
+    /**
+     * Replace all nodes in the tree with one node of size 1 per value, in
+     * the order that the values are given. The tree is built bottom-up and
+     * perfectly balanced, which takes <code>O(N)</code> time rather than the
+     * <code>O(N log N)</code> required to insert the values one at a time.
+     *
+     * <p>If this tree is used in sorted order, the values must already be
+     * ordered by this tree's comparator.
+     *
+     * @param color a bitmask value such as 1, 2, 4, 8, 16, 32, 64 or 128.
+     * @param values the node values, in index order.
+     */
+    public void setAll(/*[ COLORED_START ]*/ byte color, /*[ COLORED_END ]*/ T0[] values) {
+        root = buildSubtree(values, 0, values.length, /*[ COLORED_START ]*/ color, /*[ COLORED_END ]*/ null);
+        assert(valid());
+    }
+
+    /**
+     * Build a balanced subtree holding the values from <code>start</code>
+     * (inclusive) to <code>end</code> (exclusive).
+     *
+     * @return the root of the new subtree, or <code>null</code> if the range
+     *      is empty.
+     */
+    private /*[ NODENAME_START ]*/ BciiNode<T0,T1> /*[ NODENAME_END ]*/ buildSubtree(T0[] values, int start, int end, /*[ COLORED_START ]*/ byte color, /*[ COLORED_END ]*/ /*[ NODENAME_START ]*/ BciiNode<T0,T1> /*[ NODENAME_END ]*/ parent) {
+        if(start == end) return null;
+
+        int middle = (start + end) >>> 1;
+        /*[ NODENAME_START ]*/ BciiNode<T0,T1> /*[ NODENAME_END ]*/ node = new /*[ NODENAME_START ]*/ BciiNode<T0,T1> /*[ NODENAME_END ]*/(/*[ COLORED_START ]*/ color, /*[ COLORED_END ]*/ 1, values[middle], parent);
+        node.left = buildSubtree(values, start, middle, /*[ COLORED_START ]*/ color, /*[ COLORED_END ]*/ node);
+        node.right = buildSubtree(values, middle + 1, end, /*[ COLORED_START ]*/ color, /*[ COLORED_END ]*/ node);
+
+        // update the node height and counts now that both children are known
+        byte leftHeight = node.left != null ? node.left.height : 0;
+        byte rightHeight = node.right != null ? node.right.height : 0;
+        node.height = (byte) (Math.max(leftHeight, rightHeight) + 1);
+        /*[ REFRESH_COUNTS(node) ]*/ node.refreshCounts(); /*[ EXAMPLE_END ]*/
+        return node;
+    }
+
     /**
      * Get the index of the specified element, counting only the colors
      * specified.
@@ -4,6 +4,8 @@
 package ca.odell.glazedlists.impl.adt.barcode2;
 
 import ca.odell.glazedlists.GlazedLists;
+import ca.odell.glazedlists.MemoryFootprint;
+import ca.odell.glazedlists.impl.MemoryEstimates;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -94,7 +96,7 @@ import java.util.List;
  *
  * @author <a href="mailto:jesse@swank.ca">Jesse Wilson</a>
  */
-public class FourColorTree <  T0>   {
+public class FourColorTree <  T0>   implements MemoryFootprint {
 
 
     /** the colors in the tree, used for printing purposes only */
@@ -810,6 +812,73 @@ public class FourColorTree <  T0>   {
         root = null;
     }
 
+    /**
+     * Get the number of nodes in this tree, which is less than its size when
+     * nodes hold more than one element. This walks the whole tree.
+     */
+    @Override
+    public int getNodeCount() {
+        return nodeCount(root);
+    }
+
+    /**
+     * Count the nodes in the subtree rooted at the specified node.
+     */
+    private int nodeCount(FourColorNode <  T0> node) {
+        if(node == null) return 0;
+        return 1 + nodeCount(node.left) + nodeCount(node.right);
+    }
+
+    /**
+     * Estimate the bytes retained by this tree and its nodes, not counting
+     * the node values.
+     */
+    @Override
+    public long estimateRetainedBytes() {
+        return MemoryEstimates.objectBytes(0, 1 + 3, 0) + MemoryEstimates.arrayListBytes(zeroQueue.size())
+            + (long)getNodeCount() * FourColorNode.ESTIMATED_BYTES;
+    }
+
+    /**
+     * Replace all nodes in the tree with one node of size 1 per value, in
+     * the order that the values are given. The tree is built bottom-up and
+     * perfectly balanced, which takes <code>O(N)</code> time rather than the
+     * <code>O(N log N)</code> required to insert the values one at a time.
+     *
+     * <p>If this tree is used in sorted order, the values must already be
+     * ordered by this tree's comparator.
+     *
+     * @param color a bitmask value such as 1, 2, 4, 8, 16, 32, 64 or 128.
+     * @param values the node values, in index order.
+     */
+    public void setAll(byte color, T0[] values) {
+        root = buildSubtree(values, 0, values.length, color, null);
+        assert(valid());
+    }
+
+    /**
+     * Build a balanced subtree holding the values from <code>start</code>
+     * (inclusive) to <code>end</code> (exclusive).
+     *
+     * @return the root of the new subtree, or <code>null</code> if the range
+     *      is empty.
+     */
+    private  FourColorNode <  T0>   buildSubtree(T0[] values, int start, int end, byte color,  FourColorNode <  T0>   parent) {
+        if(start == end) return null;
+
+        int middle = (start + end) >>> 1;
+         FourColorNode <  T0>   node = new  FourColorNode <  T0>  (color, 1, values[middle], parent);
+        node.left = buildSubtree(values, start, middle, color, node);
+        node.right = buildSubtree(values, middle + 1, end, color, node);
+
+        // update the node height and counts now that both children are known
+        byte leftHeight = node.left != null ? node.left.height : 0;
+        byte rightHeight = node.right != null ? node.right.height : 0;
+        node.height = (byte) (Math.max(leftHeight, rightHeight) + 1);
+         node.refreshCounts();
+        return node;
+    }
+
     /**
      * Get the index of the specified element, counting only the colors
      * specified.
@@ -3,6 +3,8 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists.impl.adt.barcode2;
 
+import ca.odell.glazedlists.impl.MemoryEstimates;
+
 import java.util.Arrays;
 import java.util.List;
 
@@ -100,6 +102,9 @@ class  SimpleNode <  T0>   implements Element<T0> {
     /** whether this node is consistent in the sorting order */
     int sorted = SORTED;
 
+    /** the estimated bytes of one node, not counting its value */
+    static final int ESTIMATED_BYTES = MemoryEstimates.objectBytes(2, 4, 1);
+
     /**
      * Create a new node.
      *
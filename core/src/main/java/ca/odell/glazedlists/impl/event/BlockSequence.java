@@ -16,17 +16,6 @@ import java.util.*;
  * @author <a href="mailto:jesse@swank.ca">Jesse Wilson</a>
  */
 public class BlockSequence<E> {
-  private static final Class<?> UNMODIFIABLE_COLLECTION;
-
-  static {
-    Class<?> clazz = null;
-    try {
-      clazz = Class.forName("java.util.Collections$UnmodifiableCollection");
-    } catch (ClassNotFoundException e) {
-    }
-    UNMODIFIABLE_COLLECTION = clazz;
-  }
-
   /**
    * the start indices of the change blocks, inclusive
    */
@@ -43,6 +32,11 @@ public class BlockSequence<E> {
    * internal handlers for overwriting existing blocks out of order
    */
   private final List<OverwriteBlockHandler> blockHandlers;
+  /**
+   * the values of the last block if this sequence created them, so that
+   * further changes can be appended in place
+   */
+  private List<ObjectChange<E>> ownedValues = null;
 
   private boolean allowContradictingEvents = false;
 
@@ -58,6 +52,8 @@ public class BlockSequence<E> {
     this.types = new IntArrayList(sequence.types);
     this.values = new ArrayList<>(sequence.values);
     this.blockHandlers = new ArrayList<>(sequence.blockHandlers);
+    // the values are now shared, so neither sequence may append to them
+    sequence.ownedValues = null;
   }
 
   public boolean getAllowContradictingEvents() {
@@ -160,25 +156,13 @@ public class BlockSequence<E> {
   }
 
   private void addToList(int size, List<ObjectChange<E>> lastChange, List<ObjectChange<E>> addValues) {
-    if (lastChange instanceof ArrayList) {
-      lastChange.addAll(addValues);
-    } else if (UNMODIFIABLE_COLLECTION != null && UNMODIFIABLE_COLLECTION.isAssignableFrom(lastChange.getClass())) {
-      // lastChange is unmodifiable create a new list
-      final List<ObjectChange<E>> newList = new ArrayList<>(size + addValues.size());
-      newList.addAll(values.get(size - 1));
-      newList.addAll(addValues);
-      values.set(size - 1, newList);
-    } else {
-      // trial and error
-      try {
-        lastChange.addAll(addValues);
-      } catch (UnsupportedOperationException ex) {
-        final List<ObjectChange<E>> newList = new ArrayList<>(size + addValues.size());
-        newList.addAll(values.get(size - 1));
-        newList.addAll(addValues);
-        values.set(size - 1, newList);
-      }
+    // copy the last block once, then keep appending to that copy
+    if (lastChange != ownedValues) {
+      ownedValues = new ArrayList<>(Math.max(16, 2 * (lastChange.size() + addValues.size())));
+      ownedValues.addAll(lastChange);
+      values.set(size - 1, ownedValues);
     }
+    ownedValues.addAll(addValues);
   }
 
   public boolean isEmpty() {
@@ -193,6 +177,7 @@ public class BlockSequence<E> {
     starts.clear();
     types.clear();
     values.clear();
+    ownedValues = null;
   }
 
   public Iterator<E> iterator() {
@@ -431,6 +416,8 @@ public class BlockSequence<E> {
     private int type = -1;
 
     private List<ObjectChange<E>> blockChanges = null;
+    /** the changes of the current block if they are stored as values, which can be read without creating ObjectChanges */
+    private ObjectChangeList<E> blockValues = null;
 
     public Iterator(BlockSequence<E> source) {
       this.source = Objects.requireNonNull(source);
@@ -484,12 +471,14 @@ public class BlockSequence<E> {
     public E getOldValue() {
       if (blockChanges == null) throw new IllegalStateException("The ListEvent is not currently in a state to " +
               "return a old value");
+      if (blockValues != null) return blockValues.getOldValue(this.offset);
       return this.blockChanges.get(this.offset).getOldValue();
     }
 
     public E getNewValue() {
       if (blockChanges == null) throw new IllegalStateException("The ListEvent is not currently in a state to " +
               "return a new value");
+      if (blockValues != null) return blockValues.getNewValue(this.offset);
       return this.blockChanges.get(this.offset).getNewValue();
     }
 
@@ -529,7 +518,15 @@ public class BlockSequence<E> {
         blockIndex++;
         offset = 0;
         startIndex = source.starts.get(blockIndex);
-        blockChanges = Collections.unmodifiableList(source.values.get(blockIndex));
+        final List<ObjectChange<E>> changes = source.values.get(blockIndex);
+        if (changes instanceof ObjectChangeList) {
+          // already read-only
+          blockValues = (ObjectChangeList<E>) changes;
+          blockChanges = changes;
+        } else {
+          blockValues = null;
+          blockChanges = Collections.unmodifiableList(changes);
+        }
         endIndex = startIndex + blockChanges.size();
         type = source.types.get(blockIndex);
         // skip empty blocks
@@ -575,6 +572,7 @@ public class BlockSequence<E> {
       it.endIndex = this.endIndex;
       it.type = this.type;
       it.blockChanges = this.blockChanges;
+      it.blockValues = this.blockValues;
     }
   }
 }
\ No newline at end of file
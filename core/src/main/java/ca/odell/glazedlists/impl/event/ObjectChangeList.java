@@ -0,0 +1,120 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl.event;
+
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ObjectChange;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A read-only list of {@link ObjectChange}s whose old and new values are
+ * stored in arrays. A block of changes costs one or two arrays, rather than an
+ * {@link ObjectChange} per element, and an {@link ObjectChange} is only
+ * created when {@link #get(int)} is called. {@link BlockSequence} reads the
+ * values with {@link #getOldValue(int)} and {@link #getNewValue(int)}, which
+ * don't create any.
+ *
+ * <p>The values are copied when the list is created, so later changes to the
+ * list they were taken from don't show through.
+ */
+public final class ObjectChangeList<E> extends AbstractList<ObjectChange<E>> implements RandomAccess {
+
+    /** the old values, or <code>null</code> if they are unknown */
+    private final Object[] oldValues;
+
+    /** the indices into {@link #oldValues} of the old values, or <code>null</code> for the identity */
+    private final int[] oldIndices;
+
+    /** the new values, or <code>null</code> if they are unknown */
+    private final Object[] newValues;
+
+    private final int size;
+
+    private ObjectChangeList(Object[] oldValues, int[] oldIndices, Object[] newValues, int size) {
+        this.oldValues = oldValues;
+        this.oldIndices = oldIndices;
+        this.newValues = newValues;
+        this.size = size;
+    }
+
+    /**
+     * The changes of a block of inserts of the specified values.
+     */
+    public static <E> ObjectChangeList<E> inserted(List<E> newValues) {
+        return new ObjectChangeList<>(null, null, newValues.toArray(), newValues.size());
+    }
+
+    /**
+     * The changes of a block of deletes of the specified values.
+     */
+    public static <E> ObjectChangeList<E> deleted(List<E> oldValues) {
+        return new ObjectChangeList<>(oldValues.toArray(), null, null, oldValues.size());
+    }
+
+    /**
+     * The changes of a block of updates where the old and the new values are
+     * the same.
+     */
+    public static <E> ObjectChangeList<E> updated(List<E> values) {
+        final Object[] valuesArray = values.toArray();
+        return new ObjectChangeList<>(valuesArray, null, valuesArray, valuesArray.length);
+    }
+
+    /**
+     * The changes of a block of updates from the specified old values to the
+     * specified new values.
+     *
+     * @throws IllegalArgumentException if the lists differ in size
+     */
+    public static <E> ObjectChangeList<E> updated(List<E> oldValues, List<E> newValues) {
+        if(oldValues.size() != newValues.size()) throw new IllegalArgumentException();
+        return new ObjectChangeList<>(oldValues.toArray(), null, newValues.toArray(), newValues.size());
+    }
+
+    /**
+     * The changes of a reordering, where the change at each index <code>i</code>
+     * has the old value <code>values.get(reorderMap[i])</code> and the new value
+     * <code>values.get(i)</code>. The reorder map is copied, since callers
+     * may reuse it.
+     */
+    public static <E> ObjectChangeList<E> reordered(List<E> values, int[] reorderMap) {
+        final Object[] valuesArray = values.toArray();
+        return new ObjectChangeList<>(valuesArray, reorderMap.clone(), valuesArray, reorderMap.length);
+    }
+
+    /**
+     * Get the old value of the change at the specified index, without
+     * creating an {@link ObjectChange}.
+     */
+    public E getOldValue(int index) {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        if(oldValues == null) return ListEvent.unknownValue();
+        return (E) oldValues[oldIndices == null ? index : oldIndices[index]];
+    }
+
+    /**
+     * Get the new value of the change at the specified index, without
+     * creating an {@link ObjectChange}.
+     */
+    public E getNewValue(int index) {
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        if(newValues == null) return ListEvent.unknownValue();
+        return (E) newValues[index];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public ObjectChange<E> get(int index) {
+        return ObjectChange.create(getOldValue(index), getNewValue(index));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -3,6 +3,7 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists.impl.event;
 
+import ca.odell.glazedlists.MemoryFootprint;
 import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.event.ObjectChange;
 import ca.odell.glazedlists.impl.adt.barcode2.Element;
@@ -24,7 +25,7 @@ import java.util.List;
  *
  * @author <a href="mailto:jesse@swank.ca">Jesse Wilson</a>
  */
-public class Tree4Deltas<E> {
+public class Tree4Deltas<E> implements MemoryFootprint {
 
     /**
      * all the names of the index sets are with respect to the target
@@ -271,6 +272,18 @@ public class Tree4Deltas<E> {
         return tree.size(CHANGE_INDICES) == 0;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public int getNodeCount() {
+        return tree.getNodeCount();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long estimateRetainedBytes() {
+        return tree.estimateRetainedBytes();
+    }
+
     public Iterator<E> iterator() {
         return new Iterator<>(tree);
     }
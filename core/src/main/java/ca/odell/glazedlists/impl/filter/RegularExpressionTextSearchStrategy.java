@@ -17,15 +17,17 @@ import java.util.regex.Matcher;
  */
 public class RegularExpressionTextSearchStrategy extends AbstractTextSearchStrategy {
 
-    private Matcher matcher;
+    /** compiled once, but matched with a new Matcher per call to be safe for concurrent use */
+    private Pattern pattern;
 
     @Override
     public void setSubtext(String regex) {
-        matcher = Pattern.compile(regex).matcher("");
+        pattern = Pattern.compile(regex);
     }
 
     @Override
     public int indexOf(String text) {
-        return matcher.reset(text).matches() ? matcher.start() : -1;
+        final Matcher matcher = pattern.matcher(text);
+        return matcher.matches() ? matcher.start() : -1;
     }
 }
\ No newline at end of file
@@ -4,17 +4,24 @@
 package ca.odell.glazedlists.impl.gui;
 
 import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.MemoryFootprint;
 import ca.odell.glazedlists.SortedList;
 import ca.odell.glazedlists.TransformedList;
 import ca.odell.glazedlists.event.IListEventAssembler;
 import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.event.ListEventAssembler;
 import ca.odell.glazedlists.event.ListEventListener;
+import ca.odell.glazedlists.gui.FlushPolicy;
+import ca.odell.glazedlists.gui.ProxyEventList;
+import ca.odell.glazedlists.impl.FlushTimer;
+import ca.odell.glazedlists.impl.MemoryEstimates;
 
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.RandomAccess;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An {@link EventList} that only forwards its events on a proxy thread,
@@ -52,6 +59,10 @@ import java.util.RandomAccess;
  *     <li>The lock is released.
  * </ol>
  *
+ * <p>By default the proxy thread is notified as soon as the first event
+ * arrives. A {@link FlushPolicy} may instead limit how often the proxy thread
+ * is notified, so that rapid changes are combined into fewer, larger events.
+ *
  * <p>The {@link ThreadProxyEventList} keeps a private copy of the elements of the
  * source {@link EventList}. This enables interested classes to read a consistent
  * (albeit potentially out of date) view of the data at all times.
@@ -66,7 +77,13 @@ import java.util.RandomAccess;
  *
  * @author <a href="mailto:jesse@swank.ca">Jesse Wilson</a>
  */
-public abstract class ThreadProxyEventList<E> extends TransformedList<E, E> implements RandomAccess {
+public abstract class ThreadProxyEventList<E> extends TransformedList<E, E> implements RandomAccess, ProxyEventList<E>, MemoryFootprint {
+
+    /**
+     * the maximum number of insert and delete blocks in a change that is
+     * applied to the local cache in place, rather than by copying the cache
+     */
+    private static final int MAX_IN_PLACE_BLOCKS = 16;
 
     /** a local cache of the source list */
     private List<E> localCache = new ArrayList<>();
@@ -80,6 +97,33 @@ public abstract class ThreadProxyEventList<E> extends TransformedList<E, E> impl
     /** whether the proxy thread has been scheduled */
     private volatile boolean scheduled = false;
 
+    /** the delayed scheduling of the proxy thread, or <code>null</code> if none is pending */
+    private volatile ScheduledFuture<?> scheduledFlush;
+
+    /** how often the proxy thread may be scheduled */
+    private volatile FlushPolicy flushPolicy = FlushPolicy.immediate();
+
+    /** when the proxy thread was last scheduled, from {@link System#nanoTime()} */
+    private volatile long lastScheduleTime;
+
+    /** when the proxy thread last finished forwarding events */
+    private volatile long lastFlushTime;
+
+    /** how long the proxy thread took to start and to forward events last time */
+    private volatile long lastFlushCost;
+
+    /** the number of source events merged into the pending flush */
+    private int pendingEventCount;
+
+    /** the number of times events have been forwarded on the proxy thread */
+    private volatile long flushCount;
+
+    /** the number of source events forwarded by all flushes */
+    private volatile long mergedEventCount;
+
+    /** the largest number of source events merged into one flush */
+    private volatile int maxEventsPerFlush;
+
     /**
      * Create a {@link ThreadProxyEventList} which delivers changes to the
      * given <code>source</code> on a particular {@link Thread}, called the
@@ -94,6 +138,9 @@ public abstract class ThreadProxyEventList<E> extends TransformedList<E, E> impl
         // populate the initial cache value
         localCache.addAll(source);
 
+        // pretend the last flush was long ago, so the first change isn't delayed
+        lastFlushTime = System.nanoTime() - TimeUnit.DAYS.toNanos(1);
+
         cacheUpdates = this.createCacheListEventAssembler();
         // handle my own events to update the internal state
         cacheUpdates.addListEventListener(updateRunner);
@@ -114,14 +161,64 @@ public abstract class ThreadProxyEventList<E> extends TransformedList<E, E> impl
         // add the changes for this event to our queue
         updates.forwardEvent(listChanges);
         cacheUpdates.forwardEvent(listChanges);
+        pendingEventCount++;
 
-        // commit the event on the appropriate thread
+        // commit the event on the appropriate thread, after a delay if
+        // events are arriving faster than the flush policy allows
         if(!scheduled) {
             scheduled = true;
-            schedule(updateRunner);
+            final long delay = flushPolicy.getFlushDelay(System.nanoTime() - lastFlushTime, lastFlushCost);
+            if(delay > 0) {
+                scheduledFlush = FlushTimer.schedule(this::scheduleUpdateRunner, delay, TimeUnit.NANOSECONDS);
+            } else {
+                scheduleUpdateRunner();
+            }
         }
     }
 
+    /**
+     * Schedule the {@link UpdateRunner} on the proxy thread.
+     */
+    private void scheduleUpdateRunner() {
+        scheduledFlush = null;
+        lastScheduleTime = System.nanoTime();
+        schedule(updateRunner);
+    }
+
+    /**
+     * Set how often changes are delivered on the proxy thread. The new policy
+     * applies from the next change that arrives while no delivery is pending.
+     */
+    public void setFlushPolicy(FlushPolicy flushPolicy) {
+        if(flushPolicy == null) throw new IllegalArgumentException("flushPolicy must not be null");
+        this.flushPolicy = flushPolicy;
+    }
+
+    /**
+     * Get how often changes are delivered on the proxy thread.
+     */
+    public FlushPolicy getFlushPolicy() {
+        return flushPolicy;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long getMergedEventCount() {
+        return mergedEventCount;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int getMaxEventsPerFlush() {
+        return maxEventsPerFlush;
+    }
+
     protected IListEventAssembler<E> createCacheListEventAssembler(){
         return new ListEventAssembler<>(this, IListEventAssembler.createListEventPublisher());
     }
@@ -145,6 +242,24 @@ public abstract class ThreadProxyEventList<E> extends TransformedList<E, E> impl
         return localCache.get(index);
     }
 
+    /**
+     * Gets the number of nodes of this list, which is zero since its copy
+     * of the source is a single array.
+     */
+    @Override
+    public int getNodeCount() {
+        return 0;
+    }
+
+    /**
+     * Estimates the bytes retained by the copy of the source that this list
+     * keeps for the proxy thread.
+     */
+    @Override
+    public long estimateRetainedBytes() {
+        return MemoryEstimates.arrayListBytes(localCache.size());
+    }
+
     /** {@inheritDoc} */
     @Override
     protected final boolean isWritable() {
@@ -154,13 +269,25 @@ public abstract class ThreadProxyEventList<E> extends TransformedList<E, E> impl
     /**
      * Apply the {@link ListEvent} to the {@link List}.
      *
+     * <p>Changes with only a few blocks of inserts and deletes, such as
+     * updates to a handful of elements in a large list, are applied to the
+     * <code>localCache</code> in place. Otherwise a new List is built in a
+     * single pass over the <code>localCache</code>.
+     *
      * @param source the EventList whose changes are being proxied to another thread
      * @param listChanges the list of changes from the <code>source</code> to be applied
      * @param localCache a private snapshot of the <code>source</code> which
      *      is now out of sync with that source list and will be repaired
-     * @return a new List to serve as the up-to-date local cache
+     * @return a List to serve as the up-to-date local cache
      */
     protected List<E> applyChangeToCache(EventList<E> source, ListEvent<E> listChanges, List<E> localCache) {
+        if(!listChanges.isReordering() && countInsertAndDeleteBlocks(listChanges) <= MAX_IN_PLACE_BLOCKS) {
+            listChanges.reset();
+            applyChangeToCacheInPlace(source, listChanges, localCache);
+            return localCache;
+        }
+        listChanges.reset();
+
         List<E> result = new ArrayList<>(source.size());
 
         // cacheOffset is the running index delta between localCache and result
@@ -203,11 +330,53 @@ public abstract class ThreadProxyEventList<E> extends TransformedList<E, E> impl
         return result;
     }
 
+    /**
+     * Count the insert and delete blocks in the specified change, giving up
+     * once there are more than {@link #MAX_IN_PLACE_BLOCKS}. The change must
+     * be reset before it is iterated again.
+     */
+    private static int countInsertAndDeleteBlocks(ListEvent<?> listChanges) {
+        int blocks = 0;
+        while(blocks <= MAX_IN_PLACE_BLOCKS && listChanges.nextBlock()) {
+            if(listChanges.getType() != ListEvent.UPDATE) blocks++;
+        }
+        return blocks;
+    }
+
+    /**
+     * Apply the {@link ListEvent} to the <code>localCache</code> one block at
+     * a time, so that each insert or delete block shifts the cache only once.
+     */
+    private static <E> void applyChangeToCacheInPlace(EventList<E> source, ListEvent<E> listChanges, List<E> localCache) {
+        while(listChanges.nextBlock()) {
+            final int startIndex = listChanges.getBlockStartIndex();
+            final int endIndex = listChanges.getBlockEndIndex() + 1;
+            final int changeType = listChanges.getType();
+
+            if(changeType == ListEvent.DELETE) {
+                localCache.subList(startIndex, endIndex).clear();
+            } else if(changeType == ListEvent.INSERT) {
+                localCache.addAll(startIndex, source.subList(startIndex, endIndex));
+            } else if(changeType == ListEvent.UPDATE) {
+                for(int i = startIndex; i < endIndex; i++) {
+                    localCache.set(i, source.get(i));
+                }
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void dispose() {
         super.dispose();
         cacheUpdates.removeListEventListener(updateRunner);
+
+        // don't flush a disposed list, nor keep it reachable from the timer
+        final ScheduledFuture<?> flush = scheduledFlush;
+        if(flush != null) {
+            flush.cancel(false);
+            scheduledFlush = null;
+        }
     }
 
     /**
@@ -237,6 +406,12 @@ public abstract class ThreadProxyEventList<E> extends TransformedList<E, E> impl
                 cacheUpdates.commitEvent();
                 updates.commitEvent();
             } finally {
+                flushCount++;
+                mergedEventCount += pendingEventCount;
+                maxEventsPerFlush = Math.max(maxEventsPerFlush, pendingEventCount);
+                pendingEventCount = 0;
+                lastFlushTime = System.nanoTime();
+                lastFlushCost = lastFlushTime - lastScheduleTime;
                 scheduled = false;
                 getReadWriteLock().writeLock().unlock();
             }
@@ -250,4 +425,4 @@ public abstract class ThreadProxyEventList<E> extends TransformedList<E, E> impl
             localCache = applyChangeToCache(source, listChanges, localCache);
         }
     }
-}
\ No newline at end of file
+}
@@ -8,6 +8,7 @@ import ca.odell.glazedlists.GlazedLists;
 import ca.odell.glazedlists.ThresholdList;
 import ca.odell.glazedlists.TransformedList;
 import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.gui.FlushPolicy;
 import ca.odell.glazedlists.gui.TableFormat;
 import ca.odell.glazedlists.impl.swing.DefaultTableModelEventAdapterFactory;
 import ca.odell.glazedlists.impl.swing.LowerThresholdRangeModel;
@@ -45,6 +46,19 @@ public final class GlazedListsSwing {
         return new SwingThreadProxyEventList<>(source);
     }
 
+    /**
+     * Wraps the source in an {@link EventList} that fires all of its update
+     * events from the Swing event dispatch thread, as often as the specified
+     * {@link FlushPolicy} allows. Changes that arrive in between are combined
+     * into a single event, which keeps the event dispatch thread responsive
+     * when the source changes rapidly.
+     */
+    public static <E> TransformedList<E, E> swingThreadProxyList(EventList<E> source, FlushPolicy flushPolicy) {
+        final SwingThreadProxyEventList<E> result = new SwingThreadProxyEventList<>(source);
+        result.setFlushPolicy(flushPolicy);
+        return result;
+    }
+
     /**
      * Returns true iff <code>list</code> is an {@link EventList} that fires
      * all of its update events from the Swing event dispatch thread.
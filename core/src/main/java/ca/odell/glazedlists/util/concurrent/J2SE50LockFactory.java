@@ -66,32 +66,3 @@ final class J2SE50ReadWriteLock implements ReadWriteLock, Serializable {
         return this.writeLock;
     }
 }
-
-/**
- * This adapts a J2SE 5.0 compatible Lock to the Glazed Lists Lock interface.
- *
- * @author James Lemieux
- */
-final class LockAdapter implements Lock {
-
-    private final java.util.concurrent.locks.Lock delegateLock;
-
-    LockAdapter(java.util.concurrent.locks.Lock delegateLock) {
-        this.delegateLock = delegateLock;
-    }
-
-    @Override
-    public void lock() {
-        delegateLock.lock();
-    }
-
-    @Override
-    public boolean tryLock() {
-        return delegateLock.tryLock();
-    }
-
-    @Override
-    public void unlock() {
-        delegateLock.unlock();
-    }
-}
\ No newline at end of file
@@ -29,4 +29,31 @@ public interface ReadWriteLock {
      * Return the lock used for writing.
      */
     public Lock writeLock();
+
+    /**
+     * Start an optimistic read, which does not block writers. Reads made
+     * after this call are only consistent if {@link #validate(long)} returns
+     * <code>true</code> for the returned stamp afterwards.
+     *
+     * <p>By default, optimistic reads are not supported and zero is returned.
+     *
+     * @return a stamp for {@link #validate(long)}, or zero if an optimistic
+     *      read is not possible, such as when the write lock is held
+     * @see StampedLockFactory
+     */
+    public default long tryOptimisticRead() {
+        return 0L;
+    }
+
+    /**
+     * Whether the write lock has not been acquired since the specified stamp
+     * was returned by {@link #tryOptimisticRead()}.
+     *
+     * @param stamp a stamp returned by {@link #tryOptimisticRead()}
+     * @return <code>true</code> if the reads made since the stamp was issued
+     *      are consistent
+     */
+    public default boolean validate(long stamp) {
+        return false;
+    }
 }
\ No newline at end of file
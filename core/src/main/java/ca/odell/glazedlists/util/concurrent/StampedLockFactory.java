@@ -0,0 +1,192 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.util.concurrent;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * An implementation of {@link LockFactory} whose {@link ReadWriteLock}s are
+ * backed by a {@link StampedLock}, and so support optimistic reads through
+ * {@link ReadWriteLock#tryOptimisticRead()}. Optimistic reads don't write to
+ * any shared state, so many reader threads can read a list without
+ * contending with each other, which suits pipelines that are read far more
+ * often than they are written.
+ *
+ * <p>For example, to read a {@link ca.odell.glazedlists.SortedList}
+ * optimistically:
+ *
+ * <pre>
+ * EventList&lt;Trade&gt; trades = new BasicEventList&lt;&gt;(new StampedLockFactory().createReadWriteLock());
+ * SortedList&lt;Trade&gt; sorted = new SortedList&lt;&gt;(trades, comparator);
+ * Trade first = sorted.applyWithOptimisticRead(list -&gt; list.isEmpty() ? null : list.get(0));
+ * </pre>
+ *
+ * <p>As with {@link J2SE50LockFactory}'s locks, the write lock is reentrant
+ * and the thread holding it may also acquire the read lock. Unlike them, the
+ * read lock is <strong>not</strong> reentrant and cannot be upgraded to the
+ * write lock: a thread that acquires the read lock again while another
+ * thread waits for the write lock, or that acquires the write lock while
+ * holding the read lock, will deadlock. Don't nest read locks.
+ *
+ * @see ca.odell.glazedlists.EventList#applyWithOptimisticRead(java.util.function.Function)
+ */
+public class StampedLockFactory implements LockFactory {
+    @Override
+    public ReadWriteLock createReadWriteLock() {
+        return new StampedReadWriteLock();
+    }
+
+    @Override
+    public Lock createLock() {
+        return new LockAdapter(new ReentrantLock());
+    }
+}
+
+/**
+ * A ReadWriteLock implementation that is a facade over a {@link StampedLock}.
+ */
+final class StampedReadWriteLock implements ReadWriteLock, Serializable {
+
+    /** For versioning as a {@link Serializable} */
+    private static final long serialVersionUID = -3329163472781953418L;
+
+    private transient final StampedLock delegate = new StampedLock();
+    private transient final Lock readLock = new ReadLock();
+    private transient final Lock writeLock = new WriteLock();
+
+    /**
+     * The thread holding the write lock. This is only compared against the
+     * current thread, which always sees its own writes, so it needs no
+     * synchronization.
+     */
+    private transient Thread writer;
+
+    /** The stamp of the write lock, only accessed by the {@link #writer}. */
+    private transient long writeStamp;
+
+    /** How often the {@link #writer} has acquired the write lock. */
+    private transient int writeHolds;
+
+    /** How often the {@link #writer} has acquired the read lock. */
+    private transient int writerReadHolds;
+
+    /** Use a {@link SerializedReadWriteLock} as a placeholder in the serialization stream. */
+    private Object writeReplace() throws ObjectStreamException {
+        return new SerializedReadWriteLock();
+    }
+
+    /**
+     * Return the lock used for reading.
+     */
+    @Override
+    public Lock readLock() {
+        return readLock;
+    }
+
+    /**
+     * Return the lock used for writing.
+     */
+    @Override
+    public Lock writeLock() {
+        return writeLock;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long tryOptimisticRead() {
+        return delegate.tryOptimisticRead();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean validate(long stamp) {
+        return delegate.validate(stamp);
+    }
+
+    /**
+     * The read lock, which the thread holding the write lock acquires
+     * without blocking.
+     */
+    private final class ReadLock implements Lock {
+        @Override
+        public void lock() {
+            if (writer == Thread.currentThread()) {
+                writerReadHolds++;
+                return;
+            }
+            delegate.readLock();
+        }
+
+        @Override
+        public boolean tryLock() {
+            if (writer == Thread.currentThread()) {
+                writerReadHolds++;
+                return true;
+            }
+            return delegate.tryReadLock() != 0L;
+        }
+
+        @Override
+        public void unlock() {
+            if (writer == Thread.currentThread() && writerReadHolds > 0) {
+                writerReadHolds--;
+                return;
+            }
+            if (!delegate.tryUnlockRead()) throw new IllegalMonitorStateException();
+        }
+    }
+
+    /**
+     * The reentrant write lock.
+     */
+    private final class WriteLock implements Lock {
+        @Override
+        public void lock() {
+            final Thread current = Thread.currentThread();
+            if (writer == current) {
+                writeHolds++;
+                return;
+            }
+            writeStamp = delegate.writeLock();
+            writer = current;
+            writeHolds = 1;
+        }
+
+        @Override
+        public boolean tryLock() {
+            final Thread current = Thread.currentThread();
+            if (writer == current) {
+                writeHolds++;
+                return true;
+            }
+            final long stamp = delegate.tryWriteLock();
+            if (stamp == 0L) return false;
+            writeStamp = stamp;
+            writer = current;
+            writeHolds = 1;
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+            if (writer != Thread.currentThread()) throw new IllegalMonitorStateException();
+            if (--writeHolds > 0) return;
+            writer = null;
+
+            // downgrade to the read locks acquired while writing, if any are still held
+            if (writerReadHolds > 0) {
+                delegate.tryConvertToReadLock(writeStamp);
+                for (int i = 1; i < writerReadHolds; i++) {
+                    delegate.tryReadLock();
+                }
+                writerReadHolds = 0;
+            } else {
+                delegate.unlockWrite(writeStamp);
+            }
+        }
+    }
+}
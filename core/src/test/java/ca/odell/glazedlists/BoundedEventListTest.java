@@ -0,0 +1,107 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventListener;
+import ca.odell.glazedlists.impl.testing.GlazedListsTests;
+import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class BoundedEventListTest {
+
+    @Test
+    public void testDropOldest() {
+        BoundedEventList<String> list = new BoundedEventList<>(3);
+        ListConsistencyListener.install(list);
+
+        list.addAll(GlazedListsTests.stringToList("ABC"));
+        list.add("D");
+        assertEquals(GlazedListsTests.stringToList("BCD"), list);
+
+        // an insert that isn't an append drops the oldest too
+        list.add(1, "E");
+        assertEquals(GlazedListsTests.stringToList("ECD"), list);
+
+        // a batch larger than the capacity keeps its last elements
+        list.addAll(GlazedListsTests.stringToList("FGHIJ"));
+        assertEquals(GlazedListsTests.stringToList("HIJ"), list);
+
+        list.remove(0);
+        list.set(0, "K");
+        assertEquals(GlazedListsTests.stringToList("KJ"), list);
+        list.clear();
+        assertEquals(0, list.size());
+    }
+
+    @Test
+    public void testInsertAtHeadOfFullList() {
+        BoundedEventList<String> list = new BoundedEventList<>(3);
+        ListConsistencyListener.install(list);
+
+        list.addAll(GlazedListsTests.stringToList("ABC"));
+        list.add(0, "D");
+        assertEquals(GlazedListsTests.stringToList("DBC"), list);
+
+        list.addAll(0, GlazedListsTests.stringToList("EF"));
+        assertEquals(GlazedListsTests.stringToList("EFC"), list);
+
+        list.addAll(1, GlazedListsTests.stringToList("GHIJ"));
+        assertEquals(GlazedListsTests.stringToList("HIJ"), list);
+    }
+
+    @Test
+    public void testReject() {
+        BoundedEventList<String> list = new BoundedEventList<>(3, BoundedEventList.EvictionPolicy.REJECT);
+        ListConsistencyListener.install(list);
+
+        list.addAll(GlazedListsTests.stringToList("AB"));
+        try {
+            list.addAll(GlazedListsTests.stringToList("CD"));
+            fail("failed to reject adding past the capacity");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(GlazedListsTests.stringToList("AB"), list);
+
+        list.add("C");
+        try {
+            list.add(0, "D");
+            fail("failed to reject adding past the capacity");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(GlazedListsTests.stringToList("ABC"), list);
+    }
+
+    @Test
+    public void testAppendFiresOneCombinedEvent() {
+        BoundedEventList<Integer> list = new BoundedEventList<>(100);
+        for (int i = 0; i < 100; i++) list.add(i);
+
+        final List<String> blocks = new ArrayList<>();
+        list.addListEventListener(new ListEventListener<Integer>() {
+            @Override
+            public void listChanged(ListEvent<Integer> listChanges) {
+                blocks.add("event");
+                while (listChanges.nextBlock()) {
+                    blocks.add((listChanges.getType() == ListEvent.DELETE ? "DELETE " : "INSERT ") + listChanges.getBlockStartIndex() + "-" + listChanges.getBlockEndIndex());
+                }
+            }
+        });
+
+        list.addAll(Arrays.asList(100, 101, 102, 103, 104));
+        assertEquals(Arrays.asList("event", "DELETE 0-4", "INSERT 95-99"), blocks);
+        assertEquals(Integer.valueOf(5), list.get(0));
+        assertEquals(Integer.valueOf(104), list.get(99));
+    }
+}
@@ -12,7 +12,9 @@ import ca.odell.glazedlists.matchers.MatcherEditor;
 import ca.odell.glazedlists.matchers.Matchers;
 import ca.odell.glazedlists.matchers.TextMatcherEditor;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -225,6 +227,85 @@ public class FilterListTest {
 		assertEquals(5, filterList.size());
 	}
 
+	/**
+	 * Refiltering in parallel must produce the same contents and events as
+	 * refiltering on a single thread.
+	 */
+	@Test
+	public void testParallelRefilter() {
+		EventList<Integer> original = new BasicEventList<>();
+		Random dice = new Random(0);
+		List<Integer> values = new ArrayList<>();
+		for(int i = 0; i < 50000; i++) {
+			values.add(new Integer(dice.nextInt(100)));
+		}
+		original.addAll(values);
+
+		AtLeastMatcherEditor editor = new AtLeastMatcherEditor();
+		FilterList<Integer> filtered = new FilterList<>(original, editor);
+		filtered.setParallelism(4);
+		assertEquals(4, filtered.getParallelism());
+		ListConsistencyListener<Integer> listConsistencyListener = ListConsistencyListener.install(filtered);
+		listConsistencyListener.setPreviousElementTracked(true);
+
+		// constrain, relax and change the matcher
+		editor.setMinimum(50);
+		assertEquals(Matchers.select(original, editor.getMatcher()), filtered);
+		editor.setMinimum(75);
+		assertEquals(Matchers.select(original, editor.getMatcher()), filtered);
+		editor.setMinimum(25);
+		assertEquals(Matchers.select(original, editor.getMatcher()), filtered);
+		filtered.setMatcher(GlazedListsTests.matchAtLeast(90));
+		assertEquals(Matchers.select(original, GlazedListsTests.matchAtLeast(90)), filtered);
+
+		try {
+			filtered.setParallelism(0);
+			fail("failed to receive IllegalArgumentException for parallelism of 0");
+		} catch(IllegalArgumentException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * Refiltering text in parallel must produce the same content as
+	 * refiltering the same text on a single thread.
+	 */
+	@Test
+	public void testParallelTextRefilter() {
+		EventList<String> original = new BasicEventList<>();
+		Random dice = new Random(0);
+		List<String> values = new ArrayList<>();
+		for(int i = 0; i < 50000; i++) {
+			StringBuilder value = new StringBuilder();
+			for(int c = 0; c < 8; c++) value.append((char)('a' + dice.nextInt(6)));
+			values.add(value.toString());
+		}
+		original.addAll(values);
+
+		TextMatcherEditor<String> sequentialEditor = new TextMatcherEditor<>(GlazedLists.toStringTextFilterator());
+		FilterList<String> sequential = new FilterList<>(original, sequentialEditor);
+		TextMatcherEditor<String> parallelEditor = new TextMatcherEditor<>(GlazedLists.toStringTextFilterator());
+		FilterList<String> parallel = new FilterList<>(original, parallelEditor);
+		parallel.setParallelism(4);
+		ListConsistencyListener<String> listConsistencyListener = ListConsistencyListener.install(parallel);
+		listConsistencyListener.setPreviousElementTracked(true);
+
+		// constrain, relax and change the filter text in each mode
+		String[][] filters = { {"ab"}, {"abc"}, {"a"}, {"fe", "d"}, {"-ab", "c"}, {"cab"} };
+		int[] modes = { TextMatcherEditor.CONTAINS, TextMatcherEditor.STARTS_WITH, TextMatcherEditor.REGULAR_EXPRESSION };
+		for(int m = 0; m < modes.length; m++) {
+			sequentialEditor.setMode(modes[m]);
+			parallelEditor.setMode(modes[m]);
+			for(int f = 0; f < filters.length; f++) {
+				String[] filter = filters[f];
+				if(modes[m] == TextMatcherEditor.REGULAR_EXPRESSION) filter = new String[] {filter[filter.length - 1] + ".*"};
+				sequentialEditor.setFilterText(filter);
+				parallelEditor.setFilterText(filter);
+				assertEquals(sequential, parallel);
+			}
+		}
+	}
+
     @Test
     public void testDispose() {
         EventList<String> baseList = GlazedLists.eventListOf("A", "B", "C", "C", "B", "A");
@@ -1,10 +1,15 @@
 package ca.odell.glazedlists;
 
 import ca.odell.glazedlists.impl.testing.GlazedListsTests;
+import ca.odell.glazedlists.util.concurrent.StampedLockFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
 
 /**
  * Tests for the class {@link Guard}.
@@ -70,4 +75,77 @@ public class GuardTest {
         assertEquals(2, sum);
     }
 
+    @Test
+    public void testApplyWithOptimisticRead() {
+        EventList<String> source = new BasicEventList<>(new StampedLockFactory().createReadWriteLock());
+        source.addAll(GlazedListsTests.stringToList("ABC"));
+        SortedList<String> sortedList = new SortedList<>(source, GlazedLists.reverseComparator());
+        assertEquals("C", sortedList.applyWithOptimisticRead(list -> list.get(0)));
+
+        // a write during the optimistic read causes the function to be applied again
+        AtomicInteger applications = new AtomicInteger();
+        String first = Guard.applyWithOptimisticRead(sortedList, list -> {
+            if (applications.incrementAndGet() == 1) {
+                writeOnOtherThread(() -> source.acceptWithWriteLock(writable -> writable.add("D")));
+            }
+            return list.get(0);
+        });
+        assertEquals("D", first);
+        assertEquals(2, applications.get());
+
+        // exceptions caused by a write during the optimistic read are discarded
+        applications.set(0);
+        int size = Guard.applyWithOptimisticRead(sortedList, list -> {
+            if (applications.incrementAndGet() == 1) {
+                writeOnOtherThread(() -> source.acceptWithWriteLock(writable -> writable.add("E")));
+                throw new IndexOutOfBoundsException();
+            }
+            return list.size();
+        });
+        assertEquals(5, size);
+        assertEquals(2, applications.get());
+
+        // so are errors, such as from a tree that was read while it was rebalanced
+        applications.set(0);
+        size = Guard.applyWithOptimisticRead(sortedList, list -> {
+            if (applications.incrementAndGet() == 1) {
+                writeOnOtherThread(() -> source.acceptWithWriteLock(writable -> writable.add("F")));
+                throw new StackOverflowError();
+            }
+            return list.size();
+        });
+        assertEquals(6, size);
+        assertEquals(2, applications.get());
+
+        // other exceptions are reported
+        try {
+            sortedList.applyWithOptimisticRead(list -> list.get(10));
+            fail("failed to report exception");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testApplyWithOptimisticReadWithoutSupport() {
+        EventList<String> source = new BasicEventList<>();
+        source.addAll(GlazedListsTests.stringToList("ABC"));
+
+        // the read lock is held if optimistic reads are not supported
+        int size = source.applyWithOptimisticRead(list -> {
+            assertFalse(list.getReadWriteLock().writeLock().tryLock());
+            return list.size();
+        });
+        assertEquals(3, size);
+    }
+
+    private static void writeOnOtherThread(Runnable write) {
+        Thread writer = new Thread(write);
+        writer.start();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
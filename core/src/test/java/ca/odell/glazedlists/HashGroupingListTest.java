@@ -0,0 +1,138 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.impl.testing.GlazedListsTests;
+import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HashGroupingListTest {
+
+    @Test
+    public void testConstruct() {
+        EventList<String> source = GlazedLists.eventList(GlazedListsTests.stringToList("CABACBCA"));
+        HashGroupingList<String> groupList = new HashGroupingList<>(source);
+
+        // groups are in the order their keys were first seen
+        assertEquals(3, groupList.size());
+        assertEquals(GlazedListsTests.stringToList("CCC"), groupList.get(0));
+        assertEquals(GlazedListsTests.stringToList("AAA"), groupList.get(1));
+        assertEquals(GlazedListsTests.stringToList("BB"), groupList.get(2));
+    }
+
+    @Test
+    public void testChanges() {
+        EventList<String> source = new BasicEventList<>();
+        HashGroupingList<String> groupList = new HashGroupingList<>(source);
+        ListConsistencyListener<List<String>> listConsistencyListener = ListConsistencyListener.install(groupList);
+        listConsistencyListener.setPreviousElementTracked(false);
+
+        source.addAll(GlazedListsTests.stringToList("BAB"));
+        assertEquals(Arrays.asList(GlazedListsTests.stringToList("BB"), GlazedListsTests.stringToList("A")), groupList);
+
+        // a new key is appended, even if it's first in the source
+        source.add(0, "C");
+        assertEquals(Arrays.asList(GlazedListsTests.stringToList("BB"), GlazedListsTests.stringToList("A"), GlazedListsTests.stringToList("C")), groupList);
+
+        // moving the only A into another group deletes its group
+        source.set(2, "C");
+        assertEquals(Arrays.asList(GlazedListsTests.stringToList("BB"), GlazedListsTests.stringToList("CC")), groupList);
+        assertEquals(1, groupList.indexOfGroup("C"));
+        assertEquals(-1, groupList.indexOfGroup("A"));
+
+        source.remove(1);
+        source.remove(2);
+        assertEquals(Arrays.asList(GlazedListsTests.stringToList("CC")), groupList);
+    }
+
+    @Test
+    public void testKeyFunction() {
+        EventList<String> source = GlazedLists.eventListOf("apple", "banana", "avocado", "cherry", "blueberry");
+        HashGroupingList<String> groupList = new HashGroupingList<>(source, value -> value.charAt(0));
+
+        assertEquals(3, groupList.size());
+        assertEquals(Arrays.asList("apple", "avocado"), groupList.get(0));
+        assertEquals(Arrays.asList("banana", "blueberry"), groupList.get(1));
+        assertEquals(Arrays.asList("cherry"), groupList.get(2));
+        assertEquals(1, groupList.indexOfGroup("bilberry"));
+    }
+
+    @Test
+    public void testWriteThroughGroupList() {
+        EventList<String> source = GlazedLists.eventList(GlazedListsTests.stringToList("ABCABC"));
+        HashGroupingList<String> groupList = new HashGroupingList<>(source);
+        ListConsistencyListener<List<String>> listConsistencyListener = ListConsistencyListener.install(groupList);
+        listConsistencyListener.setPreviousElementTracked(false);
+
+        groupList.get(1).add(1, "B");
+        assertEquals(GlazedListsTests.stringToList("ABBCABC"), source);
+
+        groupList.get(1).remove(0);
+        assertEquals(GlazedListsTests.stringToList("ABCABC"), source);
+
+        groupList.get(0).clear();
+        assertEquals(GlazedListsTests.stringToList("BCBC"), source);
+        assertEquals(2, groupList.size());
+
+        assertEquals(GlazedListsTests.stringToList("CC"), groupList.remove(1));
+        assertEquals(GlazedListsTests.stringToList("BB"), source);
+    }
+
+    @Test
+    public void testRandomChanges() {
+        Random dice = new Random(7);
+        EventList<Integer> source = new BasicEventList<>();
+        HashGroupingList<Integer> groupList = new HashGroupingList<>(source, value -> value % 10);
+        ListConsistencyListener<List<Integer>> listConsistencyListener = ListConsistencyListener.install(groupList);
+        listConsistencyListener.setPreviousElementTracked(false);
+
+        for (int i = 0; i < 500; i++) {
+            int operation = source.isEmpty() ? 0 : dice.nextInt(3);
+            if (operation == 0) {
+                source.add(dice.nextInt(source.size() + 1), dice.nextInt(100));
+            } else if (operation == 1) {
+                source.remove(dice.nextInt(source.size()));
+            } else {
+                source.set(dice.nextInt(source.size()), dice.nextInt(100));
+            }
+            assertGrouped(source, groupList);
+        }
+
+        // a reordering updates every element
+        SortedList<Integer> sorted = SortedList.create(GlazedLists.eventList(source));
+        HashGroupingList<Integer> sortedGroups = new HashGroupingList<>(sorted, value -> value % 10);
+        sorted.setComparator(GlazedLists.reverseComparator());
+        assertGrouped(sorted, sortedGroups);
+    }
+
+    /**
+     * Asserts that each group holds the elements with its key, in source order.
+     */
+    private static void assertGrouped(List<Integer> source, HashGroupingList<Integer> groupList) {
+        Set<Integer> keys = new HashSet<>();
+        for (Integer value : source) keys.add(value % 10);
+        assertEquals(keys.size(), groupList.size());
+
+        for (List<Integer> group : groupList) {
+            int key = group.get(0) % 10;
+            List<Integer> expected = new ArrayList<>();
+            for (Integer value : source) {
+                if (value % 10 == key) expected.add(value);
+            }
+            assertEquals(expected, group);
+            assertTrue(keys.remove(key));
+        }
+    }
+}
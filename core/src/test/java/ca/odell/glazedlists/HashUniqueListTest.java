@@ -0,0 +1,141 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.impl.testing.GlazedListsTests;
+import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class HashUniqueListTest {
+
+    @Test
+    public void testConstruct() {
+        EventList<String> source = GlazedLists.eventList(GlazedListsTests.stringToList("CACBA"));
+        HashUniqueList<String> unique = new HashUniqueList<>(source);
+
+        assertEquals(GlazedListsTests.stringToList("CAB"), unique);
+        assertEquals(2, unique.getCount(0));
+        assertEquals(2, unique.getCount("A"));
+        assertEquals(0, unique.getCount("D"));
+        assertEquals(GlazedListsTests.stringToList("CC"), unique.getAll(0));
+        assertEquals(2, unique.indexOf("B"));
+        assertEquals(-1, unique.indexOf("D"));
+    }
+
+    @Test
+    public void testChanges() {
+        EventList<String> source = new BasicEventList<>();
+        HashUniqueList<String> unique = new HashUniqueList<>(source);
+        ListConsistencyListener.install(unique);
+
+        source.addAll(GlazedListsTests.stringToList("ABAC"));
+        assertEquals(GlazedListsTests.stringToList("ABC"), unique);
+
+        source.remove(0);
+        assertEquals(GlazedListsTests.stringToList("ABC"), unique);
+
+        source.remove(1);
+        assertEquals(GlazedListsTests.stringToList("BC"), unique);
+
+        source.set(0, "C");
+        assertEquals(GlazedListsTests.stringToList("C"), unique);
+        assertEquals(2, unique.getCount(0));
+    }
+
+    @Test
+    public void testFirstElementOfGroup() {
+        EventList<String> source = GlazedLists.eventListOf("apple", "banana", "avocado");
+        HashUniqueList<String> unique = new HashUniqueList<>(source, value -> value.charAt(0));
+        ListConsistencyListener.install(unique);
+
+        assertEquals(Arrays.asList("apple", "banana"), unique);
+        source.add(0, "apricot");
+        assertEquals(Arrays.asList("apricot", "banana"), unique);
+        source.remove("apricot");
+        source.remove("apple");
+        assertEquals(Arrays.asList("avocado", "banana"), unique);
+        assertEquals(Arrays.asList("avocado"), unique.getAll("almond"));
+    }
+
+    @Test
+    public void testFirstElementUpdatedInPlace() {
+        final int[] first = { 1, 10 };
+        final int[] other = { 2, 20 };
+        final int[] duplicate = { 1, 30 };
+        EventList<int[]> source = GlazedLists.eventListOf(first, other, duplicate);
+        HashUniqueList<int[]> unique = new HashUniqueList<>(source, value -> value[0]);
+        UniqueList<int[]> sortedUnique = new UniqueList<>(source, Comparator.comparingInt(value -> value[0]));
+        GlazedListsTests.ListEventCounter<int[]> counter = new GlazedListsTests.ListEventCounter<>();
+        unique.addListEventListener(counter);
+        GlazedListsTests.ListEventCounter<int[]> sortedCounter = new GlazedListsTests.ListEventCounter<>();
+        sortedUnique.addListEventListener(sortedCounter);
+
+        // the first element of a group is updated in place, like UniqueList
+        first[1] = 11;
+        source.set(0, first);
+        assertEquals(1, sortedCounter.getCountAndReset());
+        assertEquals(1, counter.getCountAndReset());
+
+        // the first element is set to itself
+        source.set(0, source.get(0));
+        assertEquals(1, counter.getCountAndReset());
+
+        // a duplicate that isn't first is not visible
+        duplicate[1] = 31;
+        source.set(2, duplicate);
+        assertEquals(0, counter.getCountAndReset());
+    }
+
+    @Test
+    public void testWrites() {
+        EventList<String> source = GlazedLists.eventList(GlazedListsTests.stringToList("ABACBA"));
+        HashUniqueList<String> unique = new HashUniqueList<>(source);
+        ListConsistencyListener.install(unique);
+
+        assertEquals("B", unique.remove(1));
+        assertEquals(GlazedListsTests.stringToList("AACA"), source);
+
+        assertEquals("A", unique.set(0, "D"));
+        assertEquals(GlazedListsTests.stringToList("DC"), source);
+        assertEquals(GlazedListsTests.stringToList("CD"), unique);
+    }
+
+    @Test
+    public void testRandomChanges() {
+        Random dice = new Random(11);
+        EventList<Integer> source = new BasicEventList<>();
+        HashUniqueList<Integer> unique = new HashUniqueList<>(source);
+        ListConsistencyListener.install(unique);
+
+        for (int i = 0; i < 500; i++) {
+            int operation = source.isEmpty() ? 0 : dice.nextInt(3);
+            if (operation == 0) {
+                source.add(dice.nextInt(source.size() + 1), dice.nextInt(20));
+            } else if (operation == 1) {
+                source.remove(dice.nextInt(source.size()));
+            } else {
+                source.set(dice.nextInt(source.size()), dice.nextInt(20));
+            }
+
+            Set<Integer> expected = new LinkedHashSet<>(source);
+            assertEquals(expected, new LinkedHashSet<>(unique));
+            assertEquals(expected.size(), unique.size());
+            for (int u = 0; u < unique.size(); u++) {
+                Integer value = unique.get(u);
+                assertEquals(Collections.frequency(source, value), unique.getCount(u));
+                assertEquals(u, unique.indexOf(value));
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MappedEventListTest {
+
+    /** stores longs as 8 byte records */
+    private static final MappedEventList.RecordCodec<Long> LONG_CODEC = new MappedEventList.RecordCodec<Long>() {
+        @Override
+        public int getRecordSize() {
+            return 8;
+        }
+        @Override
+        public void encode(Long element, ByteBuffer buffer, int offset) {
+            buffer.putLong(offset, element.longValue());
+        }
+        @Override
+        public Long decode(ByteBuffer buffer, int offset) {
+            return Long.valueOf(buffer.getLong(offset));
+        }
+    };
+
+    private final Random dice = new Random(11);
+
+    private File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("mapped", "glazedlists");
+        file.delete();
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    /**
+     * Random changes, including inserts and removes that shift records across
+     * segments, leave the list and a {@link SortedList} on top of it consistent.
+     */
+    @Test
+    public void testRandomChanges() throws IOException {
+        final MappedEventList<Long> list = new MappedEventList<>(file, LONG_CODEC, null, null, 3);
+        final SortedList<Long> sorted = SortedList.create(list);
+        // every read decodes a new object, so compare the events by equality
+        final List<Long> mirror = new ArrayList<>();
+        GlazedLists.syncEventListToList(list, mirror);
+        final List<Long> sortedMirror = new ArrayList<>();
+        GlazedLists.syncEventListToList(sorted, sortedMirror);
+        final List<Long> expected = new ArrayList<>();
+
+        for (int i = 0; i < 300; i++) {
+            final int operation = dice.nextInt(10);
+            final Long value = Long.valueOf(dice.nextInt(1000));
+            if (operation < 4 || expected.isEmpty()) {
+                list.add(value);
+                expected.add(value);
+            } else if (operation < 6) {
+                final int index = dice.nextInt(expected.size() + 1);
+                list.add(index, value);
+                expected.add(index, value);
+            } else if (operation < 8) {
+                final int index = dice.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else if (operation < 9) {
+                final int index = dice.nextInt(expected.size());
+                assertEquals(expected.set(index, value), list.set(index, value));
+            } else {
+                final int index = dice.nextInt(expected.size() + 1);
+                final List<Long> values = Arrays.asList(value, Long.valueOf(-value.longValue()));
+                list.addAll(index, values);
+                expected.addAll(index, values);
+            }
+        }
+        assertEquals(expected, list);
+        assertEquals(expected, mirror);
+        final List<Long> expectedSorted = new ArrayList<>(expected);
+        Collections.sort(expectedSorted);
+        assertEquals(expectedSorted, sorted);
+        assertEquals(expectedSorted, sortedMirror);
+
+        list.clear();
+        assertTrue(sorted.isEmpty());
+        assertTrue(mirror.isEmpty());
+        list.dispose();
+    }
+
+    /**
+     * The elements are still there when the file is reopened, and a file of
+     * differently sized records is rejected.
+     */
+    @Test
+    public void testReopen() throws IOException {
+        MappedEventList<Long> list = new MappedEventList<>(file, LONG_CODEC, null, null, 4);
+        for (long i = 0; i < 10; i++) list.add(Long.valueOf(i * i));
+        list.remove(0);
+        final List<Long> expected = new ArrayList<>(list);
+        list.dispose();
+
+        list = new MappedEventList<>(file, LONG_CODEC);
+        assertEquals(expected, list);
+        list.add(Long.valueOf(100));
+        list.dispose();
+
+        list = new MappedEventList<>(file, LONG_CODEC, null, null, 5);
+        expected.add(Long.valueOf(100));
+        assertEquals(expected, list);
+        list.dispose();
+
+        try {
+            new MappedEventList<>(file, new MappedEventList.RecordCodec<Integer>() {
+                @Override
+                public int getRecordSize() {
+                    return 4;
+                }
+                @Override
+                public void encode(Integer element, ByteBuffer buffer, int offset) {
+                    buffer.putInt(offset, element.intValue());
+                }
+                @Override
+                public Integer decode(ByteBuffer buffer, int offset) {
+                    return Integer.valueOf(buffer.getInt(offset));
+                }
+            });
+            fail("failed to reject records of a different size");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+}
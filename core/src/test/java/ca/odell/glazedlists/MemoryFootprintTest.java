@@ -0,0 +1,59 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.impl.adt.Barcode;
+import ca.odell.glazedlists.impl.adt.barcode2.SimpleTree;
+import ca.odell.glazedlists.matchers.Matcher;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that {@link MemoryFootprint} estimates track the structures of a
+ * pipeline, and that {@link GlazedLists#describePipeline(EventList)} reports
+ * each of its layers.
+ */
+public class MemoryFootprintTest {
+
+    @Test
+    public void testAdtEstimates() {
+        final Barcode barcode = new Barcode();
+        assertEquals(0, barcode.getNodeCount());
+        barcode.addWhite(0, 1000);
+        barcode.addBlack(1000, 1000);
+        // one run of white then black fits in a single leaf
+        assertEquals(1, barcode.getNodeCount());
+        final long runBytes = barcode.estimateRetainedBytes();
+        for (int i = 0; i < 2000; i += 2) barcode.setBlack(i, 1);
+        assertTrue(barcode.estimateRetainedBytes() > runBytes);
+
+        final SimpleTree<Integer> tree = new SimpleTree<>();
+        final long emptyBytes = tree.estimateRetainedBytes();
+        for (int i = 0; i < 100; i++) tree.add(i, Integer.valueOf(i), 1);
+        assertEquals(100, tree.getNodeCount());
+        assertTrue(tree.estimateRetainedBytes() > emptyBytes + 100 * 32);
+    }
+
+    @Test
+    public void testDescribePipeline() {
+        final EventList<Integer> source = new BasicEventList<>();
+        for (int i = 0; i < 1000; i++) source.add(Integer.valueOf(i));
+        final SortedList<Integer> sorted = SortedList.create(source);
+        final FilterList<Integer> evens = new FilterList<>(sorted, (Matcher<Integer>) value -> value.intValue() % 2 == 0);
+        final EventList<Integer> readOnly = GlazedLists.readOnlyList(evens);
+
+        final String[] lines = GlazedLists.describePipeline(readOnly).split("\n");
+        assertEquals(5, lines.length);
+        assertTrue(lines[0], lines[0].equals("ReadOnlyList: 500 elements, no estimate"));
+        assertTrue(lines[1], lines[1].startsWith("FilterList: 500 elements, "));
+        assertTrue(lines[2], lines[2].startsWith("SortedList: 1000 elements, 2000 nodes, "));
+        assertTrue(lines[3], lines[3].startsWith("BasicEventList: 1000 elements, 0 nodes, "));
+
+        final long total = sorted.estimateRetainedBytes() + evens.estimateRetainedBytes() + ((BasicEventList<Integer>) source).estimateRetainedBytes();
+        assertEquals("total: " + (2000 + evens.getNodeCount()) + " nodes, " + total + " bytes", lines[4]);
+    }
+}
@@ -3,6 +3,9 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists;
 
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventListener;
+import ca.odell.glazedlists.impl.BufferedConnector;
 import ca.odell.glazedlists.impl.beans.BeanConnector;
 import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
 import ca.odell.glazedlists.matchers.Matcher;
@@ -13,11 +16,15 @@ import java.awt.Component;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EventListener;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.swing.JLabel;
 
@@ -369,6 +376,282 @@ public class ObservableElementListTest {
         }
     }
 
+    @Test
+    public void testElementChangedLocatesAllOccurrences() {
+        assertElementChangedLocatesAllOccurrences();
+    }
+
+    @Test
+    public void testIndexedElementChangedLocatesAllOccurrences() {
+        useIndexedLabels();
+        assertElementChangedLocatesAllOccurrences();
+    }
+
+    private void assertElementChangedLocatesAllOccurrences() {
+        final JLabel repeated = new JLabel("A");
+        final JLabel other = new JLabel("B");
+        final List<Integer> updated = new ArrayList<>();
+        labels.addListEventListener(new UpdatedIndicesListener(updated));
+
+        // A B A B A
+        labels.add(repeated);
+        labels.add(other);
+        labels.add(repeated);
+        labels.add(other);
+        labels.add(repeated);
+
+        repeated.setName("A1");
+        assertEquals(Arrays.asList(0, 2, 4), updated);
+
+        // B A B A, the indices of the remaining occurrences shift left
+        labels.remove(0);
+        repeated.setName("A2");
+        assertEquals(Arrays.asList(1, 3), updated);
+
+        // B A B B, replacing an occurrence stops its updates
+        labels.set(3, other);
+        repeated.setName("A3");
+        assertEquals(Arrays.asList(1), updated);
+        other.setName("B1");
+        assertEquals(Arrays.asList(0, 2, 3), updated);
+
+        // an element that was removed entirely is no longer observed
+        labels.remove(1);
+        assertEquals(new JLabel().getPropertyChangeListeners().length, repeated.getPropertyChangeListeners().length);
+    }
+
+    @Test
+    public void testElementChangedAfterReordering() {
+        assertElementChangedAfterReordering(false);
+    }
+
+    @Test
+    public void testIndexedElementChangedAfterReordering() {
+        assertElementChangedAfterReordering(true);
+    }
+
+    private void assertElementChangedAfterReordering(boolean indexElements) {
+        final BasicEventList<JLabel> source = new BasicEventList<>();
+        final SortedList<JLabel> sorted = new SortedList<>(source, GlazedLists.beanPropertyComparator(JLabel.class, "text"));
+        final ObservableElementList<JLabel> observed = new ObservableElementList<>(sorted, GlazedLists.beanConnector(JLabel.class), indexElements);
+        final List<Integer> updated = new ArrayList<>();
+        observed.addListEventListener(new UpdatedIndicesListener(updated));
+
+        final JLabel first = new JLabel("a");
+        final JLabel last = new JLabel("z");
+        source.add(first);
+        source.add(new JLabel("m"));
+        source.add(last);
+
+        // reverse the order of the elements
+        sorted.setComparator(GlazedLists.reverseComparator(GlazedLists.beanPropertyComparator(JLabel.class, "text")));
+        assertSame(first, observed.get(2));
+
+        first.setForeground(Color.RED);
+        assertEquals(Arrays.asList(2), updated);
+
+        last.setForeground(Color.RED);
+        assertEquals(Arrays.asList(0), updated);
+        observed.dispose();
+    }
+
+    @Test
+    public void testElementsChanged() {
+        assertElementsChanged();
+    }
+
+    @Test
+    public void testIndexedElementsChanged() {
+        useIndexedLabels();
+        assertElementsChanged();
+    }
+
+    private void assertElementsChanged() {
+        final JLabel repeated = new JLabel("A");
+        final JLabel other = new JLabel("B");
+        final JLabel removed = new JLabel("C");
+        final List<Integer> updated = new ArrayList<>();
+        labels.addListEventListener(new UpdatedIndicesListener(updated));
+
+        // B A B A B
+        labels.add(other);
+        labels.add(repeated);
+        labels.add(other);
+        labels.add(repeated);
+        labels.add(other);
+        final int eventCount = counter.getEventCount();
+
+        // all occurrences are updated by a single event, elements not in the list are ignored
+        labels.elementsChanged(Arrays.asList(repeated, removed, other, repeated));
+        assertEquals(eventCount + 1, counter.getEventCount());
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), updated);
+
+        // no event at all if none of the elements are in the list
+        labels.elementsChanged(Arrays.asList(removed));
+        assertEquals(eventCount + 1, counter.getEventCount());
+    }
+
+    @Test
+    public void testElementIndexIsOptIn() {
+        final BasicEventList<JLabel> source = new BasicEventList<>();
+        for (int i = 0; i < 100; i++) source.add(new JLabel("" + i));
+        final ObservableElementList<JLabel> plain = new ObservableElementList<>(source, GlazedLists.beanConnector(JLabel.class));
+        final ObservableElementList<JLabel> indexed = new ObservableElementList<>(source, GlazedLists.beanConnector(JLabel.class), true);
+
+        // without an index, only the element references are kept
+        assertTrue(indexed.getNodeCount() >= plain.getNodeCount() + 100);
+        assertTrue(indexed.estimateRetainedBytes() > plain.estimateRetainedBytes() * 3);
+        plain.dispose();
+        indexed.dispose();
+    }
+
+    /**
+     * Replaces {@link #labels} with a list that keeps an element index.
+     */
+    private void useIndexedLabels() {
+        labels = new ObservableElementList<>(new BasicEventList<JLabel>(), GlazedLists.beanConnector(JLabel.class), true);
+        counter = ListConsistencyListener.install(labels);
+    }
+
+    @Test
+    public void testBufferedConnector() {
+        final BufferedConnector<JLabel> connector = new BufferedConnector<>(GlazedLists.beanConnector(JLabel.class), 1, TimeUnit.HOURS);
+        final ObservableElementList<JLabel> observed = new ObservableElementList<>(new BasicEventList<JLabel>(), connector);
+        final ListConsistencyListener<JLabel> observedCounter = ListConsistencyListener.install(observed);
+        final List<Integer> updated = new ArrayList<>();
+        observed.addListEventListener(new UpdatedIndicesListener(updated));
+
+        final JLabel first = new JLabel();
+        final JLabel second = new JLabel();
+        observed.add(first);
+        observed.add(new JLabel());
+        observed.add(second);
+        assertEquals(3, observedCounter.getEventCount());
+
+        // changes are held back until they are flushed
+        first.setName("first");
+        second.setName("second");
+        first.setName("first again");
+        assertEquals(3, observedCounter.getEventCount());
+
+        connector.flush();
+        assertEquals(4, observedCounter.getEventCount());
+        assertEquals(Arrays.asList(0, 2), updated);
+
+        // a disposed list discards the buffered changes
+        second.setName("second again");
+        observed.dispose();
+        connector.flush();
+        assertEquals(4, observedCounter.getEventCount());
+    }
+
+    @Test
+    public void testBufferedConnectorDelivers() throws InterruptedException {
+        final ObservableElementList<JLabel> observed = new ObservableElementList<>(new BasicEventList<JLabel>(),
+                GlazedLists.bufferedConnector(GlazedLists.beanConnector(JLabel.class), 10, TimeUnit.MILLISECONDS));
+        final CountDownLatch delivered = new CountDownLatch(1);
+        final JLabel label = new JLabel();
+        observed.add(label);
+        observed.addListEventListener(listChanges -> delivered.countDown());
+
+        label.setName("changed");
+        assertTrue(delivered.await(10, TimeUnit.SECONDS));
+        observed.dispose();
+    }
+
+    @Test
+    public void testBufferedConnectorDeliversOffTimerThread() throws InterruptedException {
+        final ObservableElementList<JLabel> slow = new ObservableElementList<>(new BasicEventList<JLabel>(),
+                GlazedLists.bufferedConnector(GlazedLists.beanConnector(JLabel.class), 1, TimeUnit.MILLISECONDS));
+        final ObservableElementList<JLabel> fast = new ObservableElementList<>(new BasicEventList<JLabel>(),
+                GlazedLists.bufferedConnector(GlazedLists.beanConnector(JLabel.class), 10, TimeUnit.MILLISECONDS));
+        final JLabel slowLabel = new JLabel();
+        final JLabel fastLabel = new JLabel();
+        slow.add(slowLabel);
+        fast.add(fastLabel);
+
+        // a delivery that blocks its listener...
+        final CountDownLatch slowStarted = new CountDownLatch(1);
+        final CountDownLatch releaseSlow = new CountDownLatch(1);
+        slow.addListEventListener(listChanges -> {
+            slowStarted.countDown();
+            try {
+                releaseSlow.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        final CountDownLatch fastDelivered = new CountDownLatch(1);
+        final AtomicReference<String> fastThread = new AtomicReference<>();
+        fast.addListEventListener(listChanges -> {
+            fastThread.set(Thread.currentThread().getName());
+            fastDelivered.countDown();
+        });
+
+        // ...doesn't delay the delivery of another connector
+        try {
+            slowLabel.setName("changed");
+            assertTrue(slowStarted.await(10, TimeUnit.SECONDS));
+            fastLabel.setName("changed");
+            assertTrue(fastDelivered.await(10, TimeUnit.SECONDS));
+            assertFalse("Glazed Lists flush timer".equals(fastThread.get()));
+        } finally {
+            releaseSlow.countDown();
+        }
+        slow.dispose();
+        fast.dispose();
+    }
+
+    @Test
+    public void testBufferedConnectorFlushRacesDispose() throws InterruptedException {
+        final BufferedConnector<JLabel> connector = new BufferedConnector<>(GlazedLists.beanConnector(JLabel.class), 1, TimeUnit.HOURS);
+        final ObservableElementList<JLabel> observed = new ObservableElementList<>(new BasicEventList<JLabel>(), connector);
+        final ListConsistencyListener<JLabel> observedCounter = ListConsistencyListener.install(observed);
+        final JLabel label = new JLabel();
+        observed.add(label);
+        label.setName("changed");
+
+        // a flush waiting for the write lock while the list is disposed delivers nothing
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread flusher = new Thread(() -> {
+            try {
+                connector.flush();
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        observed.getReadWriteLock().writeLock().lock();
+        try {
+            flusher.start();
+            while (flusher.isAlive() && flusher.getState() != Thread.State.WAITING) Thread.sleep(1);
+            observed.dispose();
+        } finally {
+            observed.getReadWriteLock().writeLock().unlock();
+        }
+        flusher.join();
+        assertNull(failure.get());
+        assertEquals(1, observedCounter.getEventCount());
+    }
+
+    /**
+     * Records the indices of the updates of the latest {@link ListEvent}.
+     */
+    private static class UpdatedIndicesListener implements ListEventListener<JLabel> {
+        private final List<Integer> updated;
+
+        UpdatedIndicesListener(List<Integer> updated) {
+            this.updated = updated;
+        }
+
+        @Override
+        public void listChanged(ListEvent<JLabel> listChanges) {
+            updated.clear();
+            while (listChanges.next()) {
+                if (listChanges.getType() == ListEvent.UPDATE) updated.add(listChanges.getIndex());
+            }
+        }
+    }
+
     /**
      * This connector installs a common JavaBean listener on every element
      * until bloomCount has been reached, when it begins installing unique
@@ -0,0 +1,200 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Makes sure that {@link IntEventList}, {@link LongEventList} and
+ * {@link DoubleEventList} behave like any other {@link EventList}.
+ */
+public class PrimitiveEventListTest {
+
+    private final Random dice = new Random(7);
+
+    @Test
+    public void testIntEventList() {
+        final IntEventList list = new IntEventList();
+        final MirrorListener<Integer> listener = new MirrorListener<>(list);
+
+        list.addInt(3);
+        list.addInt(0, 1);
+        list.addInts(5, 8);
+        list.add(1, Integer.valueOf(2));
+        assertEquals(Arrays.asList(1, 2, 3, 5, 8), list);
+        assertEquals(4, listener.getEventCount());
+
+        assertEquals(5, list.getInt(3));
+        assertEquals(5, list.setInt(3, 4));
+        assertEquals(Integer.valueOf(4), list.get(3));
+        assertArrayEquals(new int[] {1, 2, 3, 4, 8}, list.toIntArray());
+
+        list.addAll(2, Arrays.asList(10, 11));
+        assertEquals(Arrays.asList(1, 2, 10, 11, 3, 4, 8), list);
+        list.removeAll(Arrays.asList(10, 11));
+        assertEquals(Arrays.asList(1, 2, 3, 4, 8), list);
+        assertEquals(Integer.valueOf(8), list.remove(4));
+
+        list.clear();
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void testLongEventList() {
+        final LongEventList list = new LongEventList();
+        new MirrorListener<>(list);
+
+        list.addLongs(Long.MAX_VALUE, 2L);
+        list.addLong(1, 1L);
+        assertEquals(Arrays.asList(Long.MAX_VALUE, 1L, 2L), list);
+        assertEquals(1L, list.setLong(1, 3L));
+        assertEquals(3L, list.getLong(1));
+        assertArrayEquals(new long[] {Long.MAX_VALUE, 3L, 2L}, list.toLongArray());
+    }
+
+    @Test
+    public void testDoubleEventList() {
+        final DoubleEventList list = new DoubleEventList();
+        new MirrorListener<>(list);
+
+        list.addDoubles(1.5, 2.5);
+        list.addDouble(0, 0.5);
+        assertEquals(Arrays.asList(0.5, 1.5, 2.5), list);
+        assertEquals(1.5, list.setDouble(1, -1.0), 0.0);
+        assertEquals(-1.0, list.getDouble(1), 0.0);
+        assertArrayEquals(new double[] {0.5, -1.0, 2.5}, list.toDoubleArray(), 0.0);
+    }
+
+    /**
+     * Random edits to a primitive list match the same edits to an ArrayList.
+     */
+    @Test
+    public void testRandomEdits() {
+        final IntEventList list = new IntEventList();
+        final List<Integer> control = new ArrayList<>();
+        new MirrorListener<>(list);
+
+        for(int i = 0; i < 1000; i++) {
+            final int operation = dice.nextInt(4);
+            final int value = dice.nextInt(100);
+            if(operation == 0 || control.isEmpty()) {
+                final int index = dice.nextInt(control.size() + 1);
+                list.addInt(index, value);
+                control.add(index, Integer.valueOf(value));
+            } else if(operation == 1) {
+                final int index = dice.nextInt(control.size());
+                assertEquals(control.remove(index), list.remove(index));
+            } else if(operation == 2) {
+                final int index = dice.nextInt(control.size());
+                assertEquals(control.set(index, Integer.valueOf(value)).intValue(), list.setInt(index, value));
+            } else {
+                final int index = dice.nextInt(control.size() + 1);
+                final List<Integer> values = Arrays.asList(value, value + 1, value + 2);
+                list.addAll(index, values);
+                control.addAll(index, values);
+            }
+        }
+        assertEquals(control, list);
+    }
+
+    @Test
+    public void testNullsRejected() {
+        final IntEventList list = new IntEventList();
+        list.addInt(1);
+        try {
+            list.addAll(Arrays.asList(2, null));
+            fail("Expected NullPointerException");
+        } catch(NullPointerException e) {
+            // expected
+        }
+        assertEquals(Arrays.asList(1), list);
+    }
+
+    @Test
+    public void testIndexOutOfBounds() {
+        final IntEventList ints = new IntEventList();
+        ints.addInt(1);
+        try {
+            ints.getInt(1);
+            fail("Expected IndexOutOfBoundsException");
+        } catch(IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            ints.setInt(1, 2);
+            fail("Expected IndexOutOfBoundsException");
+        } catch(IndexOutOfBoundsException e) {
+            // expected
+        }
+        assertEquals(Arrays.asList(1), ints);
+
+        final DoubleEventList doubles = new DoubleEventList();
+        doubles.addDouble(1.0);
+        try {
+            doubles.getDouble(1);
+            fail("Expected IndexOutOfBoundsException");
+        } catch(IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            doubles.addDouble(2, 1.0);
+            fail("Expected IndexOutOfBoundsException");
+        } catch(IndexOutOfBoundsException e) {
+            // expected
+        }
+        assertEquals(1, doubles.size());
+    }
+
+    /**
+     * Applies each event to a copy of the list, and checks that the copy and
+     * the old values reported by the events match the list. Unlike
+     * {@link ca.odell.glazedlists.impl.testing.ListConsistencyListener}, this
+     * compares elements by equality, since the primitive lists box values
+     * each time they are read.
+     */
+    private static class MirrorListener<E> implements ListEventListener<E> {
+        private final List<E> mirror;
+        private int eventCount = 0;
+
+        public MirrorListener(EventList<E> source) {
+            mirror = new ArrayList<>(source);
+            source.addListEventListener(this);
+        }
+
+        @Override
+        public void listChanged(ListEvent<E> listChanges) {
+            eventCount++;
+            final List<E> source = listChanges.getSourceList();
+            while(listChanges.next()) {
+                final int index = listChanges.getIndex();
+                switch(listChanges.getType()) {
+                    case ListEvent.INSERT:
+                        mirror.add(index, source.get(index));
+                        break;
+                    case ListEvent.DELETE:
+                        assertEquals(mirror.remove(index), listChanges.getOldValue());
+                        break;
+                    case ListEvent.UPDATE:
+                        assertEquals(mirror.set(index, source.get(index)), listChanges.getOldValue());
+                        break;
+                }
+            }
+            assertEquals(source, mirror);
+        }
+
+        public int getEventCount() {
+            return eventCount;
+        }
+    }
+}
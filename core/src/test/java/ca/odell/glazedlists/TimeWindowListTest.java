@@ -0,0 +1,156 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventListener;
+import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TimeWindowListTest {
+
+    private final ManualClock clock = new ManualClock();
+
+    /** a list of timestamps in milliseconds, with a window of 10 milliseconds */
+    private final TimeWindowList<Long> window = new TimeWindowList<>(timestamp -> timestamp, 10, TimeUnit.MILLISECONDS, clock);
+
+    @Test
+    public void testExpiryOnWrite() {
+        ListConsistencyListener.install(window);
+
+        clock.millis = 100;
+        window.addAll(Arrays.asList(91L, 95L, 100L));
+        assertEquals(Arrays.asList(91L, 95L, 100L), window);
+
+        // the elements older than 96 expire with the next write
+        clock.millis = 106;
+        window.add(106L);
+        assertEquals(Arrays.asList(100L, 106L), window);
+
+        // an element out of timestamp order stays until it reaches the head
+        window.add(50L);
+        assertEquals(Arrays.asList(100L, 106L, 50L), window);
+        clock.millis = 111;
+        window.add(111L);
+        assertEquals(Arrays.asList(106L, 50L, 111L), window);
+    }
+
+    @Test
+    public void testExpireFiresOneDeleteBlock() {
+        for (long t = 0; t < 100; t++) {
+            clock.millis = t;
+            window.add(t);
+        }
+        assertEquals(11, window.size());
+
+        final BlockRecorder blocks = new BlockRecorder();
+        window.addListEventListener(blocks);
+
+        clock.millis = 105;
+        assertEquals(6, window.expire());
+        assertEquals(Arrays.asList("DELETE 0-5"), blocks.blocks);
+        assertEquals(Arrays.asList(95L, 96L, 97L, 98L, 99L), window);
+
+        // nothing to expire fires no event
+        blocks.blocks.clear();
+        assertEquals(0, window.expire());
+        assertTrue(blocks.blocks.isEmpty());
+
+        clock.millis = 1000;
+        assertEquals(5, window.expire());
+        assertEquals(0, window.size());
+    }
+
+    @Test
+    public void testDownstreamLists() {
+        clock.millis = 100;
+        final SortedList<Long> sorted = new SortedList<>(window, GlazedLists.reverseComparator());
+        final FilterList<Long> even = new FilterList<>(window, value -> value % 2 == 0);
+        ListConsistencyListener.install(sorted);
+        ListConsistencyListener.install(even);
+
+        for (long t = 90; t <= 100; t++) {
+            window.add(t);
+        }
+        clock.millis = 104;
+        window.expire();
+        assertEquals(Arrays.asList(100L, 99L, 98L, 97L, 96L, 95L, 94L), sorted);
+        assertEquals(Arrays.asList(94L, 96L, 98L, 100L), even);
+    }
+
+    @Test
+    public void testWrites() {
+        ListConsistencyListener.install(window);
+        clock.millis = 100;
+        window.addAll(Arrays.asList(92L, 94L, 96L));
+
+        assertEquals(Long.valueOf(94L), window.set(1, 95L));
+        assertEquals(Long.valueOf(92L), window.remove(0));
+        window.add(0, 93L);
+        assertEquals(Arrays.asList(93L, 95L, 96L), window);
+
+        // a write that moves the window expires elements too
+        clock.millis = 105;
+        window.set(2, 97L);
+        assertEquals(Arrays.asList(95L, 97L), window);
+
+        window.clear();
+        assertEquals(0, window.size());
+    }
+
+    /**
+     * Records the blocks of each change to a list.
+     */
+    private static class BlockRecorder implements ListEventListener<Long> {
+        private final List<String> blocks = new ArrayList<>();
+
+        @Override
+        public void listChanged(ListEvent<Long> listChanges) {
+            while (listChanges.nextBlock()) {
+                final String type = listChanges.getType() == ListEvent.DELETE ? "DELETE" : listChanges.getType() == ListEvent.INSERT ? "INSERT" : "UPDATE";
+                blocks.add(type + " " + listChanges.getBlockStartIndex() + "-" + listChanges.getBlockEndIndex());
+            }
+        }
+    }
+
+    /**
+     * A clock whose time is set by the test.
+     */
+    private static class ManualClock extends Clock {
+        private long millis;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
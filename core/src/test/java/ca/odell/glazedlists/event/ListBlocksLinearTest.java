@@ -4,6 +4,11 @@
 package ca.odell.glazedlists.event;
 
 import ca.odell.glazedlists.impl.event.BlockSequence;
+import ca.odell.glazedlists.impl.testing.GlazedListsTests;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.junit.Test;
 
@@ -189,6 +194,83 @@ public class ListBlocksLinearTest {
         assertEquals(false, iterator.hasNextBlock());
     }
 
+    /**
+     * Test that blocks of values report their old and new values, even after
+     * the lists the values were taken from change.
+     */
+    @Test
+    public void testValueChanges() {
+        List<String> values = new ArrayList<>(GlazedListsTests.stringToList("ABC"));
+        BlockSequence<String> listBlocks = new BlockSequence<>();
+        listBlocks.addChange(0, ListEvent.INSERT, ObjectChange.getChanges(values, ListEvent.INSERT));
+        listBlocks.addChange(3, ListEvent.INSERT, ObjectChange.getChanges(GlazedListsTests.stringToList("D"), ListEvent.INSERT));
+        listBlocks.addChange(5, ListEvent.DELETE, ObjectChange.getChanges(GlazedListsTests.stringToList("XY"), ListEvent.DELETE));
+        values.clear();
+
+        BlockSequence.Iterator<String> iterator = listBlocks.iterator();
+        assertNext(0, ListEvent.INSERT, iterator);
+        assertEquals(ListEvent.UNKNOWN_VALUE, iterator.getOldValue());
+        assertEquals("A", iterator.getNewValue());
+        assertEquals(ObjectChange.create(ListEvent.unknownValue(), "A"), iterator.getChange());
+        assertNext(1, ListEvent.INSERT, iterator);
+        assertNext(2, ListEvent.INSERT, iterator);
+        assertNext(3, ListEvent.INSERT, iterator);
+        assertEquals("D", iterator.getNewValue());
+        assertNext(5, ListEvent.DELETE, iterator);
+        assertEquals("X", iterator.getOldValue());
+        assertEquals(ListEvent.UNKNOWN_VALUE, iterator.getNewValue());
+        assertNext(5, ListEvent.DELETE, iterator);
+        assertEquals("Y", iterator.getOldValue());
+        assertEquals(false, iterator.hasNext());
+    }
+
+    /**
+     * Test that appending changes to a block leaves the lists of changes that
+     * were passed in unchanged.
+     */
+    @Test
+    public void testAppendKeepsCallerChanges() {
+        List<ObjectChange<String>> first = new ArrayList<>();
+        first.add(ObjectChange.create(ListEvent.unknownValue(), "A"));
+        BlockSequence<String> listBlocks = new BlockSequence<>();
+        listBlocks.addChange(0, ListEvent.INSERT, first);
+        for (int i = 1; i < 100; i++) {
+            listBlocks.addChange(i, ListEvent.INSERT, Collections.singletonList(ObjectChange.create(ListEvent.unknownValue(), "B")));
+        }
+        assertEquals(1, first.size());
+
+        // a copy doesn't see changes appended to the original
+        BlockSequence<String> copy = listBlocks.copy();
+        listBlocks.addChange(100, ListEvent.INSERT, Collections.singletonList(ObjectChange.create(ListEvent.unknownValue(), "C")));
+        BlockSequence.Iterator<String> iterator = copy.iterator();
+        int count = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        assertEquals(100, count);
+    }
+
+    /**
+     * Test that the changes of a reordering pair each value with the value at
+     * its index in the reorder map.
+     */
+    @Test
+    public void testReorderChanges() {
+        List<String> values = GlazedListsTests.stringToList("CAB");
+        int[] reorderMap = { 2, 0, 1 };
+        List<ObjectChange<String>> changes = ObjectChange.getChanges(values, reorderMap);
+        assertEquals(3, changes.size());
+        assertEquals(ObjectChange.create("B", "C"), changes.get(0));
+        assertEquals(ObjectChange.create("C", "A"), changes.get(1));
+        assertEquals(ObjectChange.create("A", "B"), changes.get(2));
+
+        // reusing the reorder map doesn't change the changes
+        reorderMap[0] = 0;
+        assertEquals(ObjectChange.create("B", "C"), changes.get(0));
+        assertEquals(Collections.emptyList(), ObjectChange.getChanges(values, new int[0]));
+    }
+
     public static final void assertNext(int index, int type, BlockSequence.Iterator iterator) {
         assertEquals(true, iterator.hasNext());
         assertEquals(true, iterator.next());
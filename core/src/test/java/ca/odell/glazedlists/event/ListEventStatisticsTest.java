@@ -0,0 +1,75 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.event;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.FilterList;
+import ca.odell.glazedlists.SortedList;
+import ca.odell.glazedlists.matchers.Matcher;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Make sure that {@link ListEventMetrics} installed on a publisher measure
+ * each listener of a pipeline.
+ */
+public class ListEventStatisticsTest {
+
+    @Test
+    public void testStatisticsPerListener() {
+        final EventList<Integer> source = new BasicEventList<>();
+        final FilterList<Integer> filtered = new FilterList<>(source, (Matcher<Integer>) value -> value.intValue() > 0);
+        final SortedList<Integer> sorted = SortedList.create(filtered);
+
+        final ListEventStatistics statistics = new ListEventStatistics();
+        source.getPublisher().setListEventMetrics(statistics);
+        assertSame(statistics, sorted.getPublisher().getListEventMetrics());
+
+        source.addAll(Arrays.asList(3, -1, 2, 5));
+        source.set(1, 4);
+
+        final List<ListEventStatistics.ListenerStatistics> all = statistics.getStatistics();
+        assertEquals(2, all.size());
+        final ListEventStatistics.ListenerStatistics filterStatistics = find(all, filtered);
+        assertSame(source, filterStatistics.getSubject());
+        assertEquals(2, filterStatistics.getEventCount());
+        assertEquals(2, filterStatistics.getBlockCount());
+        assertEquals(5, filterStatistics.getChangeCount());
+
+        final ListEventStatistics.ListenerStatistics sortedStatistics = find(all, sorted);
+        assertSame(filtered, sortedStatistics.getSubject());
+        assertEquals(2, sortedStatistics.getEventCount());
+        assertEquals(4, sortedStatistics.getChangeCount());
+        assertTrue(sortedStatistics.getTotalNanos() >= sortedStatistics.getMaxNanos());
+        assertTrue(sortedStatistics.getPercentileNanos(0.5) <= sortedStatistics.getMaxNanos());
+        long bucketTotal = 0;
+        for (long count : sortedStatistics.getBucketCounts()) bucketTotal += count;
+        assertEquals(2, bucketTotal);
+
+        // nothing is recorded once the metrics are removed
+        source.getPublisher().setListEventMetrics(null);
+        assertNull(source.getPublisher().getListEventMetrics());
+        source.add(6);
+        assertEquals(2, find(statistics.getStatistics(), sorted).getEventCount());
+
+        statistics.reset();
+        assertEquals(0, statistics.getStatistics().size());
+    }
+
+    private static ListEventStatistics.ListenerStatistics find(List<ListEventStatistics.ListenerStatistics> all, Object listener) {
+        for (ListEventStatistics.ListenerStatistics listenerStatistics : all) {
+            if (listenerStatistics.getListener() == listener) return listenerStatistics;
+        }
+        throw new AssertionError("No statistics for " + listener);
+    }
+}
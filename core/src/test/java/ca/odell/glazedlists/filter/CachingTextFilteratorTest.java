@@ -0,0 +1,155 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.filter;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.FilterList;
+import ca.odell.glazedlists.TextFilterator;
+import ca.odell.glazedlists.matchers.TextMatcherEditor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CachingTextFilteratorTest {
+
+    @Test
+    public void testFilterStringsAreCached() {
+        EventList<StringBuilder> source = new BasicEventList<>();
+        StringBuilder apple = new StringBuilder("apple");
+        StringBuilder banana = new StringBuilder("banana");
+        StringBuilder cherry = new StringBuilder("cherry");
+        source.addAll(Arrays.asList(apple, banana, cherry));
+
+        CountingTextFilterator counting = new CountingTextFilterator();
+        CachingTextFilterator<StringBuilder> filterator = new CachingTextFilterator<>(source, counting);
+        TextMatcherEditor<StringBuilder> editor = new TextMatcherEditor<>(filterator);
+        FilterList<StringBuilder> filtered = new FilterList<>(source, editor);
+
+        editor.setFilterText(new String[] {"a"});
+        assertEquals(Arrays.asList(apple, banana), filtered);
+        assertEquals(3, counting.count);
+
+        // changing the filter reuses the cached filter strings
+        editor.setFilterText(new String[] {"an"});
+        assertEquals(Arrays.asList(banana), filtered);
+        editor.setFilterText(new String[] {"e"});
+        assertEquals(Arrays.asList(apple, cherry), filtered);
+        assertEquals(3, counting.count);
+
+        // updating an element in place discards its filter strings
+        cherry.replace(0, cherry.length(), "cranberry");
+        source.set(2, cherry);
+        assertEquals(4, counting.count);
+        editor.setFilterText(new String[] {"ran"});
+        assertEquals(Arrays.asList(cherry), filtered);
+        assertEquals(4, counting.count);
+
+        // inserted elements are extracted once
+        StringBuilder orange = new StringBuilder("orange");
+        source.add(orange);
+        assertEquals(Arrays.asList(cherry, orange), filtered);
+        editor.setFilterText(new String[] {"o"});
+        assertEquals(5, counting.count);
+
+        // deleted elements are discarded
+        source.remove(orange);
+        source.add(orange);
+        assertEquals(6, counting.count);
+
+        // after dispose the filter strings are extracted again
+        filterator.dispose();
+        filterator.getFilterStrings(new ArrayList<String>(), apple);
+        assertEquals(7, counting.count);
+    }
+
+    /**
+     * A {@link FilterList} created before the filterator must not match an
+     * updated element against its stale filter strings.
+     */
+    @Test
+    public void testFilterListCreatedFirst() {
+        EventList<StringBuilder> source = new BasicEventList<>();
+        StringBuilder apple = new StringBuilder("apple");
+        StringBuilder cherry = new StringBuilder("cherry");
+        source.addAll(Arrays.asList(apple, cherry));
+
+        FilterList<StringBuilder> filtered = new FilterList<>(source);
+        CountingTextFilterator counting = new CountingTextFilterator();
+        CachingTextFilterator<StringBuilder> filterator = new CachingTextFilterator<>(source, counting);
+        TextMatcherEditor<StringBuilder> editor = new TextMatcherEditor<>(filterator);
+        filtered.setMatcherEditor(editor);
+
+        editor.setFilterText(new String[] {"e"});
+        assertEquals(Arrays.asList(apple, cherry), filtered);
+
+        // the update is matched against the new filter strings
+        cherry.replace(0, cherry.length(), "banana");
+        source.set(1, cherry);
+        assertEquals(Arrays.asList(apple), filtered);
+        apple.replace(0, apple.length(), "kiwi");
+        source.set(0, apple);
+        assertEquals(Arrays.asList(), filtered);
+
+        // after dispose the listeners are notified in their usual order
+        filterator.dispose();
+        source.add(new StringBuilder("melon"));
+        assertEquals(3, source.size());
+    }
+
+    /**
+     * A slow filterator doesn't block other threads from getting the filter
+     * strings of other elements.
+     */
+    @Test
+    public void testExtractOutsideOfLock() throws InterruptedException {
+        EventList<String> source = new BasicEventList<>();
+        source.addAll(Arrays.asList("slow", "fast"));
+        final CountDownLatch slowStarted = new CountDownLatch(1);
+        final CountDownLatch fastDone = new CountDownLatch(1);
+        final AtomicBoolean fastDoneFirst = new AtomicBoolean();
+        CachingTextFilterator<String> filterator = new CachingTextFilterator<>(source, (baseList, element) -> {
+            if (element.equals("slow")) {
+                slowStarted.countDown();
+                try {
+                    fastDoneFirst.set(fastDone.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            baseList.add(element);
+        });
+
+        Thread slow = new Thread(() -> filterator.getFilterStrings(new ArrayList<String>(), "slow"));
+        slow.start();
+        assertTrue(slowStarted.await(10, TimeUnit.SECONDS));
+
+        List<String> fastStrings = new ArrayList<>();
+        filterator.getFilterStrings(fastStrings, "fast");
+        fastDone.countDown();
+        assertEquals(Arrays.asList("fast"), fastStrings);
+        slow.join();
+        assertTrue(fastDoneFirst.get());
+    }
+
+    /**
+     * Counts how many times filter strings are extracted.
+     */
+    private static class CountingTextFilterator implements TextFilterator<StringBuilder> {
+        private int count = 0;
+        @Override
+        public void getFilterStrings(List<String> baseList, StringBuilder element) {
+            count++;
+            baseList.add(element.toString());
+        }
+    }
+}
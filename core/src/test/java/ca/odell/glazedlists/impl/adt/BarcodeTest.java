@@ -640,6 +640,80 @@ public class BarcodeTest {
         validate(controlList, barcode);
     }
 
+    /**
+     * Tests long runs and bitset leaves, by inserting, setting and removing
+     * sequences that are both shorter and longer than the runs that get
+     * packed into bitsets.
+     */
+    @Test
+    public void testRunAndBitsetLeaves() {
+        List<Object> controlList = new ArrayList<>();
+        for(int i = 0; i < 3000; i++) {
+            int operation = controlList.isEmpty() ? 0 : random.nextInt(5);
+            int index = random.nextInt(controlList.size() + 1);
+            int length = random.nextBoolean() ? 1 + random.nextInt(4) : 1 + random.nextInt(600);
+            Object colour = random.nextInt(3) == 0 ? Barcode.BLACK : Barcode.WHITE;
+
+            if(operation <= 1) {
+                barcode.add(index, colour, length);
+                for(int j = 0; j < length; j++) controlList.add(index, colour);
+            } else {
+                index = Math.min(index, controlList.size() - 1);
+                length = Math.min(length, controlList.size() - index);
+                if(operation == 2 && controlList.size() > 4000) {
+                    barcode.remove(index, length);
+                    controlList.subList(index, index + length).clear();
+                } else {
+                    barcode.set(index, colour, length);
+                    for(int j = 0; j < length; j++) controlList.set(index + j, colour);
+                }
+            }
+            barcode.validate();
+        }
+        validate(controlList, barcode);
+
+        // verify the index lookups against the control list
+        int blackIndex = 0;
+        int whiteIndex = 0;
+        for(int i = 0; i < controlList.size(); i++) {
+            if(controlList.get(i) == Barcode.BLACK) {
+                assertEquals(blackIndex, barcode.getBlackIndex(i));
+                assertEquals(-1, barcode.getWhiteIndex(i));
+                assertEquals(whiteIndex - 1, barcode.getWhiteIndex(i, true));
+                assertEquals(i, barcode.getIndex(blackIndex, Barcode.BLACK));
+                blackIndex++;
+            } else {
+                assertEquals(whiteIndex, barcode.getWhiteIndex(i));
+                assertEquals(-1, barcode.getBlackIndex(i));
+                assertEquals(blackIndex, barcode.getBlackIndex(i, false));
+                assertEquals(i, barcode.getIndex(whiteIndex, Barcode.WHITE));
+                whiteIndex++;
+            }
+        }
+        assertEquals(blackIndex, barcode.blackSize());
+        assertEquals(whiteIndex, barcode.whiteSize());
+
+        // flip every third element with an iterator, and visit the black ones
+        for(BarcodeIterator i = barcode.iterator(); i.hasNext(); ) {
+            Object colour = i.next();
+            if(i.getIndex() % 3 != 0) continue;
+            Object flipped = colour == Barcode.BLACK ? Barcode.WHITE : Barcode.BLACK;
+            int colourIndex = i.set(flipped);
+            controlList.set(i.getIndex(), flipped);
+            assertEquals(barcode.getColourIndex(i.getIndex(), flipped), colourIndex);
+            assertEquals(colourIndex, i.getColourIndex(flipped));
+        }
+        barcode.validate();
+        validate(controlList, barcode);
+        blackIndex = 0;
+        for(BarcodeIterator i = barcode.iterator(); i.hasNextBlack(); blackIndex++) {
+            i.nextBlack();
+            assertEquals(blackIndex, i.getBlackIndex());
+            assertEquals(Barcode.BLACK, controlList.get(i.getIndex()));
+        }
+        assertEquals(barcode.blackSize(), blackIndex);
+    }
+
     private void validate(List list, Barcode barcode) {
         Iterator barcodeIterator = barcode.iterator();
         for(Iterator listIterator = list.iterator(); listIterator.hasNext(); ) {
@@ -191,4 +191,43 @@ public class CircularArrayListTest {
       assertEquals(expected, list);
     }
   }
+
+  @Test
+  public void testSetAndRemoveRange() {
+    List expected = new ArrayList();
+    for (int i = 0; i < 25; i++) {
+      list.add(new Integer(i));
+      expected.add(new Integer(i));
+    }
+
+    // wrap around the end of the array
+    list.subList(0, 12).clear();
+    expected.subList(0, 12).clear();
+    for (int i = 25; i < 40; i++) {
+      list.add(new Integer(i));
+      expected.add(new Integer(i));
+    }
+    assertEquals(expected, list);
+
+    assertEquals(new Integer(20), list.set(8, "X"));
+    expected.set(8, "X");
+    assertEquals(expected, list);
+
+    list.subList(0, 10).clear();
+    expected.subList(0, 10).clear();
+    assertEquals(expected, list);
+
+    list.subList(10, list.size()).clear();
+    expected.subList(10, expected.size()).clear();
+    assertEquals(expected, list);
+
+    list.subList(3, 6).clear();
+    expected.subList(3, 6).clear();
+    assertEquals(expected, list);
+
+    list.clear();
+    assertEquals(0, list.size());
+    list.add("A");
+    assertEquals(GlazedListsTests.stringToList("A"), list);
+  }
 }
@@ -241,4 +241,37 @@ public class Tree1Test {
         assertEquals(-1, tree.indexOfValue("F", false, false, (byte)1));
         assertEquals(6, tree.indexOfValue("F", true, true, (byte)1));
     }
+
+    /**
+     * Make sure that a tree built in bulk is balanced and can still be
+     * modified and searched in sorted order afterwards.
+     */
+    @Test
+    public void testSetAll() {
+        SimpleTree<String> tree = new SimpleTree<>(GlazedLists.comparableComparator());
+        tree.setAll(new String[] { "B", "D", "F", "H", "J", "L", "N" });
+        assertEquals(GlazedListsTests.stringToList("BDFHJLN"), new SimpleTreeAsList<>(tree));
+
+        tree.addInSortedOrder(allColors, "A", 1);
+        tree.addInSortedOrder(allColors, "G", 1);
+        tree.addInSortedOrder(allColors, "O", 1);
+        tree.remove(tree.indexOfValue("J", true, false, allColors), 1);
+        assertEquals(GlazedListsTests.stringToList("ABDFGHLNO"), new SimpleTreeAsList<>(tree));
+        assertEquals(4, tree.indexOfValue("G", true, false, allColors));
+
+        tree.setAll(new String[0]);
+        assertEquals(0, tree.size());
+
+        for(int size = 1; size < 100; size++) {
+            Integer[] values = new Integer[size];
+            for(int i = 0; i < size; i++) values[i] = new Integer(i);
+            SimpleTree<Integer> integerTree = new SimpleTree<>();
+            integerTree.setAll(values);
+            assertEquals(size, integerTree.size());
+            for(int i = 0; i < size; i++) {
+                assertEquals(i, integerTree.indexOfNode(integerTree.get(i), allColors));
+                assertEquals(values[i], integerTree.get(i).get());
+            }
+        }
+    }
 }
@@ -0,0 +1,277 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl.gui;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.GlazedLists;
+import ca.odell.glazedlists.SortedList;
+import ca.odell.glazedlists.gui.FlushPolicy;
+import ca.odell.glazedlists.gui.ProxyEventList;
+import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that {@link ThreadProxyEventList} keeps its local cache in sync
+ * with its source, whether changes are applied in place or by a copy.
+ */
+public class ThreadProxyEventListTest {
+
+    private final Random dice = new Random(11);
+
+    /**
+     * Small changes are applied to the local cache in place.
+     */
+    @Test
+    public void testSmallChanges() {
+        final EventList<Integer> source = new BasicEventList<>();
+        final ThreadProxyEventList<Integer> proxy = new ImmediateThreadProxyEventList<>(source);
+        ListConsistencyListener.install(proxy);
+
+        for(int i = 0; i < 500; i++) {
+            source.add(new Integer(dice.nextInt(100)));
+        }
+        assertEquals(source, proxy);
+
+        for(int i = 0; i < 500; i++) {
+            final int index = dice.nextInt(source.size());
+            final int operation = dice.nextInt(3);
+            if(operation == 0) source.add(index, new Integer(dice.nextInt(100)));
+            else if(operation == 1) source.remove(index);
+            else source.set(index, new Integer(dice.nextInt(100)));
+            assertEquals(source, proxy);
+        }
+    }
+
+    /**
+     * Changes with many blocks, including reorderings, are applied by copying
+     * the local cache.
+     */
+    @Test
+    public void testLargeChanges() {
+        final EventList<Integer> source = new BasicEventList<>();
+        final SortedList<Integer> sorted = SortedList.create(source);
+        final ThreadProxyEventList<Integer> proxy = new ImmediateThreadProxyEventList<>(sorted);
+        ListConsistencyListener.install(proxy);
+
+        for(int i = 0; i < 500; i++) {
+            source.add(new Integer(dice.nextInt(1000)));
+        }
+        assertEquals(sorted, proxy);
+
+        // a reordering
+        sorted.setComparator(GlazedLists.reverseComparator());
+        assertEquals(sorted, proxy);
+
+        // many scattered deletes in a single change
+        final List<Integer> removed = new ArrayList<>();
+        for(int i = 0; i < 100; i++) {
+            removed.add(source.get(dice.nextInt(source.size())));
+        }
+        source.removeAll(removed);
+        assertEquals(sorted, proxy);
+
+        // many scattered inserts in a single change
+        final List<Integer> added = new ArrayList<>();
+        for(int i = 0; i < 100; i++) {
+            added.add(new Integer(dice.nextInt(1000)));
+        }
+        source.addAll(added);
+        assertEquals(sorted, proxy);
+
+        source.clear();
+        assertEquals(sorted, proxy);
+    }
+
+    /**
+     * Changes arriving faster than the {@link FlushPolicy} allows are
+     * delivered together, in a single event.
+     */
+    @Test
+    public void testMaximumRateFlushPolicy() throws InterruptedException {
+        final EventList<Integer> source = new BasicEventList<>();
+        final QueuedThreadProxyEventList<Integer> proxy = new QueuedThreadProxyEventList<>(source);
+        proxy.setFlushPolicy(FlushPolicy.maximumRate(1, TimeUnit.SECONDS));
+        final ListConsistencyListener<Integer> listener = ListConsistencyListener.install(proxy);
+
+        // the first change is delivered right away
+        source.add(new Integer(1));
+        proxy.runScheduled(0);
+        assertEquals(1, listener.getEventCount());
+        assertEquals(source, proxy);
+
+        // later changes are held back and delivered together
+        source.add(new Integer(2));
+        source.add(new Integer(3));
+        source.remove(0);
+        assertTrue(proxy.scheduled.isEmpty());
+        assertEquals(1, proxy.size());
+
+        proxy.runScheduled(5000);
+        assertEquals(2, listener.getEventCount());
+        assertEquals(3, listener.getChangeCount(1));
+        assertEquals(source, proxy);
+    }
+
+    /**
+     * A delayed flush is cancelled when the proxy is disposed.
+     */
+    @Test
+    public void testDisposeCancelsDelayedFlush() throws InterruptedException {
+        final EventList<Integer> source = new BasicEventList<>();
+        final QueuedThreadProxyEventList<Integer> proxy = new QueuedThreadProxyEventList<>(source);
+        proxy.setFlushPolicy(FlushPolicy.maximumRate(100, TimeUnit.MILLISECONDS));
+
+        // the first change is delivered right away, the second one is delayed
+        source.add(new Integer(1));
+        proxy.runScheduled(0);
+        source.add(new Integer(2));
+        assertTrue(proxy.scheduled.isEmpty());
+
+        proxy.dispose();
+        assertNull(proxy.scheduled.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Changes made while a task is pending on the executor are merged into
+     * one delivery, and the proxy counts how many were merged.
+     */
+    @Test
+    public void testExecutorProxyList() throws InterruptedException {
+        final EventList<Integer> source = new BasicEventList<>();
+        final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+        final ProxyEventList<Integer> proxy = GlazedLists.executorProxyList(source, tasks::add);
+        final ListConsistencyListener<Integer> listener = ListConsistencyListener.install(proxy);
+
+        source.getReadWriteLock().writeLock().lock();
+        try {
+            source.add(new Integer(1));
+            source.add(new Integer(2));
+            source.add(new Integer(3));
+            source.remove(0);
+        } finally {
+            source.getReadWriteLock().writeLock().unlock();
+        }
+        assertEquals(1, tasks.size());
+        assertEquals(0, proxy.size());
+
+        // deliver on another thread, as an executor would
+        final Thread thread = new Thread(tasks.poll());
+        thread.start();
+        thread.join();
+
+        assertEquals(source, proxy);
+        assertEquals(1, listener.getEventCount());
+        assertEquals(1, proxy.getFlushCount());
+        assertEquals(4, proxy.getMergedEventCount());
+        assertEquals(4, proxy.getMaxEventsPerFlush());
+
+        source.add(new Integer(4));
+        tasks.poll().run();
+        assertEquals(source, proxy);
+        assertEquals(2, proxy.getFlushCount());
+        assertEquals(5, proxy.getMergedEventCount());
+        assertEquals(4, proxy.getMaxEventsPerFlush());
+    }
+
+    /**
+     * A missing executor is rejected before the proxy starts listening to
+     * its source.
+     */
+    @Test
+    public void testExecutorProxyListRequiresExecutor() {
+        final EventList<Integer> source = new BasicEventList<>();
+        try {
+            GlazedLists.executorProxyList(source, null);
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertTrue(source.getPublisher().getListeners(source).isEmpty());
+    }
+
+    /**
+     * An executor that runs tasks concurrently still delivers every change,
+     * in order.
+     */
+    @Test
+    public void testExecutorProxyListOrdering() throws InterruptedException {
+        final EventList<Integer> source = GlazedLists.threadSafeList(new BasicEventList<Integer>());
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final ProxyEventList<Integer> proxy = GlazedLists.executorProxyList(source, executor);
+            final ListConsistencyListener<Integer> listener = ListConsistencyListener.install(proxy);
+            listener.setPreviousElementTracked(false);
+            for (int i = 0; i < 1000; i++) {
+                source.add(new Integer(i));
+                if (i % 3 == 0) source.remove(0);
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+            source.getReadWriteLock().readLock().lock();
+            try {
+                assertEquals(source, proxy);
+            } finally {
+                source.getReadWriteLock().readLock().unlock();
+            }
+            assertEquals(1334, proxy.getMergedEventCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * A {@link ThreadProxyEventList} that applies changes on the current thread.
+     */
+    private static class ImmediateThreadProxyEventList<E> extends ThreadProxyEventList<E> {
+        public ImmediateThreadProxyEventList(EventList<E> source) {
+            super(source);
+        }
+
+        @Override
+        protected void schedule(Runnable runnable) {
+            runnable.run();
+        }
+    }
+
+    /**
+     * A {@link ThreadProxyEventList} that applies changes when the test asks
+     * it to.
+     */
+    private static class QueuedThreadProxyEventList<E> extends ThreadProxyEventList<E> {
+        private final BlockingQueue<Runnable> scheduled = new LinkedBlockingQueue<>();
+
+        public QueuedThreadProxyEventList(EventList<E> source) {
+            super(source);
+        }
+
+        @Override
+        protected void schedule(Runnable runnable) {
+            scheduled.add(runnable);
+        }
+
+        /**
+         * Run the next scheduled runnable, waiting up to the specified number
+         * of milliseconds for it to be scheduled.
+         */
+        public void runScheduled(long timeout) throws InterruptedException {
+            final Runnable runnable = scheduled.poll(timeout, TimeUnit.MILLISECONDS);
+            assertNotNull(runnable);
+            runnable.run();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.util.concurrent;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the locks created by {@link StampedLockFactory}.
+ */
+public class StampedLockFactoryTest {
+
+    private final ReadWriteLock lock = new StampedLockFactory().createReadWriteLock();
+
+    @Test
+    public void testOptimisticRead() {
+        long stamp = lock.tryOptimisticRead();
+        assertTrue(stamp != 0L);
+        assertTrue(lock.validate(stamp));
+
+        // a write invalidates the stamp
+        lock.writeLock().lock();
+        assertEquals(0L, lock.tryOptimisticRead());
+        lock.writeLock().unlock();
+        assertFalse(lock.validate(stamp));
+
+        // a read doesn't
+        stamp = lock.tryOptimisticRead();
+        lock.readLock().lock();
+        lock.readLock().unlock();
+        assertTrue(lock.validate(stamp));
+    }
+
+    @Test
+    public void testReentrantWriteLock() {
+        lock.writeLock().lock();
+        lock.writeLock().lock();
+        assertTrue(lock.writeLock().tryLock());
+        lock.readLock().lock();
+        assertTrue(lock.readLock().tryLock());
+        assertFalse(tryLockOnOtherThread(lock.readLock()));
+
+        lock.readLock().unlock();
+        lock.readLock().unlock();
+        lock.writeLock().unlock();
+        lock.writeLock().unlock();
+        assertFalse(tryLockOnOtherThread(lock.readLock()));
+
+        lock.writeLock().unlock();
+        assertTrue(tryLockOnOtherThread(lock.writeLock()));
+    }
+
+    @Test
+    public void testDowngradeWriteLock() {
+        lock.writeLock().lock();
+        lock.readLock().lock();
+        lock.readLock().lock();
+        lock.writeLock().unlock();
+
+        // the read locks are still held
+        assertTrue(tryLockOnOtherThread(lock.readLock()));
+        assertFalse(tryLockOnOtherThread(lock.writeLock()));
+        lock.readLock().unlock();
+        assertFalse(tryLockOnOtherThread(lock.writeLock()));
+        lock.readLock().unlock();
+        assertTrue(tryLockOnOtherThread(lock.writeLock()));
+    }
+
+    @Test
+    public void testUnlockWithoutLock() {
+        try {
+            lock.writeLock().unlock();
+            fail("failed to reject unlocking the write lock");
+        } catch (IllegalMonitorStateException e) {
+            // expected
+        }
+        try {
+            lock.readLock().unlock();
+            fail("failed to reject unlocking the read lock");
+        } catch (IllegalMonitorStateException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Try to acquire the specified lock on another thread, releasing it
+     * again if successful.
+     */
+    private static boolean tryLockOnOtherThread(Lock lock) {
+        final AtomicBoolean locked = new AtomicBoolean();
+        final Thread thread = new Thread(() -> {
+            if (lock.tryLock()) {
+                locked.set(true);
+                lock.unlock();
+            }
+        });
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+        return locked.get();
+    }
+}
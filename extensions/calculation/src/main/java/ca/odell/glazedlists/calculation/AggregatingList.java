@@ -0,0 +1,314 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.FunctionList;
+import ca.odell.glazedlists.GroupingList;
+import ca.odell.glazedlists.TransformedList;
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.impl.HashGrouper;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An {@link EventList} with a {@link Row} for each group of elements of its
+ * source, like the result of a SQL <code>GROUP BY</code>. The elements are
+ * grouped by equal keys from a key function, and each row holds the values
+ * of a fixed list of {@link Aggregator}s for its group, such as a count, a
+ * sum or a maximum. To group by several columns, return a {@link List} of
+ * their values as the key.
+ *
+ * <p>Unlike a {@link FunctionList} over a {@link GroupingList}, which
+ * recomputes a group's values from all of its elements whenever the group
+ * changes, the aggregates are updated with only the changed elements. The
+ * rows are in the order in which their keys were first seen. Rows are
+ * immutable, so whenever a group's aggregates may have changed its row is
+ * replaced, and the update reports both the previous and the new row.
+ *
+ * <p><strong><font color="#FF0000">Warning:</font></strong> This class is
+ * thread ready but not thread safe. See {@link EventList} for an example
+ * of thread safe code.
+ *
+ * <p><table border="1" width="100%" cellpadding="3" cellspacing="0">
+ * <tr class="TableHeadingColor"><td colspan=2><font size="+2"><b>EventList Overview</b></font></td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Writable:</b></td><td>no</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>thread ready, not thread safe</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>reads: O(log N), writes O(log N) plus one update of each aggregator</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>about 100 bytes per element plus the information each aggregator took from it, and the aggregates of each group</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>AggregatingListTest</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
+ * </table>
+ *
+ * @param <E> the type of the grouped elements
+ * @param <K> the type of the keys of the groups
+ */
+public final class AggregatingList<E, K> extends TransformedList<E, AggregatingList.Row<K>> {
+
+    /** the aggregators whose values each row holds */
+    private final List<Aggregator<? super E, ?>> aggregators;
+
+    /** the aggregates and the latest row of each group */
+    private final Map<HashGrouper.Group<E>, GroupAggregates<K>> groupAggregates = new IdentityHashMap<>();
+
+    /** the grouping service manages creating and deleting groups */
+    private final HashGrouper<E> grouper;
+
+    /**
+     * Creates an {@link AggregatingList} with a row for each group of
+     * elements of the source with equal keys.
+     *
+     * @param source the {@link EventList} containing elements to be grouped
+     * @param keyFunction the function that evaluates the key of each element
+     * @param aggregators the aggregators whose values each row holds
+     */
+    @SafeVarargs
+    public AggregatingList(EventList<E> source, FunctionList.Function<? super E, ? extends K> keyFunction, Aggregator<? super E, ?>... aggregators) {
+        super(source);
+
+        // copy the elements rather than the array, so the array never escapes
+        this.aggregators = new ArrayList<>(aggregators.length);
+        for (Aggregator<? super E, ?> aggregator : aggregators) {
+            this.aggregators.add(aggregator);
+        }
+
+        this.grouper = groupSource(keyFunction);
+        source.addListEventListener(this);
+    }
+
+    /**
+     * Creates an {@link AggregatingList} with a row for each group of
+     * elements of the source with equal keys.
+     *
+     * @param source the {@link EventList} containing elements to be grouped
+     * @param keyFunction the function that evaluates the key of each element
+     * @param aggregators the aggregators whose values each row holds
+     */
+    public AggregatingList(EventList<E> source, FunctionList.Function<? super E, ? extends K> keyFunction, List<? extends Aggregator<? super E, ?>> aggregators) {
+        super(source);
+        this.aggregators = new ArrayList<>(aggregators);
+
+        this.grouper = groupSource(keyFunction);
+        source.addListEventListener(this);
+    }
+
+    /**
+     * Groups the source by the specified key function and creates the row of
+     * each group.
+     *
+     * @return the grouper, which handles changes to the source
+     */
+    private HashGrouper<E> groupSource(FunctionList.Function<? super E, ? extends K> keyFunction) {
+        final HashGrouper<E> result = new HashGrouper<>(source, keyFunction, new GrouperClient());
+
+        // groups aren't reported while the source is grouped initially
+        for (GroupAggregates<K> state : groupAggregates.values()) {
+            state.row = state.createRow(aggregators);
+        }
+        return result;
+    }
+
+    /**
+     * Handle changes to the grouper's groups by updating their aggregates.
+     * Each member of a group keeps the information that each aggregate took
+     * from it, so it can be removed even if it was modified in place.
+     */
+    private class GrouperClient implements HashGrouper.Client<E> {
+        @Override
+        public void groupChanged(int groupIndex, int groupChangeType, HashGrouper.Group<E> group, E oldFirst, E newFirst, boolean firstUpdated) {
+            if (groupChangeType == ListEvent.INSERT) {
+                final GroupAggregates<K> state = groupAggregates.get(group);
+                state.row = state.createRow(aggregators);
+                updates.elementInserted(groupIndex, state.row);
+            } else if (groupChangeType == ListEvent.DELETE) {
+                updates.elementDeleted(groupIndex, groupAggregates.remove(group).row);
+            } else if (groupChangeType == ListEvent.UPDATE) {
+                final GroupAggregates<K> state = groupAggregates.get(group);
+                final Row<K> oldRow = state.row;
+                state.row = state.createRow(aggregators);
+                updates.elementUpdated(groupIndex, oldRow, state.row);
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+
+        @Override
+        public Object elementInserted(HashGrouper.Group<E> group, E element) {
+            GroupAggregates<K> state = groupAggregates.get(group);
+            if (state == null) {
+                state = new GroupAggregates<>((K) group.getKey(), aggregators);
+                groupAggregates.put(group, state);
+            }
+            state.count++;
+            final Aggregator.Aggregate<E, ?>[] aggregates = state.aggregates();
+            final Object[] information = new Object[aggregates.length];
+            for (int i = 0; i < aggregates.length; i++) {
+                information[i] = aggregates[i].inserted(element);
+            }
+            return information;
+        }
+
+        @Override
+        public void elementDeleted(HashGrouper.Group<E> group, E element, Object state) {
+            final GroupAggregates<K> groupState = groupAggregates.get(group);
+            groupState.count--;
+            final Aggregator.Aggregate<E, ?>[] aggregates = groupState.aggregates();
+            final Object[] information = (Object[]) state;
+            for (int i = 0; i < aggregates.length; i++) {
+                aggregates[i].deleted(information[i]);
+            }
+        }
+
+        @Override
+        public Object elementUpdated(HashGrouper.Group<E> group, E oldElement, E newElement, Object state) {
+            final Aggregator.Aggregate<E, ?>[] aggregates = groupAggregates.get(group).aggregates();
+            final Object[] information = (Object[]) state;
+            for (int i = 0; i < aggregates.length; i++) {
+                information[i] = aggregates[i].updated(information[i], newElement);
+            }
+            return information;
+        }
+    }
+
+    /**
+     * Return the index of the row for the group to which the specified
+     * element would belong, or <code>-1</code> if there is no such group.
+     */
+    public int indexOfGroup(E groupElement) {
+        final HashGrouper.Group<E> group = grouper.getGroupByKey(grouper.keyOf(groupElement));
+        return group == null ? -1 : grouper.indexOfGroup(group);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected int getSourceIndex(int index) {
+        return grouper.getGroup(index).getSourceIndex(0);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected boolean isWritable() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void listChanged(ListEvent<E> listChanges) {
+        updates.beginEvent(true);
+        grouper.listChanged(listChanges);
+        updates.commitEvent();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Row<K> get(int index) {
+        return groupAggregates.get(grouper.getGroup(index)).row;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int size() {
+        return grouper.groupCount();
+    }
+
+    /**
+     * The aggregates of a group, and the row that was last reported for it.
+     */
+    private static final class GroupAggregates<K> {
+        private final K key;
+        private final Aggregator.Aggregate<?, ?>[] aggregates;
+        private int count;
+        private Row<K> row;
+
+        private GroupAggregates(K key, List<? extends Aggregator<?, ?>> aggregators) {
+            this.key = key;
+            this.aggregates = new Aggregator.Aggregate<?, ?>[aggregators.size()];
+            for (int i = 0; i < aggregates.length; i++) {
+                aggregates[i] = aggregators.get(i).createAggregate();
+            }
+        }
+
+        private <E> Aggregator.Aggregate<E, ?>[] aggregates() {
+            return (Aggregator.Aggregate<E, ?>[]) aggregates;
+        }
+
+        /**
+         * Creates a row with the current values of the aggregates.
+         */
+        private Row<K> createRow(List<? extends Aggregator<?, ?>> aggregators) {
+            final Object[] values = new Object[aggregates.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = aggregates[i].getValue();
+            }
+            return new Row<>(key, count, aggregators, values);
+        }
+    }
+
+    /**
+     * The key and the aggregated values of a group of an {@link AggregatingList}.
+     * A row never changes. It is replaced whenever its group changes.
+     */
+    public static final class Row<K> {
+        private final K key;
+        private final int count;
+        private final List<? extends Aggregator<?, ?>> aggregators;
+        private final Object[] values;
+
+        private Row(K key, int count, List<? extends Aggregator<?, ?>> aggregators, Object[] values) {
+            this.key = key;
+            this.count = count;
+            this.aggregators = aggregators;
+            this.values = values;
+        }
+
+        /**
+         * @return the key of the elements of this row's group
+         */
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * @return the number of elements in this row's group
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return the value of the aggregator at the specified index in the
+         *      list of aggregators of the {@link AggregatingList}
+         */
+        public Object getValue(int aggregatorIndex) {
+            return values[aggregatorIndex];
+        }
+
+        /**
+         * @return the value of the specified aggregator of the
+         *      {@link AggregatingList}
+         * @throws IllegalArgumentException if the aggregator doesn't belong
+         *      to the {@link AggregatingList}
+         */
+        public <V> V getValue(Aggregator<?, V> aggregator) {
+            for (int i = 0; i < values.length; i++) {
+                if (aggregators.get(i) == aggregator) return (V) values[i];
+            }
+            throw new IllegalArgumentException("Unknown aggregator: " + aggregator);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            final StringBuilder result = new StringBuilder();
+            result.append(key).append(" (").append(count).append(')');
+            for (Object value : values) {
+                result.append(", ").append(value);
+            }
+            return result.toString();
+        }
+    }
+}
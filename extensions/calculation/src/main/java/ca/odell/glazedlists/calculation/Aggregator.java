@@ -0,0 +1,66 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+/**
+ * Computes a value, such as a sum or a maximum, for each group of an
+ * {@link AggregatingList}. Like an {@link AbstractEventListCalculation}, the
+ * value is maintained incrementally as elements join, leave and are replaced
+ * within the group, so the group is never rescanned. The information that an aggregate
+ * takes from an element is kept until the element leaves, so that elements
+ * which are modified in place are removed with the values they were added with.
+ *
+ * <p>See {@link Aggregators} for the common aggregators.
+ *
+ * @param <E> the type of the grouped elements
+ * @param <V> the type of the aggregated value
+ */
+public interface Aggregator<E, V> {
+
+    /**
+     * @return a new, empty {@link Aggregate} for a single group
+     */
+    Aggregate<E, V> createAggregate();
+
+    /**
+     * The state of an {@link Aggregator} for a single group.
+     */
+    interface Aggregate<E, V> {
+
+        /**
+         * Updates the value to include the information from the
+         * <code>newElement</code>.
+         *
+         * @return the information from the element that the value depends
+         *      on, such as the number that was summed. It is passed back when
+         *      the element leaves the group or is replaced, so that elements
+         *      may be modified in place.
+         */
+        Object inserted(E newElement);
+
+        /**
+         * Updates the value to exclude the information of an element, as
+         * returned when the element was inserted or last updated.
+         */
+        void deleted(Object oldInformation);
+
+        /**
+         * Updates the value to exclude the information of an element, as
+         * returned when the element was inserted or last updated, and include
+         * the information from the <code>newElement</code>.
+         *
+         * @return the information from the new element that the value
+         *      depends on
+         */
+        default Object updated(Object oldInformation, E newElement) {
+            deleted(oldInformation);
+            return inserted(newElement);
+        }
+
+        /**
+         * @return the latest aggregated value
+         */
+        V getValue();
+    }
+}
@@ -0,0 +1,178 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+import ca.odell.glazedlists.FunctionList;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The common {@link Aggregator}s for an {@link AggregatingList}. Counts, sums
+ * and means are updated in constant time per change. Minimums and maximums
+ * keep a sorted count of the values of their group, so they are updated in
+ * O(log N). Distinct counts keep a hashed count of the values of their group.
+ */
+public final class Aggregators {
+
+    private Aggregators() {}
+
+    /** An Aggregator that reports the number of elements in each group as an Integer. */
+    public static <E> Aggregator<E, Integer> count() { return CountAggregate::new; }
+
+    /** An Aggregator that sums the given <code>values</code> of each group as a Double. */
+    public static <E> Aggregator<E, Double> sumDoubles(FunctionList.Function<? super E, ? extends Number> values) { return () -> new SumDoubleAggregate<>(values); }
+
+    /** An Aggregator that sums the given <code>values</code> of each group as a Long. */
+    public static <E> Aggregator<E, Long> sumLongs(FunctionList.Function<? super E, ? extends Number> values) { return () -> new SumLongAggregate<>(values); }
+
+    /** An Aggregator that averages the given <code>values</code> of each group as a Double. */
+    public static <E> Aggregator<E, Double> meanDoubles(FunctionList.Function<? super E, ? extends Number> values) { return () -> new MeanDoubleAggregate<>(values); }
+
+    /** An Aggregator that reports the smallest of the given <code>values</code> of each group. */
+    public static <E, V extends Comparable<? super V>> Aggregator<E, V> min(FunctionList.Function<? super E, ? extends V> values) { return () -> new ExtremeAggregate<E, V>(values, false); }
+
+    /** An Aggregator that reports the largest of the given <code>values</code> of each group. */
+    public static <E, V extends Comparable<? super V>> Aggregator<E, V> max(FunctionList.Function<? super E, ? extends V> values) { return () -> new ExtremeAggregate<E, V>(values, true); }
+
+    /** An Aggregator that reports the number of distinct <code>values</code> of each group as an Integer. */
+    public static <E> Aggregator<E, Integer> distinctCount(FunctionList.Function<? super E, ?> values) { return () -> new DistinctCountAggregate<>(values); }
+
+    private static final class CountAggregate<E> implements Aggregator.Aggregate<E, Integer> {
+        private int count;
+
+        @Override
+        public Object inserted(E newElement) { count++; return null; }
+        @Override
+        public void deleted(Object oldInformation) { count--; }
+        @Override
+        public Object updated(Object oldInformation, E newElement) { return null; }
+        @Override
+        public Integer getValue() { return Integer.valueOf(count); }
+    }
+
+    private static final class SumDoubleAggregate<E> implements Aggregator.Aggregate<E, Double> {
+        private final FunctionList.Function<? super E, ? extends Number> values;
+        private double sum;
+
+        SumDoubleAggregate(FunctionList.Function<? super E, ? extends Number> values) { this.values = values; }
+
+        @Override
+        public Object inserted(E newElement) {
+            final Number value = values.evaluate(newElement);
+            sum += value.doubleValue();
+            return value;
+        }
+        @Override
+        public void deleted(Object oldInformation) { sum -= ((Number) oldInformation).doubleValue(); }
+        @Override
+        public Double getValue() { return Double.valueOf(sum); }
+    }
+
+    private static final class SumLongAggregate<E> implements Aggregator.Aggregate<E, Long> {
+        private final FunctionList.Function<? super E, ? extends Number> values;
+        private long sum;
+
+        SumLongAggregate(FunctionList.Function<? super E, ? extends Number> values) { this.values = values; }
+
+        @Override
+        public Object inserted(E newElement) {
+            final Number value = values.evaluate(newElement);
+            sum += value.longValue();
+            return value;
+        }
+        @Override
+        public void deleted(Object oldInformation) { sum -= ((Number) oldInformation).longValue(); }
+        @Override
+        public Long getValue() { return Long.valueOf(sum); }
+    }
+
+    private static final class MeanDoubleAggregate<E> implements Aggregator.Aggregate<E, Double> {
+        private final FunctionList.Function<? super E, ? extends Number> values;
+        private double sum;
+        private int count;
+
+        MeanDoubleAggregate(FunctionList.Function<? super E, ? extends Number> values) { this.values = values; }
+
+        @Override
+        public Object inserted(E newElement) {
+            final Number value = values.evaluate(newElement);
+            sum += value.doubleValue();
+            count++;
+            return value;
+        }
+        @Override
+        public void deleted(Object oldInformation) { sum -= ((Number) oldInformation).doubleValue(); count--; }
+        @Override
+        public Double getValue() { return count == 0 ? null : Double.valueOf(sum / count); }
+    }
+
+    /**
+     * Tracks the smallest or largest value by counting each value in a
+     * {@link TreeMap}, so deleting the current extreme finds the next one
+     * in O(log N).
+     */
+    private static final class ExtremeAggregate<E, V extends Comparable<? super V>> implements Aggregator.Aggregate<E, V> {
+        private final FunctionList.Function<? super E, ? extends V> values;
+        private final boolean max;
+        private final TreeMap<V, int[]> counts = new TreeMap<>();
+
+        ExtremeAggregate(FunctionList.Function<? super E, ? extends V> values, boolean max) {
+            this.values = values;
+            this.max = max;
+        }
+
+        @Override
+        public Object inserted(E newElement) {
+            final V value = values.evaluate(newElement);
+            increment(counts, value);
+            return value;
+        }
+        @Override
+        public void deleted(Object oldInformation) { decrement(counts, (V) oldInformation); }
+        @Override
+        public V getValue() {
+            if (counts.isEmpty()) return null;
+            return max ? counts.lastKey() : counts.firstKey();
+        }
+    }
+
+    private static final class DistinctCountAggregate<E> implements Aggregator.Aggregate<E, Integer> {
+        private final FunctionList.Function<? super E, ?> values;
+        private final Map<Object, int[]> counts = new HashMap<>();
+
+        DistinctCountAggregate(FunctionList.Function<? super E, ?> values) { this.values = values; }
+
+        @Override
+        public Object inserted(E newElement) {
+            final Object value = values.evaluate(newElement);
+            increment(counts, value);
+            return value;
+        }
+        @Override
+        public void deleted(Object oldInformation) { decrement(counts, oldInformation); }
+        @Override
+        public Integer getValue() { return Integer.valueOf(counts.size()); }
+    }
+
+    /**
+     * Counts another occurrence of the specified value.
+     */
+    private static <V> void increment(Map<V, int[]> counts, V value) {
+        final int[] count = counts.get(value);
+        if (count == null) counts.put(value, new int[] { 1 });
+        else count[0]++;
+    }
+
+    /**
+     * Counts one less occurrence of the specified value, forgetting it when
+     * none remain.
+     */
+    private static <V> void decrement(Map<V, int[]> counts, V value) {
+        final int[] count = counts.get(value);
+        if (count == null) throw new IllegalStateException("Unknown value: " + value);
+        if (--count[0] == 0) counts.remove(value);
+    }
+}
@@ -3,7 +3,10 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists.calculation;
 
+import ca.odell.glazedlists.DoubleEventList;
 import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.IntEventList;
+import ca.odell.glazedlists.LongEventList;
 import ca.odell.glazedlists.matchers.Matcher;
 
 public final class Calculations {
@@ -40,13 +43,22 @@ public final class Calculations {
     public static Calculation<Float> sumFloats(EventList<? extends Number> numbers) { return new Sum.SumFloat(numbers); }
 
     /** A Calculation that sums the given <code>numbers</code> as a Double. */
-    public static Calculation<Double> sumDoubles(EventList<? extends Number> numbers) { return new Sum.SumDouble(numbers); }
+    public static Calculation<Double> sumDoubles(EventList<? extends Number> numbers) {
+        if (numbers instanceof DoubleEventList) return new Sum.SumDoubleList((DoubleEventList) numbers);
+        return new Sum.SumDouble(numbers);
+    }
 
     /** A Calculation that sums the given <code>numbers</code> as an Integer. */
-    public static Calculation<Integer> sumIntegers(EventList<? extends Number> numbers) { return new Sum.SumInteger(numbers); }
+    public static Calculation<Integer> sumIntegers(EventList<? extends Number> numbers) {
+        if (numbers instanceof IntEventList) return new Sum.SumLongList<>(numbers, sum -> Integer.valueOf((int) sum));
+        return new Sum.SumInteger(numbers);
+    }
 
     /** A Calculation that sums the given <code>numbers</code> as a Long. */
-    public static Calculation<Long> sumLongs(EventList<? extends Number> numbers) { return new Sum.SumLong(numbers); }
+    public static Calculation<Long> sumLongs(EventList<? extends Number> numbers) {
+        if (numbers instanceof IntEventList || numbers instanceof LongEventList) return new Sum.SumLongList<>(numbers, Long::valueOf);
+        return new Sum.SumLong(numbers);
+    }
 
     //
     // Division
@@ -84,6 +96,30 @@ public final class Calculations {
     /** A Calculation that reports the mean average of all the <code>numbers</code> as a Double. */
     public static Calculation<Double> meanDoubles(EventList<? extends Number> numbers) { return divideDoubles(sumDoubles(numbers), count(numbers)); }
 
+    //
+    // Order Statistics
+    //
+
+    /** A Calculation that reports the smallest of the given <code>numbers</code>, or <tt>null</tt> if there are none. */
+    public static <N extends Number> Calculation<N> min(EventList<N> numbers) { return new OrderStatistic<N, N>(numbers, OrderStatistic::min); }
+
+    /** A Calculation that reports the largest of the given <code>numbers</code>, or <tt>null</tt> if there are none. */
+    public static <N extends Number> Calculation<N> max(EventList<N> numbers) { return new OrderStatistic<N, N>(numbers, OrderStatistic::max); }
+
+    /** A Calculation that reports the median of the given <code>numbers</code> as a Double, or <tt>null</tt> if there are none. */
+    public static <N extends Number> Calculation<Double> median(EventList<N> numbers) { return new OrderStatistic<N, Double>(numbers, OrderStatistic::median); }
+
+    /**
+     * A Calculation that reports the given <code>percentile</code> of the given
+     * <code>numbers</code> by the nearest-rank method, or <tt>null</tt> if there are none.
+     *
+     * @param percentile between <code>0</code> and <code>100</code>; for example <code>95</code>
+     */
+    public static <N extends Number> Calculation<N> percentile(EventList<N> numbers, double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+        return new OrderStatistic<N, N>(numbers, sorted -> OrderStatistic.percentile(sorted, percentile));
+    }
+
     //
     // Miscellaneous
     //
@@ -0,0 +1,155 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventListener;
+import ca.odell.glazedlists.impl.adt.barcode2.Element;
+import ca.odell.glazedlists.impl.adt.barcode2.SimpleTree;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Reports a value that depends on the order of the numeric elements within
+ * the backing EventList, such as the minimum or the median, as the value of
+ * these Calculations.
+ *
+ * <p>The numbers are kept in a {@link SimpleTree} in sorted order, which
+ * doubles as an order-statistic tree since it counts the nodes of each
+ * subtree. A second {@link SimpleTree} in source order locates the sorted
+ * node of each element, so each change to the source costs O(log N) rather
+ * than a scan. Like all Calculations, a PropertyChangeEvent is only fired
+ * when the value changes.
+ */
+final class OrderStatistic<N extends Number, V> extends AbstractCalculation<V> implements ListEventListener<N> {
+
+    /**
+     * Orders numbers of the same {@link Comparable} type by their natural
+     * order, and other numbers by their double values.
+     */
+    static final Comparator<Number> NUMBER_ORDER = (a, b) -> {
+        if (a.getClass() == b.getClass() && a instanceof Comparable) return ((Comparable<Number>) a).compareTo(b);
+        return Double.compare(a.doubleValue(), b.doubleValue());
+    };
+
+    private final EventList<N> source;
+
+    /** the numbers of the source in sorted order */
+    private final SimpleTree<N> sorted = new SimpleTree<>(NUMBER_ORDER);
+
+    /** the node within {@link #sorted} of each number, in source order */
+    private final SimpleTree<Element<N>> sortedNodes = new SimpleTree<>();
+
+    /** computes the value of this Calculation from the sorted numbers */
+    private final Function<SimpleTree<N>, V> statistic;
+
+    /**
+     * @param source the numbers whose statistic is reported
+     * @param statistic computes the value of this Calculation from the
+     *      sorted numbers
+     */
+    public OrderStatistic(EventList<N> source, Function<SimpleTree<N>, V> statistic) {
+        super(null);
+        this.source = source;
+        this.statistic = statistic;
+
+        for (int i = 0, n = source.size(); i < n; i++) {
+            sortedNodes.add(i, sorted.addInSortedOrder((byte) 1, source.get(i), 1), 1);
+        }
+        setValue(statistic.apply(sorted));
+
+        source.addListEventListener(this);
+    }
+
+    /** @inheritDoc */
+    @Override
+    public void dispose() {
+        source.removeListEventListener(this);
+    }
+
+    /** @inheritDoc */
+    @Override
+    public void listChanged(ListEvent<N> listChanges) {
+        final V oldValue = getValue();
+
+        if (listChanges.isReordering()) {
+            // the numbers are unchanged, only their source order needs reordering
+            final int[] reorderMap = listChanges.getReorderMap();
+            final Element<N>[] nodes = new Element[reorderMap.length];
+            for (int i = 0; i < reorderMap.length; i++) {
+                nodes[i] = sortedNodes.get(reorderMap[i]).get();
+            }
+            sortedNodes.setAll(nodes);
+
+        } else {
+            while (listChanges.next()) {
+                final int index = listChanges.getIndex();
+
+                switch (listChanges.getType()) {
+                    case ListEvent.INSERT: {
+                        sortedNodes.add(index, sorted.addInSortedOrder((byte) 1, source.get(index), 1), 1);
+                        break;
+                    }
+
+                    case ListEvent.DELETE: {
+                        final Element<Element<N>> node = sortedNodes.get(index);
+                        sorted.remove(node.get());
+                        sortedNodes.remove(node);
+                        break;
+                    }
+
+                    case ListEvent.UPDATE: {
+                        final Element<Element<N>> node = sortedNodes.get(index);
+                        sorted.remove(node.get());
+                        node.set(sorted.addInSortedOrder((byte) 1, source.get(index), 1));
+                        break;
+                    }
+                }
+            }
+        }
+
+        setValue(statistic.apply(sorted));
+        fireValueChange(oldValue, getValue());
+    }
+
+    /**
+     * The smallest number, or <code>null</code> if there are none.
+     */
+    static <N extends Number> N min(SimpleTree<N> sorted) {
+        return sorted.size() == 0 ? null : sorted.get(0).get();
+    }
+
+    /**
+     * The largest number, or <code>null</code> if there are none.
+     */
+    static <N extends Number> N max(SimpleTree<N> sorted) {
+        return sorted.size() == 0 ? null : sorted.get(sorted.size() - 1).get();
+    }
+
+    /**
+     * The median as a Double, which is the mean of the two middle numbers if
+     * there is an even number of them, or <code>null</code> if there are none.
+     */
+    static Double median(SimpleTree<? extends Number> sorted) {
+        final int size = sorted.size();
+        if (size == 0) return null;
+        final double upper = sorted.get(size / 2).get().doubleValue();
+        if (size % 2 == 1) return new Double(upper);
+        return new Double((sorted.get(size / 2 - 1).get().doubleValue() + upper) / 2);
+    }
+
+    /**
+     * The percentile by the nearest-rank method, which is the smallest number
+     * that is greater than or equal to the given percentage of all numbers, or
+     * <code>null</code> if there are none.
+     */
+    static <N extends Number> N percentile(SimpleTree<N> sorted, double percentile) {
+        final int size = sorted.size();
+        if (size == 0) return null;
+        final int rank = (int) Math.ceil(percentile / 100 * size);
+        return sorted.get(Math.max(rank, 1) - 1).get();
+    }
+}
@@ -3,7 +3,16 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists.calculation;
 
+import ca.odell.glazedlists.DoubleEventList;
 import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.IntEventList;
+import ca.odell.glazedlists.LongEventList;
+import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ListEventListener;
+import ca.odell.glazedlists.impl.adt.DoubleArrayList;
+import ca.odell.glazedlists.impl.adt.LongArrayList;
+
+import java.util.function.LongFunction;
 
 /**
  * Reports the sum total of the numeric elements within the backing EventList
@@ -64,4 +73,167 @@ final class Sum {
         @Override
         protected void updated(Number oldElement, Number newElement) { setValue(new Long(getValue().longValue() - oldElement.longValue() + newElement.longValue())); }
     }
-}
\ No newline at end of file
+
+    /**
+     * Sums a {@link DoubleEventList} as a Double, reading and remembering its
+     * values without boxing them.
+     */
+    static final class SumDoubleList extends AbstractCalculation<Double> implements ListEventListener<Double> {
+        private final DoubleEventList source;
+
+        /** a snapshot of the {@link #source} after the last ListEvent; used to retrieve deleted values */
+        private final DoubleArrayList snapshot;
+
+        private double sum;
+
+        public SumDoubleList(DoubleEventList source) {
+            super(new Double(0));
+            this.source = source;
+            this.snapshot = new DoubleArrayList(source.size());
+
+            for (int i = 0, n = source.size(); i < n; i++) {
+                final double value = source.getDouble(i);
+                snapshot.add(value);
+                sum += value;
+            }
+            setValue(new Double(sum));
+
+            source.addListEventListener(this);
+        }
+
+        @Override
+        public void dispose() {
+            source.removeListEventListener(this);
+        }
+
+        @Override
+        public void listChanged(ListEvent<Double> listChanges) {
+            final Double oldValue = getValue();
+
+            if (listChanges.isReordering()) {
+                // the sum is unchanged, only the snapshot needs reordering
+                for (int i = 0, n = source.size(); i < n; i++) {
+                    snapshot.set(i, source.getDouble(i));
+                }
+            } else {
+                while (listChanges.next()) {
+                    final int index = listChanges.getIndex();
+
+                    switch (listChanges.getType()) {
+                        case ListEvent.INSERT: {
+                            final double value = source.getDouble(index);
+                            snapshot.insert(index, value);
+                            sum += value;
+                            break;
+                        }
+
+                        case ListEvent.DELETE: {
+                            sum -= snapshot.remove(index);
+                            break;
+                        }
+
+                        case ListEvent.UPDATE: {
+                            final double value = source.getDouble(index);
+                            sum += value - snapshot.set(index, value);
+                            break;
+                        }
+                    }
+                }
+            }
+
+            setValue(new Double(sum));
+            fireValueChange(oldValue, getValue());
+        }
+    }
+
+    /**
+     * Sums an {@link IntEventList} or a {@link LongEventList} as a long,
+     * reading and remembering its values without boxing them. The sum is
+     * reported as the Number produced by <code>toValue</code>.
+     */
+    static final class SumLongList<N extends Number> extends AbstractCalculation<N> implements ListEventListener<Number> {
+        private final EventList<? extends Number> source;
+
+        /** the source if it is an {@link IntEventList}; otherwise <code>null</code> */
+        private final IntEventList intSource;
+
+        /** the source if it is a {@link LongEventList}; otherwise <code>null</code> */
+        private final LongEventList longSource;
+
+        /** converts the sum into the value reported by this Calculation */
+        private final LongFunction<N> toValue;
+
+        /** a snapshot of the {@link #source} after the last ListEvent; used to retrieve deleted values */
+        private final LongArrayList snapshot;
+
+        private long sum;
+
+        public SumLongList(EventList<? extends Number> source, LongFunction<N> toValue) {
+            super(toValue.apply(0));
+            this.source = source;
+            this.intSource = source instanceof IntEventList ? (IntEventList) source : null;
+            this.longSource = source instanceof LongEventList ? (LongEventList) source : null;
+            if (intSource == null && longSource == null)
+                throw new IllegalArgumentException("source must be an IntEventList or a LongEventList");
+            this.toValue = toValue;
+            this.snapshot = new LongArrayList(source.size());
+
+            for (int i = 0, n = source.size(); i < n; i++) {
+                final long value = get(i);
+                snapshot.add(value);
+                sum += value;
+            }
+            setValue(toValue.apply(sum));
+
+            source.addListEventListener(this);
+        }
+
+        private long get(int index) {
+            return intSource != null ? intSource.getInt(index) : longSource.getLong(index);
+        }
+
+        @Override
+        public void dispose() {
+            source.removeListEventListener(this);
+        }
+
+        @Override
+        public void listChanged(ListEvent<Number> listChanges) {
+            final N oldValue = getValue();
+
+            if (listChanges.isReordering()) {
+                // the sum is unchanged, only the snapshot needs reordering
+                for (int i = 0, n = source.size(); i < n; i++) {
+                    snapshot.set(i, get(i));
+                }
+            } else {
+                while (listChanges.next()) {
+                    final int index = listChanges.getIndex();
+
+                    switch (listChanges.getType()) {
+                        case ListEvent.INSERT: {
+                            final long value = get(index);
+                            snapshot.insert(index, value);
+                            sum += value;
+                            break;
+                        }
+
+                        case ListEvent.DELETE: {
+                            sum -= snapshot.remove(index);
+                            break;
+                        }
+
+                        case ListEvent.UPDATE: {
+                            final long value = get(index);
+                            sum += value - snapshot.set(index, value);
+                            break;
+                        }
+                    }
+                }
+            }
+
+            setValue(toValue.apply(sum));
+            fireValueChange(oldValue, getValue());
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.impl.testing.ListConsistencyListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public final class AggregatingListTest {
+
+    private final Aggregator<String, Integer> count = Aggregators.count();
+    private final Aggregator<String, Long> sumLengths = Aggregators.sumLongs(String::length);
+    private final Aggregator<String, String> min = Aggregators.min(value -> value);
+    private final Aggregator<String, String> max = Aggregators.max(value -> value);
+    private final Aggregator<String, Double> meanLength = Aggregators.meanDoubles(String::length);
+    private final Aggregator<String, Integer> distinct = Aggregators.distinctCount(value -> value);
+
+    @Test
+    public void testAggregates() {
+        final EventList<String> source = new BasicEventList<>();
+        source.addAll(Arrays.asList("apple", "banana", "avocado", "apple", "blueberry"));
+
+        final AggregatingList<String, Character> byLetter = new AggregatingList<>(source, value -> value.charAt(0),
+                count, sumLengths, min, max, meanLength, distinct);
+        ListConsistencyListener.install(byLetter);
+
+        assertEquals(2, byLetter.size());
+        AggregatingList.Row<Character> a = byLetter.get(0);
+        assertEquals(Character.valueOf('a'), a.getKey());
+        assertEquals(3, a.getCount());
+        assertEquals(Integer.valueOf(3), a.getValue(count));
+        assertEquals(Long.valueOf(17), a.getValue(sumLengths));
+        assertEquals("apple", a.getValue(min));
+        assertEquals("avocado", a.getValue(max));
+        assertEquals(17 / 3.0, a.getValue(meanLength), 0.0001);
+        assertEquals(Integer.valueOf(2), a.getValue(distinct));
+        assertEquals(Integer.valueOf(2), a.getValue(5));
+
+        // removing the maximum finds the next one
+        source.remove("avocado");
+        a = byLetter.get(0);
+        assertEquals(2, a.getCount());
+        assertEquals("apple", a.getValue(max));
+        assertEquals(Integer.valueOf(1), a.getValue(distinct));
+
+        // an update within the group
+        source.set(0, "apricot");
+        a = byLetter.get(0);
+        assertEquals("apricot", a.getValue(max));
+        assertEquals(Long.valueOf(12), a.getValue(sumLengths));
+
+        // an update that moves the element to a new group
+        source.set(0, "cherry");
+        assertEquals(3, byLetter.size());
+        assertEquals(Character.valueOf('c'), byLetter.get(2).getKey());
+        assertEquals(Long.valueOf(5), byLetter.get(0).getValue(sumLengths));
+
+        // deleting a group's last element deletes its row
+        source.remove("apple");
+        assertEquals(2, byLetter.size());
+        assertEquals(Character.valueOf('b'), byLetter.get(0).getKey());
+        assertEquals(1, byLetter.indexOfGroup("cranberry"));
+        assertEquals(-1, byLetter.indexOfGroup("apple"));
+    }
+
+    @Test
+    public void testElementUpdatedInPlace() {
+        final EventList<int[]> source = new BasicEventList<>();
+        source.add(new int[] { 1, 10 });
+        source.add(new int[] { 1, 100 });
+        source.add(new int[] { 1, 50 });
+
+        final Aggregator<int[], Long> sumValues = Aggregators.sumLongs(value -> value[1]);
+        final Aggregator<int[], Integer> minValue = Aggregators.min(value -> value[1]);
+        final Aggregator<int[], Integer> maxValue = Aggregators.max(value -> value[1]);
+        final AggregatingList<int[], Integer> byKey = new AggregatingList<>(source, value -> value[0], sumValues, minValue, maxValue);
+        final List<AggregatingList.Row<Integer>> oldRows = new ArrayList<>();
+        final List<AggregatingList.Row<Integer>> newRows = new ArrayList<>();
+        byKey.addListEventListener(listChanges -> {
+            while (listChanges.next()) {
+                oldRows.add(listChanges.getOldValue());
+                newRows.add(listChanges.getNewValue());
+            }
+        });
+
+        // modify the maximum and report it updated
+        final int[] element = source.get(1);
+        element[1] = 5;
+        source.set(1, element);
+
+        final AggregatingList.Row<Integer> row = byKey.get(0);
+        assertEquals(Long.valueOf(65), row.getValue(sumValues));
+        assertEquals(Integer.valueOf(5), row.getValue(minValue));
+        assertEquals(Integer.valueOf(50), row.getValue(maxValue));
+
+        // the event holds the row before the change and the row after it
+        assertEquals(1, newRows.size());
+        assertSame(row, newRows.get(0));
+        assertEquals(Long.valueOf(160), oldRows.get(0).getValue(sumValues));
+        assertEquals(Integer.valueOf(10), oldRows.get(0).getValue(minValue));
+        assertEquals(Integer.valueOf(100), oldRows.get(0).getValue(maxValue));
+
+        // the element is removed with the value it last reported
+        element[1] = 7;
+        source.remove(1);
+        assertEquals(Long.valueOf(60), byKey.get(0).getValue(sumValues));
+        assertEquals(Integer.valueOf(10), byKey.get(0).getValue(minValue));
+        assertEquals(Integer.valueOf(50), byKey.get(0).getValue(maxValue));
+    }
+
+    @Test
+    public void testCompositeKey() {
+        final EventList<String> source = new BasicEventList<>();
+        source.addAll(Arrays.asList("apple", "avocado", "apricot", "banana"));
+
+        // group by the first letter and the length
+        final AggregatingList<String, List<Object>> grouped = new AggregatingList<>(source,
+                value -> Arrays.<Object>asList(value.charAt(0), value.length()), count);
+        assertEquals(3, grouped.size());
+        assertEquals(Arrays.asList('a', 7), grouped.get(1).getKey());
+        assertEquals(Integer.valueOf(2), grouped.get(1).getValue(count));
+    }
+
+    @Test
+    public void testUnknownAggregator() {
+        final EventList<String> source = new BasicEventList<>();
+        source.add("apple");
+        final AggregatingList<String, Character> byLetter = new AggregatingList<>(source, value -> value.charAt(0), count);
+        try {
+            byLetter.get(0).getValue(max);
+            fail("failed to reject an aggregator of another list");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRandomChanges() {
+        final Random dice = new Random(3);
+        final EventList<String> source = new BasicEventList<>();
+        final AggregatingList<String, Character> byLetter = new AggregatingList<>(source, value -> value.charAt(0),
+                count, sumLengths, min, max, distinct);
+        ListConsistencyListener.install(byLetter);
+
+        for (int i = 0; i < 500; i++) {
+            final int operation = source.isEmpty() ? 0 : dice.nextInt(3);
+            if (operation == 0) {
+                source.add(dice.nextInt(source.size() + 1), randomWord(dice));
+            } else if (operation == 1) {
+                source.remove(dice.nextInt(source.size()));
+            } else {
+                source.set(dice.nextInt(source.size()), randomWord(dice));
+            }
+
+            for (AggregatingList.Row<Character> row : byLetter) {
+                final List<String> group = new ArrayList<>();
+                long lengths = 0;
+                for (String value : source) {
+                    if (value.charAt(0) == row.getKey()) {
+                        group.add(value);
+                        lengths += value.length();
+                    }
+                }
+                assertEquals(group.size(), row.getCount());
+                assertEquals(Integer.valueOf(group.size()), row.getValue(count));
+                assertEquals(Long.valueOf(lengths), row.getValue(sumLengths));
+                assertEquals(Collections.min(group), row.getValue(min));
+                assertEquals(Collections.max(group), row.getValue(max));
+                assertEquals(Integer.valueOf(new HashSet<>(group).size()), row.getValue(distinct));
+            }
+        }
+    }
+
+    private static String randomWord(Random dice) {
+        final StringBuilder result = new StringBuilder();
+        for (int i = 0, length = 1 + dice.nextInt(3); i < length; i++) {
+            result.append((char) ('a' + dice.nextInt(4)));
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,126 @@
+/* Glazed Lists                                                 (c) 2003-2007 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.calculation;
+
+import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.GlazedLists;
+import ca.odell.glazedlists.SortedList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public final class OrderStatisticTest {
+
+    @Test
+    public void testMinMax() {
+        final EventList<Integer> source = new BasicEventList<>();
+        source.addAll(Arrays.asList(5, 3, 8));
+
+        final PropertyChangeCounter counter = new PropertyChangeCounter();
+        final Calculation<Integer> min = Calculations.min(source);
+        final Calculation<Integer> max = Calculations.max(source);
+        min.addPropertyChangeListener(counter);
+
+        assertEquals(Integer.valueOf(3), min.getValue());
+        assertEquals(Integer.valueOf(8), max.getValue());
+
+        // a change that doesn't affect the minimum fires no event
+        source.add(4);
+        assertEquals(Integer.valueOf(3), min.getValue());
+        assertEquals(0, counter.getCountAndReset());
+
+        // neither does replacing the minimum with an equal value
+        source.set(1, new Integer(3));
+        assertEquals(0, counter.getCountAndReset());
+
+        // removing the minimum finds the next one
+        source.remove(1);
+        assertEquals(Integer.valueOf(4), min.getValue());
+        assertEquals(1, counter.getCountAndReset());
+
+        source.clear();
+        assertNull(min.getValue());
+        assertNull(max.getValue());
+        assertEquals(1, counter.getCountAndReset());
+    }
+
+    @Test
+    public void testMedian() {
+        final EventList<Double> source = new BasicEventList<>();
+        final Calculation<Double> median = Calculations.median(source);
+        assertNull(median.getValue());
+
+        source.addAll(Arrays.asList(4.0, 1.0, 3.0));
+        assertEquals(3.0, median.getValue(), 0.0);
+
+        source.add(2.0);
+        assertEquals(2.5, median.getValue(), 0.0);
+    }
+
+    @Test
+    public void testPercentile() {
+        final EventList<Long> source = new BasicEventList<>();
+        for (long i = 100; i > 0; i--) source.add(i);
+
+        assertEquals(Long.valueOf(95), Calculations.percentile(source, 95).getValue());
+        assertEquals(Long.valueOf(1), Calculations.percentile(source, 0).getValue());
+        assertEquals(Long.valueOf(100), Calculations.percentile(source, 100).getValue());
+
+        try {
+            Calculations.percentile(source, 101);
+            fail("failed to reject a percentile over 100");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testReordering() {
+        final EventList<Integer> source = new BasicEventList<>();
+        source.addAll(Arrays.asList(5, 3, 8, 1));
+        final SortedList<Integer> sorted = SortedList.create(source);
+        final Calculation<Integer> max = Calculations.max(sorted);
+
+        sorted.setComparator(GlazedLists.reverseComparator());
+        assertEquals(Integer.valueOf(8), max.getValue());
+
+        // the source order is still tracked after the reordering
+        sorted.remove(0);
+        assertEquals(Integer.valueOf(5), max.getValue());
+    }
+
+    @Test
+    public void testRandomChanges() {
+        final Random dice = new Random(5);
+        final EventList<Integer> source = new BasicEventList<>();
+        final Calculation<Integer> min = Calculations.min(source);
+        final Calculation<Integer> max = Calculations.max(source);
+        final Calculation<Integer> p90 = Calculations.percentile(source, 90);
+
+        for (int i = 0; i < 500; i++) {
+            final int operation = source.isEmpty() ? 0 : dice.nextInt(3);
+            if (operation == 0) {
+                source.add(dice.nextInt(source.size() + 1), dice.nextInt(50));
+            } else if (operation == 1) {
+                source.remove(dice.nextInt(source.size()));
+            } else {
+                source.set(dice.nextInt(source.size()), dice.nextInt(50));
+            }
+
+            final List<Integer> expected = new ArrayList<>(source);
+            Collections.sort(expected);
+            assertEquals(expected.isEmpty() ? null : expected.get(0), min.getValue());
+            assertEquals(expected.isEmpty() ? null : expected.get(expected.size() - 1), max.getValue());
+            assertEquals(expected.isEmpty() ? null : expected.get((int) Math.ceil(0.9 * expected.size()) - 1), p90.getValue());
+        }
+    }
+}
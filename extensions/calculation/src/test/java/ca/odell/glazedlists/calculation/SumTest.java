@@ -4,8 +4,11 @@
 package ca.odell.glazedlists.calculation;
 
 import ca.odell.glazedlists.BasicEventList;
+import ca.odell.glazedlists.DoubleEventList;
 import ca.odell.glazedlists.EventList;
 import ca.odell.glazedlists.GlazedLists;
+import ca.odell.glazedlists.IntEventList;
+import ca.odell.glazedlists.LongEventList;
 import ca.odell.glazedlists.SortedList;
 
 import java.util.Arrays;
@@ -187,4 +190,79 @@ public final class SumTest {
         assertEquals(13L, sum.getValue().longValue());
         assertEquals(1, counter.getCountAndReset());
     }
+
+    @Test
+    public void testSumDoubleEventList() {
+        final DoubleEventList source = new DoubleEventList();
+        source.addDouble(1);
+
+        final PropertyChangeCounter counter = new PropertyChangeCounter();
+        final Calculation<Double> sum = Calculations.sumDoubles(source);
+        sum.addPropertyChangeListener(counter);
+
+        // check the initial Sum state
+        assertEquals(new Double(1), sum.getValue());
+        assertEquals(0, counter.getCountAndReset());
+
+        // test add
+        source.addDoubles(2, 4);
+        assertEquals(new Double(7), sum.getValue());
+        assertEquals(1, counter.getCountAndReset());
+
+        // test update with sum change
+        source.setDouble(1, 3);
+        assertEquals(new Double(8), sum.getValue());
+        assertEquals(1, counter.getCountAndReset());
+
+        // test update without sum change
+        source.setDouble(1, source.getDouble(1));
+        assertEquals(new Double(8), sum.getValue());
+        assertEquals(0, counter.getCountAndReset());
+
+        // test remove
+        source.remove(1);
+        assertEquals(new Double(5), sum.getValue());
+        assertEquals(1, counter.getCountAndReset());
+
+        sum.dispose();
+        source.addDouble(1);
+        assertEquals(new Double(5), sum.getValue());
+    }
+
+    @Test
+    public void testSumIntEventList() {
+        final IntEventList source = new IntEventList();
+        source.addInts(1, Integer.MAX_VALUE);
+
+        final Calculation<Integer> intSum = Calculations.sumIntegers(source);
+        final Calculation<Long> longSum = Calculations.sumLongs(source);
+
+        // ints overflow just like the boxed sum does
+        assertEquals(Integer.MIN_VALUE, intSum.getValue().intValue());
+        assertEquals(1L + Integer.MAX_VALUE, longSum.getValue().longValue());
+
+        source.setInt(1, 2);
+        source.addInt(0, 3);
+        assertEquals(6, intSum.getValue().intValue());
+        assertEquals(6L, longSum.getValue().longValue());
+
+        source.clear();
+        assertEquals(0, intSum.getValue().intValue());
+        assertEquals(0L, longSum.getValue().longValue());
+    }
+
+    @Test
+    public void testSumSortedLongEventList() {
+        final LongEventList source = new LongEventList();
+        final SortedList<Long> sortedSource = new SortedList<>(source);
+        source.addLongs(1, 2, 3);
+
+        final Calculation<Long> sum = Calculations.sumLongs(source);
+        final Calculation<Long> sortedSum = Calculations.sumLongs(sortedSource);
+
+        sortedSource.setComparator(GlazedLists.reverseComparator());
+        source.remove(0);
+        assertEquals(5L, sum.getValue().longValue());
+        assertEquals(5L, sortedSum.getValue().longValue());
+    }
 }
@@ -9,6 +9,7 @@ import ca.odell.glazedlists.impl.nio.NIOAttachment;
 // NIO is used for CTP
 import java.io.EOFException;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.SocketChannel;
@@ -18,6 +19,9 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.logging.Logger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 /**
  * The CTPConnection is base class for building a client or server implementation
@@ -30,9 +34,23 @@ import java.util.logging.Logger;
  * same subset of HTTP/1.1. Known limitations of this HTTP/1.1 implementation:
  * <li>it can read and write only chunked-encoding
  * <li>it can only read and write a single URI, "/glazedlists"
- * <li>as a client, it sends only the headers, "Host", "Transfer-Encoding"
- * <li>as a server, it sends only the header, "Transfer-Encoding"
- * <li>it interprets only the header, "Transfer-Encoding".
+ * <li>as a client, it sends only the headers, "Host", "Transfer-Encoding",
+ *     "Accept-Encoding" and "X-Event-Format"
+ * <li>as a server, it sends only the headers, "Transfer-Encoding",
+ *     "Content-Encoding" and "X-Event-Format"
+ * <li>it interprets only the headers, "Transfer-Encoding", "Accept-Encoding",
+ *     "Content-Encoding" and "X-Event-Format".
+ *
+ * <p>When both parties have compression enabled, the client's request accepts
+ * the "deflate" encoding and the server's response confirms it. From then on the
+ * data of every chunk in both directions is compressed with a single
+ * {@link Deflater} per direction, flushed at the end of each chunk so that the
+ * reader can decompress each chunk as it arrives.
+ *
+ * <p>Likewise, when both parties support list events encoded block by block,
+ * the client's request offers the "blocks" event format and the server's
+ * response confirms it. Otherwise the parties exchange events in the earlier
+ * format of one part per change, which every version can decode.
  *
  * @author <a href="mailto:jesse@swank.ca">Jesse Wilson</a>
  *
@@ -128,9 +146,30 @@ public final class CTPConnection implements NIOAttachment {
     /** the only URI allowed by CTPConnection */
     static final String CTP_URI = "/glazedlists";
 
+    /** the only content encoding supported by CTPConnection */
+    static final String DEFLATE = "deflate";
+
+    /** the header that offers and confirms the format of list events */
+    static final String EVENT_FORMAT = "X-Event-Format";
+
+    /** the event format of list events encoded block by block */
+    static final String BLOCKS = "blocks";
+
     /** if our source is not chunked, we have to break up chunks arbitrarily */
     boolean sourceChunked = false;
 
+    /** compress outgoing and decompress incoming chunks, or null if not negotiated */
+    private Deflater deflater = null;
+    private Inflater inflater = null;
+    private byte[] compressionBuffer = null;
+
+    /** whether both parties support list events encoded block by block */
+    private boolean blockEvents = false;
+
+    /** the number of bytes sent and received over the channel */
+    private volatile long bytesSent = 0;
+    private volatile long bytesReceived = 0;
+
     /**
      * Creates a new CTPConnection.
      *
@@ -186,6 +225,37 @@ public final class CTPConnection implements NIOAttachment {
         return socketChannel.socket().getPort();
     }
 
+    /**
+     * Gets whether the chunks of this connection are compressed.
+     */
+    public boolean isCompressed() {
+        return deflater != null;
+    }
+
+    /**
+     * Gets whether both parties of this connection support list events
+     * encoded block by block.
+     */
+    public boolean supportsBlockEvents() {
+        return blockEvents;
+    }
+
+    /**
+     * Gets the number of bytes sent over the network by this connection,
+     * including the HTTP headers and chunk framing.
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * Gets the number of bytes received over the network by this connection,
+     * including the HTTP headers and chunk framing.
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
     /**
      * Handles the incoming bytes.
      */
@@ -195,6 +265,7 @@ public final class CTPConnection implements NIOAttachment {
         try {
             int bytesIn = parser.readFromChannel(socketChannel);
             if(bytesIn < 0) throw new EOFException("End of stream");
+            bytesReceived += bytesIn;
         } catch(IOException e) {
             close(e);
         }
@@ -228,12 +299,19 @@ public final class CTPConnection implements NIOAttachment {
     public void handleWrite() {
         // do the write
         try {
-            writer.writeToChannel(socketChannel, selectionKey);
+            flushWriter();
         } catch(IOException e) {
             close(e);
         }
     }
 
+    /**
+     * Writes as much of the output buffer to the channel as it will take.
+     */
+    void flushWriter() throws IOException {
+        bytesSent += writer.writeToChannel(socketChannel, selectionKey);
+    }
+
     /**
      * When connected, prepare the higher-level connection.
      */
@@ -287,9 +365,11 @@ public final class CTPConnection implements NIOAttachment {
             responseHeaders.putAll(headers);
             responseHeaders.put("Transfer-Encoding", "chunked");
             responseHeaders.put("Host", remoteHost);
+            if(manager.isCompressionEnabled()) responseHeaders.put("Accept-Encoding", DEFLATE);
+            if(manager.isBlockEventsEnabled()) responseHeaders.put(EVENT_FORMAT, BLOCKS);
             writeHeaders(responseHeaders);
             writer.write("\r\n");
-            writer.writeToChannel(socketChannel, selectionKey);
+            flushWriter();
 
             // we're waiting for the response
             state = STATE_CLIENT_AWAITING_RESPONSE;
@@ -328,10 +408,21 @@ public final class CTPConnection implements NIOAttachment {
             handleHeaders(headers);
             parser.consume("\\r\\n");
 
-            // handle the request
+            // handle the request, compressing and exchanging block encoded
+            // events if both parties are willing
             if(CTP_URI.equals(uri)) {
                 state = STATE_SERVER_CONSTRUCTING_RESPONSE;
-                sendResponse(RESPONSE_OK, Collections.EMPTY_MAP);
+                Map responseHeaders = new TreeMap();
+                String acceptEncoding = (String)headers.get("Accept-Encoding");
+                if(manager.isCompressionEnabled() && acceptEncoding != null && acceptEncoding.contains(DEFLATE)) {
+                    startCompression();
+                    responseHeaders.put("Content-Encoding", DEFLATE);
+                }
+                if(manager.isBlockEventsEnabled() && BLOCKS.equals(headers.get(EVENT_FORMAT))) {
+                    blockEvents = true;
+                    responseHeaders.put(EVENT_FORMAT, BLOCKS);
+                }
+                sendResponse(RESPONSE_OK, responseHeaders);
                 return true;
             } else {
                 close(new Exception("Could not find URI \"" + uri + "\""));
@@ -373,7 +464,7 @@ public final class CTPConnection implements NIOAttachment {
             responseHeaders.put("Transfer-Encoding", "chunked");
             writeHeaders(responseHeaders);
             writer.write("\r\n");
-            writer.writeToChannel(socketChannel, selectionKey);
+            flushWriter();
 
             // we're ready
             logger.info("Accepted connection from " + this);
@@ -416,6 +507,8 @@ public final class CTPConnection implements NIOAttachment {
 
             // handle the response
             if(code == RESPONSE_OK) {
+                if(DEFLATE.equals(headers.get("Content-Encoding"))) startCompression();
+                blockEvents = BLOCKS.equals(headers.get(EVENT_FORMAT));
                 logger.info("Established connection to " + this);
                 state = STATE_READY;
                 handler.connectionReady(this);
@@ -489,7 +582,7 @@ public final class CTPConnection implements NIOAttachment {
 
                 // handle the chunk
                 if(chunkData.length() > 0) {
-                    handler.receiveChunk(this, chunkData);
+                    receiveChunk(chunkData);
                     return true;
                 } else {
                     close();
@@ -501,7 +594,7 @@ public final class CTPConnection implements NIOAttachment {
 
                 // handle the simulated chunk
                 if(chunkData.length() > 0) {
-                    handler.receiveChunk(this, chunkData);
+                    receiveChunk(chunkData);
                     return true;
                 } else {
                     return false;
@@ -514,7 +607,80 @@ public final class CTPConnection implements NIOAttachment {
         } catch(ParseException e) {
             close(new IOException("Failed to decode HTTP request, " + e.getMessage()));
             return false;
+        } catch(IOException e) {
+            close(e);
+            return false;
+        }
+    }
+
+    /**
+     * Passes the data of a chunk to the handler, decompressing it first if
+     * necessary.
+     */
+    private void receiveChunk(Bufferlo chunkData) throws IOException {
+        if(inflater != null) {
+            chunkData = inflate(chunkData);
+            if(chunkData.length() == 0) return;
+        }
+        handler.receiveChunk(this, chunkData);
+    }
+
+    /**
+     * Starts compressing the chunks of this connection, once both parties
+     * have agreed to.
+     */
+    private void startCompression() {
+        deflater = new Deflater(Deflater.BEST_SPEED);
+        inflater = new Inflater();
+        compressionBuffer = new byte[8192];
+    }
+
+    /**
+     * Releases the resources used for compression, if any.
+     */
+    void endCompression() {
+        if(deflater == null) return;
+        deflater.end();
+        inflater.end();
+    }
+
+    /**
+     * Gets the data of an outgoing chunk, compressed if this connection is
+     * compressed. The specified data is consumed.
+     */
+    Bufferlo deflate(Bufferlo data) throws IOException {
+        if(deflater == null) return data;
+
+        Bufferlo compressed = new Bufferlo();
+        OutputStream compressedOut = compressed.getOutputStream();
+        deflater.setInput(data.consumeBytes(data.length()));
+        while(true) {
+            int compressedBytes = deflater.deflate(compressionBuffer, 0, compressionBuffer.length, Deflater.SYNC_FLUSH);
+            compressedOut.write(compressionBuffer, 0, compressedBytes);
+            if(compressedBytes < compressionBuffer.length) break;
+        }
+        return compressed;
+    }
+
+    /**
+     * Decompresses the data of an incoming chunk. The specified data is consumed.
+     */
+    private Bufferlo inflate(Bufferlo data) throws IOException {
+        Bufferlo decompressed = new Bufferlo();
+        OutputStream decompressedOut = decompressed.getOutputStream();
+        inflater.setInput(data.consumeBytes(data.length()));
+        try {
+            while(true) {
+                int decompressedBytes = inflater.inflate(compressionBuffer);
+                decompressedOut.write(compressionBuffer, 0, decompressedBytes);
+                if(decompressedBytes == compressionBuffer.length) continue;
+                if(inflater.needsInput()) break;
+                if(decompressedBytes == 0) throw new IOException("Unexpected end of compressed data");
+            }
+        } catch(DataFormatException e) {
+            throw new IOException("Failed to decompress chunk, " + e.getMessage());
         }
+        return decompressed;
     }
 
     /**
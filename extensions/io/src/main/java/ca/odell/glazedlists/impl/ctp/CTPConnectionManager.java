@@ -42,6 +42,12 @@ public final class CTPConnectionManager implements NIOServer {
     /** the I/O event queue daemon */
     private NIODaemon nioDaemon = null;
 
+    /** whether to negotiate compression of new connections */
+    private volatile boolean compressionEnabled = true;
+
+    /** whether to offer list events encoded block by block on new connections */
+    private volatile boolean blockEventsEnabled = true;
+
     /**
      * Creates a connection manager that handles incoming connections using the
      * specified connect handler. This binds to the default port.
@@ -93,6 +99,42 @@ public final class CTPConnectionManager implements NIOServer {
         nioDaemon.stop();
     }
 
+    /**
+     * Sets whether new connections compress their chunks, if the other party
+     * agrees. Connections that are already established are not affected.
+     * Compression is enabled by default.
+     */
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    /**
+     * Gets whether new connections compress their chunks, if the other party
+     * agrees.
+     */
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    /**
+     * Sets whether new connections exchange list events encoded block by
+     * block, if the other party supports them. Otherwise list events are
+     * exchanged in the earlier format of one part per change, as with peers
+     * that predate the block format. Connections that are already established
+     * are not affected. Block encoded events are enabled by default.
+     */
+    public void setBlockEventsEnabled(boolean blockEventsEnabled) {
+        this.blockEventsEnabled = blockEventsEnabled;
+    }
+
+    /**
+     * Gets whether new connections exchange list events encoded block by
+     * block, if the other party supports them.
+     */
+    public boolean isBlockEventsEnabled() {
+        return blockEventsEnabled;
+    }
+
     /**
      * Get the daemon that does all the threading and selection.
      */
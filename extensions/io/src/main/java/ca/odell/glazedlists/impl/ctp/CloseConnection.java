@@ -62,7 +62,7 @@ class CloseConnection implements Runnable {
 
         // try to flush what we have left
         try {
-            connection.writer.writeToChannel(connection.socketChannel, connection.selectionKey);
+            connection.flushWriter();
         } catch(IOException e) {
             // if this flush failed, there's nothing we can do
         }
@@ -75,6 +75,7 @@ class CloseConnection implements Runnable {
         } catch(IOException e) {
             // if this close failed, there's nothing we can do
         }
+        connection.endCompression();
 
         // log the close
         if(reason != null) {
@@ -42,6 +42,9 @@ class SendChunk implements Runnable {
         if(connection.state != CTPConnection.STATE_READY) throw new IllegalStateException();
 
         try {
+            // compress the data, but never the empty chunk that ends the stream
+            if(data != null && data.length() > 0) data = connection.deflate(data);
+
             // calculate the total bytes remaining
             int totalRemaining = (data != null) ? data.length() : 0;
 
@@ -51,7 +54,7 @@ class SendChunk implements Runnable {
             connection.writer.write("\r\n");
             if(data != null) connection.writer.append(data);
             connection.writer.write("\r\n");
-            connection.writer.writeToChannel(connection.socketChannel, connection.selectionKey);
+            connection.flushWriter();
 
         } catch(IOException e) {
             connection.close(e);
@@ -160,17 +160,13 @@ public class Bufferlo implements CharSequence {
      * Gets the bytes of this Bufferlo.
      */
     public byte[] consumeBytes(int bytes) {
-        try {
-            byte[] result = new byte[bytes];
-            int totalRead = 0;
-            while(totalRead < bytes) {
-                int read = getInputStream().read(result, totalRead, (bytes - totalRead));
-                totalRead += read;
-            }
-            return result;
-        } catch(IOException e) {
-            throw new IllegalStateException(e.getMessage());
+        byte[] result = new byte[bytes];
+        int totalRead = 0;
+        while(totalRead < bytes) {
+            int read = getInputStream().read(result, totalRead, (bytes - totalRead));
+            totalRead += read;
         }
+        return result;
     }
 
     /**
@@ -322,6 +318,17 @@ public class Bufferlo implements CharSequence {
             writeBuffer.put((byte)b);
             doneWriting();
         }
+        @Override
+        public void write(byte[] b, int off, int len) {
+            while(len > 0) {
+                ByteBuffer writeBuffer = getWriteIntoBuffer();
+                int bytesToWrite = Math.min(len, writeBuffer.remaining());
+                writeBuffer.put(b, off, bytesToWrite);
+                doneWriting();
+                off += bytesToWrite;
+                len -= bytesToWrite;
+            }
+        }
     }
 
     /**
@@ -336,6 +343,20 @@ public class Bufferlo implements CharSequence {
             doneReading();
             return result;
         }
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if(len == 0) return 0;
+            int bytesRead = 0;
+            while(bytesRead < len) {
+                ByteBuffer readBuffer = getReadFromBuffer();
+                if(readBuffer == null) break;
+                int bytesToRead = Math.min(len - bytesRead, readBuffer.remaining());
+                readBuffer.get(b, off + bytesRead, bytesToRead);
+                doneReading();
+                bytesRead += bytesToRead;
+            }
+            return (bytesRead == 0) ? -1 : bytesRead;
+        }
     }
 
     /**
@@ -4,12 +4,20 @@
 package ca.odell.glazedlists.impl.io;
 
 import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.event.EventTransactionable;
 import ca.odell.glazedlists.event.ListEvent;
+import ca.odell.glazedlists.event.ObjectChange;
 import ca.odell.glazedlists.io.ByteCoder;
+import ca.odell.glazedlists.io.DeltaByteCoder;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -18,6 +26,21 @@ import java.util.List;
  * An utility interface for converting Objects to bytes for storage or network
  * transport.
  *
+ * <p>A ListEvent is encoded block by block, as runs of changes of one type:
+ * <pre>
+ * event := BLOCK_FORMAT run*
+ * run   := type(byte) [startIndex(varint) length(varint) value*]
+ * value := valueLength(varint) valueBytes
+ * </pre>
+ * Inserts and updates carry one value per changed index, deletes carry none,
+ * and a clear carries neither indices nor values. When the {@link ByteCoder}
+ * is a {@link DeltaByteCoder} and the previous values of an update are known,
+ * the update is written as a delta run, whose values are the differences from
+ * the previous values.
+ *
+ * <p>Events can also be written in the earlier format of one part per changed
+ * index, for peers that cannot decode blocks. Both formats can be decoded.
+ *
  * @author <a href="mailto:jesse@swank.ca">Jesse Wilson</a>
  *
  * @deprecated The io extension and its types are deprecated.
@@ -30,39 +53,118 @@ public class ListEventToBytes {
     /** the virtual event type */
     private static final int CLEAR = -1;
 
+    /** the first byte of a block encoded event, never the first byte of one encoded as parts */
+    private static final int BLOCK_FORMAT = 0x42;
+
+    /** the type of a run that clears the list */
+    private static final int CLEAR_RUN = 3;
+
+    /** the type of a run that updates values with the differences from their previous values */
+    private static final int UPDATE_DELTA_RUN = 4;
+
     /**
-     * Convert the specified ListEvent to bytes.
+     * Convert the specified ListEvent to bytes, block by block.
      */
     public static Bufferlo toBytes(ListEvent listEvent, ByteCoder byteCoder) throws IOException {
-        // populate the list of parts
-        List parts = new ArrayList();
-        while(listEvent.next()) {
-            int index = listEvent.getIndex();
+        return toBytes(listEvent, byteCoder, true);
+    }
+
+    /**
+     * Convert the specified ListEvent to bytes, either block by block or in
+     * the earlier format of one part per changed index. Updates are never
+     * written as deltas in the earlier format.
+     */
+    public static Bufferlo toBytes(ListEvent listEvent, ByteCoder byteCoder, boolean blockFormat) throws IOException {
+        if(!blockFormat) {
+            List parts = new ArrayList();
+            while(listEvent.next()) {
+                int index = listEvent.getIndex();
+                int type = listEvent.getType();
+                Object value = null;
+                if(type == ListEvent.INSERT || type == ListEvent.UPDATE) value = listEvent.getSourceList().get(index);
+                parts.add(new ListEventPart(index, type, value));
+            }
+            return partsToBytes(parts, byteCoder);
+        }
+
+        Bufferlo result = new Bufferlo();
+        OutputStream out = result.getOutputStream();
+        ByteArrayOutputStream valueBytes = new ByteArrayOutputStream();
+        List source = listEvent.getSourceList();
+
+        out.write(BLOCK_FORMAT);
+        while(listEvent.nextBlock()) {
             int type = listEvent.getType();
-            Object value = null;
-            if(type == ListEvent.INSERT || type == ListEvent.UPDATE) value = listEvent.getSourceList().get(index);
-            parts.add(new ListEventPart(index, type, value));
+            int startIndex = listEvent.getBlockStartIndex();
+            int length = listEvent.getBlockEndIndex() - startIndex + 1;
+            if(type == ListEvent.UPDATE && byteCoder instanceof DeltaByteCoder) {
+                List changes = listEvent.getBlockChanges();
+                if(isDeltaEncodable(changes, source, startIndex, length)) {
+                    writeRun(out, UPDATE_DELTA_RUN, startIndex, length);
+                    writeDeltas(out, changes, source, startIndex, (DeltaByteCoder)byteCoder, valueBytes);
+                    continue;
+                }
+            }
+            writeRun(out, type, startIndex, length);
+            if(type == ListEvent.INSERT || type == ListEvent.UPDATE) {
+                writeValues(out, source, startIndex, length, byteCoder, valueBytes);
+            }
         }
 
-        return partsToBytes(parts, byteCoder);
+        return result;
     }
 
     /**
      * Convert the List to a ListEvent. This is for snapshots or compressions.
      */
     public static Bufferlo toBytes(EventList list, ByteCoder byteCoder) throws IOException {
-        List parts = new ArrayList();
+        return toBytes(list, byteCoder, true);
+    }
+
+    /**
+     * Convert the List to a ListEvent, either as blocks or in the earlier
+     * format of one part per element.
+     */
+    public static Bufferlo toBytes(EventList list, ByteCoder byteCoder, boolean blockFormat) throws IOException {
+        if(!blockFormat) {
+            // start with a clear, and add all values one by one
+            List parts = new ArrayList();
+            parts.add(new ListEventPart(-1, ListEventToBytes.CLEAR, null));
+            for(int i = 0; i < list.size(); i++) {
+                parts.add(new ListEventPart(i, ListEvent.INSERT, list.get(i)));
+            }
+            return partsToBytes(parts, byteCoder);
+        }
+
+        Bufferlo result = new Bufferlo();
+        OutputStream out = result.getOutputStream();
 
         // start with a clear
-        parts.add(new ListEventPart(-1, ListEventToBytes.CLEAR, null));
+        out.write(BLOCK_FORMAT);
+        out.write(CLEAR_RUN);
 
-        // add all values as adds
-        for(int i = 0; i < list.size(); i++) {
-            parts.add(new ListEventPart(i, ListEvent.INSERT, list.get(i)));
+        // add all values as one insert
+        if(!list.isEmpty()) {
+            writeRun(out, ListEvent.INSERT, 0, list.size());
+            writeValues(out, list, 0, list.size(), byteCoder, new ByteArrayOutputStream());
         }
 
-        // get the whole list
-        return partsToBytes(parts, byteCoder);
+        return result;
+    }
+
+    /**
+     * Whether the specified bytes are a snapshot of a whole list, as written
+     * by {@link #toBytes(EventList, ByteCoder)}. The bytes are not consumed.
+     */
+    public static boolean isSnapshot(Bufferlo bytes) throws IOException {
+        // a snapshot starts with a clear
+        if(bytes.length() >= 2 && bytes.charAt(0) == BLOCK_FORMAT) {
+            return bytes.charAt(1) == CLEAR_RUN;
+        }
+        if(bytes.length() < 8) return false;
+        DataInputStream dataIn = new DataInputStream(bytes.duplicate().getInputStream());
+        dataIn.readInt();
+        return dataIn.readInt() == ListEventToBytes.CLEAR;
     }
 
     /**
@@ -70,6 +172,40 @@ public class ListEventToBytes {
      * for this list must already be acquired if the list is shared between threads.
      */
     public static void toListEvent(Bufferlo listEvent, EventList target, ByteCoder byteCoder) throws IOException {
+        // apply all changes within a single event of the target, if possible
+        if(target instanceof EventTransactionable) {
+            applyInTransaction((EventTransactionable<?>)target, listEvent, byteCoder);
+        } else {
+            applyEvent(listEvent, target, byteCoder);
+        }
+    }
+
+    /**
+     * Applies the specified list event within a transaction of the target, so
+     * that the target fires one event for all of its changes.
+     */
+    private static <E> void applyInTransaction(EventTransactionable<E> target, Bufferlo listEvent, ByteCoder byteCoder) throws IOException {
+        final IOException[] failure = new IOException[1];
+        target.transaction(list -> {
+            try {
+                applyEvent(listEvent, list, byteCoder);
+            } catch(IOException e) {
+                failure[0] = e;
+            }
+        });
+        if(failure[0] != null) throw failure[0];
+    }
+
+    /**
+     * Applies the specified list event to the target, in whichever format it
+     * was encoded.
+     */
+    private static void applyEvent(Bufferlo listEvent, EventList target, ByteCoder byteCoder) throws IOException {
+        if(listEvent.length() > 0 && listEvent.charAt(0) == BLOCK_FORMAT) {
+            applyRuns(listEvent, target, byteCoder);
+            return;
+        }
+
         List parts = bytesToParts(listEvent, byteCoder);
         for(Iterator i = parts.iterator(); i.hasNext(); ) {
             ListEventPart part = (ListEventPart)i.next();
@@ -86,7 +222,134 @@ public class ListEventToBytes {
     }
 
     /**
-     * Encode the parts into bytes.
+     * Writes the header of a run of changes.
+     */
+    private static void writeRun(OutputStream out, int type, int startIndex, int length) throws IOException {
+        out.write(type);
+        writeVarInt(out, startIndex);
+        writeVarInt(out, length);
+    }
+
+    /**
+     * Encodes the values of a run, each preceded by its length. Each value is
+     * encoded into the same scratch buffer and then copied into the output.
+     */
+    private static void writeValues(OutputStream out, List source, int startIndex, int length, ByteCoder delegate, ByteArrayOutputStream valueBytes) throws IOException {
+        for(int i = startIndex; i < startIndex + length; i++) {
+            valueBytes.reset();
+            delegate.encode(source.get(i), valueBytes);
+            writeVarInt(out, valueBytes.size());
+            valueBytes.writeTo(out);
+        }
+    }
+
+    /**
+     * Whether every update of a block has a previous value to encode a delta
+     * from. A value that was modified in place is its own previous value, so
+     * it cannot be encoded as a delta.
+     */
+    private static boolean isDeltaEncodable(List changes, List source, int startIndex, int length) {
+        if(changes.size() != length) return false;
+        for(int i = 0; i < length; i++) {
+            Object oldValue = ((ObjectChange)changes.get(i)).getOldValue();
+            if(oldValue == ListEvent.UNKNOWN_VALUE || oldValue == null || oldValue == source.get(startIndex + i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Encodes the differences of a run of updates, each preceded by its length.
+     */
+    private static void writeDeltas(OutputStream out, List changes, List source, int startIndex, DeltaByteCoder delegate, ByteArrayOutputStream valueBytes) throws IOException {
+        for(int i = 0; i < changes.size(); i++) {
+            valueBytes.reset();
+            delegate.encodeDelta(((ObjectChange)changes.get(i)).getOldValue(), source.get(startIndex + i), valueBytes);
+            writeVarInt(out, valueBytes.size());
+            valueBytes.writeTo(out);
+        }
+    }
+
+    /**
+     * Decodes the runs of a block encoded event and applies them to the target.
+     * Inserted values are added with a single call.
+     */
+    private static void applyRuns(Bufferlo runsAsBytes, EventList target, ByteCoder delegate) throws IOException {
+        InputStream in = runsAsBytes.getInputStream();
+        if(in.read() != BLOCK_FORMAT) throw new IOException("Expected a block encoded event");
+        byte[] valueBytes = new byte[64];
+
+        for(int type = in.read(); type != -1; type = in.read()) {
+            if(type == CLEAR_RUN) {
+                target.clear();
+                continue;
+            }
+
+            int startIndex = readVarInt(in);
+            int length = readVarInt(in);
+            if(type == ListEvent.DELETE) {
+                for(int i = 0; i < length; i++) {
+                    target.remove(startIndex);
+                }
+
+            } else if(type == UPDATE_DELTA_RUN) {
+                if(!(delegate instanceof DeltaByteCoder)) throw new IOException("Expected a DeltaByteCoder to decode deltas");
+                DeltaByteCoder deltaDelegate = (DeltaByteCoder)delegate;
+                for(int i = startIndex; i < startIndex + length; i++) {
+                    int valueLength = readVarInt(in);
+                    if(valueLength > valueBytes.length) valueBytes = new byte[Math.max(valueLength, valueBytes.length * 2)];
+                    if(in.read(valueBytes, 0, valueLength) < valueLength) throw new EOFException("Expected " + valueLength + " bytes for delta");
+                    target.set(i, deltaDelegate.decodeDelta(target.get(i), new ByteArrayInputStream(valueBytes, 0, valueLength)));
+                }
+
+            } else if(type == ListEvent.INSERT || type == ListEvent.UPDATE) {
+                List values = new ArrayList(length);
+                for(int i = 0; i < length; i++) {
+                    int valueLength = readVarInt(in);
+                    if(valueLength > valueBytes.length) valueBytes = new byte[Math.max(valueLength, valueBytes.length * 2)];
+                    if(in.read(valueBytes, 0, valueLength) < valueLength) throw new EOFException("Expected " + valueLength + " bytes for value");
+                    values.add(delegate.decode(new ByteArrayInputStream(valueBytes, 0, valueLength)));
+                }
+                if(type == ListEvent.INSERT) {
+                    target.addAll(startIndex, values);
+                } else {
+                    for(int i = 0; i < length; i++) {
+                        target.set(startIndex + i, values.get(i));
+                    }
+                }
+
+            } else {
+                throw new IOException("Unexpected run type: " + type);
+            }
+        }
+    }
+
+    /**
+     * Writes a non-negative int in 7 bit groups, least significant first.
+     */
+    private static void writeVarInt(OutputStream out, int value) throws IOException {
+        while((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Reads an int written by {@link #writeVarInt(OutputStream, int)}.
+     */
+    private static int readVarInt(InputStream in) throws IOException {
+        int value = 0;
+        for(int shift = 0; shift < 32; shift += 7) {
+            int b = in.read();
+            if(b == -1) throw new EOFException("Unexpected end of event");
+            value |= (b & 0x7F) << shift;
+            if((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * Encode the parts into bytes, the earlier format.
      */
     private static Bufferlo partsToBytes(List parts, ByteCoder delegate) throws IOException {
         // prepare the result
@@ -121,7 +384,7 @@ public class ListEventToBytes {
     }
 
     /**
-     * Decode the bytes into parts.
+     * Decode the bytes of an event encoded as parts, the earlier format.
      */
     private static List bytesToParts(Bufferlo partsAsBytes, ByteCoder delegate) throws IOException {
         // prepare the result
@@ -9,6 +9,7 @@ import java.nio.channels.Selector;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -28,6 +29,9 @@ public final class NIODaemon implements Runnable {
     /** asynch queue of tasks to execute */
     private List pendingRunnables = new ArrayList();
 
+    /** tasks to execute once their delay has passed, soonest first */
+    private final PriorityQueue<DelayedRunnable> delayedRunnables = new PriorityQueue<>();
+
     /** the only thread that shall access the network resources of this manager */
     private Thread ioThread = null;
 
@@ -73,6 +77,10 @@ public final class NIODaemon implements Runnable {
             // get the list of runnables to run
             synchronized(this) {
                 toExecute.addAll(pendingRunnables);
+                long now = System.currentTimeMillis();
+                while(!delayedRunnables.isEmpty() && delayedRunnables.peek().runAt <= now) {
+                    toExecute.add(delayedRunnables.poll().runnable);
+                }
                 toExecute.add(selectAndHandle);
                 pendingRunnables.clear();
             }
@@ -92,6 +100,7 @@ public final class NIODaemon implements Runnable {
         // do final clean up of state
         synchronized(this) {
             pendingRunnables.clear();
+            delayedRunnables.clear();
             selector = null;
             ioThread = null;
             keepRunning = false;
@@ -167,6 +176,31 @@ public final class NIODaemon implements Runnable {
         }
     }
 
+    /**
+     * Runs the specified task on the NIODaemon thread once the specified
+     * number of milliseconds has passed.
+     */
+    public void invokeLater(Runnable runnable, long delayMillis) {
+        synchronized(this) {
+            // if the server has not yet been started
+            if(!isRunning()) throw new IllegalStateException();
+
+            delayedRunnables.add(new DelayedRunnable(runnable, System.currentTimeMillis() + delayMillis));
+            wakeUp();
+        }
+    }
+
+    /**
+     * Gets how long the selector may block before a delayed task is due, in
+     * milliseconds. This is 0 if no delayed task is pending, and negative if
+     * one is due already.
+     */
+    synchronized long getSelectTimeout() {
+        if(delayedRunnables.isEmpty()) return 0;
+        long remaining = delayedRunnables.peek().runAt - System.currentTimeMillis();
+        return remaining > 0 ? remaining : -1;
+    }
+
     /**
      * Stops the NIODaemon.
      */
@@ -212,4 +246,22 @@ public final class NIODaemon implements Runnable {
     public NIOServer getServer() {
         return server;
     }
+
+    /**
+     * A task to run once a point in time has been reached.
+     */
+    private static class DelayedRunnable implements Comparable<DelayedRunnable> {
+        private final Runnable runnable;
+        private final long runAt;
+
+        DelayedRunnable(Runnable runnable, long runAt) {
+            this.runnable = runnable;
+            this.runAt = runAt;
+        }
+
+        @Override
+        public int compareTo(DelayedRunnable other) {
+            return Long.compare(runAt, other.runAt);
+        }
+    }
 }
@@ -46,10 +46,12 @@ class SelectAndHandle implements Runnable {
      * Selects keys which are ready to be processed.
      */
     void select() {
-        // This may block for a long time. Upon returning, the
-        // selected set contains keys of the ready channels
+        // This may block for a long time, but not beyond the next delayed
+        // task. Upon returning, the selected set contains keys of the ready channels
         try {
-            nioDaemon.getSelector().select();
+            long timeout = nioDaemon.getSelectTimeout();
+            if(timeout < 0) nioDaemon.getSelector().selectNow();
+            else nioDaemon.getSelector().select(timeout);
         } catch(IOException e) {
             logger.log(Level.WARNING, e.getMessage(), e);
         }
@@ -177,31 +177,20 @@ public final class Chunk {
     }
 
     /**
-     * Set the size of this Chunk. This writes the new size to disk. This requires
-     * 1 flush to disk.
+     * Set the location and size of this Chunk. Nothing is written to disk until
+     * the chunk's data is {@link #writeData(Bufferlo) written}.
      */
-    void allocateAsNew(int offset, int size) throws IOException {
+    void allocateAsNew(int offset, int size) {
         this.offset = offset;
         this.sizeToUse = 0;
         this.size[0] = size;
         this.size[1] = size;
         this.on = false;
-
-        // write the size
-        FileChannel fileChannel = persistentMap.getFileChannel();
-        Bufferlo sizeData = new Bufferlo();
-        DataOutputStream sizeDataOut = new DataOutputStream(sizeData.getOutputStream());
-
-        sizeDataOut.writeInt(0); // on == false
-        sizeDataOut.writeInt(sizeToUse);
-        sizeDataOut.writeInt(this.size[0]);
-        sizeDataOut.writeInt(this.size[1]);
-        sizeData.writeToChannel(fileChannel.position(offset));
-        fileChannel.force(false);
     }
 
     /**
-     * Deletes this Chunk. This simply marks the Chunk's on value to off.
+     * Deletes this Chunk. This simply marks the Chunk's on value to off. The
+     * change is not forced to disk.
      */
     void delete() throws IOException {
         assert(offset != -1);
@@ -209,16 +198,32 @@ public final class Chunk {
 
         // turn the chunk off
         this.on = false;
+        writeOn(0);
+    }
 
-        // write that to disk
+    /**
+     * Marks this Chunk's on value to on, once its data has been written. The
+     * change is not forced to disk.
+     */
+    void turnOn() throws IOException {
+        assert(offset != -1);
+        assert(!on);
+
+        on = true;
+        writeOn(1);
+    }
+
+    /**
+     * Writes the on value of this Chunk to disk.
+     */
+    private void writeOn(int onValue) throws IOException {
         FileChannel fileChannel = persistentMap.getFileChannel();
-        Bufferlo sizeData = new Bufferlo();
-        DataOutputStream sizeDataOut = new DataOutputStream(sizeData.getOutputStream());
+        Bufferlo onData = new Bufferlo();
+        DataOutputStream onDataOut = new DataOutputStream(onData.getOutputStream());
 
-        sizeDataOut.writeInt(0); // on == false
-        sizeData.writeToChannel(fileChannel.position(offset));
-        fileChannel.force(false);
-     }
+        onDataOut.writeInt(onValue);
+        onData.writeToChannel(fileChannel.position(offset));
+    }
 
     /**
      * Reads the chunk into memory.
@@ -264,32 +269,28 @@ public final class Chunk {
     }
 
     /**
-     * Writes the data of this chunk to file. This requires 2 flushes to disk.
+     * Appends this chunk, marked off, to the specified data. Chunks allocated
+     * one after the other can be appended to the same data and written to
+     * file together.
      */
-    void writeData() throws IOException {
+    void writeData(Bufferlo target) throws IOException {
         assert(offset != -1);
         assert(!on);
 
-        // prepare to write
-        FileChannel fileChannel = persistentMap.getFileChannel();
-        Bufferlo chunkData = new Bufferlo();
-        DataOutputStream chunkDataOut = new DataOutputStream(chunkData.getOutputStream());
+        DataOutputStream chunkDataOut = new DataOutputStream(target.getOutputStream());
+
+        // write the header
+        chunkDataOut.writeInt(0); // on == false
+        chunkDataOut.writeInt(sizeToUse);
+        chunkDataOut.writeInt(this.size[0]);
+        chunkDataOut.writeInt(this.size[1]);
 
         // write the data
         chunkDataOut.writeInt(sequenceId);
         chunkDataOut.writeInt(keyBytesLength);
         chunkDataOut.writeInt(valueBytesLength);
-        chunkData.append(keyBytes);
-        chunkData.append(valueBytes);
-
-        chunkData.writeToChannel(fileChannel.position(offset + 16));
-        fileChannel.force(false);
-
-        // turn the written data on
-        on = true;
-        chunkDataOut.writeInt(1); // on == true
-        chunkData.writeToChannel(fileChannel.position(offset));
-        fileChannel.force(false);
+        target.append(keyBytes);
+        target.append(valueBytes);
 
         // clean up stuff we don't need no more
         keyBytes = null;
@@ -0,0 +1,106 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl.pmap;
+
+// NIO is used for CTP
+import ca.odell.glazedlists.impl.io.Bufferlo;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Writes the pending changes of the persistent map to disk as one group.
+ *
+ * @deprecated The io extension and its types are deprecated.
+ *             This extension becomes unsupported and will be removed
+ *             from the official distribution with the next major release.
+ */
+@Deprecated
+class GroupCommit implements Runnable {
+
+    /** logging */
+    private static Logger logger = Logger.getLogger(GroupCommit.class.toString());
+
+    /** the host map */
+    private final PersistentMap persistentMap;
+
+    /** whether to write and sync right away rather than wait for more changes */
+    private final boolean flush;
+
+    /**
+     * Create a new GroupCommit.
+     *
+     * @param flush false to wait up to the map's group commit window for more
+     *      changes, true to write the pending changes right away and force
+     *      them to disk unless the map never syncs.
+     */
+    public GroupCommit(PersistentMap persistentMap, boolean flush) {
+        this.persistentMap = persistentMap;
+        this.flush = flush;
+    }
+
+    /**
+     * Write the pending changes to disk, as one group.
+     */
+    @Override
+    public void run() {
+        List<Chunk[]> group = persistentMap.takePendingChanges(flush);
+
+        try {
+            if(!group.isEmpty()) write(group);
+            if(flush) persistentMap.syncAll();
+        } catch(IOException e) {
+            persistentMap.fail(e, "Failed to write to file " + persistentMap.getFile().getPath());
+        }
+    }
+
+    /**
+     * Writes the specified changes.
+     *
+     * <p>This is a multiple stage procedure:
+     * <ol>
+     *   <li>Allocate one section of the file for all of the new chunks
+     *   <li>Fill the section with the new chunks, marked as empty, in a
+     *       single gathering write (sync 1)
+     *   <li>Mark the new chunks as not empty any more, and the chunks they
+     *       replace as empty (sync 2)
+     * </ol>
+     *
+     * <p>Whether the data is forced to disk at each sync depends on the map's
+     * {@link PersistentMap.Durability durability}. Either way the chunks are
+     * never marked as not empty before their data has been written.
+     */
+    private void write(List<Chunk[]> group) throws IOException {
+        // allocate and fill one contiguous section of the file
+        FileChannel fileChannel = persistentMap.getFileChannel();
+        Bufferlo groupData = new Bufferlo();
+        int groupOffset = -1;
+        for(Chunk[] change : group) {
+            Chunk newValue = change[0];
+            if(newValue == null) continue;
+            persistentMap.allocate(newValue);
+            newValue.setSequenceId(persistentMap.nextSequenceId());
+            newValue.writeData(groupData);
+            if(groupOffset == -1) groupOffset = newValue.getOffset();
+        }
+        if(groupOffset != -1) {
+            fileChannel.position(groupOffset);
+            while(groupData.length() > 0) {
+                groupData.writeToChannel(fileChannel);
+            }
+            persistentMap.syncGroupData();
+        }
+
+        // turn the new values on and the old values off
+        for(Chunk[] change : group) {
+            if(change[0] != null) change[0].turnOn();
+            if(change[1] != null) change[1].delete();
+        }
+        persistentMap.syncGroup();
+
+        logger.fine("Successfully wrote " + group.size() + " changes");
+    }
+}
@@ -28,12 +28,16 @@ class LoadValue implements Runnable {
     /** the interested party */
     private final ValueCallback valueCallback;
 
+    /** whether the chunk was the current value for its key when it was requested */
+    private final boolean current;
+
     /**
      * Create a new LoadValue.
      */
     public LoadValue(Chunk chunk, ValueCallback valueCallback) {
         this.chunk = chunk;
         this.valueCallback = valueCallback;
+        this.current = (chunk.getPersistentMap().get(chunk.getKey()) == chunk);
     }
 
     /**
@@ -42,7 +46,11 @@ class LoadValue implements Runnable {
     @Override
     public void run() {
         try {
-            if(!chunk.isOn()) throw new IOException("Chunk has been destroyed");
+            // the chunk may still be waiting to be written
+            if(!chunk.isOn()) new GroupCommit(chunk.getPersistentMap(), true).run();
+
+            // chunks replaced since the request are still on disk, since space is never reused
+            if(!current && !chunk.isOn()) throw new IOException("Chunk has been destroyed");
             valueCallback.valueLoaded(chunk, chunk.readValue());
 
         } catch(IOException e) {
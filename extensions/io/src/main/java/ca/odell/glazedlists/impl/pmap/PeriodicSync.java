@@ -5,48 +5,37 @@ package ca.odell.glazedlists.impl.pmap;
 
 // NIO is used for CTP
 import java.io.IOException;
-import java.util.logging.Logger;
 
 /**
- * Removes a chunk from the persistent map.
- *
- * @author <a href="mailto:jesse@swank.ca">Jesse Wilson</a>
+ * Forces the data written by the persistent map to disk, one sync interval
+ * after a group of changes was written without being forced.
  *
  * @deprecated The io extension and its types are deprecated.
  *             This extension becomes unsupported and will be removed
  *             from the official distribution with the next major release.
  */
 @Deprecated
-class RemoveChunk implements Runnable {
-
-    /** logging */
-    private static Logger logger = Logger.getLogger(RemoveChunk.class.toString());
+class PeriodicSync implements Runnable {
 
     /** the host map */
     private final PersistentMap persistentMap;
 
-    /** the value to erase */
-    private final Chunk chunk;
-
     /**
-     * Create a new RemoveChunk.
+     * Create a new PeriodicSync.
      */
-    public RemoveChunk(PersistentMap persistentMap, Chunk chunk) {
+    public PeriodicSync(PersistentMap persistentMap) {
         this.persistentMap = persistentMap;
-        this.chunk = chunk;
     }
 
     /**
-     * Removes the chunk by marking it off.
+     * Force the written data to disk.
      */
     @Override
     public void run() {
         try {
-            chunk.delete();
-            logger.info("Successfully removed value for key \"" + chunk.getKey() + "\"");
-
+            persistentMap.syncPeriodically();
         } catch(IOException e) {
-            persistentMap.fail(e, "Failed to write to file " + persistentMap.getFile().getPath());
+            persistentMap.fail(e, "Failed to sync file " + persistentMap.getFile().getPath());
         }
     }
 }
@@ -13,9 +13,11 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.io.Serializable;
 import java.nio.channels.FileChannel;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
@@ -28,6 +30,11 @@ import java.util.logging.Logger;
  * operations will be immediate, but will return without having taken effect on disk.
  * To flush the disk, call {@link #flush()}.
  *
+ * <p>Changes are written in groups: the changes made while the previous group
+ * is being written, or within the {@link #setGroupCommit(long, int) group commit
+ * window}, are written to the file together with a single gathering write. How
+ * often written data is forced to disk is set by the map's {@link Durability}.
+ *
  * @author <a href="mailto:jesse@swank.ca">Jesse Wilson</a>
  *
  * @deprecated The io extension and its types are deprecated.
@@ -41,12 +48,28 @@ public final class PersistentMap implements Map {
     // Each entry is stored as a chunk in a file.
     // The chunks are allocated, modified and then turned on
     // All access is serialized
+    //
+    // Changes are queued as pairs of new and old chunks, and the queue is
+    // drained by a GroupCommit on the nio daemon. A put followed by a remove
+    // of the same key may end up in the same group, so both must be queued.
+
+    /**
+     * How often the data written is forced to disk.
+     */
+    public enum Durability {
+        /** force each group of changes to disk, the safest choice */
+        SYNC_EACH_GROUP,
+        /** force changes to disk within one sync interval of being written, and on flush */
+        SYNC_PERIODICALLY,
+        /** leave it to the operating system to write changes to disk */
+        NEVER_SYNC
+    }
 
     /** logging */
     private static Logger logger = Logger.getLogger(PersistentMap.class.toString());
 
-    /** read and write without ever flushing meta-data such as file-mod date */
-    private static final String FILE_ACCESS_MODE = "rwd";
+    /** read and write, forcing data to disk only as the durability requires */
+    private static final String FILE_ACCESS_MODE = "rw";
 
     /** the file where all the data is stored */
     private File file = null;
@@ -67,6 +90,27 @@ public final class PersistentMap implements Map {
     /** just allocate bytes in order */
     private int nextAvailableByte = 8;
 
+    /** the changes not yet written, as pairs of new and old chunks, guarded by itself */
+    private final List<Chunk[]> pendingChanges = new ArrayList<>();
+    private int pendingBytes = 0;
+    private boolean commitScheduled = false;
+    private boolean commitNow = false;
+
+    /** how long and for how many bytes a group waits for more changes */
+    private volatile long groupCommitWindow = 0;
+    private volatile int groupCommitBytes = 1024 * 1024;
+
+    /** how often the data written is forced to disk */
+    private volatile Durability durability = Durability.SYNC_EACH_GROUP;
+    private volatile long syncInterval = 1000;
+
+    /** whether there is data written but not forced, and whether a force is scheduled */
+    private boolean unsynced = false;
+    private boolean syncScheduled = false;
+
+    /** how often written data has been forced to disk */
+    private volatile int syncCount = 0;
+
     /**
      * Creates a new PersistentMap for the specified file that uses the {@link Serializable}
      * interface to convert keys to bytes.
@@ -93,11 +137,44 @@ public final class PersistentMap implements Map {
         nioDaemon.invokeAndWait(new OpenFile(this));
     }
 
+    /**
+     * Sets how long a group of changes waits for more changes before it is
+     * written, and how many bytes of changes are written without waiting any
+     * longer. The default window of 0 writes each group as soon as the previous
+     * one is done, which groups changes only while writing is the bottleneck.
+     */
+    public void setGroupCommit(long windowMillis, int maxGroupBytes) {
+        if(windowMillis < 0) throw new IllegalArgumentException("windowMillis must not be negative: " + windowMillis);
+        if(maxGroupBytes < 1) throw new IllegalArgumentException("maxGroupBytes must be positive: " + maxGroupBytes);
+        this.groupCommitWindow = windowMillis;
+        this.groupCommitBytes = maxGroupBytes;
+    }
+
+    /**
+     * Sets how often the data written is forced to disk. The sync interval is
+     * only used with {@link Durability#SYNC_PERIODICALLY}. By default each
+     * group of changes is forced to disk.
+     */
+    public void setDurability(Durability durability, long syncIntervalMillis) {
+        if(durability == null) throw new IllegalArgumentException("durability must not be null");
+        if(syncIntervalMillis < 0) throw new IllegalArgumentException("syncIntervalMillis must not be negative: " + syncIntervalMillis);
+        this.durability = durability;
+        this.syncInterval = syncIntervalMillis;
+    }
+
+    /**
+     * Gets how often the data written is forced to disk.
+     */
+    public Durability getDurability() {
+        return durability;
+    }
+
     /**
      * Closes the file used by this PersistentMap.
      */
     public void close() {
-        // close the file
+        // write the pending changes, and close the file
+        flush();
         nioDaemon.invokeAndWait(new CloseFile(this));
 
         // invalidate the local state
@@ -105,11 +182,19 @@ public final class PersistentMap implements Map {
     }
 
     /**
-     * Blocks until all pending writes to disk have completed.
+     * Blocks until all pending writes to disk have completed. Unless the
+     * durability is {@link Durability#NEVER_SYNC}, the writes are also forced
+     * to disk.
      */
     public void flush() {
+        // stop waiting for more changes to join the current group
+        synchronized(pendingChanges) {
+            commitNow = true;
+            pendingChanges.notifyAll();
+        }
+
         // ensure all pending changes have been written
-        nioDaemon.invokeAndWait(NoOp.instance());
+        nioDaemon.invokeAndWait(new GroupCommit(this, true));
     }
 
     /**
@@ -162,7 +247,7 @@ public final class PersistentMap implements Map {
         Chunk oldValue = (Chunk)map.put(key, newValue);
 
         // write the chunk
-        nioDaemon.invokeLater(new AddChunk(this, newValue, oldValue));
+        queueChange(newValue, oldValue);
 
         // return the previous value
         return oldValue;
@@ -188,7 +273,7 @@ public final class PersistentMap implements Map {
         if(removed == null) return null;
 
         // remove from disk
-        nioDaemon.invokeLater(new RemoveChunk(this, removed));
+        queueChange(null, removed);
 
         // return the removed value
         return removed;
@@ -236,6 +321,111 @@ public final class PersistentMap implements Map {
         return map.size();
     }
 
+    /**
+     * Queues a change to be written by the next {@link GroupCommit}, and
+     * schedules one if necessary.
+     */
+    private void queueChange(Chunk newValue, Chunk oldValue) {
+        synchronized(pendingChanges) {
+            pendingChanges.add(new Chunk[] { newValue, oldValue });
+            if(newValue != null) pendingBytes += newValue.bytesRequired();
+            if(pendingBytes >= groupCommitBytes) pendingChanges.notifyAll();
+
+            // a commit is already on its way
+            if(commitScheduled) return;
+            commitScheduled = true;
+        }
+        nioDaemon.invokeLater(new GroupCommit(this, false));
+    }
+
+    /**
+     * Takes all pending changes. Unless flushing, this first waits for the
+     * group commit window or byte budget. This is only called from the nio daemon.
+     */
+    List<Chunk[]> takePendingChanges(boolean flush) {
+        synchronized(pendingChanges) {
+            if(!flush && groupCommitWindow > 0) {
+                long deadline = System.currentTimeMillis() + groupCommitWindow;
+                while(!commitNow && pendingBytes < groupCommitBytes) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if(remaining <= 0) break;
+                    try {
+                        pendingChanges.wait(remaining);
+                    } catch(InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+
+            List<Chunk[]> result = new ArrayList<>(pendingChanges);
+            pendingChanges.clear();
+            pendingBytes = 0;
+            commitScheduled = false;
+            commitNow = false;
+            return result;
+        }
+    }
+
+    /**
+     * Forces the data of a group to disk before its chunks are turned on, if
+     * the durability requires it.
+     */
+    void syncGroupData() throws IOException {
+        unsynced = true;
+        if(durability == Durability.SYNC_EACH_GROUP) sync();
+    }
+
+    /**
+     * Forces a completed group to disk, if the durability requires it. When
+     * syncing periodically, the first group not forced schedules a
+     * {@link PeriodicSync} one sync interval later, so that no group stays
+     * unforced for longer than that, even if no other group follows.
+     */
+    void syncGroup() throws IOException {
+        unsynced = true;
+        Durability durability = this.durability;
+        if(durability == Durability.SYNC_EACH_GROUP) {
+            sync();
+        } else if(durability == Durability.SYNC_PERIODICALLY && !syncScheduled) {
+            syncScheduled = true;
+            nioDaemon.invokeLater(new PeriodicSync(this), syncInterval);
+        }
+    }
+
+    /**
+     * Forces the data written since the {@link PeriodicSync} was scheduled to
+     * disk, unless that already happened or the file has been closed.
+     */
+    void syncPeriodically() throws IOException {
+        syncScheduled = false;
+        if(unsynced && durability != Durability.NEVER_SYNC && fileChannel.isOpen()) sync();
+    }
+
+    /**
+     * Forces all data written to disk, unless the durability is
+     * {@link Durability#NEVER_SYNC}.
+     */
+    void syncAll() throws IOException {
+        if(unsynced && durability != Durability.NEVER_SYNC) sync();
+    }
+
+    /**
+     * Forces all written data to disk.
+     */
+    private void sync() throws IOException {
+        fileChannel.force(false);
+        unsynced = false;
+        syncCount++;
+    }
+
+    /**
+     * Gets how often written data has been forced to disk.
+     */
+    int getSyncCount() {
+        return syncCount;
+    }
+
     /**
      * Gets the next logical sequence ID for a new chunk and increments the value
      * for the next caller.
@@ -302,7 +492,7 @@ public final class PersistentMap implements Map {
      * <p>More bytes may be allocated than necessary, and it is absolutely mandatory
      * that chunks consume the full number of bytes allocated to them.
      */
-    void allocate(Chunk value) throws IOException {
+    void allocate(Chunk value) {
         int offset = nextAvailableByte;
         int size = value.bytesRequired();
         nextAvailableByte += size;
@@ -68,12 +68,48 @@ public class Peer implements CTPHandlerFactory {
         connectionManager.start();
     }
 
+    /**
+     * Sets whether new connections compress their data, if the other peer
+     * agrees.
+     */
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        connectionManager.setCompressionEnabled(compressionEnabled);
+    }
+
+    /**
+     * Sets whether new connections exchange block encoded events, if the
+     * other peer supports them.
+     */
+    public void setBlockEventsEnabled(boolean blockEventsEnabled) {
+        connectionManager.setBlockEventsEnabled(blockEventsEnabled);
+    }
+
     /**
      * Stops the peer.
      */
     public void stop() {
         connectionManager.getNIODaemon().invokeAndWait(new StopRunnable());
     }
+
+    /**
+     * Gets the number of bytes received over the network by the active
+     * connections of this peer.
+     */
+    public long getBytesReceived() {
+        BytesReceivedRunnable bytesReceived = new BytesReceivedRunnable();
+        connectionManager.getNIODaemon().invokeAndWait(bytesReceived);
+        return bytesReceived.bytesReceived;
+    }
+    private class BytesReceivedRunnable implements Runnable {
+        private long bytesReceived = 0;
+        @Override
+        public void run() {
+            for(Iterator c = connections.iterator(); c.hasNext(); ) {
+                PeerConnection connection = (PeerConnection)c.next();
+                bytesReceived += connection.getBytesReceived();
+            }
+        }
+    }
     private class StopRunnable implements Runnable {
         @Override
         public void run() {
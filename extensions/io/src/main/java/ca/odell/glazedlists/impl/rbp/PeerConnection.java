@@ -207,6 +207,20 @@ class PeerConnection implements CTPHandler {
         }
     }
 
+    /**
+     * Gets whether the remote peer supports block encoded events.
+     */
+    boolean supportsBlockEvents() {
+        return connection != null && connection.supportsBlockEvents();
+    }
+
+    /**
+     * Gets the number of bytes received over the network by this connection.
+     */
+    long getBytesReceived() {
+        return connection == null ? 0 : connection.getBytesReceived();
+    }
+
     /**
      * Gets this connection as a String.
      */
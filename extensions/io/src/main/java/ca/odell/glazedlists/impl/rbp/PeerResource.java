@@ -84,9 +84,23 @@ class PeerResource {
         } else {
             subscribers.remove(connection);
             connection.getConnection().outgoingPublications.remove(resourceUri);
+            updateCompatibleDeltasRequired();
         }
     }
 
+    /**
+     * Tells the resource whether a subscriber's peer doesn't support block
+     * encoded events, and therefore needs the compatible deltas.
+     */
+    private void updateCompatibleDeltasRequired() {
+        boolean compatibleDeltasRequired = false;
+        for(int s = 0; s < subscribers.size(); s++) {
+            ResourceConnection subscriber = (ResourceConnection)subscribers.get(s);
+            if(!subscriber.getConnection().supportsBlockEvents()) compatibleDeltasRequired = true;
+        }
+        resource.setCompatibleDeltasRequired(compatibleDeltasRequired);
+    }
+
     /**
      * Listens to changes in the resource, so they can be broadcast to subscribers.
      */
@@ -97,14 +111,20 @@ class PeerResource {
          */
         @Override
         public void resourceUpdated(Resource resource, Bufferlo delta) {
+            resourceUpdated(resource, delta, delta);
+        }
+        @Override
+        public void resourceUpdated(Resource resource, Bufferlo delta, Bufferlo compatibleDelta) {
             resourceUpdateId++;
-            peer.invokeLater(new UpdatedRunnable(delta, resourceUpdateId));
+            peer.invokeLater(new UpdatedRunnable(delta, compatibleDelta, resourceUpdateId));
         }
         private class UpdatedRunnable implements Runnable {
             private Bufferlo delta = null;
+            private Bufferlo compatibleDelta = null;
             private int updateId = -1;
-            public UpdatedRunnable(Bufferlo delta, int updateId) {
+            public UpdatedRunnable(Bufferlo delta, Bufferlo compatibleDelta, int updateId) {
                 this.delta = delta;
+                this.compatibleDelta = compatibleDelta;
                 this.updateId = updateId;
             }
             @Override
@@ -112,14 +132,21 @@ class PeerResource {
                 // if nobody's listening, we're done
                 if(subscribers.isEmpty()) return;
 
-                // forward the event to listeners
+                // forward the event to listeners, in the format each of them can read
                 PeerBlock block = PeerBlock.update(resourceUri, sessionId, updateId, delta);
+                PeerBlock compatibleBlock = null;
 
                 // send the block to interested subscribers
                 for(int s = 0; s < subscribers.size(); s++) {
                     ResourceConnection subscriber = (ResourceConnection)subscribers.get(s);
                     if(subscriber.getUpdateId() >= updateId) continue;
-                    subscriber.getConnection().writeBlock(PeerResource.this, block);
+                    if(subscriber.getConnection().supportsBlockEvents()) {
+                        subscriber.getConnection().writeBlock(PeerResource.this, block);
+                    } else {
+                        if(compatibleDelta == null) throw new IllegalStateException("No compatible delta for update " + updateId);
+                        if(compatibleBlock == null) compatibleBlock = PeerBlock.update(resourceUri, sessionId, updateId, compatibleDelta);
+                        subscriber.getConnection().writeBlock(PeerResource.this, compatibleBlock);
+                    }
                     subscriber.setUpdateId(updateId);
                 }
             }
@@ -212,6 +239,7 @@ class PeerResource {
                         if(subscriber.getConnection().isIdle()) subscriber.getConnection().close();
                         s.remove();
                     }
+                    resource.setCompatibleDeltasRequired(false);
                 }
             }
         }
@@ -280,21 +308,22 @@ class PeerResource {
     private void remoteSubscribe(ResourceConnection subscriber, PeerBlock block) {
         // we're accepting connections
         if(resourceStatus.isConnected()) {
-            // save the update id and a snapshot
+            // save the update id and a snapshot, in a format the subscriber can read
             int updateId = -1;
             Bufferlo snapshot = null;
             resource.getReadWriteLock().writeLock().lock();
             try {
+                // create the subscription, so that later deltas are readable too
+                subscribers.add(subscriber);
+                updateCompatibleDeltasRequired();
+
                 updateId = resourceUpdateId;
-                snapshot = resource.toSnapshot();
+                snapshot = subscriber.getConnection().supportsBlockEvents() ? resource.toSnapshot() : resource.toCompatibleSnapshot();
             } finally {
                 resource.getReadWriteLock().writeLock().unlock();
             }
-
-            // create the subscription
             subscriber.setUpdateId(updateId);
             subscriber.getConnection().outgoingPublications.put(resourceUri, subscriber);
-            subscribers.add(subscriber);
 
             // now send the snapshot to this subscriber
             PeerBlock subscribeConfirm = PeerBlock.subscribeConfirm(resourceUri, sessionId, updateId, snapshot);
@@ -330,6 +359,7 @@ class PeerResource {
         // remove the subscription
         subscribers.remove(subscriber);
         subscriber.getConnection().outgoingPublications.remove(resourceUri);
+        updateCompatibleDeltasRequired();
     }
     private void remoteUnpublish(ResourceConnection subscriber, PeerBlock block) {
         // immediately disconnected
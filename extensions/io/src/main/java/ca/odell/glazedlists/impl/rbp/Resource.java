@@ -25,6 +25,26 @@ public interface Resource {
      */
     public Bufferlo toSnapshot();
 
+    /**
+     * Get a binary snapshot of this resource that peers which don't support
+     * block encoded events can read. By default this is the same as
+     * {@link #toSnapshot()}.
+     */
+    public default Bufferlo toCompatibleSnapshot() {
+        return toSnapshot();
+    }
+
+    /**
+     * Sets whether each delta must also be given to the {@link ResourceListener}s
+     * in a format that peers which don't support block encoded events can read,
+     * because such a peer has subscribed. They are required from the time of
+     * the call, which is made while holding the write lock when such a peer
+     * subscribes. By default the deltas are readable by every peer already.
+     */
+    public default void setCompatibleDeltasRequired(boolean compatibleDeltasRequired) {
+        // every delta is compatible
+    }
+
     /**
      * Populate this resource with the data from the specified snapshot.
      */
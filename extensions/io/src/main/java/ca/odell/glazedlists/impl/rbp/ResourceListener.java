@@ -24,4 +24,18 @@ public interface ResourceListener {
      * will be called while holding the Resource's write lock.
      */
     public void resourceUpdated(Resource resource, Bufferlo delta);
+
+    /**
+     * Handles a change in a resource contained by the specified delta, which
+     * is also given in the format that peers which don't support block encoded
+     * events can read. This method will be called while holding the Resource's
+     * write lock.
+     *
+     * @param compatibleDelta the same change as <code>delta</code> in the
+     *      compatible format, or <code>null</code> if the {@link Resource} was
+     *      told that no compatible deltas are required
+     */
+    public default void resourceUpdated(Resource resource, Bufferlo delta, Bufferlo compatibleDelta) {
+        resourceUpdated(resource, delta);
+    }
 }
@@ -0,0 +1,60 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A {@link ByteCoder} that can also encode an updated Object as the difference
+ * from its previous value. When a {@link NetworkList} is published with a
+ * {@link DeltaByteCoder}, updates whose previous values are known are sent to
+ * subscribers as deltas, so that changing one field of a wide element sends only
+ * the bytes of that field.
+ *
+ * <p>A typical implementation encodes a bitmask of the changed fields, followed
+ * by the values of those fields only:
+ * <pre>
+ * public void encodeDelta(Object oldValue, Object newValue, OutputStream target) throws IOException {
+ *     Customer oldCustomer = (Customer)oldValue;
+ *     Customer newCustomer = (Customer)newValue;
+ *     DataOutputStream dataOut = new DataOutputStream(target);
+ *     int changed = 0;
+ *     if(!oldCustomer.getName().equals(newCustomer.getName())) changed |= 1;
+ *     if(!oldCustomer.getCity().equals(newCustomer.getCity())) changed |= 2;
+ *     dataOut.writeByte(changed);
+ *     if((changed &amp; 1) != 0) dataOut.writeUTF(newCustomer.getName());
+ *     if((changed &amp; 2) != 0) dataOut.writeUTF(newCustomer.getCity());
+ *     dataOut.flush();
+ * }
+ * </pre>
+ *
+ * <p>Deltas are only used when the {@link ca.odell.glazedlists.event.ListEvent}
+ * carries the previous values of its updates and the previous and new values
+ * are distinct Objects. Otherwise the new value is encoded whole.
+ *
+ * @deprecated The io extension and its types are deprecated.
+ *             This extension becomes unsupported and will be removed
+ *             from the official distribution with the next major release.
+ */
+@Deprecated
+public interface DeltaByteCoder extends ByteCoder {
+
+    /**
+     * Encode the difference between the specified Objects over the specified
+     * {@link OutputStream}, such that {@link #decodeDelta(Object, InputStream)}
+     * can recreate the new value from the old one.
+     */
+    public void encodeDelta(Object oldValue, Object newValue, OutputStream target) throws IOException;
+
+    /**
+     * Decode the new value of an Object from its old value and the difference
+     * read from the specified {@link InputStream}. The stream should contain
+     * exactly one difference and no further bytes before the end of the stream.
+     * The old value must not be modified, since it may still be referenced
+     * elsewhere.
+     */
+    public Object decodeDelta(Object oldValue, InputStream source) throws IOException;
+}
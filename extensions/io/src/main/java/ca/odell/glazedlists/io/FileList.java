@@ -16,6 +16,7 @@ import ca.odell.glazedlists.util.concurrent.ReadWriteLock;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.SortedMap;
 import java.util.TreeMap;
@@ -23,6 +24,12 @@ import java.util.TreeMap;
 /**
  * An {@link EventList} that is persisted to disk.
  *
+ * <p>Each change is appended to the file as an update, and the updates are
+ * replayed when the file is opened. To keep opening the file fast, the list
+ * writes a snapshot of all its elements once the updates since the last
+ * snapshot exceed a {@link #setCompactionThreshold(int, long) threshold}, and
+ * removes the updates that the snapshot replaces.
+ *
  * <p><font size="5"><strong><font color="#FF0000">Warning:</font></strong> This
  * class is a technology preview and is subject to API changes.</font>
  *
@@ -32,7 +39,7 @@ import java.util.TreeMap;
  * <tr><td class="TableSubHeadingColor"><b>Concurrency:</b></td><td>Requires {@link ReadWriteLock} for every access, even for single-threaded use</td></tr>
  * <tr><td class="TableSubHeadingColor"><b>Performance:</b></td><td>N/A</td></tr>
  * <tr><td class="TableSubHeadingColor"><b>Memory:</b></td><td>O(N)</td></tr>
- * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>N/A</td></tr>
+ * <tr><td class="TableSubHeadingColor"><b>Unit Tests:</b></td><td>FileListTest</td></tr>
  * <tr><td class="TableSubHeadingColor"><b>Issues:</b></td><td>N/A</td></tr>
  * </table>
  *
@@ -45,6 +52,12 @@ import java.util.TreeMap;
 @Deprecated
 public final class FileList extends TransformedList {
 
+    /** the default number of updates after which a snapshot is written */
+    private static final int DEFAULT_MAX_LOG_LENGTH = 10000;
+
+    /** the default number of bytes of updates after which a snapshot is written */
+    private static final long DEFAULT_MAX_LOG_BYTES = 8 * 1024 * 1024;
+
     /** the destination file, just for user convenience */
     private File file = null;
 
@@ -60,6 +73,14 @@ public final class FileList extends TransformedList {
     /** whether this list can be modified */
     private boolean writable = true;
 
+    /** the number and total size of the updates since the last snapshot */
+    private int logLength = 0;
+    private long logBytes = 0;
+
+    /** write a snapshot once the updates since the last snapshot exceed either limit */
+    private int maxLogLength = DEFAULT_MAX_LOG_LENGTH;
+    private long maxLogBytes = DEFAULT_MAX_LOG_BYTES;
+
     /**
      * Create a {@link FileList} that stores its data in the specified file.
      */
@@ -73,26 +94,104 @@ public final class FileList extends TransformedList {
 
         // sequence the updates
         SortedMap sequentialUpdates = new TreeMap();
+        Integer lastSnapshotKey = null;
         for(Iterator k = storage.keySet().iterator(); k.hasNext(); ) {
             Integer key = (Integer)k.next();
             Bufferlo valueBuffer = ((Chunk)storage.get(key)).getValue();
             sequentialUpdates.put(key, valueBuffer);
+            if(ListEventToBytes.isSnapshot(valueBuffer) && (lastSnapshotKey == null || key.intValue() > lastSnapshotKey.intValue())) {
+                lastSnapshotKey = key;
+            }
+        }
+
+        // prepare the next update id to use
+        if(!sequentialUpdates.isEmpty()) {
+            nextUpdateId = ((Integer)sequentialUpdates.lastKey()).intValue() + 1;
         }
 
-        // replay all the updates from the file
+        // the updates before the last snapshot are left over from a compaction
+        // that didn't finish, so finish it
+        if(lastSnapshotKey != null) {
+            SortedMap replacedUpdates = sequentialUpdates.headMap(lastSnapshotKey);
+            for(Iterator r = replacedUpdates.keySet().iterator(); r.hasNext(); ) {
+                storage.remove(r.next());
+            }
+            sequentialUpdates = sequentialUpdates.tailMap(lastSnapshotKey);
+        }
+
+        // replay the snapshot and the updates after it
         for(Iterator u = sequentialUpdates.keySet().iterator(); u.hasNext(); ) {
             Integer key = (Integer)u.next();
             Bufferlo update = (Bufferlo)sequentialUpdates.get(key);
+            if(!key.equals(lastSnapshotKey)) {
+                logLength++;
+                logBytes += update.length();
+            }
             ListEventToBytes.toListEvent(update, this, byteCoder);
         }
 
-        // prepare the next update id to use
-        if(!sequentialUpdates.isEmpty()) {
-            nextUpdateId = ((Integer)sequentialUpdates.lastKey()).intValue() + 1;
-        }
-
         // now that we're up-to-date, listen for further events
         source.addListEventListener(this);
+
+        // don't replay a long log again next time
+        if(isCompactionDue()) compact();
+    }
+
+    /**
+     * Set how long the log of updates may grow before a snapshot replaces it.
+     * A snapshot is written once there are more than <code>maxLogLength</code>
+     * updates or more than <code>maxLogBytes</code> bytes of updates since the
+     * last snapshot. Writing a snapshot takes time proportional to the size of
+     * the list, so the thresholds trade the cost of writes for the time taken
+     * to open the file.
+     */
+    public void setCompactionThreshold(int maxLogLength, long maxLogBytes) {
+        if(maxLogLength < 1) throw new IllegalArgumentException("maxLogLength must be positive: " + maxLogLength);
+        if(maxLogBytes < 1) throw new IllegalArgumentException("maxLogBytes must be positive: " + maxLogBytes);
+        this.maxLogLength = maxLogLength;
+        this.maxLogBytes = maxLogBytes;
+    }
+
+    /**
+     * Get the number of updates written since the last snapshot. These are
+     * replayed after the snapshot when the file is opened.
+     */
+    public int getLogLength() {
+        return logLength;
+    }
+
+    /**
+     * Whether the updates since the last snapshot exceed the threshold.
+     */
+    private boolean isCompactionDue() {
+        return logLength > maxLogLength || logBytes > maxLogBytes;
+    }
+
+    /**
+     * Write a snapshot of the whole list and remove the updates it replaces,
+     * so that opening the file replays only the snapshot and the updates after
+     * it. This happens automatically once the updates exceed the
+     * {@link #setCompactionThreshold(int, long) compaction threshold}.
+     *
+     * <p>The snapshot is written before the updates are removed, so the list
+     * is intact if it is interrupted.
+     */
+    public void compact() throws IOException {
+        if(storage == null) throw new IllegalStateException("Cannot compact a closed FileList");
+
+        // write the snapshot
+        Integer snapshotKey = Integer.valueOf(nextUpdateId);
+        Bufferlo snapshot = ListEventToBytes.toBytes((EventList)this, byteCoder);
+        storage.put(snapshotKey, new Chunk(snapshot));
+        nextUpdateId++;
+
+        // remove everything it replaces
+        for(Iterator k = new ArrayList(storage.keySet()).iterator(); k.hasNext(); ) {
+            Integer key = (Integer)k.next();
+            if(key.intValue() < snapshotKey.intValue()) storage.remove(key);
+        }
+        logLength = 0;
+        logBytes = 0;
     }
 
     /** {@inheritDoc} */
@@ -108,9 +207,14 @@ public final class FileList extends TransformedList {
         try {
             ListEvent listChangesCopy = listChanges.copy();
             Bufferlo listChangesBytes = ListEventToBytes.toBytes(listChangesCopy, byteCoder);
-            storage.put(new Integer(nextUpdateId), new Chunk(listChangesBytes));
+            logLength++;
+            logBytes += listChangesBytes.length();
+            storage.put(Integer.valueOf(nextUpdateId), new Chunk(listChangesBytes));
             nextUpdateId++;
 
+            // replace a long log with a snapshot
+            if(isCompactionDue()) compact();
+
         } catch(IOException e) {
             throw new IllegalStateException(e.getMessage());
         }
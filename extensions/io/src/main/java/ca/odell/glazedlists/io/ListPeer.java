@@ -65,6 +65,34 @@ public class ListPeer {
         peer.stop();
     }
 
+    /**
+     * Sets whether connections to and from this peer compress the data they
+     * send, which is particularly effective for wide or repetitive elements.
+     * Data is compressed only when both peers have compression enabled, and
+     * the setting applies only to connections established afterwards.
+     * Compression is enabled by default.
+     */
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        peer.setCompressionEnabled(compressionEnabled);
+    }
+
+    /**
+     * Sets whether connections to and from this peer exchange block encoded
+     * events. When disabled, this peer talks to others like a peer that
+     * predates the block format.
+     */
+    void setBlockEventsEnabled(boolean blockEventsEnabled) {
+        peer.setBlockEventsEnabled(blockEventsEnabled);
+    }
+
+    /**
+     * Gets the number of bytes received over the network by the active
+     * connections of this ListPeer.
+     */
+    long getBytesReceived() {
+        return peer.getBytesReceived();
+    }
+
     /**
      * Prints the full state of this ListPeer.
      */
@@ -94,6 +94,9 @@ public final class NetworkList<E> extends TransformedList<E, E> {
     /** whether this NetworkList is writable via its own API */
     private boolean writable = false;
 
+    /** whether changes must also be encoded for peers that don't support block encoded events */
+    private volatile boolean compatibleDeltasRequired = false;
+
     /** implementations of ResourceStatusListener and Resource */
     private PrivateInterfaces privateInterfaces = new PrivateInterfaces();
 
@@ -141,9 +144,14 @@ public final class NetworkList<E> extends TransformedList<E, E> {
         try {
             ListEvent<E> listChangesCopy = listChanges.copy();
             Bufferlo listChangesBytes = ListEventToBytes.toBytes(listChangesCopy, byteCoder);
+            Bufferlo compatibleBytes = null;
+            if(compatibleDeltasRequired) {
+                listChangesCopy.reset();
+                compatibleBytes = ListEventToBytes.toBytes(listChangesCopy, byteCoder, false);
+            }
             for(int r = 0; r < resourceListeners.size(); r++) {
                 ResourceListener listener = resourceListeners.get(r);
-                listener.resourceUpdated(privateInterfaces, listChangesBytes.duplicate());
+                listener.resourceUpdated(privateInterfaces, listChangesBytes.duplicate(), compatibleBytes == null ? null : compatibleBytes.duplicate());
             }
         } catch(IOException e) {
             throw new IllegalStateException(e.getMessage());
@@ -220,6 +228,25 @@ public final class NetworkList<E> extends TransformedList<E, E> {
             }
         }
 
+        /** {@inheritDoc} */
+        @Override
+        public Bufferlo toCompatibleSnapshot() {
+            getReadWriteLock().writeLock().lock();
+            try {
+                return ListEventToBytes.toBytes(NetworkList.this, byteCoder, false);
+            } catch(IOException e) {
+                throw new IllegalStateException(e.getMessage());
+            } finally {
+                getReadWriteLock().writeLock().unlock();
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void setCompatibleDeltasRequired(boolean compatibleDeltasRequired) {
+            NetworkList.this.compatibleDeltasRequired = compatibleDeltasRequired;
+        }
+
         /** {@inheritDoc} */
         @Override
         public void fromSnapshot(Bufferlo snapshot) {
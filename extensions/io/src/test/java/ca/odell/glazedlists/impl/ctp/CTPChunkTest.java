@@ -3,6 +3,8 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists.impl.ctp;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 // for being a JUnit test case
@@ -156,4 +158,48 @@ public class CTPChunkTest {
         server.assertComplete(1000);
         server.close();
     }
+
+    /**
+     * Verifies that connections compress their chunks when enabled, by counting
+     * the bytes received on the wire for the same repetitive data.
+     */
+    @Test
+    public void testCompression() throws Exception {
+        StringBuffer row = new StringBuffer();
+        for(int i = 0; i < 20; i++) {
+            row.append("field").append(i).append('=').append(RandomDataFactory.nextString(3)).append(';');
+        }
+
+        long compressedBytes = sendRows(row.toString(), true);
+        long uncompressedBytes = sendRows(row.toString(), false);
+        assertTrue("Compressed " + compressedBytes + " bytes vs. " + uncompressedBytes,
+                compressedBytes * 4 < uncompressedBytes);
+    }
+
+    /**
+     * Sends the specified row many times from the client to the server, and
+     * gets the number of bytes the server received.
+     */
+    private long sendRows(String row, boolean compressionEnabled) throws Exception {
+        connectionManager.setCompressionEnabled(compressionEnabled);
+        StaticCTPHandler client = new StaticCTPHandler();
+        StaticCTPHandler server = new StaticCTPHandler();
+        for(int i = 0; i < 200; i++) {
+            client.addEnqueued(row);
+            server.addExpected(row);
+        }
+
+        handlerFactory.addHandler(server);
+        connectionManager.connect(client, "localhost", serverPort);
+
+        client.assertComplete(1000);
+        server.assertComplete(1000);
+        CTPConnection connection = server.getConnection();
+        if(compressionEnabled) assertTrue(connection.isCompressed());
+        else assertFalse(connection.isCompressed());
+        long bytesReceived = connection.getBytesReceived();
+        client.close();
+        server.close();
+        return bytesReceived;
+    }
 }
@@ -113,6 +113,14 @@ class StaticCTPHandler implements CTPHandler {
         }
     }
 
+    /**
+     * Gets the connection being handled, or null if it is not ready or has
+     * been closed.
+     */
+    public synchronized CTPConnection getConnection() {
+        return connection;
+    }
+
     /**
      * Close this connection.
      */
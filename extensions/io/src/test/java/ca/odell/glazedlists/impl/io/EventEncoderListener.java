@@ -29,11 +29,23 @@ public class EventEncoderListener implements ListEventListener {
     /** the delegate coder for elements */
     public ByteCoder byteCoder = null;
 
+    /** whether to encode block by block, or one part per change */
+    private boolean blockFormat = true;
+
     /**
      * Create a new EventEncoderListener.
      */
     public EventEncoderListener(ByteCoder byteCoder) {
+        this(byteCoder, true);
+    }
+
+    /**
+     * Create a new EventEncoderListener that encodes block by block, or one
+     * part per change as in earlier releases.
+     */
+    public EventEncoderListener(ByteCoder byteCoder, boolean blockFormat) {
         this.byteCoder = byteCoder;
+        this.blockFormat = blockFormat;
     }
 
     /**
@@ -42,7 +54,7 @@ public class EventEncoderListener implements ListEventListener {
     @Override
     public void listChanged(ListEvent listChanges) {
         try {
-            Bufferlo encoding = ListEventToBytes.toBytes(listChanges, byteCoder);
+            Bufferlo encoding = ListEventToBytes.toBytes(listChanges, byteCoder, blockFormat);
             encodings.add(encoding);
         } catch(IOException e) {
             throw new IllegalStateException(e.getMessage());
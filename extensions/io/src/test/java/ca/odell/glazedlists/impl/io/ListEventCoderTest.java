@@ -3,15 +3,23 @@
 /*                                                     O'Dell Engineering Ltd.*/
 package ca.odell.glazedlists.impl.io;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import ca.odell.glazedlists.BasicEventList;
 import ca.odell.glazedlists.EventList;
+import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.io.ByteCoder;
 
 import org.junit.Test;
 
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -78,4 +86,229 @@ public class ListEventCoderTest {
         ListEventToBytes.toListEvent(entireListEncoding, toDecode, intCoder);
         assertEquals(toEncode, toDecode);
     }
+
+    /**
+     * Tests that events of many blocks are encoded run by run, and decoded to
+     * the same changes.
+     */
+    @Test
+    public void testBlocks() throws IOException {
+        EventList<Integer> toEncode = new BasicEventList<>();
+        EventEncoderListener encoder = new EventEncoderListener(intCoder);
+        toEncode.addListEventListener(encoder);
+        EventList<Integer> toDecode = new BasicEventList<>();
+
+        // one insert of 1000 values needs a single run header
+        List<Integer> values = new ArrayList<>();
+        for(int i = 0; i < 1000; i++) values.add(new Integer(i));
+        toEncode.addAll(values);
+        Bufferlo addAllEncoding = (Bufferlo)encoder.getEncodings().remove(0);
+        assertEquals(1 + 1 + 1 + 2 + 1000 * (1 + 4), addAllEncoding.length());
+        assertFalse(ListEventToBytes.isSnapshot(addAllEncoding));
+        ListEventToBytes.toListEvent(addAllEncoding, toDecode, intCoder);
+        assertEquals(toEncode, toDecode);
+
+        // ranges of deletes, updates and inserts
+        toEncode.subList(100, 300).clear();
+        toEncode.set(5, new Integer(-5));
+        toEncode.addAll(400, Arrays.asList(-1, -2, -3));
+        toEncode.remove(700);
+        toEncode.removeAll(Arrays.asList(0, 2, 4, 600, 800));
+        decodeAll(encoder, toDecode);
+        assertEquals(toEncode, toDecode);
+
+        // a clear followed by an insert
+        toEncode.clear();
+        toEncode.add(new Integer(42));
+        decodeAll(encoder, toDecode);
+        assertEquals(toEncode, toDecode);
+    }
+
+    /**
+     * Tests that each decoded event is applied to the target as a single
+     * event, rather than one event per changed element.
+     */
+    @Test
+    public void testDecodeFiresOneEvent() throws IOException {
+        EventList<Integer> toEncode = new BasicEventList<>();
+        EventEncoderListener encoder = new EventEncoderListener(intCoder);
+        toEncode.addListEventListener(encoder);
+        EventList<Integer> toDecode = new BasicEventList<>();
+        List<Integer> values = new ArrayList<>();
+        for(int i = 0; i < 1000; i++) values.add(new Integer(i));
+        toEncode.addAll(values);
+        decodeAll(encoder, toDecode);
+
+        final List<String> blocks = new ArrayList<>();
+        toDecode.addListEventListener(listChanges -> {
+            blocks.add("event");
+            while(listChanges.nextBlock()) {
+                blocks.add(listChanges.getType() + " " + listChanges.getBlockStartIndex() + "-" + listChanges.getBlockEndIndex());
+            }
+        });
+
+        // a range of deletes
+        toEncode.removeIf(value -> value.intValue() >= 100 && value.intValue() < 900);
+        assertEquals(1, encoder.getEncodings().size());
+        decodeAll(encoder, toDecode);
+        assertEquals(toEncode, toDecode);
+        assertEquals(Arrays.asList("event", ListEvent.DELETE + " 100-899"), blocks);
+
+        // a range of updates
+        blocks.clear();
+        toEncode.replaceAll(value -> new Integer(-value.intValue()));
+        decodeAll(encoder, toDecode);
+        assertEquals(toEncode, toDecode);
+        assertEquals(Arrays.asList("event", ListEvent.UPDATE + " 0-199"), blocks);
+    }
+
+    /**
+     * Tests that updates are encoded as deltas with a DeltaByteCoder, and that
+     * the deltas are much smaller than the whole values.
+     */
+    @Test
+    public void testDeltas() throws IOException {
+        final RowCoder rowCoder = new RowCoder();
+        ByteCoder wholeRowCoder = new ByteCoder() {
+            @Override
+            public void encode(Object source, OutputStream target) throws IOException {
+                rowCoder.encode(source, target);
+            }
+            @Override
+            public Object decode(InputStream source) throws IOException {
+                return rowCoder.decode(source);
+            }
+        };
+
+        EventList<List<String>> toEncode = new BasicEventList<>();
+        EventEncoderListener deltaEncoder = new EventEncoderListener(rowCoder);
+        toEncode.addListEventListener(deltaEncoder);
+        EventList<List<String>> toDecode = new BasicEventList<>();
+
+        for(int r = 0; r < 10; r++) {
+            List<String> row = new ArrayList<>();
+            for(int f = 0; f < 20; f++) row.add("row " + r + ", field " + f);
+            toEncode.add(row);
+        }
+        while(!deltaEncoder.getEncodings().isEmpty()) {
+            ListEventToBytes.toListEvent((Bufferlo)deltaEncoder.getEncodings().remove(0), toDecode, rowCoder);
+        }
+        assertEquals(toEncode, toDecode);
+
+        // change one field of a row
+        EventEncoderListener wholeEncoder = new EventEncoderListener(wholeRowCoder);
+        toEncode.addListEventListener(wholeEncoder);
+        List<String> changedRow = new ArrayList<>(toEncode.get(3));
+        changedRow.set(7, "changed");
+        toEncode.set(3, changedRow);
+        Bufferlo deltaEncoding = (Bufferlo)deltaEncoder.getEncodings().remove(0);
+        Bufferlo wholeEncoding = (Bufferlo)wholeEncoder.getEncodings().remove(0);
+        assertEquals(1 + 1 + 1 + 1 + 1 + 8 + 2 + 7, deltaEncoding.length());
+        assertTrue(deltaEncoding.length() * 10 < wholeEncoding.length());
+        ListEventToBytes.toListEvent(deltaEncoding, toDecode, rowCoder);
+        assertEquals(toEncode, toDecode);
+
+        // a row modified in place has no previous value, so it is sent whole
+        toEncode.get(5).set(0, "modified");
+        toEncode.set(5, toEncode.get(5));
+        deltaEncoding = (Bufferlo)deltaEncoder.getEncodings().remove(0);
+        wholeEncoding = (Bufferlo)wholeEncoder.getEncodings().remove(0);
+        assertEquals(wholeEncoding.length(), deltaEncoding.length());
+        ListEventToBytes.toListEvent(deltaEncoding, toDecode, rowCoder);
+        assertEquals(toEncode, toDecode);
+    }
+
+    /**
+     * Tests that events can be encoded one part per change, as in earlier
+     * releases, for peers that cannot decode blocks.
+     */
+    @Test
+    public void testEncodeParts() throws IOException {
+        // a snapshot is written exactly as earlier releases did
+        EventList<Integer> snapshotSource = new BasicEventList<>();
+        snapshotSource.addAll(Arrays.asList(5, 6));
+        Bufferlo snapshot = ListEventToBytes.toBytes(snapshotSource, intCoder, false);
+        Bufferlo expected = new Bufferlo();
+        DataOutputStream dataOut = new DataOutputStream(expected.getOutputStream());
+        dataOut.writeInt(0); // clear
+        dataOut.writeInt(-1);
+        dataOut.writeInt(1); // insert 5 at 0
+        dataOut.writeInt(ListEvent.INSERT);
+        dataOut.writeInt(0);
+        dataOut.writeInt(4);
+        dataOut.writeInt(5);
+        dataOut.writeInt(2); // insert 6 at 1
+        dataOut.writeInt(ListEvent.INSERT);
+        dataOut.writeInt(1);
+        dataOut.writeInt(4);
+        dataOut.writeInt(6);
+        dataOut.flush();
+        assertArrayEquals(expected.consumeBytes(expected.length()), snapshot.duplicate().consumeBytes(snapshot.length()));
+        assertTrue(ListEventToBytes.isSnapshot(snapshot));
+
+        // changes are written as parts, with whole values even for a DeltaByteCoder
+        RowCoder rowCoder = new RowCoder();
+        EventList<List<String>> toEncode = new BasicEventList<>();
+        EventEncoderListener encoder = new EventEncoderListener(rowCoder, false);
+        toEncode.addListEventListener(encoder);
+        EventList<List<String>> toDecode = new BasicEventList<>();
+        for(int r = 0; r < 5; r++) {
+            List<String> row = new ArrayList<>();
+            for(int f = 0; f < 5; f++) row.add("row " + r + ", field " + f);
+            toEncode.add(row);
+        }
+        List<String> changedRow = new ArrayList<>(toEncode.get(3));
+        changedRow.set(2, "changed");
+        toEncode.set(3, changedRow);
+        toEncode.subList(0, 2).clear();
+        toEncode.clear();
+        toEncode.add(changedRow);
+        while(!encoder.getEncodings().isEmpty()) {
+            Bufferlo encoding = (Bufferlo)encoder.getEncodings().remove(0);
+            assertEquals(0, encoding.charAt(0));
+            ListEventToBytes.toListEvent(encoding, toDecode, rowCoder);
+        }
+        assertEquals(toEncode, toDecode);
+    }
+
+    /**
+     * Applies all of the encoder's encodings to the specified list, in order.
+     */
+    private void decodeAll(EventEncoderListener encoder, EventList<Integer> toDecode) throws IOException {
+        while(!encoder.getEncodings().isEmpty()) {
+            ListEventToBytes.toListEvent((Bufferlo)encoder.getEncodings().remove(0), toDecode, intCoder);
+        }
+    }
+
+    /**
+     * Tests that events encoded one part per change, as in earlier releases,
+     * can still be decoded.
+     */
+    @Test
+    public void testDecodeParts() throws IOException {
+        Bufferlo parts = new Bufferlo();
+        DataOutputStream dataOut = new DataOutputStream(parts.getOutputStream());
+        dataOut.writeInt(0); // clear
+        dataOut.writeInt(-1);
+        dataOut.writeInt(1); // insert 5 at 0
+        dataOut.writeInt(ListEvent.INSERT);
+        dataOut.writeInt(0);
+        dataOut.writeInt(4);
+        dataOut.writeInt(5);
+        dataOut.writeInt(2); // insert 6 at 1
+        dataOut.writeInt(ListEvent.INSERT);
+        dataOut.writeInt(1);
+        dataOut.writeInt(4);
+        dataOut.writeInt(6);
+        dataOut.writeInt(3); // delete at 0
+        dataOut.writeInt(ListEvent.DELETE);
+        dataOut.writeInt(0);
+        dataOut.flush();
+        assertTrue(ListEventToBytes.isSnapshot(parts));
+
+        EventList<Integer> toDecode = new BasicEventList<>();
+        toDecode.add(new Integer(1));
+        ListEventToBytes.toListEvent(parts, toDecode, intCoder);
+        assertEquals(Arrays.asList(6), toDecode);
+    }
 }
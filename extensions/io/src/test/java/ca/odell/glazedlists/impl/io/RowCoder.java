@@ -0,0 +1,66 @@
+/* Glazed Lists                                                 (c) 2003-2006 */
+/* http://publicobject.com/glazedlists/                      publicobject.com,*/
+/*                                                     O'Dell Engineering Ltd.*/
+package ca.odell.glazedlists.impl.io;
+
+import ca.odell.glazedlists.io.DeltaByteCoder;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes rows, which are Lists of Strings, and decodes them. Deltas are a
+ * bitmask of the changed fields followed by their new values.
+ */
+public class RowCoder implements DeltaByteCoder {
+    @Override
+    public void encode(Object source, OutputStream target) throws IOException {
+        DataOutputStream dataOut = new DataOutputStream(target);
+        List row = (List)source;
+        dataOut.writeInt(row.size());
+        for(int i = 0; i < row.size(); i++) {
+            dataOut.writeUTF((String)row.get(i));
+        }
+        dataOut.flush();
+    }
+    @Override
+    public Object decode(InputStream source) throws IOException {
+        DataInputStream dataIn = new DataInputStream(source);
+        int size = dataIn.readInt();
+        List row = new ArrayList(size);
+        for(int i = 0; i < size; i++) {
+            row.add(dataIn.readUTF());
+        }
+        return row;
+    }
+    @Override
+    public void encodeDelta(Object oldValue, Object newValue, OutputStream target) throws IOException {
+        DataOutputStream dataOut = new DataOutputStream(target);
+        List oldRow = (List)oldValue;
+        List newRow = (List)newValue;
+        long changed = 0;
+        for(int i = 0; i < newRow.size(); i++) {
+            if(!newRow.get(i).equals(oldRow.get(i))) changed |= (1L << i);
+        }
+        dataOut.writeLong(changed);
+        for(int i = 0; i < newRow.size(); i++) {
+            if((changed & (1L << i)) != 0) dataOut.writeUTF((String)newRow.get(i));
+        }
+        dataOut.flush();
+    }
+    @Override
+    public Object decodeDelta(Object oldValue, InputStream source) throws IOException {
+        DataInputStream dataIn = new DataInputStream(source);
+        List row = new ArrayList((List)oldValue);
+        long changed = dataIn.readLong();
+        for(int i = 0; i < row.size(); i++) {
+            if((changed & (1L << i)) != 0) row.set(i, dataIn.readUTF());
+        }
+        return row;
+    }
+}
@@ -15,6 +15,8 @@ import org.junit.Test;
 import java.awt.Color;
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 
 /**
@@ -212,6 +214,77 @@ public class PersistentMapTest {
         writer.close();
     }
 
+    /**
+     * Makes many small changes, which are written in groups, with each
+     * durability. Then verifies that the file holds the latest value for
+     * each key.
+     */
+    @Test
+    public void testGroupCommit() throws IOException {
+        for(PersistentMap.Durability durability : PersistentMap.Durability.values()) {
+            File mapFile = File.createTempFile("grouped", "j81");
+            mapFile.deleteOnExit();
+            PersistentMap map = new PersistentMap(mapFile);
+            map.setGroupCommit(5, 4096);
+            map.setDurability(durability, 10);
+            assertEquals(durability, map.getDurability());
+
+            // overwrite and remove keys, often within the same group
+            Map<String, String> expected = new HashMap<>();
+            for(int i = 0; i < 500; i++) {
+                String key = "key" + (i % 40);
+                if(i % 7 == 3) {
+                    map.remove(key);
+                    expected.remove(key);
+                } else {
+                    Bufferlo value = new Bufferlo();
+                    value.write("value" + i);
+                    map.put(key, new Chunk(value));
+                    expected.put(key, "value" + i);
+                }
+                if(i == 250) map.flush();
+            }
+            assertEquals(expected.get("key5"), ((Chunk)map.get("key5")).getValue().toString());
+            map.close();
+
+            // restore
+            map = new PersistentMap(mapFile);
+            assertEquals(expected.keySet(), map.keySet());
+            for(Map.Entry<String, String> entry : expected.entrySet()) {
+                assertEquals(entry.getValue(), ((Chunk)map.get(entry.getKey())).getValue().toString());
+            }
+            map.close();
+        }
+    }
+
+    /**
+     * Writes a single change while syncing periodically, and verifies that it
+     * is forced to disk within the sync interval without a flush.
+     */
+    @Test
+    public void testPeriodicSyncWithoutFlush() throws IOException, InterruptedException {
+        File mapFile = File.createTempFile("periodic", "j81");
+        mapFile.deleteOnExit();
+        PersistentMap map = new PersistentMap(mapFile);
+        map.setDurability(PersistentMap.Durability.SYNC_PERIODICALLY, 50);
+
+        // a flush forces the first change
+        map.put("first", chunkify("value"));
+        map.flush();
+        int syncCount = map.getSyncCount();
+        assertEquals(1, syncCount);
+
+        // a single commit, with no later commit or flush, is forced as well
+        map.put("second", chunkify("value"));
+        long deadline = System.currentTimeMillis() + 10000;
+        while(map.getSyncCount() == syncCount && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(syncCount + 1, map.getSyncCount());
+
+        map.close();
+    }
+
     /**
      * Ignores a value callback.
      */
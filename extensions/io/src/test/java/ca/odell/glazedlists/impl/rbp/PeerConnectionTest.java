@@ -92,6 +92,38 @@ public class PeerConnectionTest {
         }
     }
 
+    /**
+     * Verifies that a subscriber whose peer doesn't support block encoded
+     * events gets the snapshot and the deltas in the compatible format.
+     */
+    @Test
+    public void testCompatibleSubscription() {
+        try {
+            peer.setBlockEventsEnabled(false);
+            StringResource stringResource = new StringResource();
+            String path = "/compatibleResource";
+            stringResource.setValue("Hello World");
+            ResourceStatus status = peer.publish(stringResource, path);
+
+            StringResource clone = new StringResource();
+            peer.subscribe(clone, "localhost", serverPort, path);
+
+            waitFor(1000);
+            assertEquals(StringResource.COMPATIBLE_PREFIX + stringResource.getValue(), clone.getValue());
+
+            stringResource.setValue("World O Hell");
+            waitFor(1000);
+            assertEquals(StringResource.COMPATIBLE_PREFIX + stringResource.getValue(), clone.getValue());
+
+            status.disconnect();
+            waitFor(1000);
+
+        } catch(Exception e) {
+            e.printStackTrace();
+            fail(e.getMessage());
+        }
+    }
+
     /**
      * Waits for the specified duration of time. This hack method should be replaced
      * with something else that uses notification.
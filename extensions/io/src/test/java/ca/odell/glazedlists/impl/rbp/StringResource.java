@@ -31,6 +31,12 @@ public class StringResource implements Resource {
     /** the listeners to this resource */
     private List listeners = new ArrayList();
 
+    /** marks the value in the format for peers that don't support block encoded events */
+    static final String COMPATIBLE_PREFIX = "compatible:";
+
+    /** whether listeners also need the value in the compatible format */
+    private boolean compatibleDeltasRequired = false;
+
     /**
      * Get a binary snapshot of this resource in its current state.
      */
@@ -41,6 +47,25 @@ public class StringResource implements Resource {
         return result;
     }
 
+    /**
+     * Get a snapshot of this resource in the format for peers that don't
+     * support block encoded events, which is marked by a prefix.
+     */
+    @Override
+    public Bufferlo toCompatibleSnapshot() {
+        Bufferlo result = new Bufferlo();
+        result.write(COMPATIBLE_PREFIX + value);
+        return result;
+    }
+
+    /**
+     * Sets whether listeners also need the value in the compatible format.
+     */
+    @Override
+    public void setCompatibleDeltasRequired(boolean compatibleDeltasRequired) {
+        this.compatibleDeltasRequired = compatibleDeltasRequired;
+    }
+
     public String getValue() {
         return value;
     }
@@ -101,7 +126,7 @@ public class StringResource implements Resource {
     private void notifyListeners() {
         for(int i = 0; i < listeners.size(); i++) {
             ResourceListener listener = (ResourceListener)listeners.get(i);
-            listener.resourceUpdated(this, toSnapshot());
+            listener.resourceUpdated(this, toSnapshot(), compatibleDeltasRequired ? toCompatibleSnapshot() : null);
         }
     }
 }
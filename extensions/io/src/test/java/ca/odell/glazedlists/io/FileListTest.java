@@ -10,6 +10,8 @@ import org.junit.Test;
 // for being a JUnit test case
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * This test verifies that the FileList works.
@@ -64,4 +66,47 @@ public class FileListTest {
             expectedLast = current;
         }
     }
+
+    /**
+     * Once the log exceeds the threshold, it is replaced with a snapshot and
+     * reopening the file replays only the snapshot and the updates after it.
+     */
+    @Test
+    public void testCompaction() throws IOException {
+        File file = File.createTempFile("compaction", "j81");
+        file.deleteOnExit();
+
+        FileList list = new FileList(file, GlazedListsIO.serializableByteCoder());
+        list.setCompactionThreshold(10, Long.MAX_VALUE);
+        for(int i = 0; i < 25; i++) {
+            list.add(new Integer(i));
+            if(i % 5 == 4) list.remove(0);
+        }
+        list.set(0, new Integer(-1));
+        // 31 updates, with snapshots after the 11th and 22nd
+        assertEquals(9, list.getLogLength());
+        List expected = new ArrayList(list);
+        list.close();
+
+        list = new FileList(file, GlazedListsIO.serializableByteCoder());
+        assertEquals(expected, list);
+        assertEquals(9, list.getLogLength());
+
+        // compacting by hand leaves only the snapshot
+        list.compact();
+        assertEquals(0, list.getLogLength());
+        list.close();
+
+        list = new FileList(file, GlazedListsIO.serializableByteCoder());
+        assertEquals(expected, list);
+        assertEquals(0, list.getLogLength());
+        list.add(new Integer(99));
+        list.close();
+
+        list = new FileList(file, GlazedListsIO.serializableByteCoder());
+        expected.add(new Integer(99));
+        assertEquals(expected, list);
+        assertEquals(1, list.getLogLength());
+        list.close();
+    }
 }
@@ -11,12 +11,15 @@ import static org.junit.Assert.fail;
 import ca.odell.glazedlists.BasicEventList;
 import ca.odell.glazedlists.EventList;
 import ca.odell.glazedlists.GlazedLists;
+import ca.odell.glazedlists.impl.io.RowCoder;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -385,6 +388,150 @@ public class NetworkListTest {
         }
     }
 
+    /**
+     * Verifies that updates sent as deltas keep the subscriber in sync, and
+     * send fewer bytes than updates of whole elements.
+     */
+    @Test
+    public void testDeltaUpdates() {
+        try {
+            // measure the data only, since compression would shrink whole rows too
+            peer.setCompressionEnabled(false);
+            final RowCoder rowCoder = new RowCoder();
+            ByteCoder wholeRowCoder = new ByteCoder() {
+                @Override
+                public void encode(Object source, OutputStream target) throws IOException {
+                    rowCoder.encode(source, target);
+                }
+                @Override
+                public Object decode(InputStream source) throws IOException {
+                    return rowCoder.decode(source);
+                }
+            };
+
+            long deltaBytes = updateRows("/deltaRows", rowCoder);
+            long wholeBytes = updateRows("/wholeRows", wholeRowCoder);
+            assertTrue("Received " + deltaBytes + " bytes of deltas vs. " + wholeBytes,
+                    deltaBytes * 4 < wholeBytes);
+
+        } catch(Exception e) {
+            e.printStackTrace();
+            fail(e.getMessage());
+        }
+    }
+
+    /**
+     * Publishes wide rows with the specified {@link ByteCoder}, changes one
+     * field of some of them, and gets the number of bytes the peer received
+     * to keep the subscriber in sync.
+     */
+    private long updateRows(String path, ByteCoder byteCoder) {
+        // prepare the source list
+        EventList<List<String>> sourceListTS = GlazedLists.threadSafeList(new BasicEventList<List<String>>());
+        NetworkList<List<String>> sourceList = peer.publish(sourceListTS, path, byteCoder);
+        for(int r = 0; r < 10; r++) {
+            List<String> row = new ArrayList<>();
+            for(int f = 0; f < 40; f++) row.add("row " + r + ", field " + f);
+            sourceListTS.add(row);
+        }
+
+        // prepare the target list
+        NetworkList targetList = peer.subscribe("localhost", serverPort, path, byteCoder);
+        waitFor(1000);
+        assertEquals(sourceList, targetList);
+        long bytesBefore = peer.getBytesReceived();
+
+        // change one field of some rows and verify they keep in sync
+        for(int r = 0; r < 10; r += 3) {
+            List<String> row = new ArrayList<>(sourceListTS.get(r));
+            row.set(r, "changed");
+            sourceListTS.set(r, row);
+        }
+        waitFor(1000);
+        assertEquals(sourceList, targetList);
+        long bytesReceived = peer.getBytesReceived() - bytesBefore;
+
+        targetList.disconnect();
+        sourceList.disconnect();
+        return bytesReceived;
+    }
+
+    /**
+     * Verifies that a peer which predates block encoded events stays in sync,
+     * both as a subscriber alongside a current one, and as a publisher.
+     */
+    @Test
+    public void testMixedVersions() {
+        ListPeer legacyPeer = new ListPeer(serverPort + 50);
+        legacyPeer.setBlockEventsEnabled(false);
+        try {
+            legacyPeer.start();
+            RowCoder rowCoder = new RowCoder();
+
+            // a current publisher with a legacy and a current subscriber
+            EventList<List<String>> sourceListTS = GlazedLists.threadSafeList(new BasicEventList<List<String>>());
+            NetworkList<List<String>> sourceList = peer.publish(sourceListTS, "/current", rowCoder);
+            addRows(sourceListTS, 5);
+            NetworkList legacyTarget = legacyPeer.subscribe("localhost", serverPort, "/current", rowCoder);
+            NetworkList currentTarget = peer.subscribe("localhost", serverPort, "/current", rowCoder);
+            waitFor(1000);
+            assertEquals(sourceList, legacyTarget);
+            assertEquals(sourceList, currentTarget);
+            changeRows(sourceListTS);
+            waitFor(1000);
+            assertEquals(sourceList, legacyTarget);
+            assertEquals(sourceList, currentTarget);
+
+            // a legacy publisher with a current subscriber
+            EventList<List<String>> legacySourceListTS = GlazedLists.threadSafeList(new BasicEventList<List<String>>());
+            NetworkList<List<String>> legacySourceList = legacyPeer.publish(legacySourceListTS, "/legacy", rowCoder);
+            addRows(legacySourceListTS, 5);
+            NetworkList target = peer.subscribe("localhost", serverPort + 50, "/legacy", rowCoder);
+            waitFor(1000);
+            assertEquals(legacySourceList, target);
+            changeRows(legacySourceListTS);
+            waitFor(1000);
+            assertEquals(legacySourceList, target);
+
+            legacyTarget.disconnect();
+            currentTarget.disconnect();
+            target.disconnect();
+            sourceList.disconnect();
+            legacySourceList.disconnect();
+
+        } catch(Exception e) {
+            e.printStackTrace();
+            fail(e.getMessage());
+        } finally {
+            legacyPeer.stop();
+        }
+    }
+
+    /**
+     * Adds the specified number of rows with a few fields each.
+     */
+    private static void addRows(EventList<List<String>> rows, int count) {
+        for(int r = 0; r < count; r++) {
+            List<String> row = new ArrayList<>();
+            for(int f = 0; f < 5; f++) row.add("row " + r + ", field " + f);
+            rows.add(row);
+        }
+    }
+
+    /**
+     * Updates a field of some rows, which may be sent as deltas, then inserts
+     * and removes rows.
+     */
+    private static void changeRows(EventList<List<String>> rows) {
+        for(int r = 0; r < rows.size(); r += 2) {
+            List<String> row = new ArrayList<>(rows.get(r));
+            row.set(1, "changed");
+            rows.set(r, row);
+        }
+        addRows(rows, 2);
+        rows.remove(1);
+    }
+
     /**
      * Waits for the specified duration of time. This hack method should be replaced
      * with something else that uses notification.
@@ -5,6 +5,7 @@ package ca.odell.glazedlists.javafx;
 
 import ca.odell.glazedlists.EventList;
 import ca.odell.glazedlists.TransformedList;
+import ca.odell.glazedlists.gui.FlushPolicy;
 
 /**
  * A factory for creating all sorts of JavaFx related objects to be used with Glazed Lists.
@@ -20,4 +21,16 @@ public class GlazedListsFx {
     public static <E> TransformedList<E, E> threadProxyList(EventList<E> source) {
         return new JavaFxThreadProxyEventList<>(source);
     }
+
+    /**
+     * Wraps the source in an {@link EventList} that fires all of its update
+     * events from the JavaFX-application thread, as often as the specified
+     * {@link FlushPolicy} allows. Changes that arrive in between are combined
+     * into a single event.
+     */
+    public static <E> TransformedList<E, E> threadProxyList(EventList<E> source, FlushPolicy flushPolicy) {
+        final JavaFxThreadProxyEventList<E> result = new JavaFxThreadProxyEventList<>(source);
+        result.setFlushPolicy(flushPolicy);
+        return result;
+    }
 }
@@ -8,6 +8,7 @@ package ca.odell.glazedlists.swt;
 import ca.odell.glazedlists.EventList;
 import ca.odell.glazedlists.ThresholdList;
 import ca.odell.glazedlists.TransformedList;
+import ca.odell.glazedlists.gui.FlushPolicy;
 import ca.odell.glazedlists.gui.TableFormat;
 import ca.odell.glazedlists.impl.swt.BeanItemFormat;
 import ca.odell.glazedlists.impl.swt.BoundedRangeControlFactory;
@@ -48,6 +49,18 @@ public final class GlazedListsSWT {
         return new SWTThreadProxyEventList<>(source, display);
     }
 
+    /**
+     * Wraps the source in an {@link EventList} that fires all of its update events
+     * from the SWT user interface thread, as often as the specified
+     * {@link FlushPolicy} allows. Changes that arrive in between are combined
+     * into a single event.
+     */
+    public static <E> TransformedList<E, E> swtThreadProxyList(EventList<E> source, Display display, FlushPolicy flushPolicy) {
+        final SWTThreadProxyEventList<E> result = new SWTThreadProxyEventList<>(source, display);
+        result.setFlushPolicy(flushPolicy);
+        return result;
+    }
+
     /**
      * Returns true if <code>list</code> is an {@link EventList} that fires
      * all of its update events from the SWT event dispatch thread.
@@ -0,0 +1,99 @@
+package ca.odell.glazedlists;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks appending to a full list that keeps only its last
+ * <code>capacity</code> elements, as a log view does. A
+ * {@link BoundedEventList} drops its oldest elements from a ring buffer, while
+ * a {@link BasicEventList} has to <code>remove(0)</code> from an ArrayList.
+ */
+@State(Scope.Benchmark)
+public class BoundedEventListBenchmark {
+
+    /** the number of elements appended by the batch benchmarks */
+    private static final int BATCH_SIZE = 100;
+
+    @Param({ "1000", "100000" })
+    private int capacity;
+
+    private BoundedEventList<Integer> bounded;
+
+    private BasicEventList<Integer> basic;
+
+    private List<Integer> batch;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        bounded = new BoundedEventList<>(capacity);
+        basic = new BasicEventList<>(capacity + BATCH_SIZE, null, null);
+        for (int i = 0; i < capacity; i++) {
+            bounded.add(i);
+            basic.add(i);
+        }
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(i);
+        }
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public BoundedEventList<Integer> testBoundedAppend() {
+        bounded.add(next++);
+        return bounded;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public BasicEventList<Integer> testBasicAppendAndRemoveHead() {
+        basic.getReadWriteLock().writeLock().lock();
+        try {
+            basic.add(next++);
+            basic.remove(0);
+        } finally {
+            basic.getReadWriteLock().writeLock().unlock();
+        }
+        return basic;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public BoundedEventList<Integer> testBoundedAppendBatch() {
+        bounded.addAll(batch);
+        return bounded;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public BasicEventList<Integer> testBasicAppendBatchAndRemoveHead() {
+        basic.getReadWriteLock().writeLock().lock();
+        try {
+            basic.addAll(batch);
+            basic.subList(0, BATCH_SIZE).clear();
+        } finally {
+            basic.getReadWriteLock().writeLock().unlock();
+        }
+        return basic;
+    }
+}
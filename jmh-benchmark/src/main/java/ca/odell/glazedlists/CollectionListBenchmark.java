@@ -0,0 +1,19 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.TransformationBenchmark.Row;
+
+/**
+ * Benchmarks a {@link CollectionList} of the tags of each row.
+ */
+public class CollectionListBenchmark extends TransformationBenchmark<CollectionList<Row, String>> {
+
+    @Override
+    protected CollectionList<Row, String> createTransformation(EventList<Row> source) {
+        return new CollectionList<>(source, Row::getTags);
+    }
+
+    @Override
+    protected void disposeTransformation(CollectionList<Row, String> transformation) {
+        transformation.dispose();
+    }
+}
@@ -0,0 +1,25 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.TransformationBenchmark.Row;
+
+/**
+ * Benchmarks a {@link CompositeList} of the changing source rows and a second,
+ * unchanging member list.
+ */
+public class CompositeListBenchmark extends TransformationBenchmark<CompositeList<Row>> {
+
+    @Override
+    protected CompositeList<Row> createTransformation(EventList<Row> source) {
+        final CompositeList<Row> result = new CompositeList<>(source.getPublisher(), source.getReadWriteLock());
+        final EventList<Row> other = result.createMemberList();
+        other.addAll(createRows(BULK_SIZE));
+        result.addMemberList(other);
+        result.addMemberList(source);
+        return result;
+    }
+
+    @Override
+    protected void disposeTransformation(CompositeList<Row> transformation) {
+        transformation.dispose();
+    }
+}
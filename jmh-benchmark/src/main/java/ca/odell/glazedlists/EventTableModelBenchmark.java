@@ -0,0 +1,46 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.TransformationBenchmark.Row;
+import ca.odell.glazedlists.swing.AdvancedTableModel;
+import ca.odell.glazedlists.swing.GlazedListsSwing;
+
+import java.lang.reflect.InvocationTargetException;
+
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelListener;
+
+/**
+ * Benchmarks the Swing table model adapter, converting each change into
+ * TableModelEvents for a listening table.
+ */
+public class EventTableModelBenchmark extends TransformationBenchmark<AdvancedTableModel<Row>> {
+
+    /** stands in for a JTable, which would repaint the changed rows */
+    private static final TableModelListener TABLE = event -> event.getFirstRow();
+
+    @Override
+    protected AdvancedTableModel<Row> createTransformation(EventList<Row> source) {
+        final AdvancedTableModel<Row> result = GlazedListsSwing.eventTableModel(source,
+                GlazedLists.tableFormat(Row.class, new String[] { "id", "name", "group", "price" },
+                        new String[] { "Id", "Name", "Group", "Price" }));
+        result.addTableModelListener(TABLE);
+        return result;
+    }
+
+    @Override
+    protected void disposeTransformation(AdvancedTableModel<Row> transformation) {
+        transformation.dispose();
+    }
+
+    /**
+     * Table models only accept events on the event dispatch thread.
+     */
+    @Override
+    protected void applyChanges(Runnable changes) {
+        try {
+            SwingUtilities.invokeAndWait(changes);
+        } catch (InterruptedException | InvocationTargetException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.TransformationBenchmark.Row;
+import ca.odell.glazedlists.matchers.TextMatcherEditor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks a {@link FilterList} with a {@link TextMatcherEditor}, including
+ * changes to the filter text.
+ */
+public class FilterListBenchmark extends TransformationBenchmark<FilterList<Row>> {
+
+    /** filter texts that alternately constrain, relax and change the filter */
+    private static final String[][] FILTER_TEXTS = { { "a" }, { "al" }, { "a" }, { "o" }, { "o", "e" }, { } };
+
+    /** the editor of the {@link FilterList} created by {@link #setUp()} */
+    private TextMatcherEditor<Row> matcherEditor;
+
+    private int filterTextIndex = 0;
+
+    @Override
+    protected FilterList<Row> createTransformation(EventList<Row> source) {
+        final TextMatcherEditor<Row> editor = new TextMatcherEditor<>(GlazedLists.textFilterator(Row.class, "name"));
+        editor.setFilterText(FILTER_TEXTS[0]);
+        // keep the editor of the benchmarked transformation, not those created by testBuild()
+        if (transformation == null) {
+            matcherEditor = editor;
+        }
+        return new FilterList<>(source, editor);
+    }
+
+    @Override
+    protected void disposeTransformation(FilterList<Row> transformation) {
+        transformation.dispose();
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public FilterList<Row> testSetFilterText() {
+        filterTextIndex = (filterTextIndex + 1) % FILTER_TEXTS.length;
+        matcherEditor.setFilterText(FILTER_TEXTS[filterTextIndex]);
+        return transformation;
+    }
+}
@@ -0,0 +1,19 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.TransformationBenchmark.Row;
+
+/**
+ * Benchmarks a {@link FunctionList} of the price of each row.
+ */
+public class FunctionListBenchmark extends TransformationBenchmark<FunctionList<Row, Double>> {
+
+    @Override
+    protected FunctionList<Row, Double> createTransformation(EventList<Row> source) {
+        return new FunctionList<>(source, Row::getPrice);
+    }
+
+    @Override
+    protected void disposeTransformation(FunctionList<Row, Double> transformation) {
+        transformation.dispose();
+    }
+}
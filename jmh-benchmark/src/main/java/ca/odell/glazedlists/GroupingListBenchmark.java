@@ -0,0 +1,19 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.TransformationBenchmark.Row;
+
+/**
+ * Benchmarks a {@link GroupingList} of rows grouped by a key.
+ */
+public class GroupingListBenchmark extends TransformationBenchmark<GroupingList<Row>> {
+
+    @Override
+    protected GroupingList<Row> createTransformation(EventList<Row> source) {
+        return new GroupingList<>(source, Row.GROUP_COMPARATOR);
+    }
+
+    @Override
+    protected void disposeTransformation(GroupingList<Row> transformation) {
+        transformation.dispose();
+    }
+}
@@ -0,0 +1,20 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.TransformationBenchmark.Row;
+
+/**
+ * Benchmarks a {@link HashGroupingList} of rows grouped by a key, for
+ * comparison with {@link GroupingListBenchmark}.
+ */
+public class HashGroupingListBenchmark extends TransformationBenchmark<HashGroupingList<Row>> {
+
+    @Override
+    protected HashGroupingList<Row> createTransformation(EventList<Row> source) {
+        return new HashGroupingList<>(source, Row::getGroup);
+    }
+
+    @Override
+    protected void disposeTransformation(HashGroupingList<Row> transformation) {
+        transformation.dispose();
+    }
+}
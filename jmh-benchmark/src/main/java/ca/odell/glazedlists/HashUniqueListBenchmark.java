@@ -0,0 +1,20 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.TransformationBenchmark.Row;
+
+/**
+ * Benchmarks a {@link HashUniqueList} of the distinct keys of rows, for
+ * comparison with {@link UniqueListBenchmark}.
+ */
+public class HashUniqueListBenchmark extends TransformationBenchmark<HashUniqueList<Row>> {
+
+    @Override
+    protected HashUniqueList<Row> createTransformation(EventList<Row> source) {
+        return new HashUniqueList<>(source, Row::getGroup);
+    }
+
+    @Override
+    protected void disposeTransformation(HashUniqueList<Row> transformation) {
+        transformation.dispose();
+    }
+}
@@ -1,20 +1,51 @@
 package ca.odell.glazedlists;
 
 import ca.odell.glazedlists.event.IListEventAssembler;
+import ca.odell.glazedlists.event.ListEvent;
 import ca.odell.glazedlists.event.ListEventAssembler;
 import org.openjdk.jmh.annotations.*;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
 
+/**
+ * Benchmarks building list events. Run with <code>-prof gc</code> to compare
+ * the allocations of blocks of changes, such as the reordering of a
+ * {@link SortedList}.
+ */
 @State(Scope.Benchmark)
 public class ListEventAssemblerBenchmark {
+  @Param({"1000", "1000000"})
+  private int size;
+
   private BasicEventList<String> list;
   private ListEventAssembler<String> assembler;
+  private List<String> values;
+
+  private SortedList<Integer> sorted;
+  private boolean reversed;
 
   @Setup
   public void setUp() {
     list = new BasicEventList<>();
     assembler = new ListEventAssembler<>(list, IListEventAssembler.createListEventPublisher());
+    values = Collections.nCopies(size, "X");
+
+    final Random dice = new Random(0);
+    final List<Integer> numbers = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      numbers.add(dice.nextInt());
+    }
+    sorted = new SortedList<>(GlazedLists.eventList(numbers), GlazedLists.comparableComparator());
+    // a listener that reads the values of the reordering
+    sorted.addListEventListener(listChanges -> {
+      while (listChanges.next()) {
+        if (listChanges.getNewValue() == ListEvent.UNKNOWN_VALUE) throw new IllegalStateException();
+      }
+    });
   }
 
   @Benchmark
@@ -27,4 +58,25 @@ public class ListEventAssemblerBenchmark {
     assembler.elementUpdated(4, Collections.nCopies(4, "X"), Collections.nCopies(4, "Y"));
     assembler.discardEvent();
   }
+
+  @Benchmark
+  @Warmup(iterations = 3)
+  @Measurement(iterations = 10)
+  @Fork(3)
+  public void testInsertBlock() {
+    assembler.beginEvent();
+    assembler.elementInserted(0, values);
+    assembler.discardEvent();
+  }
+
+  @Benchmark
+  @Warmup(iterations = 3)
+  @Measurement(iterations = 10)
+  @Fork(3)
+  public SortedList<Integer> testReorder() {
+    reversed = !reversed;
+    final Comparator<Integer> comparator = GlazedLists.comparableComparator();
+    sorted.setComparator(reversed ? GlazedLists.reverseComparator(comparator) : comparator);
+    return sorted;
+  }
 }
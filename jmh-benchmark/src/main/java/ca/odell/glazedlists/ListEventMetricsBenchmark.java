@@ -0,0 +1,64 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.event.ListEventMetrics;
+import ca.odell.glazedlists.event.ListEventStatistics;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the overhead of {@link ListEventMetrics} on a chain of ten
+ * cheap transformations, where dispatching events dominates. With no metrics
+ * installed, the publisher should be as fast as before metrics existed.
+ */
+@State(Scope.Benchmark)
+public class ListEventMetricsBenchmark {
+
+    /** the number of transformations in the chain */
+    private static final int DEPTH = 10;
+
+    /** the number of elements of the source */
+    private static final int SIZE = 1000;
+
+    @Param({ "none", "noop", "statistics" })
+    private String metrics;
+
+    private EventList<Integer> source;
+
+    private EventList<Integer> last;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        source = new BasicEventList<>();
+        for (int i = 0; i < SIZE; i++) {
+            source.add(i);
+        }
+        last = source;
+        for (int i = 0; i < DEPTH; i++) {
+            last = new FunctionList<>(last, value -> value);
+        }
+        if ("noop".equals(metrics)) {
+            source.getPublisher().setListEventMetrics((subject, listener, dispatchNanos, blockCount, changeCount) -> { });
+        } else if ("statistics".equals(metrics)) {
+            source.getPublisher().setListEventMetrics(new ListEventStatistics());
+        }
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public EventList<Integer> testSet() {
+        next++;
+        source.set(next % SIZE, next);
+        return last;
+    }
+}
@@ -0,0 +1,78 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.TransformationBenchmark.Row;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks an {@link ObservableElementList} of JavaBean rows, including
+ * changes made to the rows themselves.
+ */
+public class ObservableElementListBenchmark extends TransformationBenchmark<ObservableElementList<Row>> {
+
+    @Override
+    protected ObservableElementList<Row> createTransformation(EventList<Row> source) {
+        return new ObservableElementList<>(source, GlazedLists.beanConnector(Row.class));
+    }
+
+    @Override
+    protected void disposeTransformation(ObservableElementList<Row> transformation) {
+        transformation.dispose();
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ObservableElementList<Row> testElementChanged() {
+        source.get(dice.nextInt(source.size())).setPrice(dice.nextInt(100000) / 100.0);
+        return transformation;
+    }
+
+    /**
+     * Reports changes to {@link #BULK_SIZE} rows with a single event.
+     */
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public ObservableElementList<Row> testElementsChanged() {
+        transformation.elementsChanged(pickRows());
+        return transformation;
+    }
+
+    /**
+     * Reports changes to {@link #BULK_SIZE} rows one event at a time, for
+     * comparison with {@link #testElementsChanged()}.
+     */
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public ObservableElementList<Row> testElementChangedOneByOne() {
+        for (Row row : pickRows()) {
+            transformation.elementChanged(row);
+        }
+        return transformation;
+    }
+
+    private List<Row> pickRows() {
+        final List<Row> rows = new ArrayList<>(BULK_SIZE);
+        for (int i = 0; i < BULK_SIZE; i++) {
+            rows.add(source.get(dice.nextInt(source.size())));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,81 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.impl.io.Bufferlo;
+import ca.odell.glazedlists.impl.pmap.Chunk;
+import ca.odell.glazedlists.impl.pmap.PersistentMap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Benchmarks the writes per second of a {@link PersistentMap} receiving many
+ * small updates to a fixed set of keys, the way a FileList writes one entry per ListEvent. Each
+ * invocation makes {@link #UPDATES} updates and then flushes the map.
+ */
+@State(Scope.Benchmark)
+@SuppressWarnings("deprecation")
+public class PersistentMapBenchmark {
+
+    /** the number of updates between flushes */
+    private static final int UPDATES = 100;
+
+    /** the number of keys updated in turn */
+    private static final int KEYS = 1000;
+
+    /** the number of bytes of each value */
+    private static final int VALUE_SIZE = 64;
+
+    @Param({ "SYNC_EACH_GROUP", "SYNC_PERIODICALLY", "NEVER_SYNC" })
+    private PersistentMap.Durability durability;
+
+    @Param({ "0", "2" })
+    private long windowMillis;
+
+    private File file;
+
+    private PersistentMap map;
+
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = File.createTempFile("benchmark", "pmap");
+        file.delete();
+        map = new PersistentMap(file);
+        map.setGroupCommit(windowMillis, 64 * 1024);
+        map.setDurability(durability, 100);
+    }
+
+    @TearDown
+    public void tearDown() {
+        map.close();
+        file.delete();
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    @OperationsPerInvocation(UPDATES)
+    public PersistentMap testPutAndFlush() {
+        for (int i = 0; i < UPDATES; i++) {
+            final Bufferlo value = new Bufferlo();
+            value.append(ByteBuffer.wrap(new byte[VALUE_SIZE]));
+            map.put(Integer.valueOf(next++ % KEYS), new Chunk(value));
+        }
+        map.flush();
+        return map;
+    }
+}
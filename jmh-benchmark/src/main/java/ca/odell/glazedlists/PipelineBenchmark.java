@@ -0,0 +1,115 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.TransformationBenchmark.Row;
+import ca.odell.glazedlists.gui.TableFormat;
+import ca.odell.glazedlists.matchers.TextMatcherEditor;
+import ca.odell.glazedlists.swing.AdvancedTableModel;
+import ca.odell.glazedlists.swing.GlazedListsSwing;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelListener;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks a typical chain of transformations: the source rows are filtered
+ * by text, sorted by price, grouped by key and shown as a table of groups.
+ */
+public class PipelineBenchmark extends TransformationBenchmark<PipelineBenchmark.Pipeline> {
+
+    /** filter texts that alternately constrain, relax and change the filter */
+    private static final String[][] FILTER_TEXTS = { { "a" }, { "al" }, { "a" }, { "o" }, { "o", "e" }, { } };
+
+    /** stands in for a JTable, which would repaint the changed rows */
+    private static final TableModelListener TABLE = event -> event.getFirstRow();
+
+    private int filterTextIndex = 0;
+
+    @Override
+    protected Pipeline createTransformation(EventList<Row> source) {
+        return new Pipeline(source);
+    }
+
+    @Override
+    protected void disposeTransformation(Pipeline transformation) {
+        transformation.dispose();
+    }
+
+    /**
+     * Table models only accept events on the event dispatch thread.
+     */
+    @Override
+    protected void applyChanges(Runnable changes) {
+        try {
+            SwingUtilities.invokeAndWait(changes);
+        } catch (InterruptedException | InvocationTargetException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public Pipeline testSetFilterText() {
+        filterTextIndex = (filterTextIndex + 1) % FILTER_TEXTS.length;
+        applyChanges(() -> transformation.matcherEditor.setFilterText(FILTER_TEXTS[filterTextIndex]));
+        return transformation;
+    }
+
+    /**
+     * The lists and table model of the chain.
+     */
+    public static class Pipeline {
+        private final TextMatcherEditor<Row> matcherEditor;
+        private final FilterList<Row> filtered;
+        private final SortedList<Row> sorted;
+        private final GroupingList<Row> grouped;
+        private final AdvancedTableModel<List<Row>> tableModel;
+
+        Pipeline(EventList<Row> source) {
+            matcherEditor = new TextMatcherEditor<>(GlazedLists.textFilterator(Row.class, "name"));
+            matcherEditor.setFilterText(FILTER_TEXTS[0]);
+            filtered = new FilterList<>(source, matcherEditor);
+            sorted = new SortedList<>(filtered, Row.PRICE_COMPARATOR);
+            grouped = new GroupingList<>(sorted, Row.GROUP_COMPARATOR);
+            tableModel = GlazedListsSwing.eventTableModel(grouped, new GroupTableFormat());
+            tableModel.addTableModelListener(TABLE);
+        }
+
+        void dispose() {
+            tableModel.dispose();
+            grouped.dispose();
+            sorted.dispose();
+            filtered.dispose();
+        }
+    }
+
+    /**
+     * Shows the key, the number of rows and the cheapest price of each group.
+     */
+    private static class GroupTableFormat implements TableFormat<List<Row>> {
+        @Override
+        public int getColumnCount() {
+            return 3;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return column == 0 ? "Group" : column == 1 ? "Count" : "Lowest Price";
+        }
+
+        @Override
+        public Object getColumnValue(List<Row> group, int column) {
+            if (column == 0) return group.get(0).getGroup();
+            if (column == 1) return group.size();
+            return group.get(0).getPrice();
+        }
+    }
+}
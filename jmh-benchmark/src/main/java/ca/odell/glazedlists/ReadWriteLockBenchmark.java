@@ -0,0 +1,82 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.util.concurrent.J2SE50LockFactory;
+import ca.odell.glazedlists.util.concurrent.LockFactory;
+import ca.odell.glazedlists.util.concurrent.StampedLockFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks many threads reading a {@link SortedList} while one thread
+ * writes to its source, with the locks of the different {@link LockFactory}s.
+ * The readers either hold the read lock or read optimistically.
+ */
+@State(Scope.Group)
+public class ReadWriteLockBenchmark {
+
+    @Param({ "reentrant", "stamped" })
+    private String lockFactory;
+
+    @Param({ "locked", "optimistic" })
+    private String readMode;
+
+    @Param({ "10000" })
+    private int size;
+
+    private EventList<Integer> source;
+
+    private SortedList<Integer> sorted;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final LockFactory factory = "stamped".equals(lockFactory) ? new StampedLockFactory() : new J2SE50LockFactory();
+        source = new BasicEventList<>(factory.createReadWriteLock());
+        for (int i = 0; i < size; i++) {
+            source.add(ThreadLocalRandom.current().nextInt());
+        }
+        sorted = SortedList.create(source);
+    }
+
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(7)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public Integer testRead() {
+        if ("optimistic".equals(readMode)) {
+            return sorted.applyWithOptimisticRead(ReadWriteLockBenchmark::readRandom);
+        }
+        return sorted.applyWithReadLock(ReadWriteLockBenchmark::readRandom);
+    }
+
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(1)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public void testWrite() {
+        source.acceptWithWriteLock(list -> {
+            list.add(ThreadLocalRandom.current().nextInt());
+            list.remove(0);
+        });
+    }
+
+    private static Integer readRandom(EventList<Integer> list) {
+        final int size = list.size();
+        return size == 0 ? null : list.get(ThreadLocalRandom.current().nextInt(size));
+    }
+}
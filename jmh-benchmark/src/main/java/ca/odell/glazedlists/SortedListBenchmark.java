@@ -5,6 +5,7 @@ package ca.odell.glazedlists;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
@@ -12,6 +13,7 @@ import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 
+import java.util.Comparator;
 import java.util.Random;
 
 /**
@@ -58,6 +60,19 @@ public class SortedListBenchmark {
        return sortedBase;
    }
 
+   /**
+    * Re-sorts a large list, as done by a click on a table column header.
+    */
+   @Benchmark
+   @Warmup(iterations = 3)
+   @Measurement(iterations = 5)
+   @Fork(1)
+   public EventList<Integer> testSetComparator(ResortState state) {
+       state.reversed = !state.reversed;
+       state.sorted.setComparator(state.reversed ? state.reverseOrder : state.naturalOrder);
+       return state.sorted;
+   }
+
    private void doTest(EventList<Integer> baseCopy, EventList<Integer> sortedBase) {
        for(int i = 0; i < changeSize; i++) {
            baseCopy.add(new Integer(Integer.MAX_VALUE));
@@ -71,4 +86,33 @@ public class SortedListBenchmark {
            baseCopy.remove(baseCopy.size() - 1);
        }
    }
+
+   /**
+    * A large sorted list whose comparator is toggled on each invocation.
+    */
+   @State(Scope.Benchmark)
+   public static class ResortState {
+
+       @Param({ "100000", "1000000", "5000000" })
+       private int resortSize;
+
+       private SortedList<Integer> sorted;
+
+       private final Comparator<Integer> naturalOrder = GlazedLists.comparableComparator();
+
+       private final Comparator<Integer> reverseOrder = GlazedLists.reverseComparator();
+
+       private boolean reversed;
+
+       @Setup(Level.Trial)
+       public void setUp() {
+           Random dice = new Random(0);
+           EventList<Integer> source = new BasicEventList<>(resortSize);
+           for(int i = 0; i < resortSize; i++) {
+               source.add(Integer.valueOf(dice.nextInt(Integer.MAX_VALUE)));
+           }
+           sorted = new SortedList<>(source, naturalOrder);
+           reversed = false;
+       }
+   }
 }
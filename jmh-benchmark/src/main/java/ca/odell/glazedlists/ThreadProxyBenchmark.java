@@ -78,6 +78,74 @@ public class ThreadProxyBenchmark {
         return threadProxied;
     }
 
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public EventList<Integer> testSmallChanges(SmallChangesState state) {
+        state.applySmallChanges();
+        return state.threadProxied;
+    }
+
+    /**
+     * A large list that receives a few inserts, deletes and updates per
+     * invocation, as is typical for a live table.
+     */
+    @State(Scope.Thread)
+    public static class SmallChangesState {
+
+        @Param({ "100000", "1000000" })
+        private int largeSize;
+
+        @Param({ "default", "syncCopy" })
+        private String strategy;
+
+        private EventList<Integer> source;
+        private EventList<Integer> threadProxied;
+
+        private final Random dice = new Random(0);
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            final List<Integer> values = new ArrayList<>(largeSize);
+            for (int i = 0; i < largeSize; i++) {
+                values.add(Integer.valueOf(dice.nextInt(1000)));
+            }
+            source = new BasicEventList<>();
+            source.addAll(values);
+            if ("default".equals(strategy)) {
+                threadProxied = new DefaultThreadProxy<>(source);
+            } else {
+                threadProxied = new SyncCopyThreadProxy<>(source);
+            }
+        }
+
+        /**
+         * Insert, delete and update a few random elements, leaving the size of
+         * the source list unchanged.
+         */
+        void applySmallChanges() {
+            final int size = source.size();
+            source.add(dice.nextInt(size), Integer.valueOf(dice.nextInt(1000)));
+            source.remove(dice.nextInt(size));
+            source.set(dice.nextInt(size), Integer.valueOf(dice.nextInt(1000)));
+        }
+    }
+
+    /**
+     * A thread proxy that uses the default strategy to update from one list to another.
+     */
+    public static class DefaultThreadProxy<T> extends ThreadProxyEventList<T> {
+        public DefaultThreadProxy(EventList<T> source) {
+            super(source);
+        }
+
+        @Override
+        protected void schedule(Runnable runnable) {
+            runnable.run();
+        }
+    }
+
     /**
      * A thread proxy that uses clear and add all to update from one list to another.
      */
@@ -0,0 +1,222 @@
+package ca.odell.glazedlists;
+
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Common benchmarks for a transformation of a {@link BasicEventList} of
+ * {@link Row}s, such as a {@link FilterList} or a table model:
+ * <ul>
+ *   <li>{@link #testBuild()} creates and disposes the transformation
+ *   <li>{@link #testSingleChanges()} reports the latency of an update, an
+ *       insert and a delete of single elements
+ *   <li>{@link #testBulkChanges()} inserts and then deletes a block of
+ *       {@link #BULK_SIZE} elements
+ * </ul>
+ *
+ * <p>Run with <code>-prof gc</code> to also report the allocation rate of
+ * each benchmark.
+ *
+ * @param <T> the type of the transformation
+ */
+@State(Scope.Thread)
+public abstract class TransformationBenchmark<T> {
+
+    /** the number of elements inserted and deleted by {@link #testBulkChanges()} */
+    static final int BULK_SIZE = 1000;
+
+    @Param({ "1000", "100000" })
+    private int size;
+
+    protected final Random dice = new Random(0);
+
+    protected EventList<Row> source;
+
+    /** the transformation of {@link #source} that the change benchmarks update */
+    protected T transformation;
+
+    private int nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        source = new BasicEventList<>();
+        source.addAll(createRows(size));
+        transformation = createTransformation(source);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        disposeTransformation(transformation);
+    }
+
+    /**
+     * Create the transformation of the specified source list to benchmark.
+     */
+    protected abstract T createTransformation(EventList<Row> source);
+
+    /**
+     * Release the specified transformation, so it no longer listens to the
+     * source list.
+     */
+    protected abstract void disposeTransformation(T transformation);
+
+    /**
+     * Make changes to the source list on the thread that the transformation
+     * expects events on. By default this is the benchmark thread.
+     */
+    protected void applyChanges(Runnable changes) {
+        changes.run();
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public T testBuild() {
+        final T result = createTransformation(source);
+        disposeTransformation(result);
+        return result;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public T testSingleChanges() {
+        applyChanges(() -> {
+            source.set(dice.nextInt(source.size()), createRow());
+            source.add(dice.nextInt(source.size()), createRow());
+            source.remove(dice.nextInt(source.size()));
+        });
+        return transformation;
+    }
+
+    @Benchmark
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    @Fork(1)
+    public T testBulkChanges() {
+        final int index = dice.nextInt(source.size());
+        final List<Row> rows = createRows(BULK_SIZE);
+        applyChanges(() -> {
+            source.addAll(index, rows);
+            source.subList(index, index + BULK_SIZE).clear();
+        });
+        return transformation;
+    }
+
+    /**
+     * Create a new {@link Row} with random values.
+     */
+    protected Row createRow() {
+        return new Row(nextId++, dice.nextInt(100), Row.NAMES[dice.nextInt(Row.NAMES.length)], dice.nextInt(100000) / 100.0);
+    }
+
+    /**
+     * Create new {@link Row}s with random values.
+     */
+    protected List<Row> createRows(int count) {
+        final List<Row> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(createRow());
+        }
+        return rows;
+    }
+
+    /**
+     * A typical table row, which notifies {@link PropertyChangeListener}s of
+     * changes to its price.
+     */
+    public static class Row {
+
+        static final String[] NAMES = { "Alpha", "Bravo", "Charlie", "Delta", "Echo", "Foxtrot", "Golf", "Hotel",
+                "India", "Juliett", "Kilo", "Lima", "Mike", "November", "Oscar", "Papa" };
+
+        static final Comparator<Row> GROUP_COMPARATOR = Comparator.comparingInt(Row::getGroup);
+
+        static final Comparator<Row> PRICE_COMPARATOR = Comparator.comparingDouble(Row::getPrice);
+
+        private final PropertyChangeSupport support = new PropertyChangeSupport(this);
+
+        private final int id;
+
+        private final int group;
+
+        private final String name;
+
+        private double price;
+
+        public Row(int id, int group, String name, double price) {
+            this.id = id;
+            this.group = group;
+            this.name = name;
+            this.price = price;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public int getGroup() {
+            return group;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public void setPrice(double price) {
+            final double oldPrice = this.price;
+            this.price = price;
+            support.firePropertyChange("price", oldPrice, price);
+        }
+
+        public List<String> getTags() {
+            return Arrays.asList(name, "group" + group);
+        }
+
+        public void addPropertyChangeListener(PropertyChangeListener listener) {
+            support.addPropertyChangeListener(listener);
+        }
+
+        public void removePropertyChangeListener(PropertyChangeListener listener) {
+            support.removePropertyChangeListener(listener);
+        }
+
+        @Override
+        public String toString() {
+            return "Row{" +
+                    "id=" + id +
+                    ", group=" + group +
+                    ", name=" + name +
+                    ", price=" + price +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.TransformationBenchmark.Row;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Benchmarks a two level {@link TreeList} of rows below a virtual parent node
+ * per key.
+ */
+public class TreeListBenchmark extends TransformationBenchmark<TreeList<Row>> {
+
+    @Override
+    protected TreeList<Row> createTransformation(EventList<Row> source) {
+        return new TreeList<>(source, new GroupFormat(), TreeList.nodesStartExpanded());
+    }
+
+    @Override
+    protected void disposeTransformation(TreeList<Row> transformation) {
+        transformation.dispose();
+    }
+
+    /**
+     * Places each row below a parent row for its key.
+     */
+    private static class GroupFormat implements TreeList.Format<Row> {
+
+        /** the parent rows, by key */
+        private final Row[] parents = new Row[100];
+
+        @Override
+        public void getPath(List<Row> path, Row element) {
+            final int group = element.getGroup();
+            if (parents[group] == null) {
+                parents[group] = new Row(-1, group, "", 0);
+            }
+            path.add(parents[group]);
+            path.add(element);
+        }
+
+        @Override
+        public boolean allowsChildren(Row element) {
+            return element.getId() == -1;
+        }
+
+        @Override
+        public Comparator<? super Row> getComparator(int depth) {
+            return depth == 0 ? Row.GROUP_COMPARATOR : null;
+        }
+    }
+}
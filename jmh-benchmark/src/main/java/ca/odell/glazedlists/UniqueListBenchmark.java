@@ -0,0 +1,19 @@
+package ca.odell.glazedlists;
+
+import ca.odell.glazedlists.TransformationBenchmark.Row;
+
+/**
+ * Benchmarks a {@link UniqueList} of the distinct keys of rows.
+ */
+public class UniqueListBenchmark extends TransformationBenchmark<UniqueList<Row>> {
+
+    @Override
+    protected UniqueList<Row> createTransformation(EventList<Row> source) {
+        return new UniqueList<>(source, Row.GROUP_COMPARATOR);
+    }
+
+    @Override
+    protected void disposeTransformation(UniqueList<Row> transformation) {
+        transformation.dispose();
+    }
+}